@@ -0,0 +1,97 @@
+package at.fhtw.webenprjbackend.entity.id;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batched inserts into a {@code BINARY(16)} primary key with random v4 ids versus
+ * time-ordered v7 ids from {@link UuidV7Generator}.
+ *
+ * <p>Runs against a file-backed H2 database whose page cache (8 MB) is much smaller than
+ * the pre-filled table, so random keys have to fetch and rewrite pages all over the
+ * B-tree while v7 keys keep appending to its right edge. InnoDB behaves the same way
+ * with its buffer pool; absolute numbers differ.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class UuidInsertLocalityBenchmark {
+
+    private static final int PREFILL_ROWS = 1_000_000;
+    private static final int BATCH_ROWS = 1_000;
+
+    @Param({"v4", "v7"})
+    public String idVersion;
+
+    private Path directory;
+    private Connection connection;
+    private PreparedStatement insert;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        directory = Files.createTempDirectory("uuid-locality");
+        connection = DriverManager.getConnection(
+                "jdbc:h2:file:" + directory.resolve("db") + ";CACHE_SIZE=8192", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE rows_by_id (id BINARY(16) PRIMARY KEY, payload VARCHAR(100) NOT NULL)");
+        }
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement("INSERT INTO rows_by_id (id, payload) VALUES (?, ?)");
+        for (int i = 0; i < PREFILL_ROWS / BATCH_ROWS; i++) {
+            insertBatch();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException, SQLException {
+        insert.close();
+        connection.close();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public int insertBatch() throws SQLException {
+        for (int i = 0; i < BATCH_ROWS; i++) {
+            insert.setBytes(1, bytes("v7".equals(idVersion) ? UuidV7Generator.next() : UUID.randomUUID()));
+            insert.setString(2, "Learning Spring Boot, part " + i);
+            insert.addBatch();
+        }
+        int[] counts = insert.executeBatch();
+        connection.commit();
+        return counts.length;
+    }
+
+    private static byte[] bytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+}
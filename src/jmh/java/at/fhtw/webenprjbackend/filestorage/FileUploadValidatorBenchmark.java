@@ -0,0 +1,56 @@
+package at.fhtw.webenprjbackend.filestorage;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Upload validation for an accepted image and a rejected file type.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileUploadValidatorBenchmark {
+
+    private FileUploadValidator validator;
+    private MockMultipartFile validImage;
+    private MockMultipartFile rejectedFile;
+
+    @Setup
+    public void setUp() {
+        validator = new FileUploadValidator();
+        byte[] content = new byte[64 * 1024];
+        validImage = new MockMultipartFile("file", "study-notes.png", "image/png", content);
+        rejectedFile = new MockMultipartFile("file", "payload.exe", "application/octet-stream", content);
+    }
+
+    @Benchmark
+    public MockMultipartFile validateAccepted() {
+        validator.validate(validImage);
+        return validImage;
+    }
+
+    @Benchmark
+    public ResponseStatusException validateRejected() {
+        try {
+            validator.validate(rejectedFile);
+            return null;
+        } catch (ResponseStatusException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package at.fhtw.webenprjbackend.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issuing at login and decoding on every authenticated request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private final UUID userId = UUID.randomUUID();
+    private JwtIssuer issuer;
+    private JwtDecoder decoder;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret("benchmarkSecretKeyForJWTTokens1234567890123456789012");
+        properties.setExpirationMs(3_600_000);
+
+        issuer = new JwtIssuer(properties);
+        issuer.initKey();
+        decoder = new JwtDecoder(properties);
+        decoder.initKey();
+        token = issuer.issue(userId, "benchmark_user", "ROLE_USER");
+    }
+
+    @Benchmark
+    public String issue() {
+        return issuer.issue(userId, "benchmark_user", "ROLE_USER");
+    }
+
+    @Benchmark
+    public Claims decode() {
+        return decoder.decode(token);
+    }
+}
@@ -0,0 +1,75 @@
+package at.fhtw.webenprjbackend.security.ratelimit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filter overhead for ordinary requests and for repeated logins from one client
+ * (the brute-force case, answered with 429 after the fifth attempt).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RateLimitingFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private RateLimitingFilter filter;
+    private MockHttpServletRequest otherRequest;
+    private MockHttpServletRequest loginRequest;
+
+    @Setup
+    public void setUp() {
+        filter = new RateLimitingFilter();
+        otherRequest = new MockHttpServletRequest("GET", "/posts");
+        loginRequest = new MockHttpServletRequest("POST", "/auth/login");
+        loginRequest.addHeader("X-Forwarded-For", "203.0.113.7, 10.0.0.1");
+    }
+
+    @Setup(Level.Iteration)
+    public void resetAttempts() {
+        filter.clearAttempts();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse passThrough() throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilterInternal(otherRequest, response, NO_OP_CHAIN);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse loginSameClient() throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilterInternal(loginRequest, response, NO_OP_CHAIN);
+        return response;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public MockHttpServletResponse loginSameClientContended() throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilterInternal(loginRequest, response, NO_OP_CHAIN);
+        return response;
+    }
+}
@@ -0,0 +1,143 @@
+package at.fhtw.webenprjbackend.service;
+
+import at.fhtw.webenprjbackend.entity.Post;
+import at.fhtw.webenprjbackend.entity.Role;
+import at.fhtw.webenprjbackend.entity.User;
+import at.fhtw.webenprjbackend.feed.PostRanking;
+import at.fhtw.webenprjbackend.feed.RankingProperties;
+import at.fhtw.webenprjbackend.repository.BookmarkCollectionRepository;
+import at.fhtw.webenprjbackend.repository.FollowRepository;
+import at.fhtw.webenprjbackend.repository.PostBookmarkRepository;
+import at.fhtw.webenprjbackend.repository.PostLikeRepository;
+import at.fhtw.webenprjbackend.repository.PostRepository;
+import at.fhtw.webenprjbackend.repository.UserActivityRepository;
+import at.fhtw.webenprjbackend.repository.UserRepository;
+import at.fhtw.webenprjbackend.stats.ApproximateCountProperties;
+import at.fhtw.webenprjbackend.stats.ApproximateCounts;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * In-memory fixtures for the PostService benchmarks.
+ *
+ * <p>Repositories are plain JDK proxies answering a few methods with canned data,
+ * so the measurement covers PostService's enrichment and mapping rather than
+ * mock-framework bookkeeping.
+ */
+final class PostFixtures {
+
+    static final UUID CURRENT_USER_ID = UUID.randomUUID();
+
+    private PostFixtures() {
+    }
+
+    /**
+     * A PostService whose feed returns {@code pageSize} posts with likes, bookmarks and comments.
+     */
+    static PostService postService(int pageSize) {
+        List<Post> posts = posts(pageSize);
+        Page<Post> page = new PageImpl<>(posts, PageRequest.of(0, pageSize), 10_000);
+
+        List<Object[]> likeCounts = countRows(posts, 7);
+        List<Object[]> bookmarkCounts = countRows(posts, 3);
+        List<Object[]> commentCounts = countRows(posts, 5);
+        List<UUID> everyOtherPost = new ArrayList<>();
+        for (int i = 0; i < posts.size(); i += 2) {
+            everyOtherPost.add(posts.get(i).getId());
+        }
+
+        PostRepository postRepository = stub(PostRepository.class, Map.of(
+                "findByParentIsNullAndActiveTrueOrderByCreatedAtDesc", args -> page,
+                "countByParentIsNullAndActiveTrue", args -> (long) posts.size(),
+                "findById", args -> Optional.of(posts.get(0)),
+                "countCommentsByParentIds", args -> commentCounts));
+        PostLikeRepository postLikeRepository = stub(PostLikeRepository.class, Map.of(
+                "countLikesByPostIds", args -> likeCounts,
+                "findLikedPostIds", args -> everyOtherPost));
+        PostBookmarkRepository bookmarkRepository = stub(PostBookmarkRepository.class, Map.of(
+                "countBookmarksByPostIds", args -> bookmarkCounts,
+                "findBookmarkedPostIds", args -> everyOtherPost));
+        UserRepository userRepository = stub(UserRepository.class, Map.of());
+
+        BookmarkService bookmarkService = new BookmarkService(bookmarkRepository,
+                stub(BookmarkCollectionRepository.class, Map.of()), postRepository, userRepository, event -> { },
+                new ApproximateCounts(new ApproximateCountProperties()));
+        PostService postService = new PostService(postRepository, userRepository, postLikeRepository,
+                stub(FollowRepository.class, Map.of()), bookmarkService, event -> { },
+                new PostRanking(postRepository, new RankingProperties(), stub(PlatformTransactionManager.class, Map.of())),
+                new ActivityService(stub(UserActivityRepository.class, Map.of()), postRepository, null),
+                new ApproximateCounts(new ApproximateCountProperties()));
+        setField(postService, "publicBaseUrl", "http://localhost:8081");
+        return postService;
+    }
+
+    static UUID firstPostId(PostService postService) {
+        return postService.getAllPosts(PageRequest.of(0, 1), null).getContent().get(0).id();
+    }
+
+    private static List<Post> posts(int count) {
+        List<User> authors = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            User user = new User("author" + i + "@example.com", "author_" + i, "hash", "AT",
+                    "/avatar-placeholder.svg", Role.USER);
+            setField(user, "id", UUID.randomUUID());
+            authors.add(user);
+        }
+
+        List<Post> posts = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < count; i++) {
+            Post post = new Post("webengineering",
+                    "Finally understood how the persistence context works, post " + i,
+                    i % 3 == 0 ? "/medias/" + UUID.randomUUID() : null,
+                    authors.get(i % authors.size()));
+            setField(post, "id", UUID.randomUUID());
+            setField(post, "createdAt", now.minusMinutes(i));
+            posts.add(post);
+        }
+        return posts;
+    }
+
+    private static List<Object[]> countRows(List<Post> posts, int modulo) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < posts.size(); i++) {
+            rows.add(new Object[]{posts.get(i).getId(), (long) (i % modulo + 1)});
+        }
+        return rows;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args);
+            }
+            if (method.getName().equals("toString")) {
+                return type.getSimpleName() + "Stub";
+            }
+            throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+        });
+    }
+
+    private static void setField(Object target, String name, Object value) {
+        try {
+            var field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package at.fhtw.webenprjbackend.service;
+
+import at.fhtw.webenprjbackend.dto.PostResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feed enrichment and mapping: {@code mapPageWithLikes} via {@link PostService#getAllPosts}
+ * and {@code mapToResponse} via {@link PostService#getPostById}, with repositories answered in memory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PostServiceBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private PostService postService;
+    private Pageable pageable;
+    private UUID postId;
+
+    @Setup
+    public void setUp() {
+        postService = PostFixtures.postService(pageSize);
+        pageable = PageRequest.of(0, pageSize);
+        postId = PostFixtures.firstPostId(postService);
+    }
+
+    @Benchmark
+    public Page<PostResponse> mapPageWithLikes() {
+        return postService.getAllPosts(pageable, PostFixtures.CURRENT_USER_ID);
+    }
+
+    @Benchmark
+    public PostResponse mapToResponse() {
+        return postService.getPostById(postId, PostFixtures.CURRENT_USER_ID);
+    }
+}
@@ -0,0 +1,430 @@
+package at.fhtw.webenprjbackend.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Self-contained HTTP load driver for the backend (JDK only, no dependencies).
+ *
+ * <p>Logs in as synthetic users (see {@code SyntheticDataGenerator}), then replays a
+ * weighted mix of feed, following feed, like and search requests from virtual threads
+ * and prints per-operation throughput and p50/p90/p99/p99.9 latency.
+ *
+ * <p>Two modes:
+ * <ul>
+ *   <li>closed loop (default): {@code --concurrency} workers each send the next request
+ *       as soon as the previous one finished;</li>
+ *   <li>open loop ({@code --rps N}): requests start on a fixed schedule regardless of
+ *       response times, and latency is measured from the scheduled start, so server
+ *       stalls show up in the percentiles instead of silently lowering the request rate.</li>
+ * </ul>
+ *
+ * <p>Run with the JDK source launcher:
+ * <pre>
+ * java src/loadtest/java/at/fhtw/webenprjbackend/loadtest/LoadDriver.java \
+ *     --base-url http://localhost:8081 --duration 60 --concurrency 200
+ * </pre>
+ */
+public final class LoadDriver {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern POST_ID = Pattern.compile("\"id\"\\s*:\\s*\"([0-9a-f-]{36})\"");
+    private static final String[] SEARCH_TERMS = {"java", "spring", "docker", "math", "project", "tutorial"};
+
+    private final Options options;
+    private final HttpClient client;
+    private final List<String> tokens = new ArrayList<>();
+    private final List<String> postIds = new ArrayList<>();
+    private final Map<String, Stats> stats = new LinkedHashMap<>();
+    private final String[] schedule;
+
+    private LoadDriver(Options options) {
+        this.options = options;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        options.mix.keySet().forEach(operation -> stats.put(operation, new Stats()));
+        this.schedule = weightedSchedule(options.mix);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        new LoadDriver(options).run();
+    }
+
+    private void run() throws Exception {
+        login();
+        loadPostIds();
+        System.out.printf("Logged in %d users, %d posts to like. Warm-up %ds, measuring %ds (%s).%n",
+                tokens.size(), postIds.size(), options.warmupSeconds, options.durationSeconds,
+                options.rps > 0 ? options.rps + " req/s open loop" : options.concurrency + " workers closed loop");
+
+        drive(options.warmupSeconds);
+        stats.values().forEach(Stats::reset);
+        long start = System.nanoTime();
+        drive(options.durationSeconds);
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        String report = report(elapsedSeconds);
+        System.out.println(report);
+        if (options.output != null) {
+            Files.writeString(options.output, json(elapsedSeconds));
+            System.out.println("JSON written to " + options.output);
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Setup
+    // ---------------------------------------------------------------------
+
+    /**
+     * Logs in the first {@code --users} synthetic accounts, a few at a time so the
+     * BCrypt pool is not saturated. Each login uses its own X-Forwarded-For address,
+     * because the login rate limit is per client IP.
+     */
+    private void login() throws Exception {
+        List<String> collected = Collections.synchronizedList(new ArrayList<>());
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            for (int i = 0; i < options.users; i++) {
+                int index = i;
+                executor.submit(() -> {
+                    String body = String.format("{\"login\":\"%s\",\"password\":\"%s\"}",
+                            String.format(options.emailPattern, index), options.password);
+                    HttpRequest request = HttpRequest.newBuilder(uri("/auth/login"))
+                            .header("Content-Type", "application/json")
+                            .header("X-Forwarded-For", "10.77." + (index / 250) + "." + (index % 250 + 1))
+                            .POST(HttpRequest.BodyPublishers.ofString(body))
+                            .build();
+                    try {
+                        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                        Matcher matcher = TOKEN.matcher(response.body());
+                        if (response.statusCode() == 200 && matcher.find()) {
+                            collected.add(matcher.group(1));
+                        } else {
+                            System.err.printf("Login %d failed: HTTP %d%n", index, response.statusCode());
+                        }
+                    } catch (IOException | InterruptedException e) {
+                        System.err.printf("Login %d failed: %s%n", index, e.getMessage());
+                    }
+                });
+            }
+        }
+        tokens.addAll(collected);
+        if (tokens.isEmpty()) {
+            throw new IllegalStateException("No user could log in. Is the synthetic dataset loaded "
+                    + "(app.data.synthetic.enabled=true) and --password correct?");
+        }
+    }
+
+    private void loadPostIds() throws Exception {
+        for (int page = 0; page < 5; page++) {
+            HttpResponse<String> response = client.send(
+                    authorized("/posts?size=100&page=" + page).GET().build(), HttpResponse.BodyHandlers.ofString());
+            Matcher matcher = POST_ID.matcher(response.body());
+            while (matcher.find()) {
+                postIds.add(matcher.group(1));
+            }
+        }
+        if (postIds.isEmpty()) {
+            throw new IllegalStateException("GET /posts returned no posts");
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Load
+    // ---------------------------------------------------------------------
+
+    private void drive(int seconds) throws InterruptedException {
+        if (seconds <= 0) {
+            return;
+        }
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            if (options.rps > 0) {
+                long intervalNanos = 1_000_000_000L / options.rps;
+                long next = System.nanoTime();
+                while (next < end) {
+                    long scheduled = next;
+                    executor.submit(() -> execute(scheduled));
+                    next += intervalNanos;
+                    long sleep = next - System.nanoTime();
+                    if (sleep > 0) {
+                        TimeUnit.NANOSECONDS.sleep(sleep);
+                    }
+                }
+            } else {
+                for (int i = 0; i < options.concurrency; i++) {
+                    executor.submit(() -> {
+                        while (System.nanoTime() < end) {
+                            execute(System.nanoTime());
+                        }
+                    });
+                }
+            }
+        }
+    }
+
+    private void execute(long scheduledNanos) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String operation = schedule[random.nextInt(schedule.length)];
+        String token = tokens.get(random.nextInt(tokens.size()));
+        boolean ok;
+        try {
+            ok = switch (operation) {
+                case "feed" -> get("/posts?size=20&page=" + random.nextInt(5), token);
+                case "following" -> get("/posts?filter=following&size=20", token);
+                case "search" -> get("/posts?search=" + SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)]
+                        + "&size=20", token);
+                case "like" -> like(postIds.get(random.nextInt(postIds.size())), token, random.nextInt(4) == 0);
+                default -> throw new IllegalArgumentException("Unknown operation " + operation);
+            };
+        } catch (IOException e) {
+            ok = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        stats.get(operation).record(System.nanoTime() - scheduledNanos, ok);
+    }
+
+    private boolean get(String path, String token) throws IOException, InterruptedException {
+        HttpResponse<Void> response = client.send(
+                authorized(path, token).GET().build(), HttpResponse.BodyHandlers.discarding());
+        return response.statusCode() == 200;
+    }
+
+    /**
+     * Likes or unlikes the post (both idempotent), so repeated runs keep exercising
+     * inserts and deletes instead of converging on no-op likes.
+     */
+    private boolean like(String postId, String token, boolean unlike) throws IOException, InterruptedException {
+        HttpRequest.Builder request = authorized("/posts/" + postId + "/like", token);
+        HttpResponse<Void> response = client.send(
+                unlike ? request.DELETE().build() : request.POST(HttpRequest.BodyPublishers.noBody()).build(),
+                HttpResponse.BodyHandlers.discarding());
+        return response.statusCode() == 204;
+    }
+
+    private HttpRequest.Builder authorized(String path) {
+        return authorized(path, tokens.get(0));
+    }
+
+    private HttpRequest.Builder authorized(String path, String token) {
+        return HttpRequest.newBuilder(uri(path))
+                .timeout(Duration.ofSeconds(options.timeoutSeconds))
+                .header("Authorization", "Bearer " + token);
+    }
+
+    private URI uri(String path) {
+        return URI.create(options.baseUrl + path);
+    }
+
+    private static String[] weightedSchedule(Map<String, Integer> mix) {
+        List<String> slots = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                slots.add(operation);
+            }
+        });
+        return slots.toArray(String[]::new);
+    }
+
+    // ---------------------------------------------------------------------
+    // Reporting
+    // ---------------------------------------------------------------------
+
+    private String report(double elapsedSeconds) {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "%n%-10s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        Stats total = new Stats();
+        stats.forEach((operation, s) -> {
+            out.append(row(operation, s, elapsedSeconds));
+            total.add(s);
+        });
+        out.append(row("total", total, elapsedSeconds));
+        return out.toString();
+    }
+
+    private static String row(String name, Stats s, double elapsedSeconds) {
+        return String.format(Locale.ROOT, "%-10s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, s.count(), s.errors.get(), s.count() / elapsedSeconds,
+                s.percentileMillis(50), s.percentileMillis(90), s.percentileMillis(99),
+                s.percentileMillis(99.9), s.max.get() / 1000.0);
+    }
+
+    private String json(double elapsedSeconds) {
+        StringBuilder out = new StringBuilder("{\n  \"elapsedSeconds\": ")
+                .append(String.format(Locale.ROOT, "%.3f", elapsedSeconds))
+                .append(",\n  \"mode\": \"").append(options.rps > 0 ? "open" : "closed").append("\",\n  \"operations\": {");
+        String separator = "\n";
+        for (Map.Entry<String, Stats> entry : stats.entrySet()) {
+            Stats s = entry.getValue();
+            out.append(separator).append(String.format(Locale.ROOT,
+                    "    \"%s\": {\"requests\": %d, \"errors\": %d, \"p50Ms\": %.3f, \"p90Ms\": %.3f, "
+                            + "\"p99Ms\": %.3f, \"p999Ms\": %.3f, \"maxMs\": %.3f}",
+                    entry.getKey(), s.count(), s.errors.get(), s.percentileMillis(50), s.percentileMillis(90),
+                    s.percentileMillis(99), s.percentileMillis(99.9), s.max.get() / 1000.0));
+            separator = ",\n";
+        }
+        return out.append("\n  }\n}\n").toString();
+    }
+
+    /**
+     * Lock-free log-linear latency histogram in microseconds: 64 buckets per power of two,
+     * so each recorded value is accurate to within about 1.5%.
+     */
+    static final class Stats {
+
+        private static final int SUB_BUCKETS = 64;
+        private final AtomicLongArray buckets = new AtomicLongArray(SUB_BUCKETS * 64);
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong max = new AtomicLong();
+
+        void record(long nanos, boolean ok) {
+            long micros = Math.max(0, nanos / 1000);
+            buckets.incrementAndGet(index(micros));
+            max.accumulateAndGet(micros, Math::max);
+            if (!ok) {
+                errors.incrementAndGet();
+            }
+        }
+
+        void add(Stats other) {
+            for (int i = 0; i < buckets.length(); i++) {
+                buckets.addAndGet(i, other.buckets.get(i));
+            }
+            errors.addAndGet(other.errors.get());
+            max.accumulateAndGet(other.max.get(), Math::max);
+        }
+
+        void reset() {
+            for (int i = 0; i < buckets.length(); i++) {
+                buckets.set(i, 0);
+            }
+            errors.set(0);
+            max.set(0);
+        }
+
+        long count() {
+            long count = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                count += buckets.get(i);
+            }
+            return count;
+        }
+
+        double percentileMillis(double percentile) {
+            long count = count();
+            if (count == 0) {
+                return 0;
+            }
+            long target = (long) Math.ceil(percentile / 100.0 * count);
+            long seen = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                seen += buckets.get(i);
+                if (seen >= target) {
+                    return valueAt(i) / 1000.0;
+                }
+            }
+            return max.get() / 1000.0;
+        }
+
+        static int index(long micros) {
+            if (micros < 2 * SUB_BUCKETS) {
+                return (int) micros;
+            }
+            int shift = 63 - Long.numberOfLeadingZeros(micros) - 6;
+            return shift * SUB_BUCKETS + (int) (micros >>> shift);
+        }
+
+        /** Midpoint of the bucket's value range. */
+        static long valueAt(int index) {
+            if (index < 2 * SUB_BUCKETS) {
+                return index;
+            }
+            int shift = index / SUB_BUCKETS - 1;
+            long low = (long) (index % SUB_BUCKETS + SUB_BUCKETS) << shift;
+            return low + (1L << shift) / 2;
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Options
+    // ---------------------------------------------------------------------
+
+    private static final class Options {
+
+        String baseUrl = "http://localhost:8081";
+        int durationSeconds = 60;
+        int warmupSeconds = 10;
+        int concurrency = 64;
+        int rps = 0;
+        int users = 20;
+        int timeoutSeconds = 30;
+        String emailPattern = "synthetic-user-%d@example.com";
+        String password = "Password123!";
+        Map<String, Integer> mix = parseMix("feed=60,following=20,like=10,search=10");
+        Path output;
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (int i = 0; i < args.length; i++) {
+                String value = i + 1 < args.length ? args[i + 1] : null;
+                switch (args[i]) {
+                    case "--base-url" -> options.baseUrl = value;
+                    case "--duration" -> options.durationSeconds = Integer.parseInt(value);
+                    case "--warmup" -> options.warmupSeconds = Integer.parseInt(value);
+                    case "--concurrency" -> options.concurrency = Integer.parseInt(value);
+                    case "--rps" -> options.rps = Integer.parseInt(value);
+                    case "--users" -> options.users = Integer.parseInt(value);
+                    case "--timeout" -> options.timeoutSeconds = Integer.parseInt(value);
+                    case "--email-pattern" -> options.emailPattern = value;
+                    case "--password" -> options.password = value;
+                    case "--mix" -> options.mix = parseMix(value);
+                    case "--output" -> options.output = Path.of(value);
+                    case "--help" -> {
+                        System.out.println("Options: --base-url URL --duration S --warmup S --concurrency N "
+                                + "--rps N --users N --timeout S --email-pattern FMT --password PW "
+                                + "--mix feed=60,following=20,like=10,search=10 --output FILE.json");
+                        System.exit(0);
+                    }
+                    default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+                i++;
+            }
+            return options;
+        }
+
+        private static Map<String, Integer> parseMix(String spec) {
+            Map<String, Integer> mix = new LinkedHashMap<>();
+            for (String part : spec.split(",")) {
+                String[] pair = part.trim().split("=");
+                mix.put(pair[0], Integer.parseInt(pair[1]));
+            }
+            return mix;
+        }
+    }
+}
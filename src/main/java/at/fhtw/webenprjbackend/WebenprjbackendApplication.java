@@ -1,6 +1,16 @@
 package at.fhtw.webenprjbackend;
 
+import at.fhtw.webenprjbackend.cache.EntityCacheProperties;
+import at.fhtw.webenprjbackend.config.SyntheticDataProperties;
+import at.fhtw.webenprjbackend.datasource.ReplicaProperties;
+import at.fhtw.webenprjbackend.feed.FeedStreamProperties;
+import at.fhtw.webenprjbackend.feed.RankingProperties;
+import at.fhtw.webenprjbackend.metrics.SqlBudgetProperties;
 import at.fhtw.webenprjbackend.security.jwt.JwtProperties;
+import at.fhtw.webenprjbackend.security.password.PasswordHashingProperties;
+import at.fhtw.webenprjbackend.stats.ApproximateCountProperties;
+import at.fhtw.webenprjbackend.stats.ContentStatsProperties;
+import at.fhtw.webenprjbackend.stats.TrendingSubjectsProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -8,7 +18,10 @@ import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
 @SpringBootApplication
 @EnableJpaAuditing(auditorAwareRef = "auditorAware")
-@EnableConfigurationProperties(JwtProperties.class)
+@EnableConfigurationProperties({JwtProperties.class, PasswordHashingProperties.class, ReplicaProperties.class,
+        SyntheticDataProperties.class, SqlBudgetProperties.class, FeedStreamProperties.class,
+        ContentStatsProperties.class, TrendingSubjectsProperties.class, RankingProperties.class,
+        EntityCacheProperties.class, ApproximateCountProperties.class})
 public class WebenprjbackendApplication {
 
 	public static void main(String[] args) {
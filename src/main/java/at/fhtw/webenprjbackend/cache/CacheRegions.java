@@ -0,0 +1,25 @@
+package at.fhtw.webenprjbackend.cache;
+
+/**
+ * Names of the Hibernate second-level cache regions, as used in {@code @Cache} and
+ * query cache hints and as keys of {@code app.entity-cache.regions}.
+ */
+public final class CacheRegions {
+
+    public static final String USERS = "users";
+    public static final String BOOKMARK_COLLECTIONS = "bookmark-collections";
+    public static final String MEDIA = "media";
+
+    /** Query results of a user's bookmark collection list. */
+    public static final String BOOKMARK_COLLECTION_LISTS = "bookmark-collection-lists";
+    /** Query results of the distinct subject list. */
+    public static final String SUBJECTS = "subjects";
+
+    /** Hibernate's region for cached queries without an own region. */
+    public static final String DEFAULT_QUERY_RESULTS = "default-query-results-region";
+    /** Hibernate's last-modified times per table, used to invalidate cached query results. */
+    public static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+
+    private CacheRegions() {
+    }
+}
@@ -0,0 +1,78 @@
+package at.fhtw.webenprjbackend.cache;
+
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+/**
+ * Hibernate second-level and query cache on Caffeine via JCache. The cache is in memory
+ * per instance and independent of the database, so MySQL and H2 behave the same.
+ *
+ * <p>Regions come from {@link EntityCacheProperties}, so each one is bounded; Hibernate
+ * fails at startup on a region that is not configured. Writes through JPA, including
+ * bulk JPQL statements, keep the cache consistent; rows changed with plain JDBC or by
+ * another instance stay stale until their entry expires or is evicted.
+ */
+@Configuration
+public class EntityCacheConfig {
+
+    /**
+     * Cache manager of this application context only; the URI keeps several contexts in
+     * one JVM (as in tests) from sharing and closing each other's caches.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(EntityCacheProperties properties) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("entity-cache:" + UUID.randomUUID()), getClass().getClassLoader());
+        properties.getRegions().forEach((name, region) -> cacheManager.createCache(name, configuration(region)));
+        if (cacheManager.getCache(CacheRegions.UPDATE_TIMESTAMPS) == null) {
+            // never bounded: a dropped timestamp would let stale query results through
+            cacheManager.createCache(CacheRegions.UPDATE_TIMESTAMPS, configuration(null));
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(EntityCacheProperties properties,
+                                                               CacheManager entityCacheManager) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, properties.isEnabled());
+            hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, properties.isEnabled());
+            if (properties.isEnabled()) {
+                hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+                hibernateProperties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+                hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY,
+                        MissingCacheStrategy.FAIL.getExternalRepresentation());
+                // region hit and miss counts for EntityCacheMetrics; the per-session summary this
+                // also logs is silenced in application.properties
+                hibernateProperties.put(AvailableSettings.GENERATE_STATISTICS, true);
+            }
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> configuration(EntityCacheProperties.Region region) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // Hibernate stores immutable cache entries, so copying them on every access is wasted work
+        configuration.setStoreByValue(false);
+        if (region != null && region.getMaxSize() > 0) {
+            configuration.setMaximumSize(OptionalLong.of(region.getMaxSize()));
+        }
+        if (region != null && region.getTtl() != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(region.getTtl().toNanos()));
+        }
+        return configuration;
+    }
+}
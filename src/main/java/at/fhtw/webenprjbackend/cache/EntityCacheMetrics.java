@@ -0,0 +1,68 @@
+package at.fhtw.webenprjbackend.cache;
+
+import java.util.function.ToLongFunction;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Per-region hits, misses, puts and hit ratio of the second-level and query cache, read
+ * from Hibernate's statistics, e.g. {@code app_entity_cache_hit_ratio{region="users"}}.
+ */
+@Component
+public class EntityCacheMetrics implements MeterBinder {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final EntityCacheProperties properties;
+
+    public EntityCacheMetrics(EntityManagerFactory entityManagerFactory, EntityCacheProperties properties) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.properties = properties;
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (String region : properties.getRegions().keySet()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics == null) {
+                continue;
+            }
+            counter(registry, "app.entity.cache.hits", "Lookups answered from the cache",
+                    region, regionStatistics, CacheRegionStatistics::getHitCount);
+            counter(registry, "app.entity.cache.misses", "Lookups that went to the database",
+                    region, regionStatistics, CacheRegionStatistics::getMissCount);
+            counter(registry, "app.entity.cache.puts", "Entries written to the cache",
+                    region, regionStatistics, CacheRegionStatistics::getPutCount);
+            Gauge.builder("app.entity.cache.hit.ratio", regionStatistics, EntityCacheMetrics::hitRatio)
+                    .description("Share of lookups answered from the cache since startup")
+                    .tag("region", region)
+                    .register(registry);
+        }
+    }
+
+    static double hitRatio(CacheRegionStatistics statistics) {
+        long lookups = statistics.getHitCount() + statistics.getMissCount();
+        return lookups == 0 ? Double.NaN : (double) statistics.getHitCount() / lookups;
+    }
+
+    private static void counter(MeterRegistry registry, String name, String description, String region,
+                                CacheRegionStatistics statistics, ToLongFunction<CacheRegionStatistics> count) {
+        FunctionCounter.builder(name, statistics, stats -> count.applyAsLong(stats))
+                .description(description)
+                .tag("region", region)
+                .register(registry);
+    }
+}
@@ -0,0 +1,81 @@
+package at.fhtw.webenprjbackend.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Hibernate second-level and query cache settings. Defaults live here rather than in
+ * {@code application.properties} so every profile, including the H2 test setup, gets them.
+ */
+@ConfigurationProperties(prefix = "app.entity-cache")
+public class EntityCacheProperties {
+
+    /** Size and lifetime of one cache region. */
+    public static class Region {
+
+        /** Entries kept before the least valuable ones are evicted. */
+        private long maxSize;
+
+        /** Time after which an entry is dropped even if unchanged; unset keeps entries until evicted. */
+        private Duration ttl;
+
+        public Region() {
+        }
+
+        Region(long maxSize, Duration ttl) {
+            this.maxSize = maxSize;
+            this.ttl = ttl;
+        }
+
+        public long getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(long maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+    }
+
+    /** Turns both caches off, e.g. to compare query counts. */
+    private boolean enabled = true;
+
+    /**
+     * Regions by name, as in {@code app.entity-cache.regions.users.max-size=50000}. Setting
+     * any property of a region replaces all of its defaults. Regions missing here are
+     * rejected at startup rather than created unbounded.
+     */
+    private Map<String, Region> regions = new LinkedHashMap<>(Map.of(
+            CacheRegions.USERS, new Region(10_000, Duration.ofHours(1)),
+            CacheRegions.BOOKMARK_COLLECTIONS, new Region(10_000, Duration.ofHours(1)),
+            CacheRegions.MEDIA, new Region(10_000, Duration.ofHours(1)),
+            CacheRegions.BOOKMARK_COLLECTION_LISTS, new Region(10_000, Duration.ofMinutes(10)),
+            CacheRegions.SUBJECTS, new Region(16, Duration.ofMinutes(10)),
+            CacheRegions.DEFAULT_QUERY_RESULTS, new Region(1_000, Duration.ofMinutes(10))));
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Map<String, Region> getRegions() {
+        return regions;
+    }
+
+    public void setRegions(Map<String, Region> regions) {
+        this.regions = regions;
+    }
+}
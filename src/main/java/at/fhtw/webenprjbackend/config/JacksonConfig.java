@@ -0,0 +1,69 @@
+package at.fhtw.webenprjbackend.config;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+import at.fhtw.webenprjbackend.dto.PostResponse;
+
+/**
+ * Jackson setup for sparse fieldsets and the alternative wire formats.
+ *
+ * <p>{@link PostResponse} is bound to a property filter through a mix-in, so only the
+ * application's mappers know about it. The filter writes every field unless a controller
+ * supplies a narrower one per response via {@code MappingJacksonValue}.
+ *
+ * <p>Besides JSON, responses can be negotiated as CBOR ({@code application/cbor}) and
+ * list responses as NDJSON ({@code application/x-ndjson}). Both use mappers built from
+ * the same Boot-customized builder, so dates, mix-ins and filters behave as in JSON.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @JsonFilter(PostResponse.FIELD_FILTER)
+    interface PostResponseFieldsMixin {
+    }
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer sparseFieldsetCustomizer() {
+        return builder -> builder
+                .mixIn(PostResponse.class, PostResponseFieldsMixin.class)
+                .filters(new SimpleFilterProvider()
+                        .addFilter(PostResponse.FIELD_FILTER, SimpleBeanPropertyFilter.serializeAll()));
+    }
+
+    /**
+     * Replaces Spring MVC's default CBOR converter, whose mapper would skip Boot's
+     * Jackson customization. Stays behind JSON, so JSON remains the default.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    /**
+     * Appends the NDJSON converter after all others: it must only win when asked for
+     * explicitly, never for {@code Accept: *}{@code /*}.
+     */
+    @Bean
+    public WebMvcConfigurer ndjsonConverterConfigurer(ObjectMapper objectMapper) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+                converters.add(new NdjsonHttpMessageConverter(objectMapper));
+            }
+        };
+    }
+}
@@ -0,0 +1,100 @@
+package at.fhtw.webenprjbackend.config;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.List;
+
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.lang.Nullable;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import at.fhtw.webenprjbackend.dto.SliceModel;
+
+/**
+ * Writes list responses as newline-delimited JSON: one JSON document per element,
+ * with no enclosing array or page envelope. Rows are written out one per line as
+ * they are serialized, so a client can process them line by line; the list itself is
+ * already in memory. Write-only; requests are still read as plain JSON.
+ *
+ * <p>Only selected when the client asks for {@code application/x-ndjson} (or
+ * {@code application/ndjson}). Pages, slices, {@link PagedModel}s and {@link SliceModel}s are unwrapped to their
+ * content; field filters carried by a {@link MappingJacksonValue} still apply.
+ */
+public class NdjsonHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+
+    public static final MediaType APPLICATION_X_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private static final byte NEWLINE = '\n';
+
+    public NdjsonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper, APPLICATION_X_NDJSON, MediaType.APPLICATION_NDJSON);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, @Nullable MediaType mediaType) {
+        boolean listLike = Iterable.class.isAssignableFrom(clazz)
+                || PagedModel.class.isAssignableFrom(clazz)
+                || SliceModel.class.isAssignableFrom(clazz)
+                || MappingJacksonValue.class.isAssignableFrom(clazz);
+        return listLike && super.canWrite(clazz, mediaType);
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        // Decide on the runtime class; the declared type is often a parameterized Page<...>
+        return canWrite(clazz, mediaType);
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException {
+        ObjectWriter writer = getObjectMapper().writer();
+        Object value = object;
+        if (object instanceof MappingJacksonValue container) {
+            value = container.getValue();
+            if (container.getFilters() != null) {
+                writer = writer.with(container.getFilters());
+            }
+            if (container.getSerializationView() != null) {
+                writer = writer.withView(container.getSerializationView());
+            }
+        }
+
+        OutputStream body = outputMessage.getBody();
+        for (Object row : rows(value)) {
+            body.write(writer.writeValueAsBytes(row));
+            body.write(NEWLINE);
+        }
+        body.flush();
+    }
+
+    private static Iterable<?> rows(Object value) {
+        if (value instanceof PagedModel<?> paged) {
+            return paged.getContent();
+        }
+        if (value instanceof SliceModel<?> slice) {
+            return slice.content();
+        }
+        if (value instanceof Iterable<?> iterable) {
+            return iterable;
+        }
+        return List.of(value);
+    }
+}
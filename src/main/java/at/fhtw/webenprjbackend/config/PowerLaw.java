@@ -0,0 +1,50 @@
+package at.fhtw.webenprjbackend.config;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Samplers for heavy-tailed distributions used by the synthetic data generator.
+ */
+final class PowerLaw {
+
+    private PowerLaw() {
+    }
+
+    /**
+     * Zipf distribution over ranks {@code 0..n-1}: rank k is drawn with probability
+     * proportional to {@code 1 / (k + 1)^exponent}. Sampling is a binary search over
+     * a precomputed CDF.
+     */
+    static final class Zipf {
+
+        private final double[] cdf;
+
+        Zipf(int n, double exponent) {
+            cdf = new double[n];
+            double sum = 0;
+            for (int k = 0; k < n; k++) {
+                sum += 1.0 / Math.pow(k + 1, exponent);
+                cdf[k] = sum;
+            }
+            for (int k = 0; k < n; k++) {
+                cdf[k] /= sum;
+            }
+        }
+
+        int sample(Random random) {
+            int index = Arrays.binarySearch(cdf, random.nextDouble());
+            int rank = index >= 0 ? index : -index - 1;
+            return Math.min(rank, cdf.length - 1);
+        }
+    }
+
+    /**
+     * Per-entity activity count with the given mean, drawn from a Pareto distribution
+     * (shape 2): most entities stay below the mean, a few are far above it.
+     */
+    static int activity(Random random, double mean, int max) {
+        double pareto = 0.5 / Math.sqrt(1.0 - random.nextDouble());
+        return (int) Math.min(max, Math.round(mean * pareto));
+    }
+}
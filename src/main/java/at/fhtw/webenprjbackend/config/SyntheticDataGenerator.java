@@ -0,0 +1,337 @@
+package at.fhtw.webenprjbackend.config;
+
+import java.nio.ByteBuffer;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import at.fhtw.webenprjbackend.entity.id.UuidV7Generator;
+
+/**
+ * Generates a large, production-shaped dataset for load tests.
+ *
+ * <p>Unlike {@link TestDataLoader}, which creates a few dozen hand-picked rows through
+ * JPA, this writes millions of rows with plain JDBC batches. Activity is heavy-tailed:
+ * posting follows a Zipf distribution over users, likes/comments favour popular posts,
+ * follows favour popular accounts, and per-user like/bookmark/follow counts are
+ * Pareto-distributed.
+ *
+ * <p>All synthetic users share one password and have emails
+ * {@code synthetic-user-<n>@example.com}, so the load driver can log in as any of them.
+ * Generation is skipped if synthetic users already exist.
+ */
+@Configuration
+public class SyntheticDataGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    static final String EMAIL_PATTERN = "synthetic-user-%d@example.com";
+
+    private static final String[] COUNTRIES = {"AT", "DE", "CH", "US", "UK", "FR", "IT", "NL"};
+
+    private static final String[] SUBJECTS = {
+        "webdev", "database", "algorithms", "java", "python", "javascript", "spring", "docker",
+        "math", "statistics", "networks", "security", "linux", "react", "kotlin", "cloud"
+    };
+
+    private static final String[] POST_TEMPLATES = {
+        "Just finished my %1$s tutorial!",
+        "Day %2$d of learning %1$s.",
+        "Finally understood %1$s after weeks of practice!",
+        "My %1$s project is coming along nicely!",
+        "Completed the %1$s certification exam!"
+    };
+
+    private static final String[] COMMENT_TEMPLATES = {
+        "Nice work!", "Thanks for sharing!", "Same here!", "Keep it up!", "Helpful post!"
+    };
+
+    @Value("${app.user.default-profile-image}")
+    private String defaultProfileImage;
+
+    @Bean
+    @ConditionalOnProperty(name = "app.data.synthetic.enabled", havingValue = "true")
+    CommandLineRunner generateSyntheticData(JdbcTemplate jdbcTemplate,
+                                            TransactionTemplate transactionTemplate,
+                                            PasswordEncoder passwordEncoder,
+                                            SyntheticDataProperties properties) {
+        return args -> {
+            Integer existing = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM users WHERE email LIKE 'synthetic-user-%'", Integer.class);
+            if (existing != null && existing > 0) {
+                log.info("Synthetic data already present ({} users), skipping", existing);
+                return;
+            }
+            new Run(jdbcTemplate, transactionTemplate, properties,
+                    passwordEncoder.encode(properties.getPassword())).generate();
+        };
+    }
+
+    /**
+     * One generation run. Keeps generated ids in primitive arrays so millions of rows
+     * fit in memory without per-row objects.
+     */
+    private final class Run {
+
+        private final JdbcTemplate jdbcTemplate;
+        private final TransactionTemplate transactionTemplate;
+        private final SyntheticDataProperties properties;
+        private final String passwordHash;
+        private final Random random;
+        private final boolean nativeUuid;
+        private final LocalDateTime now = LocalDateTime.now().withNano(0);
+
+        private final long[] userIds;
+        private final long[] postIds;
+        private final int[] postAgeMinutes;
+
+        Run(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            SyntheticDataProperties properties, String passwordHash) {
+            this.jdbcTemplate = jdbcTemplate;
+            this.transactionTemplate = transactionTemplate;
+            this.properties = properties;
+            this.passwordHash = passwordHash;
+            this.random = new Random(properties.getSeed());
+            this.nativeUuid = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "H2".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName()));
+            this.userIds = new long[properties.getUsers() * 2];
+            this.postIds = new long[properties.getPosts() * 2];
+            this.postAgeMinutes = new int[properties.getPosts()];
+        }
+
+        void generate() {
+            long start = System.currentTimeMillis();
+            PowerLaw.Zipf userPopularity = new PowerLaw.Zipf(properties.getUsers(), properties.getZipfExponent());
+            PowerLaw.Zipf postPopularity = new PowerLaw.Zipf(properties.getPosts(), properties.getZipfExponent());
+
+            int users = insertUsers();
+            int posts = insertPosts(userPopularity);
+            int comments = insertComments(userPopularity, postPopularity);
+            int likes = insertUserPostPairs("post_likes", properties.getLikesPerUser(), postPopularity);
+            int bookmarks = insertUserPostPairs("post_bookmarks", properties.getBookmarksPerUser(), postPopularity);
+            int follows = insertFollows(userPopularity);
+
+            log.info("Synthetic data: {} users, {} posts, {} comments, {} likes, {} bookmarks, {} follows in {} s",
+                    users, posts, comments, likes, bookmarks, follows, (System.currentTimeMillis() - start) / 1000);
+            log.info("Synthetic logins: synthetic-user-0..{}@example.com with app.data.synthetic.password", users - 1);
+        }
+
+        private int insertUsers() {
+            try (Batch batch = new Batch("users",
+                    "INSERT INTO users (id, email, username, password, country_code, profile_image_url, "
+                            + "role, active, created_at) VALUES (?, ?, ?, ?, ?, ?, 'USER', ?, ?)")) {
+                for (int i = 0; i < properties.getUsers(); i++) {
+                    UUID id = UUID.randomUUID();
+                    store(userIds, i, id);
+                    batch.add(id, String.format(EMAIL_PATTERN, i), "synth_" + i, passwordHash,
+                            COUNTRIES[random.nextInt(COUNTRIES.length)], defaultProfileImage,
+                            true, now.minusMinutes(random.nextInt(2 * 365 * 24 * 60)));
+                }
+                return batch.total();
+            }
+        }
+
+        private int insertPosts(PowerLaw.Zipf userPopularity) {
+            PowerLaw.Zipf subjectPopularity = new PowerLaw.Zipf(SUBJECTS.length, 1.0);
+            try (Batch batch = new Batch("posts",
+                    "INSERT INTO posts (id, subject, content, image_url, user_id, parent_id, active, created_at) "
+                            + "VALUES (?, ?, ?, NULL, ?, NULL, ?, ?)")) {
+                for (int i = 0; i < properties.getPosts(); i++) {
+                    postAgeMinutes[i] = random.nextInt(365 * 24 * 60);
+                    LocalDateTime createdAt = now.minusMinutes(postAgeMinutes[i]);
+                    UUID id = idAt(createdAt);
+                    store(postIds, i, id);
+                    String subject = SUBJECTS[subjectPopularity.sample(random)];
+                    String content = String.format(POST_TEMPLATES[random.nextInt(POST_TEMPLATES.length)],
+                            subject, random.nextInt(100) + 1);
+                    batch.add(id, subject, content,
+                            load(userIds, userPopularity.sample(random)),
+                            random.nextInt(100) >= 3, createdAt);
+                }
+                return batch.total();
+            }
+        }
+
+        private int insertComments(PowerLaw.Zipf userPopularity, PowerLaw.Zipf postPopularity) {
+            long count = Math.round(properties.getPosts() * properties.getCommentsPerPost());
+            try (Batch batch = new Batch("comments",
+                    "INSERT INTO posts (id, subject, content, image_url, user_id, parent_id, active, created_at) "
+                            + "VALUES (?, ?, ?, NULL, ?, ?, ?, ?)")) {
+                for (long i = 0; i < count; i++) {
+                    int parent = postPopularity.sample(random);
+                    int ageMinutes = Math.max(0, postAgeMinutes[parent] - random.nextInt(7 * 24 * 60));
+                    LocalDateTime createdAt = now.minusMinutes(ageMinutes);
+                    batch.add(idAt(createdAt), SUBJECTS[random.nextInt(SUBJECTS.length)],
+                            COMMENT_TEMPLATES[random.nextInt(COMMENT_TEMPLATES.length)],
+                            load(userIds, userPopularity.sample(random)), load(postIds, parent),
+                            random.nextInt(100) >= 3, createdAt);
+                }
+                return batch.total();
+            }
+        }
+
+        /**
+         * Likes and bookmarks: each user gets a Pareto-distributed number of distinct posts,
+         * picked by post popularity. Distinct per user keeps the (user_id, post_id) constraint.
+         */
+        private int insertUserPostPairs(String table, int meanPerUser, PowerLaw.Zipf postPopularity) {
+            int maxPerUser = Math.max(1, properties.getPosts() / 2);
+            try (Batch batch = new Batch(table,
+                    "INSERT INTO " + table + " (id, user_id, post_id, created_at) VALUES (?, ?, ?, ?)")) {
+                for (int user = 0; user < properties.getUsers(); user++) {
+                    int quota = PowerLaw.activity(random, meanPerUser, maxPerUser);
+                    for (int post : distinctSample(quota, postPopularity, -1)) {
+                        int ageMinutes = random.nextInt(Math.max(1, postAgeMinutes[post]) + 1);
+                        LocalDateTime createdAt = now.minusMinutes(ageMinutes);
+                        batch.add(idAt(createdAt), load(userIds, user), load(postIds, post), createdAt);
+                    }
+                }
+                return batch.total();
+            }
+        }
+
+        private int insertFollows(PowerLaw.Zipf userPopularity) {
+            int maxPerUser = Math.max(1, properties.getUsers() / 2);
+            try (Batch batch = new Batch("follows",
+                    "INSERT INTO follows (id, follower_id, followed_id, created_at) VALUES (?, ?, ?, ?)")) {
+                for (int user = 0; user < properties.getUsers(); user++) {
+                    int quota = PowerLaw.activity(random, properties.getFollowsPerUser(), maxPerUser);
+                    for (int followed : distinctSample(quota, userPopularity, user)) {
+                        LocalDateTime createdAt = now.minusMinutes(random.nextInt(365 * 24 * 60));
+                        batch.add(idAt(createdAt), load(userIds, user), load(userIds, followed), createdAt);
+                    }
+                }
+                return batch.total();
+            }
+        }
+
+        private Set<Integer> distinctSample(int quota, PowerLaw.Zipf popularity, int exclude) {
+            Set<Integer> picked = new HashSet<>();
+            for (int attempts = 0; picked.size() < quota && attempts < quota * 4; attempts++) {
+                int candidate = popularity.sample(random);
+                if (candidate != exclude) {
+                    picked.add(candidate);
+                }
+            }
+            return picked;
+        }
+
+        /**
+         * A UUIDv7 carrying the row's {@code created_at}, so id order matches creation order
+         * as it would for rows inserted over time. The instant is taken the way the row's
+         * timestamp is bound, in the JVM's time zone.
+         */
+        private static UUID idAt(LocalDateTime createdAt) {
+            return UuidV7Generator.at(Timestamp.valueOf(createdAt).getTime());
+        }
+
+        private static void store(long[] ids, int index, UUID id) {
+            ids[index * 2] = id.getMostSignificantBits();
+            ids[index * 2 + 1] = id.getLeastSignificantBits();
+        }
+
+        private static UUID load(long[] ids, int index) {
+            return new UUID(ids[index * 2], ids[index * 2 + 1]);
+        }
+
+        /**
+         * Buffers rows for one INSERT and writes them in batches, one transaction per batch.
+         */
+        private final class Batch implements AutoCloseable {
+
+            private final String name;
+            private final String sql;
+            private final List<Object[]> rows = new ArrayList<>();
+            private int total;
+
+            Batch(String name, String sql) {
+                this.name = name;
+                this.sql = sql;
+            }
+
+            void add(Object... row) {
+                rows.add(row);
+                if (rows.size() >= properties.getBatchSize()) {
+                    flush();
+                }
+            }
+
+            /** Writes any buffered rows and returns the number of rows inserted so far. */
+            int total() {
+                flush();
+                return total;
+            }
+
+            @Override
+            public void close() {
+                flush();
+                log.info("Synthetic {}: {} rows", name, total);
+            }
+
+            private void flush() {
+                if (rows.isEmpty()) {
+                    return;
+                }
+                List<Object[]> chunk = List.copyOf(rows);
+                rows.clear();
+                transactionTemplate.executeWithoutResult(status ->
+                        jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                            @Override
+                            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                                bind(statement, chunk.get(i));
+                            }
+
+                            @Override
+                            public int getBatchSize() {
+                                return chunk.size();
+                            }
+                        }));
+                int before = total;
+                total += chunk.size();
+                if (total / 100_000 != before / 100_000) {
+                    log.info("Synthetic {}: {} rows written", name, total);
+                }
+            }
+
+            private void bind(PreparedStatement statement, Object[] row) throws SQLException {
+                for (int i = 0; i < row.length; i++) {
+                    Object value = row[i];
+                    if (value instanceof UUID uuid) {
+                        if (nativeUuid) {
+                            statement.setObject(i + 1, uuid);
+                        } else {
+                            statement.setBytes(i + 1, ByteBuffer.allocate(16)
+                                    .putLong(uuid.getMostSignificantBits())
+                                    .putLong(uuid.getLeastSignificantBits())
+                                    .array());
+                        }
+                    } else if (value instanceof LocalDateTime time) {
+                        statement.setTimestamp(i + 1, Timestamp.valueOf(time));
+                    } else {
+                        statement.setObject(i + 1, value);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package at.fhtw.webenprjbackend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Size and shape of the synthetic load-test dataset (see {@link SyntheticDataGenerator}).
+ */
+@ConfigurationProperties(prefix = "app.data.synthetic")
+public class SyntheticDataProperties {
+
+    /** Generate the dataset at startup. */
+    private boolean enabled;
+
+    private int users = 10_000;
+
+    /** Top-level posts. */
+    private int posts = 100_000;
+
+    /** Comments per top-level post, on average. */
+    private double commentsPerPost = 0.5;
+
+    /** Likes per user, on average. */
+    private int likesPerUser = 20;
+
+    /** Bookmarks per user, on average. */
+    private int bookmarksPerUser = 3;
+
+    /** Followed accounts per user, on average. */
+    private int followsPerUser = 15;
+
+    /**
+     * Zipf exponent for who posts and which posts/accounts attract likes, comments and follows.
+     * Around 1 means a few accounts and posts get most of the activity.
+     */
+    private double zipfExponent = 0.9;
+
+    /** Rows per JDBC batch (one transaction each). */
+    private int batchSize = 1_000;
+
+    /** Seed for reproducible datasets. */
+    private long seed = 42;
+
+    /** Plain-text password of every synthetic user, for the load driver's logins. */
+    private String password = "Password123!";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public void setUsers(int users) {
+        this.users = users;
+    }
+
+    public int getPosts() {
+        return posts;
+    }
+
+    public void setPosts(int posts) {
+        this.posts = posts;
+    }
+
+    public double getCommentsPerPost() {
+        return commentsPerPost;
+    }
+
+    public void setCommentsPerPost(double commentsPerPost) {
+        this.commentsPerPost = commentsPerPost;
+    }
+
+    public int getLikesPerUser() {
+        return likesPerUser;
+    }
+
+    public void setLikesPerUser(int likesPerUser) {
+        this.likesPerUser = likesPerUser;
+    }
+
+    public int getBookmarksPerUser() {
+        return bookmarksPerUser;
+    }
+
+    public void setBookmarksPerUser(int bookmarksPerUser) {
+        this.bookmarksPerUser = bookmarksPerUser;
+    }
+
+    public int getFollowsPerUser() {
+        return followsPerUser;
+    }
+
+    public void setFollowsPerUser(int followsPerUser) {
+        this.followsPerUser = followsPerUser;
+    }
+
+    public double getZipfExponent() {
+        return zipfExponent;
+    }
+
+    public void setZipfExponent(double zipfExponent) {
+        this.zipfExponent = zipfExponent;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+}
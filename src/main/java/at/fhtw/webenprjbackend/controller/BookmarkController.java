@@ -3,9 +3,9 @@ package at.fhtw.webenprjbackend.controller;
 import java.util.List;
 import java.util.UUID;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -27,6 +27,7 @@ import at.fhtw.webenprjbackend.dto.BookmarkResponse;
 import at.fhtw.webenprjbackend.dto.CollectionCreateRequest;
 import at.fhtw.webenprjbackend.security.UserPrincipal;
 import at.fhtw.webenprjbackend.service.BookmarkService;
+import at.fhtw.webenprjbackend.stats.ApproximateCounts;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -167,14 +168,16 @@ public class BookmarkController {
         ),
         @ApiResponse(responseCode = "401", description = "Authentication required")
     })
-    public ResponseEntity<Page<BookmarkResponse>> getUserBookmarks(
+    public ResponseEntity<Slice<BookmarkResponse>> getUserBookmarks(
             @RequestParam(defaultValue = "0") @PositiveOrZero int page,
             @RequestParam(defaultValue = "20") @Positive @Max(100) int size,
+            @Parameter(description = ApproximateCounts.WITH_TOTAL_DESCRIPTION)
+            @RequestParam(defaultValue = "true") boolean withTotal,
             Authentication authentication) {
 
         UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
         Pageable pageable = PageRequest.of(page, size);
-        Page<BookmarkResponse> bookmarks = bookmarkService.getUserBookmarks(principal.getId(), pageable);
+        Slice<BookmarkResponse> bookmarks = bookmarkService.getUserBookmarks(principal.getId(), pageable, withTotal);
         return ResponseEntity.ok(bookmarks);
     }
 
@@ -195,14 +198,16 @@ public class BookmarkController {
         ),
         @ApiResponse(responseCode = "401", description = "Authentication required")
     })
-    public ResponseEntity<Page<BookmarkResponse>> getUncategorizedBookmarks(
+    public ResponseEntity<Slice<BookmarkResponse>> getUncategorizedBookmarks(
             @RequestParam(defaultValue = "0") @PositiveOrZero int page,
             @RequestParam(defaultValue = "20") @Positive @Max(100) int size,
+            @Parameter(description = ApproximateCounts.WITH_TOTAL_DESCRIPTION)
+            @RequestParam(defaultValue = "true") boolean withTotal,
             Authentication authentication) {
 
         UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
         Pageable pageable = PageRequest.of(page, size);
-        Page<BookmarkResponse> bookmarks = bookmarkService.getUncategorizedBookmarks(principal.getId(), pageable);
+        Slice<BookmarkResponse> bookmarks = bookmarkService.getUncategorizedBookmarks(principal.getId(), pageable, withTotal);
         return ResponseEntity.ok(bookmarks);
     }
 
@@ -279,16 +284,18 @@ public class BookmarkController {
         @ApiResponse(responseCode = "403", description = "Cannot access another user's collection"),
         @ApiResponse(responseCode = "401", description = "Authentication required")
     })
-    public ResponseEntity<Page<BookmarkResponse>> getCollectionBookmarks(
+    public ResponseEntity<Slice<BookmarkResponse>> getCollectionBookmarks(
             @Parameter(description = "Collection UUID", required = true)
             @PathVariable UUID id,
             @RequestParam(defaultValue = "0") @PositiveOrZero int page,
             @RequestParam(defaultValue = "20") @Positive @Max(100) int size,
+            @Parameter(description = ApproximateCounts.WITH_TOTAL_DESCRIPTION)
+            @RequestParam(defaultValue = "true") boolean withTotal,
             Authentication authentication) {
 
         UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
         Pageable pageable = PageRequest.of(page, size);
-        Page<BookmarkResponse> bookmarks = bookmarkService.getCollectionBookmarks(id, principal.getId(), pageable);
+        Slice<BookmarkResponse> bookmarks = bookmarkService.getCollectionBookmarks(id, principal.getId(), pageable, withTotal);
         return ResponseEntity.ok(bookmarks);
     }
 
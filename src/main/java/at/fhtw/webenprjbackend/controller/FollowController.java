@@ -3,9 +3,9 @@ package at.fhtw.webenprjbackend.controller;
 import java.util.Map;
 import java.util.UUID;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -21,7 +21,9 @@ import org.springframework.web.bind.annotation.RestController;
 import at.fhtw.webenprjbackend.dto.UserResponse;
 import at.fhtw.webenprjbackend.security.UserPrincipal;
 import at.fhtw.webenprjbackend.service.FollowService;
+import at.fhtw.webenprjbackend.stats.ApproximateCounts;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -68,22 +70,26 @@ public class FollowController {
 
     @GetMapping("/followers")
     @Operation(summary = "List followers of a user")
-    public ResponseEntity<Page<UserResponse>> getFollowers(
+    public ResponseEntity<Slice<UserResponse>> getFollowers(
             @PathVariable UUID id,
             @RequestParam(defaultValue = "0") @PositiveOrZero int page,
-            @RequestParam(defaultValue = "20") @Positive @Max(100) int size) {
+            @RequestParam(defaultValue = "20") @Positive @Max(100) int size,
+            @Parameter(description = ApproximateCounts.WITH_TOTAL_DESCRIPTION)
+            @RequestParam(defaultValue = "true") boolean withTotal) {
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
-        return ResponseEntity.ok(followService.getFollowers(id, pageable));
+        return ResponseEntity.ok(followService.getFollowers(id, pageable, withTotal));
     }
 
     @GetMapping("/following")
     @Operation(summary = "List users followed by this user")
-    public ResponseEntity<Page<UserResponse>> getFollowing(
+    public ResponseEntity<Slice<UserResponse>> getFollowing(
             @PathVariable UUID id,
             @RequestParam(defaultValue = "0") @PositiveOrZero int page,
-            @RequestParam(defaultValue = "20") @Positive @Max(100) int size) {
+            @RequestParam(defaultValue = "20") @Positive @Max(100) int size,
+            @Parameter(description = ApproximateCounts.WITH_TOTAL_DESCRIPTION)
+            @RequestParam(defaultValue = "true") boolean withTotal) {
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
-        return ResponseEntity.ok(followService.getFollowing(id, pageable));
+        return ResponseEntity.ok(followService.getFollowing(id, pageable, withTotal));
     }
 
     @GetMapping("/following-status")
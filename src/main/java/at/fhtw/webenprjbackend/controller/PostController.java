@@ -1,13 +1,24 @@
 package at.fhtw.webenprjbackend.controller;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Predicate;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.validation.annotation.Validated;
@@ -21,14 +32,33 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import at.fhtw.webenprjbackend.config.NdjsonHttpMessageConverter;
 import at.fhtw.webenprjbackend.dto.AdminPostResponse;
 import at.fhtw.webenprjbackend.dto.AdminPostStatsResponse;
 import at.fhtw.webenprjbackend.dto.PostCreateRequest;
 import at.fhtw.webenprjbackend.dto.PostResponse;
 import at.fhtw.webenprjbackend.dto.PostUpdateRequest;
+import at.fhtw.webenprjbackend.dto.SliceModel;
+import at.fhtw.webenprjbackend.dto.TrendingSubjectResponse;
+import at.fhtw.webenprjbackend.feed.FeedRanking;
+import at.fhtw.webenprjbackend.feed.FeedStreamService;
+import at.fhtw.webenprjbackend.service.AdminExportService;
+import at.fhtw.webenprjbackend.service.ExportFormat;
+import at.fhtw.webenprjbackend.service.FeedOptions;
 import at.fhtw.webenprjbackend.security.UserPrincipal;
 import at.fhtw.webenprjbackend.service.PostService;
+import at.fhtw.webenprjbackend.stats.ApproximateCounts;
+import at.fhtw.webenprjbackend.stats.ContentStats;
+import at.fhtw.webenprjbackend.stats.TrendingSubjects;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -55,10 +85,29 @@ public class PostController {
 
     private static final String MEDIA_TYPE_JSON = "application/json";
 
-    private final PostService postService;
+    /** Per-user responses that clients may keep but must revalidate with their ETag. */
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    /** Representations of revalidated reads, in the order the converters prefer them. */
+    private static final List<MediaType> REPRESENTATIONS = List.of(MediaType.APPLICATION_JSON,
+            MediaType.APPLICATION_CBOR, NdjsonHttpMessageConverter.APPLICATION_X_NDJSON, MediaType.APPLICATION_NDJSON);
 
-    public PostController(PostService postService) {
+    private final PostService postService;
+    private final FeedStreamService feedStreamService;
+    private final AdminExportService adminExportService;
+    private final ContentStats contentStats;
+    private final TrendingSubjects trendingSubjects;
+    private final ContentNegotiationManager contentNegotiationManager;
+
+    public PostController(PostService postService, FeedStreamService feedStreamService,
+                          AdminExportService adminExportService, ContentStats contentStats,
+                          TrendingSubjects trendingSubjects, ContentNegotiationManager contentNegotiationManager) {
         this.postService = postService;
+        this.feedStreamService = feedStreamService;
+        this.adminExportService = adminExportService;
+        this.contentStats = contentStats;
+        this.trendingSubjects = trendingSubjects;
+        this.contentNegotiationManager = contentNegotiationManager;
     }
 
     @GetMapping
@@ -75,9 +124,13 @@ public class PostController {
                 mediaType = MEDIA_TYPE_JSON,
                 array = @ArraySchema(schema = @Schema(implementation = PostResponse.class))
             )
+        ),
+        @ApiResponse(
+            responseCode = "304",
+            description = "Page unchanged since the ETag sent in If-None-Match"
         )
     })
-    public ResponseEntity<Page<PostResponse>> getAllPosts(
+    public ResponseEntity<MappingJacksonValue> getAllPosts(
             @Parameter(
                 description = "Optional search keyword to filter posts by content (case-insensitive)",
                 example = "java",
@@ -102,25 +155,104 @@ public class PostController {
                 required = false
             )
             @RequestParam(required = false) UUID authorId,
-            Authentication authentication) {
+            @Parameter(
+                description = "Number of earliest comments to embed under each post as previewComments (0-10)",
+                example = "3",
+                required = false
+            )
+            @RequestParam(defaultValue = "0") @PositiveOrZero @Max(10) int previewComments,
+            @Parameter(
+                description = "Comma-separated PostResponse fields to return (id is always included). " +
+                              "Counts and flags that are not selected are not computed.",
+                example = "id,content,username,likeCount",
+                required = false
+            )
+            @RequestParam(required = false) String fields,
+            @Parameter(
+                description = "'compact' replaces the Spring Data page envelope with {content, page: {size, number, " +
+                              "totalElements, totalPages}}, or {content, page: {size, number, hasNext}} with " +
+                              "withTotal=false",
+                required = false
+            )
+            @RequestParam(required = false, defaultValue = "full")
+            @Pattern(regexp = "full|compact", flags = Pattern.Flag.CASE_INSENSITIVE,
+                    message = "envelope must be 'full' or 'compact'")
+            String envelope,
+            @Parameter(
+                description = "'new' (default) is newest first. 'top' ranks posts of the last week by likes, " +
+                              "comments and bookmarks; 'hot' does the same with older posts ranked lower. " +
+                              "Ranked orders cannot be combined with filter, authorId, subject or search.",
+                required = false
+            )
+            @RequestParam(required = false, defaultValue = "new")
+            @Pattern(regexp = "new|top|hot", flags = Pattern.Flag.CASE_INSENSITIVE,
+                    message = "sort must be 'new', 'top' or 'hot'")
+            String sort,
+            @Parameter(
+                description = ApproximateCounts.WITH_TOTAL_DESCRIPTION,
+                required = false
+            )
+            @RequestParam(defaultValue = "true") boolean withTotal,
+            Authentication authentication,
+            NativeWebRequest request) {
 
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
         UUID currentUserId = extractUserId(authentication);
+        Set<String> fieldSet = parseFields(fields);
+        FeedOptions options = FeedOptions.conditional(notModified(request))
+                .withPreviewComments(previewComments)
+                .withFields(fieldSet)
+                .withTotal(withTotal);
 
         // RESTful approach: use query parameter to filter collection
-        if ("following".equalsIgnoreCase(filter)) {
-            return ResponseEntity.ok(postService.getFollowingPosts(pageable, currentUserId));
-        }
-        if (authorId != null) {
-            return ResponseEntity.ok(postService.getPostsByAuthor(authorId, pageable, currentUserId));
-        }
-        if (subject != null && !subject.isBlank()) {
-            return ResponseEntity.ok(postService.searchBySubject(subject, pageable, currentUserId));
+        Slice<PostResponse> posts;
+        if (!"new".equalsIgnoreCase(sort)) {
+            if ("following".equalsIgnoreCase(filter) || authorId != null
+                    || (subject != null && !subject.isBlank()) || (search != null && !search.isBlank())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "sort=" + sort + " cannot be combined with filter, authorId, subject or search");
+            }
+            posts = postService.getRankedPosts(FeedRanking.of(sort), pageable, currentUserId, options);
+        } else if ("following".equalsIgnoreCase(filter)) {
+            posts = postService.getFollowingPosts(pageable, currentUserId, options);
+        } else if (authorId != null) {
+            posts = postService.getPostsByAuthor(authorId, pageable, currentUserId, options);
+        } else if (subject != null && !subject.isBlank()) {
+            posts = postService.searchBySubject(subject, pageable, currentUserId, options);
+        } else if (search != null && !search.isBlank()) {
+            posts = postService.searchPosts(search, pageable, currentUserId, options);
+        } else {
+            posts = postService.getAllPosts(pageable, currentUserId, options);
         }
-        if (search != null && !search.isBlank()) {
-            return ResponseEntity.ok(postService.searchPosts(search, pageable, currentUserId));
+        return revalidated(shaped(posts, fieldSet, envelope));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+        summary = "Stream live feed updates",
+        description = "Server-Sent Events replacing feed polling. Events: 'post' (new top-level post id and author), " +
+                      "'likes' and 'comments' (count delta for a post id) and 'resync' (the client fell behind; " +
+                      "reload the feed and reconnect). Idle streams receive a heartbeat comment."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Stream opened",
+            content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE)
+        )
+    })
+    public SseEmitter streamFeed(
+            @Parameter(description = "'following' limits new-post events to followed authors")
+            @RequestParam(required = false, defaultValue = "all")
+            @Pattern(regexp = "all|following", flags = Pattern.Flag.CASE_INSENSITIVE,
+                    message = "filter must be 'all' or 'following'")
+            String filter,
+            Authentication authentication) {
+        UUID currentUserId = extractUserId(authentication);
+        if (currentUserId == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Authentication required for feed stream");
         }
-        return ResponseEntity.ok(postService.getAllPosts(pageable, currentUserId));
+        return feedStreamService.subscribe(currentUserId, "following".equalsIgnoreCase(filter));
     }
 
     @GetMapping("/subjects")
@@ -142,6 +274,34 @@ public class PostController {
         return ResponseEntity.ok(postService.getAvailableSubjects());
     }
 
+    @GetMapping("/subjects/trending")
+    @Operation(
+        summary = "Get trending subjects",
+        description = "Subjects ranked by new posts, comments and likes over the last hour or day, busiest first. " +
+                      "Counts are estimates from in-memory counters and may slightly overcount."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Trending subjects retrieved successfully",
+            content = @Content(
+                mediaType = MEDIA_TYPE_JSON,
+                array = @ArraySchema(schema = @Schema(implementation = TrendingSubjectResponse.class))
+            )
+        ),
+        @ApiResponse(responseCode = "400", description = "Invalid window or limit")
+    })
+    public ResponseEntity<java.util.List<TrendingSubjectResponse>> getTrendingSubjects(
+            @Parameter(description = "Time window to rank by")
+            @RequestParam(defaultValue = "hour")
+            @Pattern(regexp = "hour|day", flags = Pattern.Flag.CASE_INSENSITIVE,
+                    message = "window must be 'hour' or 'day'")
+            String window,
+            @Parameter(description = "Number of subjects to return")
+            @RequestParam(defaultValue = "10") @Positive @Max(50) int limit) {
+        return ResponseEntity.ok(trendingSubjects.trending(TrendingSubjects.Window.of(window), limit));
+    }
+
     @GetMapping("/{id}")
     @Operation(
         summary = "Get post by ID",
@@ -156,6 +316,10 @@ public class PostController {
                 schema = @Schema(implementation = PostResponse.class)
             )
         ),
+        @ApiResponse(
+            responseCode = "304",
+            description = "Post unchanged since the ETag sent in If-None-Match"
+        ),
         @ApiResponse(
             responseCode = "404",
             description = "Post not found"
@@ -164,9 +328,10 @@ public class PostController {
     public ResponseEntity<PostResponse> getPostById(
             @Parameter(description = "Post UUID", required = true, example = "123e4567-e89b-12d3-a456-426614174000")
             @PathVariable UUID id,
-            Authentication authentication) {
+            Authentication authentication,
+            NativeWebRequest request) {
         UUID currentUserId = extractUserId(authentication);
-        return ResponseEntity.ok(postService.getPostById(id, currentUserId));
+        return revalidated(postService.getPostById(id, currentUserId, notModified(request)));
     }
 
     @GetMapping("/{id}/comments")
@@ -183,21 +348,51 @@ public class PostController {
                 array = @ArraySchema(schema = @Schema(implementation = PostResponse.class))
             )
         ),
+        @ApiResponse(
+            responseCode = "304",
+            description = "Comments unchanged since the ETag sent in If-None-Match"
+        ),
         @ApiResponse(
             responseCode = "404",
             description = "Post not found"
         )
     })
-    public ResponseEntity<Page<PostResponse>> getComments(
+    public ResponseEntity<MappingJacksonValue> getComments(
             @Parameter(description = "Post UUID", required = true, example = "123e4567-e89b-12d3-a456-426614174000")
             @PathVariable UUID id,
             @RequestParam(defaultValue = "0") @PositiveOrZero int page,
             @RequestParam(defaultValue = "20") @Positive @Max(100) int size,
-            Authentication authentication) {
+            @Parameter(
+                description = "Comma-separated PostResponse fields to return (id is always included). " +
+                              "Counts and flags that are not selected are not computed.",
+                example = "id,content,username,likeCount",
+                required = false
+            )
+            @RequestParam(required = false) String fields,
+            @Parameter(
+                description = "'compact' replaces the Spring Data page envelope with {content, page: {size, number, " +
+                              "totalElements, totalPages}}, or {content, page: {size, number, hasNext}} with " +
+                              "withTotal=false",
+                required = false
+            )
+            @RequestParam(required = false, defaultValue = "full")
+            @Pattern(regexp = "full|compact", flags = Pattern.Flag.CASE_INSENSITIVE,
+                    message = "envelope must be 'full' or 'compact'")
+            String envelope,
+            @Parameter(
+                description = ApproximateCounts.WITH_TOTAL_DESCRIPTION,
+                required = false
+            )
+            @RequestParam(defaultValue = "true") boolean withTotal,
+            Authentication authentication,
+            NativeWebRequest request) {
 
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.ASC, "createdAt"));
         UUID currentUserId = extractUserId(authentication);
-        return ResponseEntity.ok(postService.getCommentsForPost(id, pageable, currentUserId));
+        Set<String> fieldSet = parseFields(fields);
+        Slice<PostResponse> comments = postService.getCommentsForPost(id, pageable, currentUserId,
+                FeedOptions.conditional(notModified(request)).withFields(fieldSet).withTotal(withTotal));
+        return revalidated(shaped(comments, fieldSet, envelope));
     }
 
     // POST Operations (Create)
@@ -348,10 +543,40 @@ public class PostController {
         return ResponseEntity.ok(postService.adminGetAllPosts(active, isComment, search, pageable));
     }
 
+    @GetMapping("/admin/export")
+    @Operation(
+        summary = "Export all posts",
+        description = "Stream every post and comment, including inactive ones, as a CSV or NDJSON download. " +
+                      "Rows are read through a database cursor, so memory use is constant regardless of table size.",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Export streamed"),
+        @ApiResponse(responseCode = "401", description = "Authentication required"),
+        @ApiResponse(responseCode = "403", description = "Admin role required")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> adminExportPosts(
+            @Parameter(description = "Export format: csv or ndjson")
+            @RequestParam(defaultValue = "csv")
+            @Pattern(regexp = "csv|ndjson", flags = Pattern.Flag.CASE_INSENSITIVE,
+                    message = "format must be 'csv' or 'ndjson'")
+            String format) {
+
+        ExportFormat exportFormat = ExportFormat.of(format);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("posts." + exportFormat.extension()).build().toString())
+                .body(out -> adminExportService.exportPosts(exportFormat, out));
+    }
+
     @GetMapping("/admin/stats")
     @Operation(
         summary = "Get post statistics",
-        description = "Retrieve statistics about posts and comments for admin dashboard.",
+        description = "Retrieve statistics about posts and comments for admin dashboard, with posts created per " +
+                      "hour and per day. Served from in-memory counters that are reconciled with the database " +
+                      "periodically.",
         security = @SecurityRequirement(name = "bearerAuth")
     )
     @ApiResponses(value = {
@@ -368,7 +593,7 @@ public class PostController {
     })
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<AdminPostStatsResponse> adminGetStats() {
-        return ResponseEntity.ok(postService.getAdminPostStats());
+        return ResponseEntity.ok(contentStats.postStats());
     }
 
     @PatchMapping("/admin/{id}/active")
@@ -421,6 +646,89 @@ public class PostController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Parses {@code fields=} into PostResponse property names. Blank means all fields;
+     * {@code id} is always added so clients can correlate partial objects.
+     */
+    private static Set<String> parseFields(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return Set.of();
+        }
+        Set<String> selected = new HashSet<>();
+        selected.add("id");
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!PostResponse.FIELDS.contains(name)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown field: " + name);
+            }
+            selected.add(name);
+        }
+        return selected;
+    }
+
+    /**
+     * Applies the page envelope and field selection. {@code null} (not modified) stays {@code null}.
+     */
+    private static MappingJacksonValue shaped(Slice<PostResponse> posts, Set<String> fields, String envelope) {
+        if (posts == null) {
+            return null;
+        }
+        Object enveloped = posts;
+        if ("compact".equalsIgnoreCase(envelope)) {
+            enveloped = posts instanceof Page<PostResponse> page ? new PagedModel<>(page) : new SliceModel<>(posts);
+        }
+        MappingJacksonValue body = new MappingJacksonValue(enveloped);
+        if (!fields.isEmpty()) {
+            body.setFilters(new SimpleFilterProvider().addFilter(PostResponse.FIELD_FILTER,
+                    SimpleBeanPropertyFilter.filterOutAllExcept(fields)));
+        }
+        return body;
+    }
+
+    /**
+     * Wraps a conditional read: {@code null} means the service already matched the
+     * client's ETag, so answer 304 (the ETag header is set by the check either way).
+     * The body depends on the Accept header, so caches must key on it too.
+     */
+    private static <T> ResponseEntity<T> revalidated(T body) {
+        if (body == null) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE)
+                    .varyBy(HttpHeaders.ACCEPT).build();
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).varyBy(HttpHeaders.ACCEPT).body(body);
+    }
+
+    /**
+     * Conditional GET check whose ETag also names the negotiated representation, so a
+     * JSON ETag never validates a cached CBOR or NDJSON body of the same page.
+     */
+    private Predicate<String> notModified(NativeWebRequest request) {
+        String suffix = "-" + representation(request).getSubtype();
+        return etag -> request.checkNotModified(etag.substring(0, etag.length() - 1) + suffix + "\"");
+    }
+
+    /**
+     * The representation the message converters will pick for this request's Accept
+     * header; JSON when nothing more specific is asked for.
+     */
+    private MediaType representation(NativeWebRequest request) {
+        try {
+            for (MediaType accepted : contentNegotiationManager.resolveMediaTypes(request)) {
+                for (MediaType representation : REPRESENTATIONS) {
+                    if (accepted.isCompatibleWith(representation)) {
+                        return representation;
+                    }
+                }
+            }
+        } catch (HttpMediaTypeNotAcceptableException e) {
+            // unparseable Accept header; the converters reject it with 406 later
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
     private UUID extractUserId(Authentication authentication) {
         if (authentication == null || !authentication.isAuthenticated()) {
             return null;
@@ -7,13 +7,17 @@ import at.fhtw.webenprjbackend.dto.AdminUserUpdateRequest;
 import at.fhtw.webenprjbackend.dto.CredentialChangeRequests;
 import at.fhtw.webenprjbackend.dto.PostResponse;
 import at.fhtw.webenprjbackend.dto.ProfileUpdateResponse;
+import at.fhtw.webenprjbackend.dto.UserActivityResponse;
 import at.fhtw.webenprjbackend.dto.UserProfileUpdateRequest;
 import at.fhtw.webenprjbackend.dto.UserRegistrationRequest;
 import at.fhtw.webenprjbackend.dto.UserResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -29,10 +33,16 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import at.fhtw.webenprjbackend.security.UserPrincipal;
+import at.fhtw.webenprjbackend.service.ActivityService;
+import at.fhtw.webenprjbackend.service.AdminExportService;
+import at.fhtw.webenprjbackend.service.ExportFormat;
 import at.fhtw.webenprjbackend.service.PostService;
 import at.fhtw.webenprjbackend.service.UserService;
+import at.fhtw.webenprjbackend.stats.ApproximateCounts;
+import at.fhtw.webenprjbackend.stats.ContentStats;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -45,6 +55,7 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 
@@ -61,10 +72,18 @@ public class UserController {
 
     private final UserService userService;
     private final PostService postService;
+    private final AdminExportService adminExportService;
+    private final ContentStats contentStats;
+    private final ActivityService activityService;
 
-    public UserController(UserService userService, PostService postService) {
+    public UserController(UserService userService, PostService postService,
+                          AdminExportService adminExportService, ContentStats contentStats,
+                          ActivityService activityService) {
         this.userService = userService;
         this.postService = postService;
+        this.adminExportService = adminExportService;
+        this.contentStats = contentStats;
+        this.activityService = activityService;
     }
 
     @PostMapping
@@ -123,7 +142,7 @@ public class UserController {
         )
     )
     public ResponseEntity<java.util.Map<String, Long>> getUserCount() {
-        long count = userService.getUserCount();
+        long count = contentStats.userCount();
         return ResponseEntity.ok(java.util.Map.of("count", count));
     }
 
@@ -163,14 +182,20 @@ public class UserController {
     @GetMapping("/me/activity")
     @Operation(
         summary = "Get user activity status",
-        description = "Get activity status for the currently authenticated user, including whether they've posted today.",
+        description = "Get activity status for the currently authenticated user: whether they've posted today " +
+                      "and their current and longest daily posting streaks. A streak counts consecutive days " +
+                      "with at least one post and is kept until a full day passes without one.",
         security = @SecurityRequirement(name = "bearerAuth")
     )
-    @ApiResponse(responseCode = "200", description = "User activity status")
-    public ResponseEntity<java.util.Map<String, Object>> getActivityStatus(Authentication authentication) {
+    @ApiResponse(responseCode = "200", description = "User activity status",
+        content = @Content(
+            mediaType = MEDIA_TYPE_JSON,
+            examples = @ExampleObject(value = "{\"hasPostedToday\": true, \"currentStreak\": 4, \"longestStreak\": 12, \"lastActiveDay\": \"2024-11-27\"}")
+        )
+    )
+    public ResponseEntity<UserActivityResponse> getActivityStatus(Authentication authentication) {
         UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
-        boolean hasPostedToday = postService.hasUserPostedToday(principal.getId());
-        return ResponseEntity.ok(java.util.Map.of("hasPostedToday", hasPostedToday));
+        return ResponseEntity.ok(activityService.getActivity(principal.getId()));
     }
 
     @GetMapping("/me/posts")
@@ -180,13 +205,15 @@ public class UserController {
         security = @SecurityRequirement(name = "bearerAuth")
     )
     @ApiResponse(responseCode = "200", description = "User's posts and comments")
-    public ResponseEntity<Page<PostResponse>> getMyPosts(
+    public ResponseEntity<Slice<PostResponse>> getMyPosts(
             Authentication authentication,
             @RequestParam(defaultValue = "0") @PositiveOrZero int page,
-            @RequestParam(defaultValue = "10") @Positive @Max(50) int size) {
+            @RequestParam(defaultValue = "10") @Positive @Max(50) int size,
+            @Parameter(description = ApproximateCounts.WITH_TOTAL_DESCRIPTION)
+            @RequestParam(defaultValue = "true") boolean withTotal) {
         UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
         Pageable pageable = PageRequest.of(page, size);
-        return ResponseEntity.ok(postService.getUserActivity(principal.getId(), pageable, principal.getId()));
+        return ResponseEntity.ok(postService.getUserActivity(principal.getId(), pageable, principal.getId(), withTotal));
     }
 
     @PutMapping("/me")
@@ -396,6 +423,50 @@ public class UserController {
         return ResponseEntity.ok(userService.adminGetAllUsers(pageable));
     }
 
+    @GetMapping("/admin/export")
+    @Operation(
+        summary = "Export all users (Admin only)",
+        description = "Stream every user as a CSV or NDJSON download. Rows are read through a database cursor, " +
+                      "so memory use is constant regardless of table size.",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Export streamed"),
+        @ApiResponse(responseCode = "403", description = "Admin privileges required")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> adminExportUsers(
+            @Parameter(description = "Export format: csv or ndjson")
+            @RequestParam(defaultValue = "csv")
+            @Pattern(regexp = "csv|ndjson", flags = Pattern.Flag.CASE_INSENSITIVE,
+                    message = "format must be 'csv' or 'ndjson'")
+            String format) {
+
+        ExportFormat exportFormat = ExportFormat.of(format);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("users." + exportFormat.extension()).build().toString())
+                .body(out -> adminExportService.exportUsers(exportFormat, out));
+    }
+
+    @PostMapping("/admin/activity/backfill")
+    @Operation(
+        summary = "Rebuild daily activity (Admin only)",
+        description = "Recompute every user's posting days and streaks from their top-level posts. " +
+                      "Runs automatically on startup while no activity is stored.",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Activity rebuilt",
+            content = @Content(mediaType = MEDIA_TYPE_JSON, examples = @ExampleObject(value = "{\"users\": 42}"))),
+        @ApiResponse(responseCode = "403", description = "Admin privileges required")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<java.util.Map<String, Integer>> adminBackfillActivity() {
+        return ResponseEntity.ok(java.util.Map.of("users", activityService.backfill()));
+    }
+
     @GetMapping("/{id}")
     @Operation(
         summary = "Get user by ID (Admin only)",
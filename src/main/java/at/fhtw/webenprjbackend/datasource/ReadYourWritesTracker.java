@@ -0,0 +1,55 @@
+package at.fhtw.webenprjbackend.datasource;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers when each user last committed a write, so their reads can stay
+ * on the primary until replicas have caught up.
+ *
+ * <p>State is in-process; with several app instances a user only sees their
+ * own writes if their requests hit the same instance.
+ */
+public class ReadYourWritesTracker {
+
+    private final long windowMillis;
+    private final Map<UUID, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(Duration window) {
+        this.windowMillis = window.toMillis();
+    }
+
+    public void recordWrite(UUID userId) {
+        if (userId != null) {
+            lastWrites.put(userId, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Returns {@code true} if the user wrote within the sticky window.
+     */
+    public boolean isSticky(UUID userId) {
+        if (userId == null) {
+            return false;
+        }
+        Long lastWrite = lastWrites.get(userId);
+        if (lastWrite == null) {
+            return false;
+        }
+        if (System.currentTimeMillis() - lastWrite < windowMillis) {
+            return true;
+        }
+        lastWrites.remove(userId, lastWrite);
+        return false;
+    }
+
+    /**
+     * Drops entries older than the window. Called periodically.
+     */
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        lastWrites.values().removeIf(lastWrite -> now - lastWrite >= windowMillis);
+    }
+}
@@ -0,0 +1,103 @@
+package at.fhtw.webenprjbackend.datasource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Replaces the auto-configured data source with read/write routing when
+ * {@code app.datasource.replicas.enabled=true}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replicas", name = "enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    /**
+     * The write pool, with {@code spring.datasource.hikari.*} bound onto it like the
+     * auto-configured pool it replaces.
+     */
+    @Bean(destroyMethod = "close")
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties primaryProperties) {
+        HikariDataSource primary = primaryProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName("primary");
+        return primary;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(HikariDataSource primary,
+                                                                 DataSourceProperties primaryProperties,
+                                                                 ReplicaProperties replicaProperties,
+                                                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        List<HikariDataSource> pools = new ArrayList<>();
+        pools.add(primary);
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : replicaProperties.getUrls()) {
+            HikariDataSource replica = createReplica(url, primary, primaryProperties, replicaProperties);
+            pools.add(replica);
+            replicas.add(replica);
+        }
+        // the replica pools are not beans, so Boot's hikaricp.* pool metrics would not see them
+        meterRegistry.ifAvailable(registry -> pools.forEach(pool ->
+                pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry))));
+
+        return new ReadWriteRoutingDataSource(
+                primary,
+                replicas,
+                new ReadYourWritesTracker(replicaProperties.getStickyWindow()),
+                replicaProperties.getHealthCheckInterval());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+    }
+
+    /**
+     * Hibernate holds a session's connection until the session closes by default,
+     * which with open-in-view would pin every later transaction of a request to
+     * the first routing decision. Releasing after each transaction re-routes per transaction.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    /** A read-only pool with the primary's credentials and driver properties, e.g. {@code useCursorFetch}. */
+    private HikariDataSource createReplica(String url, HikariDataSource primary, DataSourceProperties primaryProperties,
+                                           ReplicaProperties replicaProperties) {
+        HikariDataSource replica = new HikariDataSource();
+        replica.setPoolName("replica-" + url.hashCode());
+        replica.setJdbcUrl(url);
+        replica.setDriverClassName(primaryProperties.determineDriverClassName());
+        replica.setUsername(replicaProperties.getUsername() != null
+                ? replicaProperties.getUsername() : primaryProperties.determineUsername());
+        replica.setPassword(replicaProperties.getPassword() != null
+                ? replicaProperties.getPassword() : primaryProperties.determinePassword());
+        replica.setDataSourceProperties(primary.getDataSourceProperties());
+        replica.setReadOnly(true);
+        return replica;
+    }
+}
@@ -0,0 +1,80 @@
+package at.fhtw.webenprjbackend.datasource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for read replicas behind the primary {@code spring.datasource}.
+ */
+@ConfigurationProperties(prefix = "app.datasource.replicas")
+public class ReplicaProperties {
+
+    /** Route read-only transactions to replicas. When off, only the primary is used. */
+    private boolean enabled;
+
+    /** JDBC URLs of the replicas. */
+    private List<String> urls = new ArrayList<>();
+
+    /** Replica username. Falls back to {@code spring.datasource.username}. */
+    private String username;
+
+    /** Replica password. Falls back to {@code spring.datasource.password}. */
+    private String password;
+
+    /** How long a user's reads stay on the primary after their last write. */
+    private Duration stickyWindow = Duration.ofSeconds(5);
+
+    /** How often replica connectivity is re-checked. */
+    private Duration healthCheckInterval = Duration.ofSeconds(10);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getUrls() {
+        return urls;
+    }
+
+    public void setUrls(List<String> urls) {
+        this.urls = urls;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public Duration getStickyWindow() {
+        return stickyWindow;
+    }
+
+    public void setStickyWindow(Duration stickyWindow) {
+        this.stickyWindow = stickyWindow;
+    }
+
+    public Duration getHealthCheckInterval() {
+        return healthCheckInterval;
+    }
+
+    public void setHealthCheckInterval(Duration healthCheckInterval) {
+        this.healthCheckInterval = healthCheckInterval;
+    }
+}
@@ -0,0 +1,24 @@
+package at.fhtw.webenprjbackend.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One post or comment in the admin export, projected straight from the query so
+ * rows never become managed entities. Component order is the CSV column order.
+ */
+public record AdminPostExportRow(
+        UUID id,
+        UUID parentId,
+        String subject,
+        String content,
+        UUID authorId,
+        String authorUsername,
+        String authorEmail,
+        long likeCount,
+        long bookmarkCount,
+        long commentCount,
+        boolean active,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) { }
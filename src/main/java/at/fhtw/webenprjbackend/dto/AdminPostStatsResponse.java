@@ -1,5 +1,7 @@
 package at.fhtw.webenprjbackend.dto;
 
+import java.util.List;
+
 import io.swagger.v3.oas.annotations.media.Schema;
 
 /**
@@ -23,5 +25,18 @@ public record AdminPostStatsResponse(
         long activeComments,
 
         @Schema(description = "Number of deleted comments")
-        long deletedComments
-) { }
+        long deletedComments,
+
+        @Schema(description = "Top-level posts created per hour, oldest first, ending with the current hour")
+        List<StatsBucket> postsPerHour,
+
+        @Schema(description = "Top-level posts created per day, oldest first, ending with today")
+        List<StatsBucket> postsPerDay
+) {
+
+    /** Counts with the given series. */
+    public AdminPostStatsResponse withSeries(List<StatsBucket> postsPerHour, List<StatsBucket> postsPerDay) {
+        return new AdminPostStatsResponse(totalPosts, activePosts, deletedPosts, totalComments, activeComments,
+                deletedComments, postsPerHour, postsPerDay);
+    }
+}
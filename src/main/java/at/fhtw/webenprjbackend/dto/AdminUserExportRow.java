@@ -0,0 +1,21 @@
+package at.fhtw.webenprjbackend.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import at.fhtw.webenprjbackend.entity.Role;
+
+/**
+ * One user in the admin export, projected straight from the query so rows never
+ * become managed entities. Component order is the CSV column order.
+ */
+public record AdminUserExportRow(
+        UUID id,
+        String email,
+        String username,
+        String countryCode,
+        Role role,
+        boolean active,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) { }
@@ -1,7 +1,14 @@
 package at.fhtw.webenprjbackend.dto;
 
+import java.lang.reflect.RecordComponent;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 
@@ -81,5 +88,26 @@ public record PostResponse(
         @Schema(description = "Whether the current user bookmarked this post",
                 example = "true",
                 requiredMode = Schema.RequiredMode.REQUIRED)
-        boolean bookmarkedByCurrentUser
-) { }
+        boolean bookmarkedByCurrentUser,
+
+        @Schema(description = "Earliest comments of this post, oldest first; only present when requested "
+                + "with previewComments",
+                nullable = true)
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        List<PostResponse> previewComments
+) {
+
+    /** Jackson filter id used to serialize only the fields a client selected with {@code fields=}. */
+    public static final String FIELD_FILTER = "postResponseFields";
+
+    /** JSON property names, valid in {@code fields=}. */
+    public static final Set<String> FIELDS = Arrays.stream(PostResponse.class.getRecordComponents())
+            .map(RecordComponent::getName)
+            .collect(Collectors.toUnmodifiableSet());
+
+    public PostResponse withPreviewComments(List<PostResponse> previewComments) {
+        return new PostResponse(id, parentId, commentCount, parentDeleted, subject, content, imageUrl,
+                createdAt, updatedAt, userId, username, userProfileImageUrl, likeCount, likedByCurrentUser,
+                bookmarkCount, bookmarkedByCurrentUser, previewComments);
+    }
+}
@@ -0,0 +1,9 @@
+package at.fhtw.webenprjbackend.dto;
+
+import java.util.UUID;
+
+/**
+ * Owner of a post or media file, projected without loading the entity. The owner is
+ * {@code null} for media uploaded without a recorded user.
+ */
+public record ResourceOwner(UUID ownerId) { }
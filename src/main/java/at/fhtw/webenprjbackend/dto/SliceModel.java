@@ -0,0 +1,26 @@
+package at.fhtw.webenprjbackend.dto;
+
+import java.util.List;
+
+import org.springframework.data.domain.Slice;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Compact envelope for a {@link Slice}, the counterpart of Spring Data's {@code PagedModel}
+ * for listings read without a total: {@code {content, page: {size, number, hasNext}}}.
+ */
+@Schema(description = "Page of results without totals")
+public record SliceModel<T>(
+        List<T> content,
+
+        @Schema(description = "Position of this page and whether another one follows")
+        SliceMetadata page
+) {
+
+    public record SliceMetadata(int size, int number, boolean hasNext) { }
+
+    public SliceModel(Slice<T> slice) {
+        this(slice.getContent(), new SliceMetadata(slice.getSize(), slice.getNumber(), slice.hasNext()));
+    }
+}
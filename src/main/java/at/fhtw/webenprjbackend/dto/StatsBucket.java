@@ -0,0 +1,17 @@
+package at.fhtw.webenprjbackend.dto;
+
+import java.time.LocalDateTime;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * One interval of a statistics time series.
+ */
+@Schema(description = "Count for one time interval")
+public record StatsBucket(
+        @Schema(description = "Start of the interval (inclusive)")
+        LocalDateTime start,
+
+        @Schema(description = "Number of items created in the interval")
+        long count
+) { }
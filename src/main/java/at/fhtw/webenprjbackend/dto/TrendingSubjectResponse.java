@@ -0,0 +1,18 @@
+package at.fhtw.webenprjbackend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * A subject ranked by recent activity.
+ */
+@Schema(description = "Subject with its activity in the requested window")
+public record TrendingSubjectResponse(
+        @Schema(description = "Subject with '#' prefix", example = "#Java")
+        String subject,
+
+        @Schema(description = "Estimated posts, comments and likes in the window (may slightly overcount)")
+        long count,
+
+        @Schema(description = "Estimated activity per hour over the window")
+        double perHour
+) { }
@@ -0,0 +1,23 @@
+package at.fhtw.webenprjbackend.dto;
+
+import java.time.LocalDate;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Posting activity of the current user for the dashboard.
+ */
+@Schema(description = "Whether the user posted today and their posting streaks")
+public record UserActivityResponse(
+        @Schema(description = "Whether the user published a post today")
+        boolean hasPostedToday,
+
+        @Schema(description = "Consecutive days with a post up to today, or up to yesterday while today is still open")
+        int currentStreak,
+
+        @Schema(description = "Longest run of consecutive days with a post")
+        int longestStreak,
+
+        @Schema(description = "Last day with a post, null if the user never posted")
+        LocalDate lastActiveDay
+) { }
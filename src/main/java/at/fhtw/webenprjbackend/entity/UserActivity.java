@@ -0,0 +1,52 @@
+package at.fhtw.webenprjbackend.entity;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Days on which a user published a top-level post, as a bitmap: bit {@code i % 8} of
+ * byte {@code i / 8} of {@link #days} stands for {@code firstDay + i} days. The streak
+ * columns summarize the bitmap so reads do not have to scan it; both are maintained by
+ * {@code ActivityService}.
+ */
+@Entity
+@Table(name = "user_activity")
+@Getter
+@Setter
+@NoArgsConstructor
+public class UserActivity {
+
+    /** Capacity of {@link #days} in bytes, about 89 years of days. */
+    public static final int MAX_BYTES = 4096;
+
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @Column(name = "first_day", nullable = false)
+    private LocalDate firstDay;
+
+    @Column(name = "days", nullable = false, length = MAX_BYTES)
+    private byte[] days;
+
+    @Column(name = "last_active_day", nullable = false)
+    private LocalDate lastActiveDay;
+
+    @Column(name = "current_streak", nullable = false)
+    private int currentStreak;
+
+    @Column(name = "longest_streak", nullable = false)
+    private int longestStreak;
+
+    public UserActivity(UUID userId) {
+        this.userId = userId;
+    }
+}
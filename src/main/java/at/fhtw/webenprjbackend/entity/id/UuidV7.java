@@ -0,0 +1,21 @@
+package at.fhtw.webenprjbackend.entity.id;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+/**
+ * Generates a time-ordered UUIDv7 primary key on insert.
+ *
+ * <p>Use instead of {@code @GeneratedValue(strategy = GenerationType.UUID)} on
+ * insert-heavy tables: new ids sort after existing ones, so inserts append to
+ * the right edge of the primary-key B-tree instead of random pages.
+ */
+@IdGeneratorType(UuidV7Generator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface UuidV7 {
+}
@@ -0,0 +1,60 @@
+package at.fhtw.webenprjbackend.entity.id;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+/**
+ * Hibernate generator for RFC 9562 version 7 UUIDs.
+ *
+ * <p>Layout: 48-bit Unix millisecond timestamp, version, a 12-bit sequence
+ * that increments within the same millisecond, variant, 62 random bits.
+ * Ids from one JVM are strictly increasing; if the sequence overflows within
+ * a millisecond (or the clock goes backwards) the timestamp is carried forward
+ * instead of repeating. Ids from different instances interleave by time.
+ */
+public class UuidV7Generator implements IdentifierGenerator {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final AtomicLong LAST_TIMESTAMP_AND_SEQUENCE = new AtomicLong();
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return next();
+    }
+
+    /**
+     * Returns a new UUIDv7.
+     */
+    public static UUID next() {
+        long now = System.currentTimeMillis() << 12;
+        long timestampAndSequence = LAST_TIMESTAMP_AND_SEQUENCE.updateAndGet(last -> now > last ? now : last + 1);
+
+        long timestamp = timestampAndSequence >>> 12;
+        long sequence = timestampAndSequence & 0xFFFL;
+        long mostSigBits = (timestamp & 0xFFFF_FFFF_FFFFL) << 16 | 0x7000L | sequence;
+        long leastSigBits = RANDOM.nextLong() & 0x3FFF_FFFF_FFFF_FFFFL | 0x8000_0000_0000_0000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /**
+     * Returns a UUIDv7 for {@code epochMillis} with a random sequence, e.g. for rows
+     * backfilled with a creation time in the past. Unlike {@link #next()} it does not
+     * advance the generator, and ids for the same millisecond are not ordered.
+     */
+    public static UUID at(long epochMillis) {
+        long mostSigBits = (epochMillis & 0xFFFF_FFFF_FFFFL) << 16 | 0x7000L | RANDOM.nextInt(0x1000);
+        long leastSigBits = RANDOM.nextLong() & 0x3FFF_FFFF_FFFF_FFFFL | 0x8000_0000_0000_0000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /**
+     * Extracts the creation time in epoch milliseconds from a UUIDv7.
+     */
+    public static long timestampMillis(UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
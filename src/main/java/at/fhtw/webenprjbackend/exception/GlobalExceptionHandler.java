@@ -14,8 +14,10 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.AuthenticationException;
 
 import io.jsonwebtoken.JwtException;
+import at.fhtw.webenprjbackend.security.password.PasswordHashingSaturatedException;
 import at.fhtw.webenprjbackend.security.ratelimit.RateLimitException;
 import org.springframework.validation.FieldError;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -207,6 +209,44 @@ public class GlobalExceptionHandler {
                 .body(error);
     }
 
+    /**
+     * Handles a saturated password hashing pool (login/registration storms).
+     */
+    @ExceptionHandler(PasswordHashingSaturatedException.class)
+    public ResponseEntity<ErrorResponse> handlePasswordHashingSaturated(
+            PasswordHashingSaturatedException ex,
+            WebRequest request) {
+
+        log.warn("Password hashing saturated at {}", getPath(request));
+
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error("Service Unavailable")
+                .message("Server is busy. Please try again in "
+                        + ex.getRetryAfterSeconds() + " seconds.")
+                .path(getPath(request))
+                .build();
+
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", String.valueOf(ex.getRetryAfterSeconds()))
+                .body(error);
+    }
+
+    /**
+     * Handles requests for a representation the endpoint cannot produce, e.g. NDJSON
+     * for a single object. No body: none of the client's accepted types can carry it.
+     */
+    @ExceptionHandler(HttpMediaTypeNotAcceptableException.class)
+    public ResponseEntity<Void> handleMediaTypeNotAcceptable(
+            HttpMediaTypeNotAcceptableException ex,
+            WebRequest request) {
+
+        log.info("Not acceptable at {}: {}", getPath(request), ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+    }
+
     /**
      * Fallback handler for unexpected exceptions.
      */
@@ -0,0 +1,14 @@
+package at.fhtw.webenprjbackend.feed;
+
+import java.util.UUID;
+
+/**
+ * Change of a post's bookmark count, published as an application event by
+ * {@code BookmarkService} and applied to {@link PostRanking} after the transaction commits.
+ * Not pushed to feed streams.
+ *
+ * @param postId the bookmarked post
+ * @param delta  {@code 1} for a new bookmark, {@code -1} for a removed one
+ */
+public record BookmarkUpdate(UUID postId, long delta) {
+}
@@ -0,0 +1,18 @@
+package at.fhtw.webenprjbackend.feed;
+
+import java.util.Locale;
+
+/**
+ * Engagement-based orders for the global feed, served by {@link PostRanking}.
+ */
+public enum FeedRanking {
+    /** Highest engagement score within the ranking window. */
+    TOP,
+    /** Engagement score discounted by age: a post needs twice the score to rank with one a half-life newer. */
+    HOT;
+
+    /** Case-insensitive lookup, e.g. {@code top}. */
+    public static FeedRanking of(String value) {
+        return valueOf(value.toUpperCase(Locale.ROOT));
+    }
+}
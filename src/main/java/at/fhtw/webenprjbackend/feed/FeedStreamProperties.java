@@ -0,0 +1,45 @@
+package at.fhtw.webenprjbackend.feed;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the {@code GET /posts/stream} Server-Sent Events endpoint.
+ */
+@ConfigurationProperties(prefix = "app.feed-stream")
+public class FeedStreamProperties {
+
+    /** Updates buffered per connection. A client that falls further behind is told to resync and dropped. */
+    private int bufferSize = 256;
+
+    /** Idle time after which a heartbeat comment is sent, keeping proxies from closing the connection. */
+    private Duration heartbeat = Duration.ofSeconds(15);
+
+    /** Lifetime of one connection. Clients reconnect afterwards, which also refreshes their followed authors. */
+    private Duration timeout = Duration.ofMinutes(30);
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public Duration getHeartbeat() {
+        return heartbeat;
+    }
+
+    public void setHeartbeat(Duration heartbeat) {
+        this.heartbeat = heartbeat;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+}
@@ -0,0 +1,110 @@
+package at.fhtw.webenprjbackend.feed;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import at.fhtw.webenprjbackend.repository.FollowRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * In-process fan-out of {@link FeedUpdate}s to open Server-Sent Events streams.
+ *
+ * <p>Updates arrive as application events after the publishing transaction commits,
+ * so clients never see a post they cannot load yet. Fan-out only offers to each
+ * connection's bounded buffer; writing to sockets happens on one virtual thread per
+ * connection, which stays parked between updates and heartbeats. Idle connections
+ * therefore cost a parked virtual thread and a small queue, not a platform thread.
+ *
+ * <p>Streams are per instance. With several instances behind a load balancer a
+ * client only sees changes made on the instance it is connected to.
+ */
+@Service
+public class FeedStreamService implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(FeedStreamService.class);
+
+    private final FeedStreamProperties properties;
+    private final FollowRepository followRepository;
+
+    private final Set<FeedSubscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final ExecutorService writers = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("feed-stream-", 0).factory());
+    private final LongAdder dropped = new LongAdder();
+
+    public FeedStreamService(FeedStreamProperties properties, FollowRepository followRepository) {
+        this.properties = properties;
+        this.followRepository = followRepository;
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        Gauge.builder("app.feed.stream.connections", subscriptions, Set::size)
+                .description("Open feed streams")
+                .register(registry);
+        FunctionCounter.builder("app.feed.stream.dropped", dropped, LongAdder::sum)
+                .description("Feed streams closed because the client fell behind")
+                .register(registry);
+    }
+
+    /**
+     * Opens a stream for the given user.
+     *
+     * @param followingOnly deliver new posts only from authors the user follows at
+     *                      connect time; count deltas are delivered either way
+     */
+    public SseEmitter subscribe(UUID userId, boolean followingOnly) {
+        Set<UUID> authors = followingOnly ? Set.copyOf(followRepository.findFollowedIds(userId)) : null;
+        return register(new SseEmitter(properties.getTimeout().toMillis()), authors);
+    }
+
+    /** Attaches an emitter and starts its writer. Package-private for tests. */
+    SseEmitter register(SseEmitter emitter, Set<UUID> authors) {
+        FeedSubscription subscription = new FeedSubscription(emitter, authors,
+                properties.getBufferSize(), properties.getHeartbeat(), subscriptions::remove);
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(() -> {
+            // end of the stream's lifetime is a normal end, not an AsyncRequestTimeoutException
+            subscription.close();
+            emitter.complete();
+        });
+        emitter.onError(e -> subscription.close());
+        subscriptions.add(subscription);
+        writers.execute(subscription);
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFeedUpdate(FeedUpdate update) {
+        for (FeedSubscription subscription : subscriptions) {
+            if (!subscription.offer(update)) {
+                dropped.increment();
+                log.debug("Dropping slow feed stream after {} buffered updates", properties.getBufferSize());
+            }
+        }
+    }
+
+    int connections() {
+        return subscriptions.size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscriptions.forEach(FeedSubscription::close);
+        writers.shutdownNow();
+    }
+}
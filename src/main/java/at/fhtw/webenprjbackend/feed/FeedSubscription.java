@@ -0,0 +1,106 @@
+package at.fhtw.webenprjbackend.feed;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * One open feed stream: a bounded buffer filled by publishers and a writer loop,
+ * run on its own virtual thread, that drains it into the emitter.
+ *
+ * <p>Publishers never block. When the buffer is full the client is too slow to keep
+ * up, so its backlog is discarded and the writer sends a final {@code resync} event
+ * and closes the stream; the client then reloads its feed and reconnects.
+ */
+final class FeedSubscription implements Runnable {
+
+    /** Wakes the writer up to notice an overflow or close. Never sent. */
+    private static final FeedUpdate WAKE_UP = new FeedUpdate(null, null, null, 0);
+
+    private final SseEmitter emitter;
+    private final Set<UUID> authors;
+    private final BlockingQueue<FeedUpdate> buffer;
+    private final long heartbeatMillis;
+    private final Consumer<FeedSubscription> onClose;
+
+    private volatile boolean overflowed;
+    private volatile boolean closed;
+
+    /**
+     * @param authors authors whose new posts are delivered, or {@code null} for all;
+     *                count deltas are always delivered
+     */
+    FeedSubscription(SseEmitter emitter, Set<UUID> authors, int bufferSize, Duration heartbeat,
+                     Consumer<FeedSubscription> onClose) {
+        this.emitter = emitter;
+        this.authors = authors;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.heartbeatMillis = heartbeat.toMillis();
+        this.onClose = onClose;
+    }
+
+    /**
+     * Queues an update without blocking.
+     *
+     * @return {@code false} if this call overflowed the buffer
+     */
+    boolean offer(FeedUpdate update) {
+        if (overflowed || closed) {
+            return true;
+        }
+        if (update.type() == FeedUpdate.Type.POST && authors != null && !authors.contains(update.authorId())) {
+            return true;
+        }
+        if (buffer.offer(update)) {
+            return true;
+        }
+        overflowed = true;
+        buffer.clear();
+        buffer.offer(WAKE_UP);
+        return false;
+    }
+
+    void close() {
+        closed = true;
+        buffer.offer(WAKE_UP);
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (!closed) {
+                FeedUpdate update = buffer.poll(heartbeatMillis, TimeUnit.MILLISECONDS);
+                if (overflowed) {
+                    emitter.send(SseEmitter.event().name("resync").data(""));
+                    emitter.complete();
+                    return;
+                }
+                if (update == null) {
+                    // Also how a vanished client is noticed: the write fails
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else if (update != WAKE_UP) {
+                    emitter.send(SseEmitter.event()
+                            .name(update.type().eventName())
+                            .data(update, MediaType.APPLICATION_JSON));
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client disconnected or the emitter already completed
+            emitter.completeWithError(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            emitter.complete();
+        } finally {
+            closed = true;
+            onClose.accept(this);
+        }
+    }
+}
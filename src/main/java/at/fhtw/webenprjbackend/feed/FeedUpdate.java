@@ -0,0 +1,45 @@
+package at.fhtw.webenprjbackend.feed;
+
+import java.util.Locale;
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Change pushed to connected feed streams. Published as an application event by
+ * the services that make the change and delivered after their transaction commits.
+ *
+ * @param type     what changed
+ * @param postId   the new post, or the post whose counts changed
+ * @param authorId author of a new post; {@code null} for count deltas
+ * @param delta    change of the like or comment count; {@code 0} for new posts
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record FeedUpdate(Type type, UUID postId, UUID authorId, long delta) {
+
+    public enum Type {
+        /** A new top-level post. */
+        POST,
+        /** The like count of a post changed. */
+        LIKES,
+        /** The comment count of a post changed. */
+        COMMENTS;
+
+        /** SSE event name, e.g. {@code likes}. */
+        public String eventName() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    public static FeedUpdate newPost(UUID postId, UUID authorId) {
+        return new FeedUpdate(Type.POST, postId, authorId, 0);
+    }
+
+    public static FeedUpdate likes(UUID postId, long delta) {
+        return new FeedUpdate(Type.LIKES, postId, null, delta);
+    }
+
+    public static FeedUpdate comments(UUID postId, long delta) {
+        return new FeedUpdate(Type.COMMENTS, postId, null, delta);
+    }
+}
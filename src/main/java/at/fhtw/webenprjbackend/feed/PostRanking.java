@@ -0,0 +1,283 @@
+package at.fhtw.webenprjbackend.feed;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import at.fhtw.webenprjbackend.repository.PostRepository;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * In-memory index of recent top-level posts ordered by engagement, serving the
+ * {@code sort=top|hot} feed without aggregating likes, comments and bookmarks per request.
+ *
+ * <p>A post's score is {@code likes + 2 * comments + 3 * bookmarks}. {@code top} orders
+ * by score; {@code hot} by {@code log2(1 + score) + createdAt / halfLife}, which ranks the
+ * same way as dividing the score by {@code 2^(age / halfLife)} but does not change as
+ * time passes, so both orders are kept in concurrent skip lists and only move a post
+ * when its engagement changes.
+ *
+ * <p>Posts enter from {@link FeedUpdate} and {@link BookmarkUpdate} events after their
+ * transaction commits. The index is rebuilt from the database on startup and every
+ * {@code app.ranking.reconcile-interval}, which drops posts older than
+ * {@code app.ranking.window} and corrects changes that publish no event (deleted
+ * comments, cascades). The rebuild reads the primary, and events arriving while it runs
+ * are replayed onto the new index before it is swapped in, so a post committed during a
+ * rebuild is not lost; a delta whose event races the snapshot may count twice until the
+ * next rebuild. Soft-deleted posts are dropped when a page misses them and the
+ * primary confirms they are gone; a replica that has not caught up with a new post
+ * only hides it from that page.
+ * Like the feed stream, the index only sees changes made on this instance.
+ */
+@Component
+public class PostRanking {
+
+    private static final Logger log = LoggerFactory.getLogger(PostRanking.class);
+
+    static final long LIKE_WEIGHT = 1;
+    static final long COMMENT_WEIGHT = 2;
+    static final long BOOKMARK_WEIGHT = 3;
+
+    /** Engagement of one ranked post; replaced on every change. */
+    record Engagement(UUID postId, LocalDateTime createdAt, long likes, long comments, long bookmarks) {
+
+        long score() {
+            return LIKE_WEIGHT * likes + COMMENT_WEIGHT * comments + BOOKMARK_WEIGHT * bookmarks;
+        }
+
+        Engagement plus(long likeDelta, long commentDelta, long bookmarkDelta) {
+            return new Engagement(postId, createdAt, Math.max(0, likes + likeDelta),
+                    Math.max(0, comments + commentDelta), Math.max(0, bookmarks + bookmarkDelta));
+        }
+    }
+
+    private record Ranked(double key, UUID postId) {
+    }
+
+    private static final Comparator<Ranked> HIGHEST_FIRST = Comparator.comparingDouble(Ranked::key).reversed()
+            .thenComparing(Ranked::postId);
+
+    /** Posts and both orders; replaced as a whole on reconcile. */
+    private final class Index {
+
+        private final ConcurrentHashMap<UUID, Engagement> posts = new ConcurrentHashMap<>();
+        private final NavigableSet<Ranked> top = new ConcurrentSkipListSet<>(HIGHEST_FIRST);
+        private final NavigableSet<Ranked> hot = new ConcurrentSkipListSet<>(HIGHEST_FIRST);
+
+        void add(Engagement engagement) {
+            posts.computeIfAbsent(engagement.postId(), id -> {
+                link(engagement);
+                return engagement;
+            });
+        }
+
+        void update(UUID postId, UnaryOperator<Engagement> change) {
+            posts.computeIfPresent(postId, (id, old) -> {
+                Engagement updated = change.apply(old);
+                unlink(old);
+                link(updated);
+                return updated;
+            });
+        }
+
+        void remove(UUID postId) {
+            posts.computeIfPresent(postId, (id, old) -> {
+                unlink(old);
+                return null;
+            });
+        }
+
+        private void link(Engagement engagement) {
+            top.add(new Ranked(engagement.score(), engagement.postId()));
+            hot.add(new Ranked(hotKey(engagement), engagement.postId()));
+        }
+
+        private void unlink(Engagement engagement) {
+            top.remove(new Ranked(engagement.score(), engagement.postId()));
+            hot.remove(new Ranked(hotKey(engagement), engagement.postId()));
+        }
+    }
+
+    private final PostRepository postRepository;
+    private final RankingProperties properties;
+    /** Read-write and in its own transaction, so the routing data source sends it to the primary. */
+    private final TransactionTemplate onPrimary;
+
+    private volatile Index index = new Index();
+
+    /** Events are applied under the read lock; swapping in a rebuilt index takes the write lock. */
+    private final ReadWriteLock swap = new ReentrantReadWriteLock();
+    /** Changes applied since the running rebuild started; {@code null} when none runs. Guarded by {@link #swap}. */
+    private Queue<Consumer<Index>> duringRebuild;
+
+    private final ScheduledExecutorService reconciler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "post-ranking-reconcile");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PostRanking(PostRepository postRepository, RankingProperties properties,
+                       PlatformTransactionManager transactionManager) {
+        this.postRepository = postRepository;
+        this.properties = properties;
+        this.onPrimary = new TransactionTemplate(transactionManager);
+        this.onPrimary.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        reconcile();
+        long intervalMs = properties.getReconcileInterval().toMillis();
+        reconciler.scheduleWithFixedDelay(this::reconcileQuietly, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        reconciler.shutdownNow();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFeedUpdate(FeedUpdate update) {
+        switch (update.type()) {
+            case POST -> {
+                Engagement created = new Engagement(update.postId(), LocalDateTime.now(), 0, 0, 0);
+                apply(current -> current.add(created));
+            }
+            case LIKES -> apply(current -> current.update(update.postId(),
+                    engagement -> engagement.plus(update.delta(), 0, 0)));
+            case COMMENTS -> apply(current -> current.update(update.postId(),
+                    engagement -> engagement.plus(0, update.delta(), 0)));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookmarkUpdate(BookmarkUpdate update) {
+        apply(current -> current.update(update.postId(), engagement -> engagement.plus(0, 0, update.delta())));
+    }
+
+    /** Ids of the ranked posts at {@code offset} to {@code offset + size}, highest first. */
+    public List<UUID> page(FeedRanking ranking, long offset, int size) {
+        Index current = index;
+        return (ranking == FeedRanking.TOP ? current.top : current.hot).stream()
+                .skip(offset)
+                .limit(size)
+                .map(Ranked::postId)
+                .toList();
+    }
+
+    /** Number of ranked posts. */
+    public long size() {
+        return index.posts.size();
+    }
+
+    /**
+     * Drops those of {@code postIds} that the primary no longer has as active top-level
+     * posts. Pages read from replicas, which may miss a post ranked right after its commit;
+     * such a post stays ranked.
+     */
+    public void removeUnlessActive(Collection<UUID> postIds) {
+        Set<UUID> active = Set.copyOf(onPrimary.execute(status -> postRepository.findActiveTopLevelIdsIn(postIds)));
+        for (UUID postId : postIds) {
+            if (!active.contains(postId)) {
+                apply(current -> current.remove(postId));
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the index from the active top-level posts inside the window. Changes that
+     * arrive while the snapshot is read are replayed onto it before it replaces the index.
+     */
+    public void reconcile() {
+        Queue<Consumer<Index>> replay = new ConcurrentLinkedQueue<>();
+        swap.writeLock().lock();
+        try {
+            duringRebuild = replay;
+        } finally {
+            swap.writeLock().unlock();
+        }
+
+        Index rebuilt = new Index();
+        try {
+            LocalDateTime since = LocalDateTime.now().minus(properties.getWindow());
+            for (Object[] row : onPrimary.execute(status -> postRepository.findEngagementSince(since))) {
+                rebuilt.add(new Engagement((UUID) row[0], (LocalDateTime) row[1], ((Number) row[2]).longValue(),
+                        ((Number) row[3]).longValue(), ((Number) row[4]).longValue()));
+            }
+        } catch (RuntimeException e) {
+            stopRecording();
+            throw e;
+        }
+
+        swap.writeLock().lock();
+        try {
+            replay.forEach(change -> change.accept(rebuilt));
+            index = rebuilt;
+            duringRebuild = null;
+        } finally {
+            swap.writeLock().unlock();
+        }
+    }
+
+    private void stopRecording() {
+        swap.writeLock().lock();
+        try {
+            duringRebuild = null;
+        } finally {
+            swap.writeLock().unlock();
+        }
+    }
+
+    /** Applies a change to the current index and records it for a running rebuild. */
+    private void apply(Consumer<Index> change) {
+        swap.readLock().lock();
+        try {
+            change.accept(index);
+            if (duringRebuild != null) {
+                duringRebuild.add(change);
+            }
+        } finally {
+            swap.readLock().unlock();
+        }
+    }
+
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            log.warn("Rebuilding the post ranking failed, keeping the current index", e);
+        }
+    }
+
+    private double hotKey(Engagement engagement) {
+        double halfLives = (double) engagement.createdAt().toEpochSecond(ZoneOffset.UTC)
+                / properties.getHalfLife().toSeconds();
+        return Math.log(1 + engagement.score()) / Math.log(2) + halfLives;
+    }
+}
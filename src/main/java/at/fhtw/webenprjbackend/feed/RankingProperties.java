@@ -0,0 +1,45 @@
+package at.fhtw.webenprjbackend.feed;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the {@code sort=top|hot} feed orders.
+ */
+@ConfigurationProperties(prefix = "app.ranking")
+public class RankingProperties {
+
+    /** Age of the oldest posts that are ranked; older posts only appear in the chronological feed. */
+    private Duration window = Duration.ofDays(7);
+
+    /** Age at which a post needs twice the score to rank as high as a brand-new one in {@code hot}. */
+    private Duration halfLife = Duration.ofHours(12);
+
+    /** How often the index is rebuilt from the database, dropping expired posts and correcting drift. */
+    private Duration reconcileInterval = Duration.ofMinutes(10);
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+
+    public Duration getHalfLife() {
+        return halfLife;
+    }
+
+    public void setHalfLife(Duration halfLife) {
+        this.halfLife = halfLife;
+    }
+
+    public Duration getReconcileInterval() {
+        return reconcileInterval;
+    }
+
+    public void setReconcileInterval(Duration reconcileInterval) {
+        this.reconcileInterval = reconcileInterval;
+    }
+}
@@ -9,10 +9,20 @@ import org.springframework.web.multipart.MultipartFile;
 
 import at.fhtw.webenprjbackend.filestorage.FileStorage;
 import io.minio.GetObjectArgs;
+import io.minio.GetObjectResponse;
 import io.minio.MinioClient;
 import io.minio.PutObjectArgs;
 import lombok.RequiredArgsConstructor;
 
+/**
+ * MinIO-backed file storage.
+ *
+ * <p>All MinIO calls are synchronous and run on the calling request thread,
+ * so they move to virtual threads together with request handling when
+ * {@code spring.threads.virtual.enabled} is set.
+ *
+ * <p>Each call is recorded as a {@link StorageOperationEvent} in JDK Flight Recorder.
+ */
 @Service
 @RequiredArgsConstructor
 @Profile("!docker-free & !test") // Exclude from docker-free and test profiles - use MockFileStorage instead
@@ -23,9 +33,10 @@ public class MinioStorage implements FileStorage {
 
     @Override
     public String upload(MultipartFile file) {
+        String objectName = java.util.UUID.randomUUID().toString();
+        StorageOperationEvent event = startEvent("upload", objectName);
+        event.bytes = file.getSize();
         try {
-            String objectName = java.util.UUID.randomUUID().toString();
-
             minioClient.putObject(
                 PutObjectArgs.builder()
                     .bucket(minioProperties.getBucketName())
@@ -34,29 +45,39 @@ public class MinioStorage implements FileStorage {
                     .contentType(file.getContentType())
                     .build()
             );
+            event.succeeded = true;
 
             return objectName;
         } catch (Exception e) {
             throw new RuntimeException("Failed to upload file to MinIO", e);
+        } finally {
+            event.commit();
         }
     }
 
     @Override
     public InputStream load(String id) {
+        StorageOperationEvent event = startEvent("load", id);
         try {
-            return minioClient.getObject(
+            GetObjectResponse response = minioClient.getObject(
                 GetObjectArgs.builder()
                     .bucket(minioProperties.getBucketName())
                     .object(id)
                     .build()
             );
+            event.bytes = contentLength(response);
+            event.succeeded = true;
+            return response;
         } catch (Exception e) {
             throw new RuntimeException("Failed to load file from MinIO", e);
+        } finally {
+            event.commit();
         }
     }
 
     @Override
     public void delete(String id) {
+        StorageOperationEvent event = startEvent("delete", id);
         try {
            minioClient.removeObject(
                     RemoveObjectArgs.builder()
@@ -64,10 +85,29 @@ public class MinioStorage implements FileStorage {
                             .object(id)
                             .build()
             );
+            event.succeeded = true;
         } catch (Exception e) {
             throw new RuntimeException("Failed to delete file from MinIO", e);
+        } finally {
+            event.commit();
         }
 
     }
-}
 
+    private static long contentLength(GetObjectResponse response) {
+        String contentLength = response.headers().get("Content-Length");
+        try {
+            return contentLength != null ? Long.parseLong(contentLength) : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private StorageOperationEvent startEvent(String operation, String objectName) {
+        StorageOperationEvent event = new StorageOperationEvent();
+        event.begin();
+        event.operation = operation;
+        event.objectName = objectName;
+        return event;
+    }
+}
@@ -0,0 +1,34 @@
+package at.fhtw.webenprjbackend.filestorage.minio;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one MinIO call. For {@code load} the duration covers opening the
+ * object stream, not reading it; the size comes from the response headers.
+ */
+@Name("motivise.StorageOperation")
+@Label("Storage Operation")
+@Category({"Motivise", "Storage"})
+@Description("MinIO upload, load or delete")
+@StackTrace(false)
+class StorageOperationEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Object")
+    String objectName;
+
+    @Label("Size")
+    @DataAmount
+    long bytes = -1;
+
+    @Label("Succeeded")
+    boolean succeeded;
+}
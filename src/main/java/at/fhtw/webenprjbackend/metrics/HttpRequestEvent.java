@@ -0,0 +1,34 @@
+package at.fhtw.webenprjbackend.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning one HTTP request from the outermost filter. The JWT,
+ * rate-limit, storage and feed events of the same request nest inside it on
+ * the same thread.
+ */
+@Name("motivise.HttpRequest")
+@Label("HTTP Request")
+@Category({"Motivise", "HTTP"})
+@Description("One HTTP request with its SQL statement count")
+@StackTrace(false)
+class HttpRequestEvent extends Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("URI")
+    @Description("Matched handler pattern, e.g. /posts/{id}")
+    String uri;
+
+    @Label("Status")
+    int status;
+
+    @Label("SQL Statements")
+    int sqlStatements;
+}
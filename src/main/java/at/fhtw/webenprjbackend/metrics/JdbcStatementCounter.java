@@ -0,0 +1,42 @@
+package at.fhtw.webenprjbackend.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread.
+ *
+ * <p>Counting only happens between {@link #begin()} and {@link #end()}, which
+ * {@link RequestStatementMetricsFilter} calls around each request. Statements
+ * issued by startup code or background jobs are not counted.
+ */
+public class JdbcStatementCounter implements StatementInspector {
+
+    private final ThreadLocal<RequestStatements> current = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        RequestStatements statements = current.get();
+        if (statements != null) {
+            statements.record(sql);
+        }
+        return sql;
+    }
+
+    void begin() {
+        current.set(new RequestStatements());
+    }
+
+    /** The statements of the request running on this thread, or {@code null} outside a request. */
+    RequestStatements current() {
+        return current.get();
+    }
+
+    /**
+     * Stops counting on this thread and returns what was counted since {@link #begin()}.
+     */
+    RequestStatements end() {
+        RequestStatements statements = current.get();
+        current.remove();
+        return statements != null ? statements : new RequestStatements();
+    }
+}
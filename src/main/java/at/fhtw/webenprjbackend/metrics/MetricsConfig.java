@@ -0,0 +1,24 @@
+package at.fhtw.webenprjbackend.metrics;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hooks the statement counter into Hibernate. HTTP timers, Hikari pool gauges and
+ * the {@code @Counted} service counters come from Spring Boot's actuator auto-configuration.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public JdbcStatementCounter jdbcStatementCounter() {
+        return new JdbcStatementCounter();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementCounterCustomizer(JdbcStatementCounter jdbcStatementCounter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, jdbcStatementCounter);
+    }
+}
@@ -0,0 +1,54 @@
+package at.fhtw.webenprjbackend.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+/**
+ * Attributes the statements of a request to the repository method that issued them,
+ * e.g. {@code PostRepository.findAllByActiveTrue}.
+ */
+@Aspect
+@Component
+public class RepositoryStatementAspect {
+
+    private final JdbcStatementCounter statementCounter;
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    public RepositoryStatementAspect(JdbcStatementCounter statementCounter) {
+        this.statementCounter = statementCounter;
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object attributeStatements(ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestStatements statements = statementCounter.current();
+        if (statements == null) {
+            return joinPoint.proceed();
+        }
+        String previous = statements.enterRepositoryMethod(
+                repositoryName(joinPoint.getTarget()) + "." + joinPoint.getSignature().getName());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            statements.exitRepositoryMethod(previous);
+        }
+    }
+
+    // Spring Data repositories are JDK proxies; name them after the application interface
+    private String repositoryName(Object target) {
+        return repositoryNames.computeIfAbsent(target.getClass(), type -> {
+            for (Class<?> candidate : type.getInterfaces()) {
+                if (Repository.class.isAssignableFrom(candidate)
+                        && !candidate.getName().startsWith("org.springframework.")) {
+                    return candidate.getSimpleName();
+                }
+            }
+            return type.getSimpleName();
+        });
+    }
+}
@@ -0,0 +1,96 @@
+package at.fhtw.webenprjbackend.metrics;
+
+import java.io.IOException;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Records how many SQL statements each request issued, tagged like
+ * {@code http.server.requests} so the two can be compared per endpoint, plus
+ * {@code app.jdbc.statements} broken down by repository method. Each request is
+ * then checked against its {@link SqlStatementBudget}.
+ *
+ * <p>Runs before the security chain so the JWT user lookup is counted too. Each
+ * request is also recorded as an {@link HttpRequestEvent} in JDK Flight Recorder.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestStatementMetricsFilter extends OncePerRequestFilter {
+
+    static final String METRIC_NAME = "http.server.requests.jdbc.statements";
+    static final String REPOSITORY_METRIC_NAME = "app.jdbc.statements";
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final JdbcStatementCounter statementCounter;
+    private final MeterRegistry meterRegistry;
+    private final SqlStatementBudget statementBudget;
+
+    public RequestStatementMetricsFilter(JdbcStatementCounter statementCounter, MeterRegistry meterRegistry,
+                                         SqlStatementBudget statementBudget) {
+        this.statementCounter = statementCounter;
+        this.meterRegistry = meterRegistry;
+        this.statementBudget = statementBudget;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        HttpRequestEvent event = new HttpRequestEvent();
+        event.begin();
+        statementCounter.begin();
+        RequestStatements statements;
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            statements = statementCounter.end();
+            request.setAttribute(RequestStatements.ATTRIBUTE, statements);
+            record(request.getMethod(), uriPattern(request), statements);
+            if (event.shouldCommit()) {
+                event.method = request.getMethod();
+                event.uri = uriPattern(request);
+                event.status = response.getStatus();
+                event.sqlStatements = statements.total();
+                event.commit();
+            }
+        }
+        // only for requests that completed; a failure here must not hide the original exception
+        statementBudget.check(request.getMethod(), uriPattern(request), statements);
+    }
+
+    private void record(String method, String uri, RequestStatements statements) {
+        DistributionSummary.builder(METRIC_NAME)
+                .description("SQL statements issued per HTTP request")
+                .baseUnit("statements")
+                .tag("method", method)
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(500.0)
+                .register(meterRegistry)
+                .record(statements.total());
+        statements.byRepositoryMethod().forEach((repositoryMethod, count) ->
+                meterRegistry.counter(REPOSITORY_METRIC_NAME,
+                                "method", method, "uri", uri, "repository", repositoryMethod)
+                        .increment(count));
+    }
+
+    // the matched pattern (/posts/{id}), never the raw path, to keep tag cardinality bounded
+    private String uriPattern(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : UNKNOWN_URI;
+    }
+}
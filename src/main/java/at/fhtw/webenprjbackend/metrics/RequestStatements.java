@@ -0,0 +1,74 @@
+package at.fhtw.webenprjbackend.metrics;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * SQL statements issued during one HTTP request, counted in total, per repository
+ * method and per distinct SQL string.
+ *
+ * <p>Statements run while no repository method is on the stack (lazy loading during
+ * DTO mapping, typically) are attributed to {@value #UNATTRIBUTED}. The same SQL
+ * string repeated many times in one request is the usual N+1 signature.
+ *
+ * <p>Not thread-safe: one instance belongs to one request thread. After the request
+ * it is available as the request attribute {@link #ATTRIBUTE}.
+ */
+public final class RequestStatements {
+
+    public static final String ATTRIBUTE = RequestStatements.class.getName();
+    public static final String UNATTRIBUTED = "unattributed";
+
+    private int total;
+    private final Map<String, Integer> byRepositoryMethod = new LinkedHashMap<>();
+    private final Map<String, Integer> bySql = new HashMap<>();
+    private String repositoryMethod;
+
+    void record(String sql) {
+        total++;
+        byRepositoryMethod.merge(repositoryMethod != null ? repositoryMethod : UNATTRIBUTED, 1, Integer::sum);
+        bySql.merge(sql, 1, Integer::sum);
+    }
+
+    /**
+     * Attributes following statements to the given repository method unless an outer
+     * repository call is already active. Returns the value to pass to {@link #exitRepositoryMethod}.
+     */
+    String enterRepositoryMethod(String name) {
+        String previous = repositoryMethod;
+        if (previous == null) {
+            repositoryMethod = name;
+        }
+        return previous;
+    }
+
+    void exitRepositoryMethod(String previous) {
+        repositoryMethod = previous;
+    }
+
+    public int total() {
+        return total;
+    }
+
+    /** Statement counts keyed by {@code Repository.method}, in first-use order. */
+    public Map<String, Integer> byRepositoryMethod() {
+        return Collections.unmodifiableMap(byRepositoryMethod);
+    }
+
+    /** SQL strings issued at least {@code threshold} times, with their counts. */
+    public Map<String, Integer> repeatedStatements(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        bySql.entrySet().stream()
+                .filter(entry -> entry.getValue() >= threshold)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(entry -> repeated.put(entry.getKey(), entry.getValue()));
+        return repeated;
+    }
+
+    @Override
+    public String toString() {
+        return total + " statements " + byRepositoryMethod;
+    }
+}
@@ -0,0 +1,12 @@
+package at.fhtw.webenprjbackend.metrics;
+
+/**
+ * Exception thrown in {@code fail} mode when a request exceeded its SQL statement
+ * budget or repeated the same statement often enough to look like N+1.
+ */
+public class SqlBudgetExceededException extends RuntimeException {
+
+    public SqlBudgetExceededException(String message) {
+        super(message);
+    }
+}
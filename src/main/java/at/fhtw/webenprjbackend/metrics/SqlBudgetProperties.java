@@ -0,0 +1,73 @@
+package at.fhtw.webenprjbackend.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Per-request SQL statement budget and N+1 detection settings.
+ */
+@ConfigurationProperties(prefix = "app.sql-budget")
+public class SqlBudgetProperties {
+
+    public enum Mode {
+        /** No checks; statements are still counted for metrics. */
+        OFF,
+        /** Log a warning for each violating request. */
+        LOG,
+        /**
+         * Throw {@link SqlBudgetExceededException} at the end of a violating request. Tests only
+         * (refused at startup without the {@code test} profile): the check runs after the handler,
+         * when a real server has usually committed the response already.
+         */
+        FAIL
+    }
+
+    private Mode mode = Mode.LOG;
+
+    /** Statements allowed per request when the endpoint has no own budget. */
+    private int defaultBudget = 30;
+
+    /**
+     * Budgets per endpoint, keyed by method and URI pattern. In a .properties file the space
+     * must be escaped, as in {@code app.sql-budget.endpoints[GET\ /posts/{id}]=5}; an
+     * unescaped space ends the key.
+     */
+    private Map<String, Integer> endpoints = new HashMap<>();
+
+    /** The same SQL issued this many times in one request is reported as N+1. */
+    private int repeatedStatementThreshold = 10;
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    public int getDefaultBudget() {
+        return defaultBudget;
+    }
+
+    public void setDefaultBudget(int defaultBudget) {
+        this.defaultBudget = defaultBudget;
+    }
+
+    public Map<String, Integer> getEndpoints() {
+        return endpoints;
+    }
+
+    public void setEndpoints(Map<String, Integer> endpoints) {
+        this.endpoints = endpoints;
+    }
+
+    public int getRepeatedStatementThreshold() {
+        return repeatedStatementThreshold;
+    }
+
+    public void setRepeatedStatementThreshold(int repeatedStatementThreshold) {
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+    }
+}
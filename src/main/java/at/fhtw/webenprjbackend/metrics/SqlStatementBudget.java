@@ -0,0 +1,78 @@
+package at.fhtw.webenprjbackend.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Checks a finished request against its statement budget and for repeated statements.
+ * Violations are counted as {@code app.sql.budget.violations} and then logged or
+ * thrown depending on {@link SqlBudgetProperties#getMode()}.
+ */
+@Component
+public class SqlStatementBudget {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementBudget.class);
+    private static final int MAX_SQL_LENGTH = 200;
+
+    private final SqlBudgetProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public SqlStatementBudget(SqlBudgetProperties properties, MeterRegistry meterRegistry, Environment environment) {
+        if (properties.getMode() == SqlBudgetProperties.Mode.FAIL && !environment.acceptsProfiles(Profiles.of("test"))) {
+            // the check runs after the handler; on a real server the response is committed by then
+            throw new IllegalStateException("app.sql-budget.mode=fail is only supported with the test profile");
+        }
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void check(String method, String uri, RequestStatements statements) {
+        if (properties.getMode() == SqlBudgetProperties.Mode.OFF) {
+            return;
+        }
+        String endpoint = method + " " + uri;
+        List<String> violations = new ArrayList<>();
+
+        int budget = budgetFor(endpoint);
+        if (statements.total() > budget) {
+            violations.add(statements.total() + " statements exceed the budget of " + budget);
+            countViolation(method, uri, "budget");
+        }
+        for (Map.Entry<String, Integer> repeated
+                : statements.repeatedStatements(properties.getRepeatedStatementThreshold()).entrySet()) {
+            violations.add("possible N+1, issued " + repeated.getValue() + " times: " + abbreviate(repeated.getKey()));
+            countViolation(method, uri, "repeated");
+        }
+        if (violations.isEmpty()) {
+            return;
+        }
+
+        String message = "SQL budget violated by " + endpoint + ": " + String.join("; ", violations)
+                + " (by repository method: " + statements.byRepositoryMethod() + ")";
+        if (properties.getMode() == SqlBudgetProperties.Mode.FAIL) {
+            throw new SqlBudgetExceededException(message);
+        }
+        log.warn(message);
+    }
+
+    int budgetFor(String endpoint) {
+        return properties.getEndpoints().getOrDefault(endpoint, properties.getDefaultBudget());
+    }
+
+    private void countViolation(String method, String uri, String kind) {
+        meterRegistry.counter("app.sql.budget.violations", "method", method, "uri", uri, "kind", kind).increment();
+    }
+
+    private static String abbreviate(String sql) {
+        return sql.length() <= MAX_SQL_LENGTH ? sql : sql.substring(0, MAX_SQL_LENGTH) + "...";
+    }
+}
@@ -4,9 +4,14 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import at.fhtw.webenprjbackend.cache.CacheRegions;
 import at.fhtw.webenprjbackend.entity.BookmarkCollection;
 import at.fhtw.webenprjbackend.entity.User;
 
@@ -20,6 +25,10 @@ public interface BookmarkCollectionRepository extends JpaRepository<BookmarkColl
     /**
      * Find all collections for a user, ordered by creation date (oldest first)
      */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.BOOKMARK_COLLECTION_LISTS)
+    })
     List<BookmarkCollection> findByUserOrderByCreatedAtAsc(User user);
 
     /**
@@ -5,8 +5,9 @@ import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -20,16 +21,26 @@ public interface FollowRepository extends JpaRepository<Follow, UUID> {
 
     boolean existsByFollowerAndFollowed(User follower, User followed);
 
-    Page<Follow> findByFollower(User follower, Pageable pageable);
+    // the following list shows only the followed users, the follower list only the followers
+    @EntityGraph(attributePaths = "followed")
+    Slice<Follow> findByFollower(User follower, Pageable pageable);
 
-    Page<Follow> findByFollowed(User followed, Pageable pageable);
+    @EntityGraph(attributePaths = "follower")
+    Slice<Follow> findByFollowed(User followed, Pageable pageable);
 
     void deleteByFollowerAndFollowed(User follower, User followed);
 
+    @Query("SELECT f.followed.id FROM Follow f WHERE f.follower.id = :followerId")
+    List<UUID> findFollowedIds(@Param("followerId") UUID followerId);
+
     long countByFollowed(User followed);
 
     long countByFollower(User follower);
 
+    long countByFollowedId(UUID followedId);
+
+    long countByFollowerId(UUID followerId);
+
     /**
      * Batch query to get follower counts for multiple users.
      * Returns a list of [userId, count] pairs.
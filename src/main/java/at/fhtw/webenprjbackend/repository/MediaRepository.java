@@ -1,9 +1,19 @@
 package at.fhtw.webenprjbackend.repository;
 
+import at.fhtw.webenprjbackend.dto.ResourceOwner;
 import at.fhtw.webenprjbackend.entity.Media;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Optional;
 import java.util.UUID;
 
 public interface MediaRepository  extends JpaRepository<Media, UUID> {
+
+    /**
+     * Uploader of a media file for permission checks, without loading the entity.
+     */
+    @Query("SELECT new at.fhtw.webenprjbackend.dto.ResourceOwner(m.createUser) FROM Media m WHERE m.id = :id")
+    Optional<ResourceOwner> findOwnerById(@Param("id") UUID id);
 }
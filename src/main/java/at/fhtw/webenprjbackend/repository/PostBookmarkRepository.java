@@ -5,8 +5,9 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -33,7 +34,7 @@ public interface PostBookmarkRepository extends JpaRepository<PostBookmark, UUID
     /**
      * Delete a bookmark by user and post (idempotent unbookmark)
      */
-    void deleteByUserAndPost(User user, Post post);
+    long deleteByUserAndPost(User user, Post post);
 
     /**
      * Find a bookmark by user and post
@@ -43,12 +44,14 @@ public interface PostBookmarkRepository extends JpaRepository<PostBookmark, UUID
     /**
      * Get all bookmarks for a user, ordered by creation date (newest first)
      */
-    Page<PostBookmark> findByUserOrderByCreatedAtDesc(User user, Pageable pageable);
+    @EntityGraph(attributePaths = {"post", "post.user", "post.parent", "collection"})
+    Slice<PostBookmark> findByUserOrderByCreatedAtDesc(User user, Pageable pageable);
 
     /**
      * Get bookmarks in a specific collection, ordered by creation date
      */
-    Page<PostBookmark> findByUserAndCollectionOrderByCreatedAtDesc(
+    @EntityGraph(attributePaths = {"post", "post.user", "post.parent", "collection"})
+    Slice<PostBookmark> findByUserAndCollectionOrderByCreatedAtDesc(
         User user,
         BookmarkCollection collection,
         Pageable pageable
@@ -57,7 +60,8 @@ public interface PostBookmarkRepository extends JpaRepository<PostBookmark, UUID
     /**
      * Get uncategorized bookmarks (not in any collection)
      */
-    Page<PostBookmark> findByUserAndCollectionIsNullOrderByCreatedAtDesc(
+    @EntityGraph(attributePaths = {"post", "post.user", "post.parent"})
+    Slice<PostBookmark> findByUserAndCollectionIsNullOrderByCreatedAtDesc(
         User user,
         Pageable pageable
     );
@@ -83,8 +87,30 @@ public interface PostBookmarkRepository extends JpaRepository<PostBookmark, UUID
      */
     long countByCollection(BookmarkCollection collection);
 
+    /**
+     * Bulk query: Count bookmarks for multiple collections
+     * Returns list of [collectionId, count] pairs; empty collections are missing
+     */
+    @Query("SELECT pb.collection.id, COUNT(pb) FROM PostBookmark pb WHERE pb.collection.id IN :collectionIds GROUP BY pb.collection.id")
+    List<Object[]> countBookmarksByCollectionIds(@Param("collectionIds") Collection<UUID> collectionIds);
+
     /**
      * Count total bookmarks for a user
      */
     long countByUser(User user);
+
+    /**
+     * Count total bookmarks for a user, by id
+     */
+    long countByUserId(UUID userId);
+
+    /**
+     * Count a user's uncategorized bookmarks
+     */
+    long countByUserIdAndCollectionIsNull(UUID userId);
+
+    /**
+     * Count bookmarks in a specific collection, by id
+     */
+    long countByCollectionId(UUID collectionId);
 }
@@ -18,7 +18,7 @@ public interface PostLikeRepository extends JpaRepository<PostLike, UUID> {
 
     long countByPost(Post post);
 
-    void deleteByUserAndPost(User user, Post post);
+    long deleteByUserAndPost(User user, Post post);
 
     boolean existsByUserIdAndPostId(UUID userId, UUID postId);
 
@@ -27,4 +27,15 @@ public interface PostLikeRepository extends JpaRepository<PostLike, UUID> {
 
     @Query("select pl.post.id from PostLike pl where pl.user.id = :userId and pl.post.id in :postIds")
     java.util.List<UUID> findLikedPostIds(@Param("userId") UUID userId, @Param("postIds") java.util.Collection<UUID> postIds);
+
+    /**
+     * Likes given since {@code since}, grouped by the liked post's subject and minute:
+     * rows of subject, year, month, day, hour, minute and count.
+     */
+    @Query("select pl.post.subject, year(pl.createdAt), month(pl.createdAt), day(pl.createdAt), " +
+           "hour(pl.createdAt), minute(pl.createdAt), count(pl) " +
+           "from PostLike pl where pl.createdAt >= :since " +
+           "group by pl.post.subject, year(pl.createdAt), month(pl.createdAt), day(pl.createdAt), " +
+           "hour(pl.createdAt), minute(pl.createdAt)")
+    java.util.List<Object[]> countLikesPerSubjectAndMinuteSince(@Param("since") java.time.LocalDateTime since);
 }
@@ -3,18 +3,28 @@ package at.fhtw.webenprjbackend.repository;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import at.fhtw.webenprjbackend.cache.CacheRegions;
+import at.fhtw.webenprjbackend.dto.AdminPostExportRow;
+import at.fhtw.webenprjbackend.dto.ResourceOwner;
 import at.fhtw.webenprjbackend.entity.Post;
 import at.fhtw.webenprjbackend.entity.User;
 import org.springframework.data.jpa.repository.Modifying;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 /**
  * Repository interface for Post entity operations.
@@ -23,6 +33,15 @@ import org.springframework.data.jpa.repository.Modifying;
 @Repository
 public interface PostRepository extends JpaRepository<Post, UUID> {
 
+    // Authors (and parents, where comments are included) are lazy; pages that are mapped
+    // to responses fetch them in the page query through an entity graph.
+    //
+    // Listings behind public endpoints return Slices (one query, no COUNT); their totals
+    // come from the count methods next to them, cached in ApproximateCounts.
+
+    /** Rows per round trip when streaming admin exports. */
+    int EXPORT_FETCH_SIZE = 500;
+
     List<Post> findAllByOrderByCreatedAtDesc();
 
     Page<Post> findAllByOrderByCreatedAtDesc(Pageable pageable);
@@ -43,31 +62,42 @@ public interface PostRepository extends JpaRepository<Post, UUID> {
     /**
      * Find all active top-level posts (not comments) ordered by creation time.
      */
-    Page<Post> findByParentIsNullAndActiveTrueOrderByCreatedAtDesc(Pageable pageable);
+    @EntityGraph(attributePaths = "user")
+    Slice<Post> findByParentIsNullAndActiveTrueOrderByCreatedAtDesc(Pageable pageable);
 
     /**
      * Search active top-level posts by content keyword.
      */
-    Page<Post> findByParentIsNullAndActiveTrueAndContentContainingIgnoreCase(
+    @EntityGraph(attributePaths = "user")
+    Slice<Post> findByParentIsNullAndActiveTrueAndContentContainingIgnoreCase(
             String keyword, Pageable pageable);
 
+    long countByParentIsNullAndActiveTrueAndContentContainingIgnoreCase(String keyword);
+
     /**
      * Search active top-level posts by subject.
      */
-    Page<Post> findByParentIsNullAndActiveTrueAndSubjectIgnoreCase(
+    @EntityGraph(attributePaths = "user")
+    Slice<Post> findByParentIsNullAndActiveTrueAndSubjectIgnoreCase(
             String subject, Pageable pageable);
 
+    long countByParentIsNullAndActiveTrueAndSubjectIgnoreCase(String subject);
+
     /**
      * Following feed: active top-level posts from followed users.
      */
-    Page<Post> findByParentIsNullAndActiveTrueAndUserIdInOrderByCreatedAtDesc(
+    @EntityGraph(attributePaths = "user")
+    Slice<Post> findByParentIsNullAndActiveTrueAndUserIdInOrderByCreatedAtDesc(
             List<UUID> userIds, Pageable pageable);
 
+    long countByParentIsNullAndActiveTrueAndUserIdIn(List<UUID> userIds);
+
 
     /**
      * Get active direct comments on a post ordered by creation time ascending.
      */
-    Page<Post> findByParentIdAndActiveTrueOrderByCreatedAtAsc(UUID parentId, Pageable pageable);
+    @EntityGraph(attributePaths = "user")
+    Slice<Post> findByParentIdAndActiveTrueOrderByCreatedAtAsc(UUID parentId, Pageable pageable);
 
     /**
      * Count active comments for a single post.
@@ -82,86 +112,204 @@ public interface PostRepository extends JpaRepository<Post, UUID> {
            "GROUP BY p.parent.id")
     List<Object[]> countCommentsByParentIds(@Param("parentIds") Collection<UUID> parentIds);
 
+    /**
+     * The first {@code limit} active comments of each given post, oldest first, in one
+     * statement: {@code ROW_NUMBER()} over a partition per parent picks them, served by
+     * the {@code (parent_id, active, created_at)} index. Authors are fetched along.
+     */
+    @Query("SELECT p FROM Post p JOIN FETCH p.user WHERE p.id IN (" +
+           "SELECT r.id FROM (" +
+           "SELECT c.id AS id, ROW_NUMBER() OVER (PARTITION BY c.parent.id ORDER BY c.createdAt, c.id) AS rn " +
+           "FROM Post c WHERE c.parent.id IN :parentIds AND c.active = true) r " +
+           "WHERE r.rn <= :limit) " +
+           "ORDER BY p.createdAt, p.id")
+    List<Post> findFirstCommentsByParentIds(@Param("parentIds") Collection<UUID> parentIds, @Param("limit") int limit);
+
+    /**
+     * Version stamp of everything a page of posts is enriched with, in a single row:
+     * like, bookmark and comment counts with the latest change of each, plus how many
+     * of the posts have a deleted parent. Likes and bookmarks are only ever inserted
+     * or deleted, so count and newest timestamp together change whenever they do.
+     */
+    @Query("SELECT " +
+           "(SELECT COUNT(l) FROM PostLike l WHERE l.post.id IN :postIds), " +
+           "(SELECT MAX(l.createdAt) FROM PostLike l WHERE l.post.id IN :postIds), " +
+           "(SELECT COUNT(b) FROM PostBookmark b WHERE b.post.id IN :postIds), " +
+           "(SELECT MAX(b.createdAt) FROM PostBookmark b WHERE b.post.id IN :postIds), " +
+           "(SELECT COUNT(c) FROM Post c WHERE c.parent.id IN :postIds), " +
+           "(SELECT MAX(c.updatedAt) FROM Post c WHERE c.parent.id IN :postIds), " +
+           "(SELECT COUNT(p) FROM Post p WHERE p.id IN :postIds AND p.parent.active = false)")
+    List<Object[]> findEngagementVersion(@Param("postIds") Collection<UUID> postIds);
+
 
     /**
-     * Check if user has posted (top-level, active) since a given time.
+     * Author of a post or comment for permission checks, without loading the post.
      */
-    boolean existsByUserIdAndParentIsNullAndActiveTrueAndCreatedAtGreaterThanEqual(
-            UUID userId, LocalDateTime since);
+    @Query("SELECT new at.fhtw.webenprjbackend.dto.ResourceOwner(p.user.id) FROM Post p WHERE p.id = :id")
+    Optional<ResourceOwner> findOwnerById(@Param("id") UUID id);
 
     /**
      * Get all active posts and comments by a user, ordered by creation time desc.
      */
-    Page<Post> findByUserIdAndActiveTrueOrderByCreatedAtDesc(UUID userId, Pageable pageable);
+    @EntityGraph(attributePaths = {"user", "parent"})
+    Slice<Post> findByUserIdAndActiveTrueOrderByCreatedAtDesc(UUID userId, Pageable pageable);
+
+    long countByUserIdAndActiveTrue(UUID userId);
 
     /**
      * Get active top-level posts by a specific author.
      */
-    Page<Post> findByParentIsNullAndActiveTrueAndUserIdOrderByCreatedAtDesc(UUID userId, Pageable pageable);
+    @EntityGraph(attributePaths = "user")
+    Slice<Post> findByParentIsNullAndActiveTrueAndUserIdOrderByCreatedAtDesc(UUID userId, Pageable pageable);
+
+    long countByParentIsNullAndActiveTrueAndUserId(UUID userId);
 
     /**
      * Get all distinct subjects/tags used in active top-level posts.
      */
     @Query("SELECT DISTINCT p.subject FROM Post p WHERE p.parent IS NULL AND p.active = true ORDER BY p.subject")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.SUBJECTS)
+    })
     List<String> findDistinctSubjects();
 
 
     /**
-     * Count all top-level posts (excluding comments).
+     * Top-level posts, active top-level posts, comments and active comments, counted in
+     * one pass over the table.
      */
-    long countByParentIsNull();
+    @Query("SELECT " +
+           "COALESCE(SUM(CASE WHEN p.parent IS NULL THEN 1 ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN p.parent IS NULL AND p.active = true THEN 1 ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN p.parent IS NOT NULL THEN 1 ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN p.parent IS NOT NULL AND p.active = true THEN 1 ELSE 0 END), 0) " +
+           "FROM Post p")
+    List<Object[]> countPostsAndComments();
 
     /**
-     * Count active top-level posts.
+     * Top-level posts created since {@code since}, grouped by hour: rows of
+     * year, month, day, hour and count.
      */
-    long countByParentIsNullAndActiveTrue();
+    @Query("SELECT year(p.createdAt), month(p.createdAt), day(p.createdAt), hour(p.createdAt), COUNT(p) " +
+           "FROM Post p WHERE p.parent IS NULL AND p.createdAt >= :since " +
+           "GROUP BY year(p.createdAt), month(p.createdAt), day(p.createdAt), hour(p.createdAt)")
+    List<Object[]> countPostsPerHourSince(@Param("since") LocalDateTime since);
 
     /**
-     * Count all comments (posts with parent).
+     * Posts and comments created since {@code since}, grouped by subject and minute:
+     * rows of subject, year, month, day, hour, minute and count.
      */
-    long countByParentIsNotNull();
+    @Query("SELECT p.subject, year(p.createdAt), month(p.createdAt), day(p.createdAt), " +
+           "hour(p.createdAt), minute(p.createdAt), COUNT(p) " +
+           "FROM Post p WHERE p.createdAt >= :since " +
+           "GROUP BY p.subject, year(p.createdAt), month(p.createdAt), day(p.createdAt), " +
+           "hour(p.createdAt), minute(p.createdAt)")
+    List<Object[]> countPostsPerSubjectAndMinuteSince(@Param("since") LocalDateTime since);
 
     /**
-     * Count active comments.
+     * Active top-level posts created since {@code since} with their engagement: rows of
+     * id, createdAt, like count, active comment count and bookmark count.
      */
-    long countByParentIsNotNullAndActiveTrue();
+    @Query("SELECT p.id, p.createdAt, " +
+           "(SELECT COUNT(l) FROM PostLike l WHERE l.post = p), " +
+           "(SELECT COUNT(c) FROM Post c WHERE c.parent = p AND c.active = true), " +
+           "(SELECT COUNT(b) FROM PostBookmark b WHERE b.post = p) " +
+           "FROM Post p WHERE p.parent IS NULL AND p.active = true AND p.createdAt >= :since")
+    List<Object[]> findEngagementSince(@Param("since") LocalDateTime since);
 
+    /**
+     * Active top-level posts among {@code ids}, with their authors, in no particular order.
+     */
+    @Query("SELECT p FROM Post p JOIN FETCH p.user WHERE p.id IN :ids AND p.parent IS NULL AND p.active = true")
+    List<Post> findActiveTopLevelByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Ids of the active top-level posts among {@code ids}.
+     */
+    @Query("SELECT p.id FROM Post p WHERE p.id IN :ids AND p.parent IS NULL AND p.active = true")
+    List<UUID> findActiveTopLevelIdsIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Count active top-level posts.
+     */
+    long countByParentIsNullAndActiveTrue();
 
     /**
      * Find all posts (including inactive) for admin, ordered by creation time desc.
      */
     @Query("SELECT p FROM Post p ORDER BY p.createdAt DESC")
+    @EntityGraph(attributePaths = {"user", "parent"})
     Page<Post> findAllForAdmin(Pageable pageable);
 
     /**
      * Find posts filtered by active status.
      */
+    @EntityGraph(attributePaths = {"user", "parent"})
     Page<Post> findByActiveOrderByCreatedAtDesc(boolean active, Pageable pageable);
 
     /**
      * Find top-level posts only (for admin).
      */
+    @EntityGraph(attributePaths = "user")
     Page<Post> findByParentIsNullOrderByCreatedAtDesc(Pageable pageable);
 
     /**
      * Find comments only (for admin).
      */
+    @EntityGraph(attributePaths = {"user", "parent"})
     Page<Post> findByParentIsNotNullOrderByCreatedAtDesc(Pageable pageable);
 
     /**
      * Find top-level posts filtered by active status.
      */
+    @EntityGraph(attributePaths = "user")
     Page<Post> findByParentIsNullAndActiveOrderByCreatedAtDesc(boolean active, Pageable pageable);
 
     /**
      * Find comments filtered by active status.
      */
+    @EntityGraph(attributePaths = {"user", "parent"})
     Page<Post> findByParentIsNotNullAndActiveOrderByCreatedAtDesc(boolean active, Pageable pageable);
 
+    /**
+     * Every post and comment for the admin export, newest first, as projections read
+     * through a cursor {@value #EXPORT_FETCH_SIZE} rows at a time. Must be consumed
+     * inside a transaction and closed.
+     */
+    @Query("SELECT new at.fhtw.webenprjbackend.dto.AdminPostExportRow(" +
+           "p.id, p.parent.id, p.subject, p.content, u.id, u.username, u.email, " +
+           "(SELECT COUNT(l) FROM PostLike l WHERE l.post = p), " +
+           "(SELECT COUNT(b) FROM PostBookmark b WHERE b.post = p), " +
+           "(SELECT COUNT(c) FROM Post c WHERE c.parent = p), " +
+           "p.active, p.createdAt, p.updatedAt) " +
+           "FROM Post p JOIN p.user u ORDER BY p.createdAt DESC")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<AdminPostExportRow> streamForExport();
+
+    /**
+     * The days each user created top-level posts on, including deleted ones: rows of user
+     * id, year, month and day ordered by user and day, read through a cursor. Must be
+     * consumed inside a transaction and closed.
+     */
+    @Query("SELECT p.user.id, YEAR(p.createdAt), MONTH(p.createdAt), DAY(p.createdAt) " +
+           "FROM Post p WHERE p.parent IS NULL " +
+           "GROUP BY p.user.id, YEAR(p.createdAt), MONTH(p.createdAt), DAY(p.createdAt) " +
+           "ORDER BY p.user.id, YEAR(p.createdAt), MONTH(p.createdAt), DAY(p.createdAt)")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Object[]> streamPostingDays();
+
     /**
      * Search all posts by content (for admin).
      */
     @Query("SELECT p FROM Post p WHERE LOWER(p.content) LIKE LOWER(CONCAT('%', :keyword, '%')) OR LOWER(p.subject) LIKE LOWER(CONCAT('%', :keyword, '%')) ORDER BY p.createdAt DESC")
+    @EntityGraph(attributePaths = {"user", "parent"})
     Page<Post> searchAllForAdmin(@Param("keyword") String keyword, Pageable pageable);
 
 }
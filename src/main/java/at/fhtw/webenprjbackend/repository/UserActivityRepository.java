@@ -0,0 +1,25 @@
+package at.fhtw.webenprjbackend.repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import at.fhtw.webenprjbackend.entity.UserActivity;
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface UserActivityRepository extends JpaRepository<UserActivity, UUID> {
+
+    /**
+     * Loads a user's activity row and locks it until the transaction ends, so concurrent
+     * posts by the same user update the bitmap one after the other.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM UserActivity a WHERE a.userId = :userId")
+    Optional<UserActivity> findForUpdate(@Param("userId") UUID userId);
+}
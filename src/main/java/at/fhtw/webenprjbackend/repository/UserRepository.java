@@ -3,13 +3,20 @@ package at.fhtw.webenprjbackend.repository;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import at.fhtw.webenprjbackend.dto.AdminUserExportRow;
 import at.fhtw.webenprjbackend.entity.User;
+import jakarta.persistence.QueryHint;
 
 /**
  * Repository interface for managing User entities.
@@ -31,6 +38,19 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     Page<User> findByEmailContainingIgnoreCaseOrUsernameContainingIgnoreCaseOrCountryCodeContainingIgnoreCase(
             String email, String username, String countryCode, Pageable pageable);
 
+    /**
+     * Every user for the admin export, newest first, as projections read through a
+     * cursor. Must be consumed inside a transaction and closed.
+     */
+    @Query("SELECT new at.fhtw.webenprjbackend.dto.AdminUserExportRow(" +
+           "u.id, u.email, u.username, u.countryCode, u.role, u.active, u.createdAt, u.updatedAt) " +
+           "FROM User u ORDER BY u.createdAt DESC")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + PostRepository.EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<AdminUserExportRow> streamForExport();
+
 }
 
 
@@ -3,6 +3,8 @@ package at.fhtw.webenprjbackend.security;
 import java.util.Arrays;
 import java.util.List;
 
+import jakarta.servlet.DispatcherType;
+
 import at.fhtw.webenprjbackend.service.CustomUserDetailsService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -15,7 +17,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -25,6 +26,8 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import at.fhtw.webenprjbackend.security.jwt.JwtAuthenticationFilter;
 import at.fhtw.webenprjbackend.security.jwt.JwtDecoder;
+import at.fhtw.webenprjbackend.security.password.BoundedPasswordEncoder;
+import at.fhtw.webenprjbackend.security.password.PasswordHashingProperties;
 import at.fhtw.webenprjbackend.security.ratelimit.RateLimitingFilter;
 
 @Configuration
@@ -38,9 +41,10 @@ public class SecurityConfiguration {
         this.environment = environment;
     }
 
+    // hashing runs on its own bounded pool, see BoundedPasswordEncoder
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties passwordHashingProperties) {
+        return new BoundedPasswordEncoder(passwordHashingProperties);
     }
 
     @Bean
@@ -72,6 +76,9 @@ public class SecurityConfiguration {
                 .authorizeHttpRequests(auth -> {
                     // Allow CORS preflight requests
                     auth.requestMatchers(HttpMethod.OPTIONS, "/**").permitAll();
+                    // Streaming responses (exports, SSE) finish in an async dispatch; the
+                    // request was already authorized and the JWT filter does not run again
+                    auth.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll();
 
                     auth
                         .requestMatchers(HttpMethod.POST, "/auth/login").permitAll()
@@ -85,8 +92,13 @@ public class SecurityConfiguration {
                             .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/api-docs/**").permitAll()
                             .requestMatchers("/h2-console/**").permitAll()
                             .requestMatchers("/actuator/**").permitAll();
+                    } else {
+                        // metrics reveal traffic and data volumes - admins (and scrapers with an admin token) only
+                        auth
+                            .requestMatchers(HttpMethod.GET, "/actuator/health").permitAll()
+                            .requestMatchers("/actuator/**").hasRole("ADMIN");
                     }
-                    
+
                     auth.anyRequest().authenticated();
                 });
 
@@ -0,0 +1,36 @@
+package at.fhtw.webenprjbackend.security.jwt;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event for authenticating one request from its bearer token, split into
+ * token decoding and the user lookup. Only emitted when a token is present.
+ */
+@Name("motivise.JwtAuthentication")
+@Label("JWT Authentication")
+@Category({"Motivise", "Security"})
+@Description("Bearer token decode and user load for one request")
+@StackTrace(false)
+class JwtAuthenticationEvent extends Event {
+
+    @Label("URI")
+    String uri;
+
+    @Label("Outcome")
+    @Description("authenticated, invalid-token or user-not-found")
+    String outcome;
+
+    @Label("Decode Time")
+    @Timespan
+    long decodeTime;
+
+    @Label("User Load Time")
+    @Timespan
+    long userLoadTime;
+}
@@ -40,33 +40,49 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
 
+        String token = resolveToken(request);
+
+        if (token != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            authenticate(token, request);
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private void authenticate(String token, HttpServletRequest request) {
+        JwtAuthenticationEvent event = new JwtAuthenticationEvent();
+        event.begin();
+        event.uri = request.getRequestURI();
         try {
-            String token = resolveToken(request);
-
-            if (token != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                Claims claims = jwtDecoder.decode(token);
-                String loginIdentifier = claims.getSubject(); // email oder username
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(loginIdentifier);
-
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails,
-                                null,
-                                userDetails.getAuthorities()
-                        );
-                authentication.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request)
-                );
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-            }
+            long start = System.nanoTime();
+            event.outcome = "invalid-token";
+            Claims claims = jwtDecoder.decode(token);
+            String loginIdentifier = claims.getSubject(); // email oder username
+            long decoded = System.nanoTime();
+            event.decodeTime = decoded - start;
+
+            event.outcome = "user-not-found";
+            UserDetails userDetails = userDetailsService.loadUserByUsername(loginIdentifier);
+            event.userLoadTime = System.nanoTime() - decoded;
+            event.outcome = "authenticated";
+
+            UsernamePasswordAuthenticationToken authentication =
+                    new UsernamePasswordAuthenticationToken(
+                            userDetails,
+                            null,
+                            userDetails.getAuthorities()
+                    );
+            authentication.setDetails(
+                    new WebAuthenticationDetailsSource().buildDetails(request)
+            );
+            SecurityContextHolder.getContext().setAuthentication(authentication);
         } catch (JwtException | org.springframework.security.core.userdetails.UsernameNotFoundException e) {
             // invalid/expired token or user deleted - just clear auth and continue
             logger.error("Cannot set user authentication: " + e.getMessage(), e);
             SecurityContextHolder.clearContext();
+        } finally {
+            event.commit();
         }
-
-        filterChain.doFilter(request, response);
     }
 
     private String resolveToken(HttpServletRequest request) {
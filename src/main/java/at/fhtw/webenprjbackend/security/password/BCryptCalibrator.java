@@ -0,0 +1,45 @@
+package at.fhtw.webenprjbackend.security.password;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+/**
+ * Picks a BCrypt cost for this machine at startup.
+ *
+ * <p>Measures one hash at the minimum cost and extrapolates, since each
+ * additional cost step doubles the work. Returns the highest cost whose
+ * estimated duration stays within the target.
+ */
+final class BCryptCalibrator {
+
+    private static final Logger log = LoggerFactory.getLogger(BCryptCalibrator.class);
+    private static final String SAMPLE_PASSWORD = "calibration-Password123!";
+
+    private BCryptCalibrator() {
+    }
+
+    static int calibrate(long targetMillis, int minStrength, int maxStrength) {
+        String salt = BCrypt.gensalt(minStrength);
+        BCrypt.hashpw(SAMPLE_PASSWORD, salt); // warm-up
+
+        long start = System.nanoTime();
+        BCrypt.hashpw(SAMPLE_PASSWORD, salt);
+        long baseMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+
+        int strength = chooseStrength(baseMillis, targetMillis, minStrength, maxStrength);
+        log.info("BCrypt calibration: cost {} took {} ms, selected cost {} for target {} ms",
+                minStrength, baseMillis, strength, targetMillis);
+        return strength;
+    }
+
+    static int chooseStrength(long baseMillis, long targetMillis, int minStrength, int maxStrength) {
+        int strength = minStrength;
+        long estimate = baseMillis;
+        while (strength < maxStrength && estimate * 2 <= targetMillis) {
+            estimate *= 2;
+            strength++;
+        }
+        return strength;
+    }
+}
@@ -0,0 +1,110 @@
+package at.fhtw.webenprjbackend.security.password;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * BCrypt encoder that runs every hash on a dedicated, bounded worker pool.
+ *
+ * <p>Request threads wait for the result, but at most {@code workers} hashes
+ * run at once, so a login storm cannot occupy every CPU. When all workers are
+ * busy and the queue is full, {@link PasswordHashingSaturatedException} is
+ * thrown immediately instead of queueing further work.
+ *
+ * <p>{@link #upgradeEncoding(String)} reports hashes below the configured cost,
+ * which lets Spring Security re-hash them after a successful login.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(BoundedPasswordEncoder.class);
+
+    private final BCryptPasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final int strength;
+    private final int retryAfterSeconds;
+
+    public BoundedPasswordEncoder(PasswordHashingProperties properties) {
+        this.strength = properties.getStrength() > 0
+                ? properties.getStrength()
+                : BCryptCalibrator.calibrate(properties.getTargetMillis(),
+                        properties.getMinStrength(), properties.getMaxStrength());
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.retryAfterSeconds = properties.getRetryAfterSeconds();
+
+        int workers = properties.getWorkers() > 0
+                ? properties.getWorkers()
+                : defaultWorkers(Runtime.getRuntime().availableProcessors());
+        this.executor = new ThreadPoolExecutor(
+                workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        log.info("Password hashing: BCrypt cost {}, {} workers, queue capacity {}",
+                strength, workers, properties.getQueueCapacity());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // Only parses the cost prefix, no hashing - safe on the caller thread
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Half the CPUs (at least one), leaving the rest for request handling during a login storm.
+     */
+    static int defaultWorkers(int availableProcessors) {
+        return Math.max(1, availableProcessors / 2);
+    }
+
+    /**
+     * Returns the BCrypt cost used for new hashes.
+     */
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private <T> T submit(Callable<T> task) {
+        try {
+            return executor.submit(task).get();
+        } catch (RejectedExecutionException e) {
+            throw new PasswordHashingSaturatedException(retryAfterSeconds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
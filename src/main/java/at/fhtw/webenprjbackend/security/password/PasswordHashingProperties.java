@@ -0,0 +1,87 @@
+package at.fhtw.webenprjbackend.security.password;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the dedicated BCrypt worker pool and the hashing cost.
+ */
+@ConfigurationProperties(prefix = "app.password-hashing")
+public class PasswordHashingProperties {
+
+    /** Worker threads for hashing. {@code 0} means half the available CPUs, at least one. */
+    private int workers;
+
+    /** Hash requests allowed to wait for a worker before new ones are rejected. */
+    private int queueCapacity = 32;
+
+    /** Fixed BCrypt cost. {@code 0} means calibrate at startup against {@link #targetMillis}. */
+    private int strength;
+
+    /** Target duration of a single hash when calibrating. */
+    private long targetMillis = 250;
+
+    /** Lower bound for the calibrated cost. */
+    private int minStrength = 10;
+
+    /** Upper bound for the calibrated cost. */
+    private int maxStrength = 14;
+
+    /** Retry-After value sent with 503 responses when the pool is saturated. */
+    private int retryAfterSeconds = 1;
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public void setWorkers(int workers) {
+        this.workers = workers;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    public void setStrength(int strength) {
+        this.strength = strength;
+    }
+
+    public long getTargetMillis() {
+        return targetMillis;
+    }
+
+    public void setTargetMillis(long targetMillis) {
+        this.targetMillis = targetMillis;
+    }
+
+    public int getMinStrength() {
+        return minStrength;
+    }
+
+    public void setMinStrength(int minStrength) {
+        this.minStrength = minStrength;
+    }
+
+    public int getMaxStrength() {
+        return maxStrength;
+    }
+
+    public void setMaxStrength(int maxStrength) {
+        this.maxStrength = maxStrength;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public void setRetryAfterSeconds(int retryAfterSeconds) {
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,18 @@
+package at.fhtw.webenprjbackend.security.password;
+
+/**
+ * Exception thrown when the password hashing pool and its queue are full.
+ */
+public class PasswordHashingSaturatedException extends RuntimeException {
+
+    private final int retryAfterSeconds;
+
+    public PasswordHashingSaturatedException(int retryAfterSeconds) {
+        super("Password hashing capacity exhausted. Retry after " + retryAfterSeconds + " seconds.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
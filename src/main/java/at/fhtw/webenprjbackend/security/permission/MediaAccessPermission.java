@@ -1,13 +1,10 @@
 package at.fhtw.webenprjbackend.security.permission;
 
 import at.fhtw.webenprjbackend.entity.Media;
-import at.fhtw.webenprjbackend.repository.MediaRepository;
 import at.fhtw.webenprjbackend.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
-import org.springframework.web.server.ResponseStatusException;
 
 import java.util.UUID;
 
@@ -15,7 +12,7 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class MediaAccessPermission implements AccessPermission {
 
-    private final MediaRepository mediaRepository;
+    private final ResourceOwnerResolver resourceOwnerResolver;
 
     @Override
     public boolean supports(Authentication authentication, String className) {
@@ -33,10 +30,8 @@ public class MediaAccessPermission implements AccessPermission {
             return false;
         }
 
-        Media media = mediaRepository.findById(resourceId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Media not found"));
-
-        return ((UserPrincipal) authentication.getPrincipal()).getId().equals(media.getCreateUser());
+        return ((UserPrincipal) authentication.getPrincipal()).getId()
+                .equals(resourceOwnerResolver.ownerOf(Media.class, resourceId).ownerId());
     }
 
     }
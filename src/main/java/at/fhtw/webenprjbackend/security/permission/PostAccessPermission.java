@@ -1,13 +1,10 @@
 package at.fhtw.webenprjbackend.security.permission;
 
 import at.fhtw.webenprjbackend.entity.Post;
-import at.fhtw.webenprjbackend.repository.PostRepository;
 import at.fhtw.webenprjbackend.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
-import org.springframework.web.server.ResponseStatusException;
 
 import java.util.UUID;
 
@@ -15,7 +12,7 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class PostAccessPermission implements AccessPermission {
 
-    private final PostRepository postRepository;
+    private final ResourceOwnerResolver resourceOwnerResolver;
 
     @Override
     public boolean supports(Authentication authentication, String className) {
@@ -30,9 +27,6 @@ public class PostAccessPermission implements AccessPermission {
             return true;
         }
 
-        Post post = postRepository.findById(resourceId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Post not found"));
-
-        return post.getUser().getId().equals(principal.getId());
+        return principal.getId().equals(resourceOwnerResolver.ownerOf(Post.class, resourceId).ownerId());
     }
 }
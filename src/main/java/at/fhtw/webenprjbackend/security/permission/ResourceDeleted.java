@@ -0,0 +1,13 @@
+package at.fhtw.webenprjbackend.security.permission;
+
+import java.util.UUID;
+
+/**
+ * Hard delete of an owned resource, published as an application event so
+ * {@link ResourceOwnerResolver} forgets its owner after the transaction commits.
+ *
+ * @param type entity class of the deleted row; {@code User} drops everything the user owned
+ * @param id   id of the deleted row
+ */
+public record ResourceDeleted(Class<?> type, UUID id) {
+}
@@ -0,0 +1,91 @@
+package at.fhtw.webenprjbackend.security.permission;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import at.fhtw.webenprjbackend.dto.ResourceOwner;
+import at.fhtw.webenprjbackend.entity.Media;
+import at.fhtw.webenprjbackend.entity.Post;
+import at.fhtw.webenprjbackend.entity.User;
+import at.fhtw.webenprjbackend.repository.MediaRepository;
+import at.fhtw.webenprjbackend.repository.PostRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Owners of posts and media for permission checks, read with a projection query instead
+ * of loading the entity, which is left to the service method behind the check.
+ *
+ * <p>Owners never change, so they are cached by resource id (up to
+ * {@code app.permissions.owner-cache-size} entries) and only dropped on a
+ * {@link ResourceDeleted} event. Deleting a user drops every entry they own, which covers
+ * the posts the database cascades away with them; a hard-deleted post's comments, removed
+ * by JPA {@code orphanRemoval}, get an event each from the post service.
+ */
+@Component
+public class ResourceOwnerResolver implements MeterBinder {
+
+    private record Key(Class<?> type, UUID id) {
+    }
+
+    private final Map<Class<?>, Function<UUID, Optional<ResourceOwner>>> loaders;
+    private final Cache<Key, ResourceOwner> owners;
+
+    public ResourceOwnerResolver(PostRepository postRepository, MediaRepository mediaRepository,
+                                 @Value("${app.permissions.owner-cache-size:100000}") long maxSize) {
+        this.loaders = Map.of(
+                Post.class, postRepository::findOwnerById,
+                Media.class, mediaRepository::findOwnerById);
+        this.owners = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, owners, "resource-owners");
+    }
+
+    /**
+     * Owner of the {@code type} row with {@code id}.
+     *
+     * @throws ResponseStatusException with NOT_FOUND status if the row does not exist
+     */
+    public ResourceOwner ownerOf(Class<?> type, UUID id) {
+        Function<UUID, Optional<ResourceOwner>> loader = loaders.get(type);
+        if (loader == null) {
+            throw new IllegalArgumentException("No owner lookup for " + type.getName());
+        }
+        ResourceOwner owner = owners.getIfPresent(new Key(type, id));
+        if (owner == null) {
+            // not found is not cached, so a row created later is seen
+            owner = loader.apply(id).orElseThrow(() ->
+                    new ResponseStatusException(HttpStatus.NOT_FOUND, type.getSimpleName() + " not found"));
+            owners.put(new Key(type, id), owner);
+        }
+        return owner;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onResourceDeleted(ResourceDeleted deleted) {
+        if (deleted.type() == User.class) {
+            owners.asMap().values().removeIf(owner -> deleted.id().equals(owner.ownerId()));
+        } else {
+            owners.invalidate(new Key(deleted.type(), deleted.id()));
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package at.fhtw.webenprjbackend.security.ratelimit;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one login rate-limit decision.
+ */
+@Name("motivise.RateLimitDecision")
+@Label("Rate Limit Decision")
+@Category({"Motivise", "Security"})
+@Description("Whether a login attempt was let through or rejected with 429")
+@StackTrace(false)
+class RateLimitDecisionEvent extends Event {
+
+    @Label("Client IP")
+    String clientIp;
+
+    @Label("Attempts")
+    @Description("Attempts by this client in the current window, including this one")
+    int attempts;
+
+    @Label("Allowed")
+    boolean allowed;
+}
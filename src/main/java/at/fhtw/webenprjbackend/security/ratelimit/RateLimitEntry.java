@@ -27,10 +27,10 @@ public class RateLimitEntry {
     }
 
     /**
-     * Increments the attempt counter.
+     * Increments the attempt counter and returns the new count.
      */
-    public void increment() {
-        attempts.incrementAndGet();
+    public int increment() {
+        return attempts.incrementAndGet();
     }
 
     /**
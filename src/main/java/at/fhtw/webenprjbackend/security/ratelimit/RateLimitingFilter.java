@@ -3,7 +3,9 @@ package at.fhtw.webenprjbackend.security.ratelimit;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -11,6 +13,10 @@ import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -19,15 +25,34 @@ import jakarta.servlet.http.HttpServletResponse;
 /**
  * Rate limiting filter that restricts login attempts per IP address.
  * Uses an in-memory map to track attempts within a time window.
+ *
+ * <p>Entries are updated with non-blocking map operations instead of
+ * {@code compute} lambdas, so no user code runs while a map bin is locked.
+ * This keeps the filter free of carrier-thread pinning when requests are
+ * served on virtual threads.
+ *
+ * <p>As a {@link MeterBinder} it publishes the number of tracked client buckets
+ * and the number of rejected attempts.
  */
 @Component
-public class RateLimitingFilter extends OncePerRequestFilter {
+public class RateLimitingFilter extends OncePerRequestFilter implements MeterBinder {
 
     private static final int MAX_ATTEMPTS = 5;
     private static final String LOGIN_PATH = "/auth/login";
     private static final String X_FORWARDED_FOR = "X-Forwarded-For";
 
     private final ConcurrentHashMap<String, RateLimitEntry> attempts = new ConcurrentHashMap<>();
+    private final LongAdder rejected = new LongAdder();
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        Gauge.builder("ratelimit.login.buckets", attempts, Map::size)
+                .description("Client IPs with a tracked login window")
+                .register(registry);
+        FunctionCounter.builder("ratelimit.login.rejected", rejected, LongAdder::sum)
+                .description("Login attempts rejected with 429")
+                .register(registry);
+    }
 
     @Override
     protected void doFilterInternal(
@@ -42,23 +67,52 @@ public class RateLimitingFilter extends OncePerRequestFilter {
             return;
         }
 
+        RateLimitDecisionEvent event = new RateLimitDecisionEvent();
+        event.begin();
         String clientIp = getClientIp(request);
-        RateLimitEntry entry = attempts.compute(clientIp, (key, existing) -> {
-            if (existing == null || existing.isExpired()) {
-                return new RateLimitEntry();
-            }
-            existing.increment();
-            return existing;
-        });
+        int attemptCount = recordAttempt(clientIp);
+        boolean allowed = attemptCount <= MAX_ATTEMPTS;
+        if (event.shouldCommit()) {
+            event.clientIp = clientIp;
+            event.attempts = attemptCount;
+            event.allowed = allowed;
+            event.commit();
+        }
 
-        if (entry.getAttempts() > MAX_ATTEMPTS) {
-            sendRateLimitResponse(response, entry.getSecondsUntilReset(), request.getRequestURI());
+        if (!allowed) {
+            rejected.increment();
+            RateLimitEntry entry = attempts.get(clientIp);
+            int retryAfterSeconds = entry != null ? entry.getSecondsUntilReset() : 1;
+            sendRateLimitResponse(response, retryAfterSeconds, request.getRequestURI());
             return;
         }
 
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Records one attempt for the given client and returns the count it produced.
+     * Retries when another request created or reset the entry concurrently.
+     */
+    private int recordAttempt(String clientIp) {
+        while (true) {
+            RateLimitEntry existing = attempts.get(clientIp);
+            if (existing == null) {
+                RateLimitEntry created = new RateLimitEntry();
+                if (attempts.putIfAbsent(clientIp, created) == null) {
+                    return created.getAttempts();
+                }
+            } else if (existing.isExpired()) {
+                RateLimitEntry created = new RateLimitEntry();
+                if (attempts.replace(clientIp, existing, created)) {
+                    return created.getAttempts();
+                }
+            } else {
+                return existing.increment();
+            }
+        }
+    }
+
     private boolean isLoginRequest(HttpServletRequest request) {
         return "POST".equalsIgnoreCase(request.getMethod())
                 && LOGIN_PATH.equals(request.getRequestURI());
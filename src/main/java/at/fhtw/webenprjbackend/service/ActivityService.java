@@ -0,0 +1,258 @@
+package at.fhtw.webenprjbackend.service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import at.fhtw.webenprjbackend.dto.UserActivityResponse;
+import at.fhtw.webenprjbackend.entity.UserActivity;
+import at.fhtw.webenprjbackend.repository.PostRepository;
+import at.fhtw.webenprjbackend.repository.UserActivityRepository;
+import io.micrometer.core.annotation.Counted;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+/**
+ * Daily posting activity and streaks, kept in one {@link UserActivity} bitmap row per user.
+ *
+ * <p>{@link #recordPost} sets the day's bit when a top-level post is created and advances
+ * the streak counters in constant time; only a day recorded out of order (before the last
+ * active day) rescans the bitmap. Reads are a single primary-key lookup. A day stays
+ * active if its post is deleted later.
+ *
+ * <p>{@link #backfill} rebuilds all rows from the posts table. It runs on startup while
+ * the table is empty, i.e. after the migration that introduced it, and can be triggered
+ * by admins; posts created while it runs may be lost from the rebuilt rows.
+ */
+@Service
+@Transactional(readOnly = true)
+@Counted("app.service.calls")
+public class ActivityService {
+
+    private static final Logger log = LoggerFactory.getLogger(ActivityService.class);
+
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    private static final String COLUMNS = "(user_id, first_day, days, last_active_day, current_streak, longest_streak)";
+    private static final String VALUES = "(:userId, :firstDay, :days, :lastActiveDay, :currentStreak, :longestStreak)";
+
+    /** Takes the row's write lock when it exists, so it never waits on a shared lock like INSERT IGNORE. */
+    private static final String MYSQL_INSERT_IF_ABSENT = "INSERT INTO user_activity " + COLUMNS
+            + " VALUES " + VALUES + " ON DUPLICATE KEY UPDATE user_id = user_id";
+    private static final String MERGE_IF_ABSENT = "MERGE INTO user_activity a USING (VALUES " + VALUES + ") "
+            + "AS v" + COLUMNS + " ON a.user_id = v.user_id WHEN NOT MATCHED THEN INSERT " + COLUMNS
+            + " VALUES (v.user_id, v.first_day, v.days, v.last_active_day, v.current_streak, v.longest_streak)";
+
+    private final UserActivityRepository userActivityRepository;
+    private final PostRepository postRepository;
+    private final EntityManager entityManager;
+    private volatile String insertIfAbsentSql;
+
+    public ActivityService(UserActivityRepository userActivityRepository, PostRepository postRepository,
+                           EntityManager entityManager) {
+        this.userActivityRepository = userActivityRepository;
+        this.postRepository = postRepository;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Marks {@code day} as active for the user; joins the caller's transaction.
+     *
+     * <p>The row is created with an insert-if-absent, so two first posts of the same user
+     * racing each other cannot both insert it; the loser's insert is a no-op and it then
+     * updates the winner's row under the lock.
+     */
+    @Transactional
+    public void recordPost(UUID userId, LocalDate day) {
+        UserActivity first = new UserActivity(userId);
+        markDay(first, day);
+        insertIfAbsent(first);
+        UserActivity activity = userActivityRepository.findForUpdate(userId)
+                .orElseThrow(() -> new IllegalStateException("Activity row missing after insert for user " + userId));
+        if (markDay(activity, day)) {
+            userActivityRepository.save(activity);
+        }
+    }
+
+    private void insertIfAbsent(UserActivity activity) {
+        Query insert = entityManager.createNativeQuery(insertIfAbsentSql());
+        insert.setParameter("userId", activity.getUserId());
+        insert.setParameter("firstDay", activity.getFirstDay());
+        insert.setParameter("days", activity.getDays());
+        insert.setParameter("lastActiveDay", activity.getLastActiveDay());
+        insert.setParameter("currentStreak", activity.getCurrentStreak());
+        insert.setParameter("longestStreak", activity.getLongestStreak());
+        insert.executeUpdate();
+    }
+
+    /** MySQL has no MERGE; H2 (dev and tests) has no ON DUPLICATE KEY outside MySQL mode. */
+    private String insertIfAbsentSql() {
+        if (insertIfAbsentSql == null) {
+            Dialect dialect = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices().getDialect();
+            insertIfAbsentSql = dialect instanceof MySQLDialect ? MYSQL_INSERT_IF_ABSENT : MERGE_IF_ABSENT;
+        }
+        return insertIfAbsentSql;
+    }
+
+    public UserActivityResponse getActivity(UUID userId) {
+        return getActivity(userId, LocalDate.now());
+    }
+
+    UserActivityResponse getActivity(UUID userId, LocalDate today) {
+        return userActivityRepository.findById(userId)
+                .map(activity -> new UserActivityResponse(
+                        today.equals(activity.getLastActiveDay()),
+                        currentStreak(activity, today),
+                        activity.getLongestStreak(),
+                        activity.getLastActiveDay()))
+                .orElse(new UserActivityResponse(false, 0, 0, null));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillIfEmpty() {
+        if (userActivityRepository.count() == 0) {
+            int users = backfill();
+            log.info("Backfilled daily activity for {} users", users);
+        }
+    }
+
+    /**
+     * Replaces all activity rows with ones rebuilt from the top-level posts, reading the
+     * posting days through a cursor and writing in batches.
+     *
+     * @return number of users with activity
+     */
+    @Transactional
+    public int backfill() {
+        userActivityRepository.deleteAllInBatch();
+        int users = 0;
+        UserActivity current = null;
+        try (Stream<Object[]> rows = postRepository.streamPostingDays()) {
+            for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+                UUID userId = (UUID) row[0];
+                if (current == null || !current.getUserId().equals(userId)) {
+                    if (current != null) {
+                        entityManager.persist(current);
+                        if (++users % BACKFILL_BATCH_SIZE == 0) {
+                            entityManager.flush();
+                            entityManager.clear();
+                        }
+                    }
+                    current = new UserActivity(userId);
+                }
+                markDay(current, LocalDate.of(((Number) row[1]).intValue(), ((Number) row[2]).intValue(),
+                        ((Number) row[3]).intValue()));
+            }
+        }
+        if (current != null) {
+            entityManager.persist(current);
+            users++;
+        }
+        return users;
+    }
+
+    /**
+     * Sets the bit for {@code day} and updates the streaks.
+     *
+     * @return whether anything changed
+     */
+    static boolean markDay(UserActivity activity, LocalDate day) {
+        if (activity.getFirstDay() == null) {
+            activity.setFirstDay(day);
+            activity.setDays(new byte[1]);
+        } else if (day.isBefore(activity.getFirstDay())) {
+            // Prepend whole bytes so existing bits keep their positions within a byte
+            long missingBytes = (ChronoUnit.DAYS.between(day, activity.getFirstDay()) + 7) / 8;
+            if (missingBytes + activity.getDays().length > UserActivity.MAX_BYTES) {
+                return false;
+            }
+            byte[] days = new byte[(int) missingBytes + activity.getDays().length];
+            System.arraycopy(activity.getDays(), 0, days, (int) missingBytes, activity.getDays().length);
+            activity.setDays(days);
+            activity.setFirstDay(activity.getFirstDay().minusDays(missingBytes * 8));
+        }
+
+        long index = ChronoUnit.DAYS.between(activity.getFirstDay(), day);
+        if (index / 8 >= UserActivity.MAX_BYTES) {
+            // Full: forget the oldest bytes
+            int drop = (int) (index / 8 - UserActivity.MAX_BYTES + 1);
+            activity.setDays(Arrays.copyOfRange(activity.getDays(), Math.min(drop, activity.getDays().length),
+                    activity.getDays().length));
+            activity.setFirstDay(activity.getFirstDay().plusDays(drop * 8L));
+            index -= drop * 8L;
+        }
+        int byteIndex = (int) (index / 8);
+        if (byteIndex >= activity.getDays().length) {
+            activity.setDays(Arrays.copyOf(activity.getDays(), byteIndex + 1));
+        }
+        int mask = 1 << (index % 8);
+        if ((activity.getDays()[byteIndex] & mask) != 0) {
+            return false;
+        }
+        activity.getDays()[byteIndex] |= (byte) mask;
+
+        LocalDate last = activity.getLastActiveDay();
+        if (last == null || day.isAfter(last)) {
+            activity.setCurrentStreak(day.equals(last == null ? null : last.plusDays(1))
+                    ? activity.getCurrentStreak() + 1 : 1);
+            activity.setLastActiveDay(day);
+            activity.setLongestStreak(Math.max(activity.getLongestStreak(), activity.getCurrentStreak()));
+        } else {
+            recomputeStreaks(activity);
+        }
+        return true;
+    }
+
+    /** Rebuilds the streak columns from the bitmap. */
+    static void recomputeStreaks(UserActivity activity) {
+        int run = 0;
+        int longest = 0;
+        long lastSet = -1;
+        byte[] days = activity.getDays();
+        for (long i = 0; i < days.length * 8L; i++) {
+            if ((days[(int) (i / 8)] & (1 << (i % 8))) != 0) {
+                run = lastSet == i - 1 ? run + 1 : 1;
+                longest = Math.max(longest, run);
+                lastSet = i;
+            }
+        }
+        activity.setCurrentStreak(run);
+        activity.setLongestStreak(longest);
+        activity.setLastActiveDay(lastSet < 0 ? null : activity.getFirstDay().plusDays(lastSet));
+    }
+
+    /** The stored streak while it can still be extended (last post today or yesterday), otherwise 0. */
+    static int currentStreak(UserActivity activity, LocalDate today) {
+        LocalDate last = activity.getLastActiveDay();
+        return last != null && !last.isBefore(today.minusDays(1)) ? activity.getCurrentStreak() : 0;
+    }
+
+    /** Active days of {@code activity} between {@code from} and {@code to} inclusive. For tests. */
+    static List<LocalDate> activeDays(UserActivity activity, LocalDate from, LocalDate to) {
+        List<LocalDate> active = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            long index = ChronoUnit.DAYS.between(activity.getFirstDay(), day);
+            if (index >= 0 && index / 8 < activity.getDays().length
+                    && (activity.getDays()[(int) (index / 8)] & (1 << (index % 8))) != 0) {
+                active.add(day);
+            }
+        }
+        return active;
+    }
+}
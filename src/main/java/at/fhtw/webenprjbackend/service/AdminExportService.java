@@ -0,0 +1,149 @@
+package at.fhtw.webenprjbackend.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import at.fhtw.webenprjbackend.dto.AdminPostExportRow;
+import at.fhtw.webenprjbackend.dto.AdminUserExportRow;
+import at.fhtw.webenprjbackend.repository.PostRepository;
+import at.fhtw.webenprjbackend.repository.UserRepository;
+
+/**
+ * Streams whole tables to admins as CSV or NDJSON.
+ *
+ * <p>Rows are read through a database cursor as DTO projections and written one by one,
+ * so memory use does not grow with the table: nothing is collected, and projections are
+ * never added to the persistence context. Runs in a read-only transaction, which also
+ * routes the export to a replica when replicas are configured.
+ */
+@Service
+@Transactional(readOnly = true)
+public class AdminExportService {
+
+    private static final String CSV_LINE_END = "\r\n";
+
+    private final PostRepository postRepository;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+
+    public AdminExportService(PostRepository postRepository, UserRepository userRepository,
+                              ObjectMapper objectMapper) {
+        this.postRepository = postRepository;
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes every post and comment to {@code out}.
+     *
+     * @return number of rows written
+     */
+    public long exportPosts(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<AdminPostExportRow> rows = postRepository.streamForExport()) {
+            return write(rows, AdminPostExportRow.class, format, out);
+        }
+    }
+
+    /**
+     * Writes every user to {@code out}.
+     *
+     * @return number of rows written
+     */
+    public long exportUsers(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<AdminUserExportRow> rows = userRepository.streamForExport()) {
+            return write(rows, AdminUserExportRow.class, format, out);
+        }
+    }
+
+    private <T extends Record> long write(Stream<T> rows, Class<T> type, ExportFormat format, OutputStream out)
+            throws IOException {
+        return switch (format) {
+            case CSV -> writeCsv(rows.iterator(), type, out);
+            case NDJSON -> writeNdjson(rows.iterator(), out);
+        };
+    }
+
+    private long writeNdjson(Iterator<?> rows, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writer();
+        long count = 0;
+        while (rows.hasNext()) {
+            out.write(writer.writeValueAsBytes(rows.next()));
+            out.write('\n');
+            count++;
+        }
+        out.flush();
+        return count;
+    }
+
+    private long writeCsv(Iterator<?> rows, Class<? extends Record> type, OutputStream out) throws IOException {
+        RecordComponent[] components = type.getRecordComponents();
+        Method[] accessors = Arrays.stream(components).map(RecordComponent::getAccessor).toArray(Method[]::new);
+
+        // Not closed: the servlet container owns the response stream
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        for (int i = 0; i < components.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(components[i].getName());
+        }
+        writer.write(CSV_LINE_END);
+
+        long count = 0;
+        while (rows.hasNext()) {
+            Object row = rows.next();
+            for (int i = 0; i < accessors.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(csvField(read(accessors[i], row)));
+            }
+            writer.write(CSV_LINE_END);
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static Object read(Method accessor, Object row) {
+        try {
+            return accessor.invoke(row);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Cannot read " + accessor.getName(), e);
+        }
+    }
+
+    /**
+     * Formats one CSV field (RFC 4180). Text that a spreadsheet would evaluate as a
+     * formula is prefixed with {@code '}, since post content is user input.
+     */
+    static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (value instanceof CharSequence && !text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
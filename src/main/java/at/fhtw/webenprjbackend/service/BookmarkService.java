@@ -1,19 +1,26 @@
 package at.fhtw.webenprjbackend.service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import io.micrometer.core.annotation.Counted;
+
 import at.fhtw.webenprjbackend.dto.BookmarkCollectionResponse;
 import at.fhtw.webenprjbackend.dto.BookmarkCreateResult;
 import at.fhtw.webenprjbackend.dto.BookmarkRequest;
@@ -23,10 +30,13 @@ import at.fhtw.webenprjbackend.entity.BookmarkCollection;
 import at.fhtw.webenprjbackend.entity.Post;
 import at.fhtw.webenprjbackend.entity.PostBookmark;
 import at.fhtw.webenprjbackend.entity.User;
+import at.fhtw.webenprjbackend.feed.BookmarkUpdate;
 import at.fhtw.webenprjbackend.repository.BookmarkCollectionRepository;
 import at.fhtw.webenprjbackend.repository.PostBookmarkRepository;
 import at.fhtw.webenprjbackend.repository.PostRepository;
 import at.fhtw.webenprjbackend.repository.UserRepository;
+import at.fhtw.webenprjbackend.stats.ApproximateCounts;
+import at.fhtw.webenprjbackend.stats.ApproximateCounts.Listing;
 
 /**
  * Service layer for bookmark and collection management.
@@ -35,24 +45,31 @@ import at.fhtw.webenprjbackend.repository.UserRepository;
  */
 @Service
 @Transactional(readOnly = true)
+@Counted("app.service.calls")
 public class BookmarkService {
 
     private final PostBookmarkRepository bookmarkRepository;
     private final BookmarkCollectionRepository collectionRepository;
     private final PostRepository postRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ApproximateCounts approximateCounts;
 
     /** Constructor with DI. */
     public BookmarkService(
         PostBookmarkRepository bookmarkRepository,
         BookmarkCollectionRepository collectionRepository,
         PostRepository postRepository,
-        UserRepository userRepository
+        UserRepository userRepository,
+        ApplicationEventPublisher eventPublisher,
+        ApproximateCounts approximateCounts
     ) {
         this.bookmarkRepository = bookmarkRepository;
         this.collectionRepository = collectionRepository;
         this.postRepository = postRepository;
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.approximateCounts = approximateCounts;
     }
 
 
@@ -83,6 +100,7 @@ public class BookmarkService {
 
         PostBookmark bookmark = new PostBookmark(user, post, collection, request.notes());
         PostBookmark saved = bookmarkRepository.save(bookmark);
+        eventPublisher.publishEvent(new BookmarkUpdate(postId, 1));
         return new BookmarkCreateResult(mapToBookmarkResponse(saved), true);
     }
 
@@ -96,7 +114,9 @@ public class BookmarkService {
         User user = userRepository.findById(userId)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
 
-        bookmarkRepository.deleteByUserAndPost(user, post);
+        if (bookmarkRepository.deleteByUserAndPost(user, post) > 0) {
+            eventPublisher.publishEvent(new BookmarkUpdate(postId, -1));
+        }
     }
 
     /**
@@ -129,20 +149,73 @@ public class BookmarkService {
     }
 
     /**
-     * Get all bookmarks for a user
+     * Get all bookmarks for a user, with a total from ApproximateCounts
      */
     public Page<BookmarkResponse> getUserBookmarks(UUID userId, Pageable pageable) {
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+        Page<PostBookmark> bookmarks = approximateCounts.page(findUserBookmarks(userId, pageable),
+            Listing.BOOKMARKS, userId, () -> bookmarkRepository.countByUserId(userId));
+        return bookmarks.map(bookmarkMapper(bookmarks));
+    }
 
-        Page<PostBookmark> bookmarks = bookmarkRepository.findByUserOrderByCreatedAtDesc(user, pageable);
-        return bookmarks.map(this::mapToBookmarkResponse);
+    /**
+     * Get all bookmarks for a user; the page with a total if withTotal, otherwise a Slice without count query
+     */
+    public Slice<BookmarkResponse> getUserBookmarks(UUID userId, Pageable pageable, boolean withTotal) {
+        if (withTotal) {
+            return getUserBookmarks(userId, pageable);
+        }
+        Slice<PostBookmark> bookmarks = findUserBookmarks(userId, pageable);
+        return bookmarks.map(bookmarkMapper(bookmarks));
     }
 
     /**
-     * Get bookmarks in a specific collection
+     * Get bookmarks in a specific collection, with a total from ApproximateCounts
      */
     public Page<BookmarkResponse> getCollectionBookmarks(UUID collectionId, UUID userId, Pageable pageable) {
+        Page<PostBookmark> bookmarks = approximateCounts.page(findCollectionBookmarks(collectionId, userId, pageable),
+            Listing.COLLECTION_BOOKMARKS, collectionId, () -> bookmarkRepository.countByCollectionId(collectionId));
+        return bookmarks.map(bookmarkMapper(bookmarks));
+    }
+
+    /**
+     * Get bookmarks in a specific collection, as a Page or Slice like getUserBookmarks
+     */
+    public Slice<BookmarkResponse> getCollectionBookmarks(UUID collectionId, UUID userId, Pageable pageable,
+                                                          boolean withTotal) {
+        if (withTotal) {
+            return getCollectionBookmarks(collectionId, userId, pageable);
+        }
+        Slice<PostBookmark> bookmarks = findCollectionBookmarks(collectionId, userId, pageable);
+        return bookmarks.map(bookmarkMapper(bookmarks));
+    }
+
+    /**
+     * Get uncategorized bookmarks, with a total from ApproximateCounts
+     */
+    public Page<BookmarkResponse> getUncategorizedBookmarks(UUID userId, Pageable pageable) {
+        Page<PostBookmark> bookmarks = approximateCounts.page(findUncategorizedBookmarks(userId, pageable),
+            Listing.UNCATEGORIZED_BOOKMARKS, userId, () -> bookmarkRepository.countByUserIdAndCollectionIsNull(userId));
+        return bookmarks.map(bookmarkMapper(bookmarks));
+    }
+
+    /**
+     * Get uncategorized bookmarks, as a Page or Slice like getUserBookmarks
+     */
+    public Slice<BookmarkResponse> getUncategorizedBookmarks(UUID userId, Pageable pageable, boolean withTotal) {
+        if (withTotal) {
+            return getUncategorizedBookmarks(userId, pageable);
+        }
+        Slice<PostBookmark> bookmarks = findUncategorizedBookmarks(userId, pageable);
+        return bookmarks.map(bookmarkMapper(bookmarks));
+    }
+
+    private Slice<PostBookmark> findUserBookmarks(UUID userId, Pageable pageable) {
+        User user = userRepository.findById(userId)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+        return bookmarkRepository.findByUserOrderByCreatedAtDesc(user, pageable);
+    }
+
+    private Slice<PostBookmark> findCollectionBookmarks(UUID collectionId, UUID userId, Pageable pageable) {
         BookmarkCollection collection = collectionRepository.findById(collectionId)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Collection not found"));
 
@@ -150,24 +223,16 @@ public class BookmarkService {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Cannot access another user's collection");
         }
 
-        Page<PostBookmark> bookmarks = bookmarkRepository.findByUserAndCollectionOrderByCreatedAtDesc(
+        return bookmarkRepository.findByUserAndCollectionOrderByCreatedAtDesc(
             collection.getUser(), collection, pageable);
-        return bookmarks.map(this::mapToBookmarkResponse);
     }
 
-    /**
-     * Get uncategorized bookmarks
-     */
-    public Page<BookmarkResponse> getUncategorizedBookmarks(UUID userId, Pageable pageable) {
+    private Slice<PostBookmark> findUncategorizedBookmarks(UUID userId, Pageable pageable) {
         User user = userRepository.findById(userId)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
-
-        Page<PostBookmark> bookmarks = bookmarkRepository.findByUserAndCollectionIsNullOrderByCreatedAtDesc(
-            user, pageable);
-        return bookmarks.map(this::mapToBookmarkResponse);
+        return bookmarkRepository.findByUserAndCollectionIsNullOrderByCreatedAtDesc(user, pageable);
     }
 
-
     /**
      * Create a collection
      */
@@ -238,11 +303,27 @@ public class BookmarkService {
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
 
         List<BookmarkCollection> collections = collectionRepository.findByUserOrderByCreatedAtAsc(user);
+        Map<UUID, Long> bookmarkCounts = fetchCollectionBookmarkCounts(collections);
         return collections.stream()
-            .map(this::mapToCollectionResponse)
+            .map(collection -> mapToCollectionResponse(collection, bookmarkCounts))
             .toList();
     }
 
+    /**
+     * Fetch bookmark counts for multiple collections (prevents N+1 queries)
+     */
+    private Map<UUID, Long> fetchCollectionBookmarkCounts(Collection<BookmarkCollection> collections) {
+        if (collections.isEmpty()) {
+            return Map.of();
+        }
+        List<UUID> collectionIds = collections.stream().map(BookmarkCollection::getId).distinct().toList();
+        return bookmarkRepository.countBookmarksByCollectionIds(collectionIds).stream()
+            .collect(Collectors.toMap(
+                row -> (UUID) row[0],
+                row -> (Long) row[1]
+            ));
+    }
+
 
     /**
      * Fetch bookmark counts for multiple posts (prevents N+1 queries)
@@ -271,12 +352,30 @@ public class BookmarkService {
     }
 
 
+    /**
+     * Maps the bookmarks of one page, counting the bookmarks of all collections on it in one query
+     */
+    private Function<PostBookmark, BookmarkResponse> bookmarkMapper(Slice<PostBookmark> bookmarks) {
+        Set<BookmarkCollection> collections = bookmarks.stream()
+            .map(PostBookmark::getCollection)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        Map<UUID, Long> bookmarkCounts = fetchCollectionBookmarkCounts(collections);
+        return bookmark -> mapToBookmarkResponse(bookmark, bookmarkCounts);
+    }
+
     private BookmarkResponse mapToBookmarkResponse(PostBookmark bookmark) {
+        List<BookmarkCollection> collection = bookmark.getCollection() != null
+            ? List.of(bookmark.getCollection()) : List.of();
+        return mapToBookmarkResponse(bookmark, fetchCollectionBookmarkCounts(collection));
+    }
+
+    private BookmarkResponse mapToBookmarkResponse(PostBookmark bookmark, Map<UUID, Long> collectionBookmarkCounts) {
         // Create a minimal PostResponse for the bookmark
         Post post = bookmark.getPost();
 
         BookmarkCollectionResponse collection = bookmark.getCollection() != null
-            ? mapToCollectionResponse(bookmark.getCollection())
+            ? mapToCollectionResponse(bookmark.getCollection(), collectionBookmarkCounts)
             : null;
 
         return new BookmarkResponse(
@@ -289,7 +388,13 @@ public class BookmarkService {
     }
 
     private BookmarkCollectionResponse mapToCollectionResponse(BookmarkCollection collection) {
-        long bookmarkCount = bookmarkRepository.countByCollection(collection);
+        return mapToCollectionResponse(collection,
+            Map.of(collection.getId(), bookmarkRepository.countByCollection(collection)));
+    }
+
+    private BookmarkCollectionResponse mapToCollectionResponse(BookmarkCollection collection,
+                                                               Map<UUID, Long> bookmarkCounts) {
+        long bookmarkCount = bookmarkCounts.getOrDefault(collection.getId(), 0L);
         return new BookmarkCollectionResponse(
             collection.getId(),
             collection.getName(),
@@ -323,7 +428,8 @@ public class BookmarkService {
             0L, // likeCount - not fetched in bookmark context
             false, // likedByCurrentUser - not fetched in bookmark context
             0L, // bookmarkCount - not fetched in bookmark context
-            false // bookmarkedByCurrentUser - always false in bookmark list (we already know it's bookmarked)
+            false, // bookmarkedByCurrentUser - always false in bookmark list (we already know it's bookmarked)
+            null // previewComments - not requested in bookmark context
         );
     }
 }
@@ -2,9 +2,12 @@ package at.fhtw.webenprjbackend.service;
 
 import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import at.fhtw.webenprjbackend.entity.User;
 import at.fhtw.webenprjbackend.repository.UserRepository;
@@ -13,9 +16,12 @@ import at.fhtw.webenprjbackend.security.UserPrincipal;
 /**
  * Loads user data for authentication, supporting login by email or username.
  * Uses generic error messages to avoid leaking account existence.
+ *
+ * <p>Also stores re-hashed passwords when Spring Security upgrades a hash
+ * below the configured BCrypt cost after a successful login.
  */
 @Component
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -37,4 +43,15 @@ public class CustomUserDetailsService implements UserDetailsService {
         return UserPrincipal.fromUser(user);
     }
 
+    // own transaction: login runs inside a read-only one that would never flush this
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findById(((UserPrincipal) userDetails).getId())
+                .orElseThrow(() -> new UsernameNotFoundException("Invalid login or password"));
+
+        user.setPassword(newPassword);
+        return UserPrincipal.fromUser(userRepository.save(user));
+    }
+
 }
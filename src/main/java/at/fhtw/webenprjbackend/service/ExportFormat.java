@@ -0,0 +1,36 @@
+package at.fhtw.webenprjbackend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Wire formats of the admin exports.
+ */
+public enum ExportFormat {
+
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv"),
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    /** Case-insensitive lookup of a {@code format} request parameter. */
+    public static ExportFormat of(String name) {
+        return valueOf(name.toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,87 @@
+package at.fhtw.webenprjbackend.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event for building one page of posts, with the time of the page query and
+ * of each batched enrichment query that follows it.
+ */
+@Name("motivise.FeedAssembly")
+@Label("Feed Assembly")
+@Category({"Motivise", "Posts"})
+@Description("Page query plus preview comments and like, bookmark and comment enrichment for one page of posts")
+@StackTrace(false)
+class FeedAssemblyEvent extends Event {
+
+    @Label("Feed")
+    @Description("all, following, search, subject, author, comments or activity")
+    String feed;
+
+    @Label("Posts")
+    int posts;
+
+    @Label("Preview Comments")
+    int previewComments;
+
+    @Label("Query Time")
+    @Description("The page query and, for the following feed, the follow lookup")
+    @Timespan
+    long queryTime;
+
+    @Label("Preview Comments Time")
+    @Timespan
+    long previewCommentsTime;
+
+    @Label("Version Stamp Time")
+    @Description("Building the ETag; zero for unconditional requests")
+    @Timespan
+    long versionStampTime;
+
+    @Label("Like Counts Time")
+    @Timespan
+    long likeCountsTime;
+
+    @Label("Liked By User Time")
+    @Timespan
+    long likedByUserTime;
+
+    @Label("Bookmark Counts Time")
+    @Timespan
+    long bookmarkCountsTime;
+
+    @Label("Bookmarked By User Time")
+    @Timespan
+    long bookmarkedByUserTime;
+
+    @Label("Comment Counts Time")
+    @Timespan
+    long commentCountsTime;
+
+    @Label("Mapping Time")
+    @Timespan
+    long mappingTime;
+
+    private transient long phaseStart;
+
+    static FeedAssemblyEvent start(String feed) {
+        FeedAssemblyEvent event = new FeedAssemblyEvent();
+        event.begin();
+        event.feed = feed;
+        event.phaseStart = System.nanoTime();
+        return event;
+    }
+
+    /** Returns the time since the previous phase ended and starts the next one. */
+    long lap() {
+        long now = System.nanoTime();
+        long elapsed = now - phaseStart;
+        phaseStart = now;
+        return elapsed;
+    }
+}
@@ -0,0 +1,49 @@
+package at.fhtw.webenprjbackend.service;
+
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Per-request options for reading a page of posts.
+ *
+ * @param notModified     conditional GET check, typically {@code WebRequest::checkNotModified};
+ *                        {@link #UNCONDITIONAL} always builds the page
+ * @param previewComments number of earliest comments embedded under each post, {@code 0} for none
+ * @param fields          {@code PostResponse} fields the client asked for, empty for all;
+ *                        enrichment behind fields that were not asked for is skipped
+ * @param withTotal       whether the result is a {@code Page} with a (cached) total or a {@code Slice}
+ *                        that only knows whether a next page exists
+ */
+public record FeedOptions(Predicate<String> notModified, int previewComments, Set<String> fields,
+                          boolean withTotal) {
+
+    /** Check for callers without a conditional request: always build the response. */
+    public static final Predicate<String> UNCONDITIONAL = etag -> false;
+
+    public static final FeedOptions DEFAULT = new FeedOptions(UNCONDITIONAL, 0, Set.of(), true);
+
+    public static FeedOptions conditional(Predicate<String> notModified) {
+        return new FeedOptions(notModified, 0, Set.of(), true);
+    }
+
+    public FeedOptions withPreviewComments(int previewComments) {
+        return new FeedOptions(notModified, previewComments, fields, withTotal);
+    }
+
+    public FeedOptions withFields(Set<String> fields) {
+        return new FeedOptions(notModified, previewComments, Set.copyOf(fields), withTotal);
+    }
+
+    public FeedOptions withTotal(boolean withTotal) {
+        return new FeedOptions(notModified, previewComments, fields, withTotal);
+    }
+
+    boolean isConditional() {
+        return notModified != UNCONDITIONAL;
+    }
+
+    /** Whether the response will contain the given {@code PostResponse} field. */
+    boolean includes(String field) {
+        return fields.isEmpty() || fields.contains(field);
+    }
+}
@@ -1,30 +1,42 @@
 package at.fhtw.webenprjbackend.service;
 
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import io.micrometer.core.annotation.Counted;
+
 import at.fhtw.webenprjbackend.dto.UserResponse;
 import at.fhtw.webenprjbackend.entity.Follow;
 import at.fhtw.webenprjbackend.entity.User;
 import at.fhtw.webenprjbackend.repository.FollowRepository;
 import at.fhtw.webenprjbackend.repository.UserRepository;
+import at.fhtw.webenprjbackend.stats.ApproximateCounts;
+import at.fhtw.webenprjbackend.stats.ApproximateCounts.Listing;
 
 @Service
 @Transactional(readOnly = true)
+@Counted("app.service.calls")
 public class FollowService {
 
     private final FollowRepository followRepository;
     private final UserRepository userRepository;
+    private final ApproximateCounts approximateCounts;
 
-    public FollowService(FollowRepository followRepository, UserRepository userRepository) {
+    public FollowService(FollowRepository followRepository, UserRepository userRepository,
+                         ApproximateCounts approximateCounts) {
         this.followRepository = followRepository;
         this.userRepository = userRepository;
+        this.approximateCounts = approximateCounts;
     }
 
     @Transactional
@@ -56,21 +68,76 @@ public class FollowService {
         followRepository.deleteByFollowerAndFollowed(follower, followed);
     }
 
+    /**
+     * Followers of a user, with a total from {@link ApproximateCounts}.
+     */
     public Page<UserResponse> getFollowers(UUID userId, Pageable pageable) {
+        Page<User> followers = approximateCounts.page(findFollowers(userId, pageable), Listing.FOLLOWERS, userId,
+                () -> followRepository.countByFollowedId(userId));
+        return followers.map(responseMapper(followers.getContent()));
+    }
+
+    /**
+     * Followers of a user: the {@link #getFollowers(UUID, Pageable) page} if {@code withTotal},
+     * otherwise a {@link Slice} without any count query.
+     */
+    public Slice<UserResponse> getFollowers(UUID userId, Pageable pageable, boolean withTotal) {
+        if (withTotal) {
+            return getFollowers(userId, pageable);
+        }
+        Slice<User> followers = findFollowers(userId, pageable);
+        return followers.map(responseMapper(followers.getContent()));
+    }
+
+    /**
+     * Users a user follows, with a total from {@link ApproximateCounts}.
+     */
+    public Page<UserResponse> getFollowing(UUID userId, Pageable pageable) {
+        Page<User> following = approximateCounts.page(findFollowing(userId, pageable), Listing.FOLLOWED_USERS, userId,
+                () -> followRepository.countByFollowerId(userId));
+        return following.map(responseMapper(following.getContent()));
+    }
+
+    /**
+     * Users a user follows, as a page or slice like {@link #getFollowers(UUID, Pageable, boolean)}.
+     */
+    public Slice<UserResponse> getFollowing(UUID userId, Pageable pageable, boolean withTotal) {
+        if (withTotal) {
+            return getFollowing(userId, pageable);
+        }
+        Slice<User> following = findFollowing(userId, pageable);
+        return following.map(responseMapper(following.getContent()));
+    }
+
+    private Slice<User> findFollowers(UUID userId, Pageable pageable) {
         User target = userRepository.findById(userId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
-        return followRepository.findByFollowed(target, pageable)
-                .map(follow -> toResponse(follow.getFollower()));
+        return followRepository.findByFollowed(target, pageable).map(Follow::getFollower);
     }
 
-    public Page<UserResponse> getFollowing(UUID userId, Pageable pageable) {
+    private Slice<User> findFollowing(UUID userId, Pageable pageable) {
         User target = userRepository.findById(userId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
-        return followRepository.findByFollower(target, pageable)
-                .map(follow -> toResponse(follow.getFollowed()));
+        return followRepository.findByFollower(target, pageable).map(Follow::getFollowed);
+    }
+
+    /**
+     * Maps the users of one page to UserResponse with batch-loaded follow counts.
+     * Keeps follower/following listings at two count queries per page instead of 2*N.
+     */
+    private Function<User, UserResponse> responseMapper(List<User> users) {
+        if (users.isEmpty()) {
+            return user -> toResponse(user, Map.of(), Map.of());
+        }
+
+        List<UUID> userIds = users.stream().map(User::getId).toList();
+        Map<UUID, Long> followerCounts = followRepository.getFollowerCountsMap(userIds);
+        Map<UUID, Long> followingCounts = followRepository.getFollowingCountsMap(userIds);
+
+        return user -> toResponse(user, followerCounts, followingCounts);
     }
 
-    private UserResponse toResponse(User user) {
+    private UserResponse toResponse(User user, Map<UUID, Long> followerCounts, Map<UUID, Long> followingCounts) {
         return new UserResponse(
                 user.getId(),
                 user.getEmail(),
@@ -81,8 +148,8 @@ public class FollowService {
                 user.getRole().name(),
                 user.getCreatedAt(),
                 user.getUpdatedAt(),
-                followerCount(user),
-                followingCount(user)
+                followerCounts.getOrDefault(user.getId(), 0L),
+                followingCounts.getOrDefault(user.getId(), 0L)
         );
     }
 
@@ -2,6 +2,7 @@ package at.fhtw.webenprjbackend.service;
 
 import java.util.UUID;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -10,9 +11,11 @@ import org.springframework.web.server.ResponseStatusException;
 import at.fhtw.webenprjbackend.entity.Post;
 import at.fhtw.webenprjbackend.entity.PostLike;
 import at.fhtw.webenprjbackend.entity.User;
+import at.fhtw.webenprjbackend.feed.FeedUpdate;
 import at.fhtw.webenprjbackend.repository.PostLikeRepository;
 import at.fhtw.webenprjbackend.repository.PostRepository;
 import at.fhtw.webenprjbackend.repository.UserRepository;
+import at.fhtw.webenprjbackend.stats.SubjectActivity;
 
 @Service
 @Transactional
@@ -21,11 +24,14 @@ public class LikeService {
     private final PostLikeRepository postLikeRepository;
     private final PostRepository postRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public LikeService(PostLikeRepository postLikeRepository, PostRepository postRepository, UserRepository userRepository) {
+    public LikeService(PostLikeRepository postLikeRepository, PostRepository postRepository, UserRepository userRepository,
+                       ApplicationEventPublisher eventPublisher) {
         this.postLikeRepository = postLikeRepository;
         this.postRepository = postRepository;
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public void like(UUID postId, UUID userId) {
@@ -37,7 +43,9 @@ public class LikeService {
         if (postLikeRepository.existsByUserAndPost(user, post)) {
             return; // idempotent
         }
-        postLikeRepository.save(new PostLike(user, post));
+        PostLike like = postLikeRepository.save(new PostLike(user, post));
+        eventPublisher.publishEvent(FeedUpdate.likes(postId, 1));
+        eventPublisher.publishEvent(SubjectActivity.liked(post, like.getCreatedAt()));
     }
 
     public void unlike(UUID postId, UUID userId) {
@@ -46,6 +54,8 @@ public class LikeService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
 
-        postLikeRepository.deleteByUserAndPost(user, post);
+        if (postLikeRepository.deleteByUserAndPost(user, post) > 0) {
+            eventPublisher.publishEvent(FeedUpdate.likes(postId, -1));
+        }
     }
 }
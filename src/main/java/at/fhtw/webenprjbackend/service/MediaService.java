@@ -3,6 +3,7 @@ package at.fhtw.webenprjbackend.service;
 import java.io.InputStream;
 import java.util.UUID;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
@@ -12,6 +13,7 @@ import org.springframework.web.multipart.MultipartFile;
 import at.fhtw.webenprjbackend.entity.Media;
 import at.fhtw.webenprjbackend.filestorage.FileStorage;
 import at.fhtw.webenprjbackend.repository.MediaRepository;
+import at.fhtw.webenprjbackend.security.permission.ResourceDeleted;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -22,6 +24,7 @@ public class MediaService {
 
     private final MediaRepository mediaRepository;
     private final FileStorage fileStorage;
+    private final ApplicationEventPublisher eventPublisher;
 
     public Media upload(MultipartFile toUpload) {
         String externalId = fileStorage.upload(toUpload);
@@ -53,6 +56,7 @@ public class MediaService {
 
         fileStorage.delete(media.getExternalId());
         mediaRepository.delete(media);
+        eventPublisher.publishEvent(new ResourceDeleted(Media.class, id));
 
     }
 
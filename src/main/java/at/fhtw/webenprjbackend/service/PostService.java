@@ -1,22 +1,35 @@
 package at.fhtw.webenprjbackend.service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
-import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.beans.factory.annotation.Value;
 
 
+import io.micrometer.core.annotation.Counted;
+
 import at.fhtw.webenprjbackend.dto.AdminPostResponse;
 import at.fhtw.webenprjbackend.dto.AdminPostStatsResponse;
 import at.fhtw.webenprjbackend.dto.PostCreateRequest;
@@ -24,19 +37,39 @@ import at.fhtw.webenprjbackend.dto.PostResponse;
 import at.fhtw.webenprjbackend.dto.PostUpdateRequest;
 import at.fhtw.webenprjbackend.entity.Post;
 import at.fhtw.webenprjbackend.entity.User;
+import at.fhtw.webenprjbackend.feed.FeedRanking;
+import at.fhtw.webenprjbackend.feed.FeedUpdate;
+import at.fhtw.webenprjbackend.feed.PostRanking;
 import at.fhtw.webenprjbackend.repository.FollowRepository;
 import at.fhtw.webenprjbackend.repository.PostLikeRepository;
 import at.fhtw.webenprjbackend.repository.PostRepository;
 import at.fhtw.webenprjbackend.repository.UserRepository;
+import at.fhtw.webenprjbackend.security.permission.ResourceDeleted;
+import at.fhtw.webenprjbackend.stats.ApproximateCounts;
+import at.fhtw.webenprjbackend.stats.ApproximateCounts.Listing;
+import at.fhtw.webenprjbackend.stats.ContentChange;
+import at.fhtw.webenprjbackend.stats.SubjectActivity;
 
 /**
  * Service layer for managing study posts in the Motivise platform.
  *
+ * <p>The read methods that take {@link FeedOptions} support conditional GET: after the
+ * page query they compute a weak ETag from a cheap version stamp and hand it to the
+ * options' check (typically {@code WebRequest::checkNotModified}). If the client's
+ * copy is still current they return {@code null} before any enrichment query runs.
+ *
+ * <p>Listings are read as {@link Slice}s, without the {@code COUNT(*)} a {@code Page}
+ * query adds. With {@link FeedOptions#withTotal()} (the default) they are returned as a
+ * {@code Page} whose total comes from {@link ApproximateCounts}, so it can lag writes by
+ * up to {@code app.approximate-counts.expire-after}; the overloads without options always
+ * return such a {@code Page}.
+ *
  * @see Post
  * @see PostRepository
  */
 @Service
 @Transactional(readOnly = true)
+@Counted("app.service.calls")
 public class PostService {
 
     private final PostRepository postRepository;
@@ -44,7 +77,10 @@ public class PostService {
     private final PostLikeRepository postLikeRepository;
     private final FollowRepository followRepository;
     private final BookmarkService bookmarkService;
-
+    private final ApplicationEventPublisher eventPublisher;
+    private final PostRanking postRanking;
+    private final ActivityService activityService;
+    private final ApproximateCounts approximateCounts;
 
     @Value("${app.public-base-url:http://localhost:8081}")
     private String publicBaseUrl;
@@ -53,40 +89,111 @@ public class PostService {
     /** Constructor with DI. */
     public PostService(PostRepository postRepository, UserRepository userRepository,
                        PostLikeRepository postLikeRepository, FollowRepository followRepository,
-                       BookmarkService bookmarkService) {
+                       BookmarkService bookmarkService, ApplicationEventPublisher eventPublisher,
+                       PostRanking postRanking, ActivityService activityService,
+                       ApproximateCounts approximateCounts) {
         this.postRepository = postRepository;
         this.userRepository = userRepository;
         this.postLikeRepository = postLikeRepository;
         this.followRepository = followRepository;
         this.bookmarkService = bookmarkService;
+        this.eventPublisher = eventPublisher;
+        this.postRanking = postRanking;
+        this.activityService = activityService;
+        this.approximateCounts = approximateCounts;
+    }
+
+    /**
+     * A listing read as a slice, with what {@link ApproximateCounts} needs to complete it to a page.
+     */
+    private record PostListing(Slice<Post> posts, Listing listing, Object filter, LongSupplier count) {
     }
 
     public Page<PostResponse> getAllPosts(Pageable pageable, UUID currentUserId) {
+        FeedAssemblyEvent event = FeedAssemblyEvent.start("all");
+        return toPage(allPosts(pageable), currentUserId, event, FeedOptions.DEFAULT);
+    }
+
+    public Slice<PostResponse> getAllPosts(Pageable pageable, UUID currentUserId, FeedOptions options) {
+        FeedAssemblyEvent event = FeedAssemblyEvent.start("all");
+        return toSlice(allPosts(pageable), currentUserId, event, options);
+    }
+
+    private PostListing allPosts(Pageable pageable) {
         // Only return active top-level posts (not comments)
-        Page<Post> posts = postRepository.findByParentIsNullAndActiveTrueOrderByCreatedAtDesc(pageable);
-        return mapPageWithLikes(posts, currentUserId);
+        return new PostListing(postRepository.findByParentIsNullAndActiveTrueOrderByCreatedAtDesc(pageable),
+                Listing.POSTS, null, postRepository::countByParentIsNullAndActiveTrue);
+    }
+
+    /**
+     * Active top-level posts of the ranking window, ordered by engagement instead of date.
+     * The order comes from {@link PostRanking}; only the page itself is loaded and enriched.
+     */
+    public Page<PostResponse> getRankedPosts(FeedRanking ranking, Pageable pageable, UUID currentUserId,
+                                             FeedOptions options) {
+        FeedAssemblyEvent event = FeedAssemblyEvent.start(ranking.name().toLowerCase(Locale.ROOT));
+        List<UUID> ids = postRanking.page(ranking, pageable.getOffset(), pageable.getPageSize());
+        long total = postRanking.size();
+        Map<UUID, Post> found = ids.isEmpty() ? Map.of()
+                : postRepository.findActiveTopLevelByIdIn(ids).stream()
+                        .collect(Collectors.toMap(Post::getId, Function.identity()));
+        List<Post> content = new ArrayList<>(ids.size());
+        List<UUID> missing = new ArrayList<>();
+        for (UUID id : ids) {
+            Post post = found.get(id);
+            if (post != null) {
+                content.add(post);
+            } else {
+                missing.add(id); // deleted since it was ranked, or not on this replica yet
+            }
+        }
+        if (!missing.isEmpty()) {
+            postRanking.removeUnlessActive(missing);
+        }
+        // The ranking knows its size, so this listing always has an exact total
+        return mapPageWithLikes(new PageImpl<>(content, pageable, total), currentUserId, event, options);
     }
 
     public Page<PostResponse> getFollowingPosts(Pageable pageable, UUID currentUserId) {
+        FeedAssemblyEvent event = FeedAssemblyEvent.start("following");
+        return toPage(followingPosts(pageable, currentUserId), currentUserId, event, FeedOptions.DEFAULT);
+    }
+
+    public Slice<PostResponse> getFollowingPosts(Pageable pageable, UUID currentUserId, FeedOptions options) {
+        FeedAssemblyEvent event = FeedAssemblyEvent.start("following");
+        return toSlice(followingPosts(pageable, currentUserId), currentUserId, event, options);
+    }
+
+    private PostListing followingPosts(Pageable pageable, UUID currentUserId) {
         if (currentUserId == null) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Authentication required for following feed");
         }
-        User current = userRepository.findById(currentUserId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
-        var follows = followRepository.findByFollower(current, Pageable.unpaged()).stream()
-                .map(f -> f.getFollowed().getId())
-                .toList();
-        if (follows.isEmpty()) {
-            return Page.empty(pageable);
+        if (!userRepository.existsById(currentUserId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found");
         }
+        // The reload reads the follows again, so an unfollow shows up at the next refresh
+        LongSupplier count = () -> {
+            List<UUID> follows = followRepository.findFollowedIds(currentUserId);
+            return follows.isEmpty() ? 0 : postRepository.countByParentIsNullAndActiveTrueAndUserIdIn(follows);
+        };
+        List<UUID> follows = followRepository.findFollowedIds(currentUserId);
         // Only return active top-level posts (not comments)
-        Page<Post> posts = postRepository.findByParentIsNullAndActiveTrueAndUserIdInOrderByCreatedAtDesc(follows, pageable);
-        return mapPageWithLikes(posts, currentUserId);
+        Slice<Post> posts = follows.isEmpty() ? new SliceImpl<>(List.of(), pageable, false)
+                : postRepository.findByParentIsNullAndActiveTrueAndUserIdInOrderByCreatedAtDesc(follows, pageable);
+        return new PostListing(posts, Listing.FOLLOWING_FEED, currentUserId, count);
     }
 
     public PostResponse getPostById(UUID id, UUID currentUserId) {
+        return getPostById(id, currentUserId, FeedOptions.UNCONDITIONAL);
+    }
+
+    public PostResponse getPostById(UUID id, UUID currentUserId, Predicate<String> notModified) {
         Post post = postRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Post not found"));
+        if (notModified != FeedOptions.UNCONDITIONAL
+                && notModified.test(versionStamp(List.of(post), "1", currentUserId, 0))) {
+            return null;
+        }
         // Allow fetching inactive posts (to show "original post was deleted" message)
         return mapSingleWithLikes(post, currentUserId);
     }
@@ -122,6 +229,15 @@ public class PostService {
         }
 
         Post saved = postRepository.save(post);
+        if (saved.getParent() == null) {
+            activityService.recordPost(userId,
+                    saved.getCreatedAt() != null ? saved.getCreatedAt().toLocalDate() : LocalDate.now());
+        }
+        eventPublisher.publishEvent(saved.getParent() == null
+                ? FeedUpdate.newPost(saved.getId(), userId)
+                : FeedUpdate.comments(saved.getParent().getId(), 1));
+        eventPublisher.publishEvent(ContentChange.created(saved));
+        eventPublisher.publishEvent(SubjectActivity.posted(saved));
         return mapSingleWithLikes(saved, userId);
     }
 
@@ -129,13 +245,23 @@ public class PostService {
      * Get comments for a post (paginated).
      */
     public Page<PostResponse> getCommentsForPost(UUID postId, Pageable pageable, UUID currentUserId) {
+        FeedAssemblyEvent event = FeedAssemblyEvent.start("comments");
+        return toPage(comments(postId, pageable), currentUserId, event, FeedOptions.DEFAULT);
+    }
+
+    public Slice<PostResponse> getCommentsForPost(UUID postId, Pageable pageable, UUID currentUserId,
+                                                  FeedOptions options) {
+        FeedAssemblyEvent event = FeedAssemblyEvent.start("comments");
+        return toSlice(comments(postId, pageable), currentUserId, event, options);
+    }
+
+    private PostListing comments(UUID postId, Pageable pageable) {
         // Verify parent exists
         if (!postRepository.existsById(postId)) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Post not found");
         }
-
-        Page<Post> comments = postRepository.findByParentIdAndActiveTrueOrderByCreatedAtAsc(postId, pageable);
-        return mapPageWithLikes(comments, currentUserId);
+        return new PostListing(postRepository.findByParentIdAndActiveTrueOrderByCreatedAtAsc(postId, pageable),
+                Listing.COMMENTS, postId, () -> postRepository.countByParentIdAndActiveTrue(postId));
     }
 
     @Transactional
@@ -174,6 +300,9 @@ public class PostService {
                 .orElseThrow(() ->
                         new ResponseStatusException(HttpStatus.NOT_FOUND, "Post not found"));
 
+        if (existing.isActive()) {
+            eventPublisher.publishEvent(ContentChange.activeChanged(existing, false));
+        }
         existing.setActive(false);
         postRepository.save(existing);
     }
@@ -182,10 +311,25 @@ public class PostService {
         if (keyword == null || keyword.trim().isEmpty()) {
             return getAllPosts(pageable, currentUserId);
         }
+        FeedAssemblyEvent event = FeedAssemblyEvent.start("search");
+        return toPage(search(keyword.trim(), pageable), currentUserId, event, FeedOptions.DEFAULT);
+    }
+
+    public Slice<PostResponse> searchPosts(String keyword, Pageable pageable, UUID currentUserId,
+                                           FeedOptions options) {
+        if (keyword == null || keyword.trim().isEmpty()) {
+            return getAllPosts(pageable, currentUserId, options);
+        }
+        FeedAssemblyEvent event = FeedAssemblyEvent.start("search");
+        return toSlice(search(keyword.trim(), pageable), currentUserId, event, options);
+    }
+
+    private PostListing search(String keyword, Pageable pageable) {
         // Only search active top-level posts (not comments)
-        Page<Post> posts = postRepository.findByParentIsNullAndActiveTrueAndContentContainingIgnoreCase(
-                keyword.trim(), pageable);
-        return mapPageWithLikes(posts, currentUserId);
+        return new PostListing(
+                postRepository.findByParentIsNullAndActiveTrueAndContentContainingIgnoreCase(keyword, pageable),
+                Listing.SEARCH, keyword,
+                () -> postRepository.countByParentIsNullAndActiveTrueAndContentContainingIgnoreCase(keyword));
     }
 
     public long getPostCount() {
@@ -193,18 +337,41 @@ public class PostService {
     }
 
     public Page<PostResponse> searchBySubject(String subject, Pageable pageable, UUID currentUserId) {
+        FeedAssemblyEvent event = FeedAssemblyEvent.start("subject");
+        return toPage(bySubject(subject, pageable), currentUserId, event, FeedOptions.DEFAULT);
+    }
+
+    public Slice<PostResponse> searchBySubject(String subject, Pageable pageable, UUID currentUserId,
+                                               FeedOptions options) {
+        FeedAssemblyEvent event = FeedAssemblyEvent.start("subject");
+        return toSlice(bySubject(subject, pageable), currentUserId, event, options);
+    }
+
+    private PostListing bySubject(String subject, Pageable pageable) {
         String normalized = normalizeSubject(subject);
         // Only search active top-level posts (not comments)
-        Page<Post> posts = postRepository.findByParentIsNullAndActiveTrueAndSubjectIgnoreCase(normalized, pageable);
-        return mapPageWithLikes(posts, currentUserId);
+        return new PostListing(postRepository.findByParentIsNullAndActiveTrueAndSubjectIgnoreCase(normalized, pageable),
+                Listing.SUBJECT, normalized,
+                () -> postRepository.countByParentIsNullAndActiveTrueAndSubjectIgnoreCase(normalized));
     }
 
     /**
      * Get posts by a specific author (top-level posts only).
      */
     public Page<PostResponse> getPostsByAuthor(UUID authorId, Pageable pageable, UUID currentUserId) {
-        Page<Post> posts = postRepository.findByParentIsNullAndActiveTrueAndUserIdOrderByCreatedAtDesc(authorId, pageable);
-        return mapPageWithLikes(posts, currentUserId);
+        FeedAssemblyEvent event = FeedAssemblyEvent.start("author");
+        return toPage(byAuthor(authorId, pageable), currentUserId, event, FeedOptions.DEFAULT);
+    }
+
+    public Slice<PostResponse> getPostsByAuthor(UUID authorId, Pageable pageable, UUID currentUserId,
+                                                FeedOptions options) {
+        FeedAssemblyEvent event = FeedAssemblyEvent.start("author");
+        return toSlice(byAuthor(authorId, pageable), currentUserId, event, options);
+    }
+
+    private PostListing byAuthor(UUID authorId, Pageable pageable) {
+        return new PostListing(postRepository.findByParentIsNullAndActiveTrueAndUserIdOrderByCreatedAtDesc(authorId, pageable),
+                Listing.AUTHOR, authorId, () -> postRepository.countByParentIsNullAndActiveTrueAndUserId(authorId));
     }
 
     /**
@@ -264,17 +431,137 @@ public class PostService {
                 likeCount,
                 isLiked,
                 bookmarkCount,
-                isBookmarked
+                isBookmarked,
+                null
         );
     }
 
-    private Page<PostResponse> mapPageWithLikes(Page<Post> posts, UUID currentUserId) {
-        Map<UUID, Long> likeCounts = fetchLikeCounts(posts.getContent());
-        Set<UUID> likedByCurrentUser = fetchLikedPostIds(posts.getContent(), currentUserId);
-        Map<UUID, Long> bookmarkCounts = bookmarkService.fetchBookmarkCounts(posts.getContent());
-        Set<UUID> bookmarkedByCurrentUser = bookmarkService.fetchBookmarkedPostIds(posts.getContent(), currentUserId);
-        Map<UUID, Long> commentCounts = fetchCommentCounts(posts.getContent());
-        return posts.map(post -> mapToResponse(post, likeCounts, likedByCurrentUser, bookmarkCounts, bookmarkedByCurrentUser, commentCounts));
+    /**
+     * The listing as a page, with the cached total of the listing.
+     */
+    private Page<PostResponse> toPage(PostListing listing, UUID currentUserId, FeedAssemblyEvent event,
+                                      FeedOptions options) {
+        Page<Post> posts = approximateCounts.page(listing.posts(), listing.listing(), listing.filter(), listing.count());
+        return mapPageWithLikes(posts, currentUserId, event, options);
+    }
+
+    /**
+     * The listing as a page if the options ask for a total, else as a slice without any count.
+     */
+    private Slice<PostResponse> toSlice(PostListing listing, UUID currentUserId, FeedAssemblyEvent event,
+                                        FeedOptions options) {
+        if (options.withTotal()) {
+            return toPage(listing, currentUserId, event, options);
+        }
+        Function<Post, PostResponse> mapper = enrich(listing.posts(), currentUserId, event, options);
+        return mapper == null ? null : mapped(listing.posts().map(mapper), event);
+    }
+
+    private Page<PostResponse> mapPageWithLikes(Page<Post> posts, UUID currentUserId, FeedAssemblyEvent event,
+                                                FeedOptions options) {
+        Function<Post, PostResponse> mapper = enrich(posts, currentUserId, event, options);
+        return mapper == null ? null : mapped(posts.map(mapper), event);
+    }
+
+    private static <T> T mapped(T responses, FeedAssemblyEvent event) {
+        event.mappingTime = event.lap();
+        event.commit();
+        return responses;
+    }
+
+    /**
+     * Fetches all enrichment for a page of posts in batches and returns the mapping to
+     * responses, or {@code null} if the client's copy is current. Preview comments, when
+     * requested, are loaded with one window-function query and enriched in the same
+     * batches as the page itself, so they add a single statement regardless of page size.
+     */
+    private Function<Post, PostResponse> enrich(Slice<Post> posts, UUID currentUserId, FeedAssemblyEvent event,
+                                                FeedOptions options) {
+        List<Post> content = posts.getContent();
+        event.queryTime = event.lap();
+        List<Post> previews = options.includes("previewComments")
+                ? fetchPreviewComments(content, options.previewComments())
+                : List.of();
+        event.previewCommentsTime = event.lap();
+        List<Post> all = previews.isEmpty() ? content : Stream.concat(content.stream(), previews.stream()).toList();
+        if (options.isConditional() && options.notModified().test(
+                versionStamp(all, extent(posts), currentUserId, options.previewComments()))) {
+            // Not committed: the event describes assembled pages, and this one never is
+            return null;
+        }
+        event.versionStampTime = event.lap();
+        event.posts = content.size();
+        event.previewComments = previews.size();
+        // Enrichment for fields the client did not select is skipped, not computed and dropped
+        Map<UUID, Long> likeCounts = options.includes("likeCount") ? fetchLikeCounts(all) : Map.of();
+        event.likeCountsTime = event.lap();
+        Set<UUID> likedByCurrentUser = options.includes("likedByCurrentUser")
+                ? fetchLikedPostIds(all, currentUserId) : Set.of();
+        event.likedByUserTime = event.lap();
+        Map<UUID, Long> bookmarkCounts = options.includes("bookmarkCount")
+                ? bookmarkService.fetchBookmarkCounts(all) : Map.of();
+        event.bookmarkCountsTime = event.lap();
+        Set<UUID> bookmarkedByCurrentUser = options.includes("bookmarkedByCurrentUser")
+                ? bookmarkService.fetchBookmarkedPostIds(all, currentUserId) : Set.of();
+        event.bookmarkedByUserTime = event.lap();
+        // Comments cannot have comments, so only the page posts need counting
+        Map<UUID, Long> commentCounts = options.includes("commentCount") ? fetchCommentCounts(content) : Map.of();
+        event.commentCountsTime = event.lap();
+        boolean embedPreviews = options.previewComments() > 0 && options.includes("previewComments");
+        Map<UUID, List<PostResponse>> previewsByParent = embedPreviews
+                ? previews.stream().collect(Collectors.groupingBy(
+                        comment -> comment.getParent().getId(),
+                        Collectors.mapping(comment -> mapToResponse(comment, likeCounts, likedByCurrentUser,
+                                bookmarkCounts, bookmarkedByCurrentUser, commentCounts), Collectors.toList())))
+                : null;
+        return post -> {
+            PostResponse response = mapToResponse(post, likeCounts, likedByCurrentUser, bookmarkCounts, bookmarkedByCurrentUser, commentCounts);
+            return previewsByParent == null ? response
+                    : response.withPreviewComments(previewsByParent.getOrDefault(post.getId(), List.of()));
+        };
+    }
+
+    /**
+     * The first {@code limit} active comments of each post, oldest first, in one query.
+     */
+    private List<Post> fetchPreviewComments(List<Post> posts, int limit) {
+        if (limit <= 0 || posts.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> postIds = posts.stream().map(Post::getId).toList();
+        return postRepository.findFirstCommentsByParentIds(postIds, limit);
+    }
+
+    /**
+     * What the version stamp covers beyond the page content: the total of a {@code Page},
+     * or whether a {@code Slice} has a next page.
+     */
+    private static String extent(Slice<Post> posts) {
+        return posts instanceof Page<Post> page ? String.valueOf(page.getTotalElements())
+                : posts.hasNext() ? "more" : "last";
+    }
+
+    /**
+     * Weak ETag for a page of posts as seen by the current user. Covers the posts and
+     * their authors through their update timestamps and the enrichment data through
+     * {@link PostRepository#findEngagementVersion}, so it costs one aggregate query
+     * instead of the five enrichment queries plus serialization.
+     */
+    private String versionStamp(List<Post> posts, String extent, UUID currentUserId, int previewComments) {
+        StringBuilder stamp = new StringBuilder()
+                .append(currentUserId).append('|').append(extent).append('|').append(previewComments);
+        for (Post post : posts) {
+            stamp.append('|').append(post.getId())
+                    .append('@').append(post.getUpdatedAt())
+                    .append('@').append(post.getUser().getUpdatedAt());
+        }
+        if (!posts.isEmpty()) {
+            List<UUID> postIds = posts.stream().map(Post::getId).toList();
+            for (Object version : postRepository.findEngagementVersion(postIds).get(0)) {
+                stamp.append('|').append(version);
+            }
+        }
+        return "W/\"" + DigestUtils.md5DigestAsHex(stamp.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
     }
 
     private PostResponse mapSingleWithLikes(Post post, UUID currentUserId) {
@@ -321,21 +608,23 @@ public class PostService {
                 ));
     }
 
-    /**
-     * Check if user has posted today (top-level posts only).
-     */
-    public boolean hasUserPostedToday(UUID userId) {
-        var startOfToday = LocalDate.now().atTime(LocalTime.MIN);
-        return postRepository.existsByUserIdAndParentIsNullAndActiveTrueAndCreatedAtGreaterThanEqual(
-                userId, startOfToday);
-    }
-
     /**
      * Get all activity (posts + comments) by a user.
      */
     public Page<PostResponse> getUserActivity(UUID userId, Pageable pageable, UUID currentUserId) {
-        Page<Post> posts = postRepository.findByUserIdAndActiveTrueOrderByCreatedAtDesc(userId, pageable);
-        return mapPageWithLikes(posts, currentUserId);
+        FeedAssemblyEvent event = FeedAssemblyEvent.start("activity");
+        return toPage(activity(userId, pageable), currentUserId, event, FeedOptions.DEFAULT);
+    }
+
+    public Slice<PostResponse> getUserActivity(UUID userId, Pageable pageable, UUID currentUserId,
+                                               boolean withTotal) {
+        FeedAssemblyEvent event = FeedAssemblyEvent.start("activity");
+        return toSlice(activity(userId, pageable), currentUserId, event, FeedOptions.DEFAULT.withTotal(withTotal));
+    }
+
+    private PostListing activity(UUID userId, Pageable pageable) {
+        return new PostListing(postRepository.findByUserIdAndActiveTrueOrderByCreatedAtDesc(userId, pageable),
+                Listing.ACTIVITY, userId, () -> postRepository.countByUserIdAndActiveTrue(userId));
     }
 
     private String toAbsoluteMediaUrl(String url) {
@@ -348,13 +637,16 @@ public class PostService {
 
 
     /**
-     * Get post statistics for admin dashboard.
+     * Exact post and comment counts, read from the database in one scan. The admin
+     * dashboard is served from {@code ContentStats}, which reconciles against this;
+     * the series are left empty here.
      */
     public AdminPostStatsResponse getAdminPostStats() {
-        long totalPosts = postRepository.countByParentIsNull();
-        long activePosts = postRepository.countByParentIsNullAndActiveTrue();
-        long totalComments = postRepository.countByParentIsNotNull();
-        long activeComments = postRepository.countByParentIsNotNullAndActiveTrue();
+        Object[] counts = postRepository.countPostsAndComments().get(0);
+        long totalPosts = ((Number) counts[0]).longValue();
+        long activePosts = ((Number) counts[1]).longValue();
+        long totalComments = ((Number) counts[2]).longValue();
+        long activeComments = ((Number) counts[3]).longValue();
 
         return new AdminPostStatsResponse(
                 totalPosts,
@@ -362,7 +654,9 @@ public class PostService {
                 totalPosts - activePosts,  // deletedPosts
                 totalComments,
                 activeComments,
-                totalComments - activeComments  // deletedComments
+                totalComments - activeComments,  // deletedComments
+                List.of(),
+                List.of()
         );
     }
 
@@ -380,10 +674,7 @@ public class PostService {
         // Handle search first
         if (search != null && !search.isBlank()) {
             posts = postRepository.searchAllForAdmin(search.trim(), pageable);
-            // Apply filters to search results in-memory (simpler than complex query combinations)
-            return posts.map(post -> mapToAdminResponse(post))
-                    .map(p -> p) // Keep all for now, filtering handled at DB level
-                    ;
+            return mapAdminPage(posts);
         }
 
         // No search - apply filters
@@ -409,7 +700,7 @@ public class PostService {
             }
         }
 
-        return posts.map(this::mapToAdminResponse);
+        return mapAdminPage(posts);
     }
 
     /**
@@ -420,30 +711,51 @@ public class PostService {
         Post post = postRepository.findById(postId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Post not found"));
 
+        if (post.isActive() != active) {
+            eventPublisher.publishEvent(ContentChange.activeChanged(post, active));
+        }
         post.setActive(active);
         Post saved = postRepository.save(post);
         return mapToAdminResponse(saved);
     }
 
     /**
-     * Permanently delete a post (hard delete).
+     * Permanently delete a post (hard delete). Its comments are removed with it by
+     * {@code orphanRemoval}, so they get a {@link ResourceDeleted} event each as well.
      */
     @Transactional
     public void adminHardDeletePost(UUID postId) {
         Post post = postRepository.findById(postId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Post not found"));
+        List<UUID> commentIds = post.getComments().stream().map(Post::getId).toList();
 
         postRepository.delete(post);
+        eventPublisher.publishEvent(ContentChange.recount());
+        eventPublisher.publishEvent(new ResourceDeleted(Post.class, postId));
+        commentIds.forEach(commentId -> eventPublisher.publishEvent(new ResourceDeleted(Post.class, commentId)));
     }
 
     /**
-     * Map Post entity to AdminPostResponse DTO.
+     * Map a page of posts to AdminPostResponse DTOs with the counts fetched in batches.
      */
+    private Page<AdminPostResponse> mapAdminPage(Page<Post> posts) {
+        List<Post> content = posts.getContent();
+        Map<UUID, Long> likeCounts = fetchLikeCounts(content);
+        Map<UUID, Long> bookmarkCounts = bookmarkService.fetchBookmarkCounts(content);
+        Map<UUID, Long> commentCounts = fetchCommentCounts(content);
+        return posts.map(post -> mapToAdminResponse(post, likeCounts, bookmarkCounts, commentCounts));
+    }
+
     private AdminPostResponse mapToAdminResponse(Post post) {
-        Map<UUID, Long> likeCounts = fetchLikeCounts(List.of(post));
-        Map<UUID, Long> bookmarkCounts = bookmarkService.fetchBookmarkCounts(List.of(post));
-        Map<UUID, Long> commentCounts = fetchCommentCounts(List.of(post));
+        return mapToAdminResponse(post, fetchLikeCounts(List.of(post)),
+                bookmarkService.fetchBookmarkCounts(List.of(post)), fetchCommentCounts(List.of(post)));
+    }
 
+    /**
+     * Map Post entity to AdminPostResponse DTO.
+     */
+    private AdminPostResponse mapToAdminResponse(Post post, Map<UUID, Long> likeCounts,
+                                                 Map<UUID, Long> bookmarkCounts, Map<UUID, Long> commentCounts) {
         long likeCount = likeCounts.getOrDefault(post.getId(), 0L);
         long bookmarkCount = bookmarkCounts.getOrDefault(post.getId(), 0L);
         long commentCount = commentCounts.getOrDefault(post.getId(), 0L);
@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
@@ -24,6 +25,8 @@ import at.fhtw.webenprjbackend.repository.FollowRepository;
 import at.fhtw.webenprjbackend.repository.UserRepository;
 import at.fhtw.webenprjbackend.dto.AdminUserResponse;
 import at.fhtw.webenprjbackend.security.jwt.TokenIssuer;
+import at.fhtw.webenprjbackend.security.permission.ResourceDeleted;
+import at.fhtw.webenprjbackend.stats.ContentChange;
 
 
 /**
@@ -38,6 +41,7 @@ public class UserService {
     private final FollowRepository followRepository;
     private final TokenIssuer tokenIssuer;
     private final String defaultProfileImage;
+    private final ApplicationEventPublisher eventPublisher;
 
     /** Constructor with DI. */
     public UserService(UserRepository userRepository,
@@ -45,12 +49,14 @@ public class UserService {
                        FollowRepository followRepository,
                        TokenIssuer tokenIssuer,
                        @org.springframework.beans.factory.annotation.Value("${app.user.default-profile-image:/avatar-placeholder.svg}")
-                       String defaultProfileImage) {
+                       String defaultProfileImage,
+                       ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.followRepository = followRepository;
         this.tokenIssuer = tokenIssuer;
         this.defaultProfileImage = defaultProfileImage;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -75,6 +81,7 @@ public class UserService {
         );
 
         User saved = userRepository.save(newUser);
+        eventPublisher.publishEvent(ContentChange.userRegistered());
         return toResponse(saved);
     }
 
@@ -84,8 +91,8 @@ public class UserService {
     }
 
     /**
-     * Get total count of registered users.
-     * Used for public display on login page.
+     * Exact count of registered users. The public count on the login page is served
+     * from {@code ContentStats}, which reconciles against this.
      */
     public long getUserCount() {
         return userRepository.count();
@@ -94,13 +101,13 @@ public class UserService {
     public UserResponse getUserById(UUID id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
-        return toResponse(user);
+        return toBatchedResponse(user);
     }
 
     public UserResponse getCurrentUser(UUID userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
-        return toResponse(user);
+        return toBatchedResponse(user);
     }
 
     @Transactional
@@ -227,6 +234,9 @@ public class UserService {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found");
         }
         userRepository.deleteById(id);
+        // the database cascades the user's posts away
+        eventPublisher.publishEvent(ContentChange.recount());
+        eventPublisher.publishEvent(new ResourceDeleted(User.class, id));
     }
 
     @Transactional
@@ -278,7 +288,22 @@ public class UserService {
         Map<UUID, Long> followerCounts = followRepository.getFollowerCountsMap(userIds);
         Map<UUID, Long> followingCounts = followRepository.getFollowingCountsMap(userIds);
 
-        return userPage.map(user -> new UserResponse(
+        return userPage.map(user -> toResponse(user, followerCounts, followingCounts));
+    }
+
+    /**
+     * Converts a single user via the same batch count queries used for pages,
+     * so profile reads share one code path and query budget with listings.
+     */
+    private UserResponse toBatchedResponse(User user) {
+        List<UUID> userIds = List.of(user.getId());
+        return toResponse(user,
+                followRepository.getFollowerCountsMap(userIds),
+                followRepository.getFollowingCountsMap(userIds));
+    }
+
+    private UserResponse toResponse(User user, Map<UUID, Long> followerCounts, Map<UUID, Long> followingCounts) {
+        return new UserResponse(
                 user.getId(),
                 user.getEmail(),
                 user.getUsername(),
@@ -290,7 +315,7 @@ public class UserService {
                 user.getUpdatedAt(),
                 followerCounts.getOrDefault(user.getId(), 0L),
                 followingCounts.getOrDefault(user.getId(), 0L)
-        ));
+        );
     }
 
     /**
@@ -0,0 +1,45 @@
+package at.fhtw.webenprjbackend.stats;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the cached listing totals behind paginated responses.
+ */
+@ConfigurationProperties(prefix = "app.approximate-counts")
+public class ApproximateCountProperties {
+
+    /** Distinct counts (listing plus filter, e.g. one per subject) kept before the least used are evicted. */
+    private long maxSize = 10_000;
+
+    /** Age after which the next read triggers a reload in the background and still gets the old total. */
+    private Duration refreshAfter = Duration.ofSeconds(30);
+
+    /** Counts not read for this long are dropped; the next read counts synchronously again. */
+    private Duration expireAfter = Duration.ofMinutes(10);
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public Duration getRefreshAfter() {
+        return refreshAfter;
+    }
+
+    public void setRefreshAfter(Duration refreshAfter) {
+        this.refreshAfter = refreshAfter;
+    }
+
+    public Duration getExpireAfter() {
+        return expireAfter;
+    }
+
+    public void setExpireAfter(Duration expireAfter) {
+        this.expireAfter = expireAfter;
+    }
+}
@@ -0,0 +1,117 @@
+package at.fhtw.webenprjbackend.stats;
+
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Totals for paginated listings, so a page costs one query instead of a page query
+ * plus a {@code COUNT(*)} with the same filters.
+ *
+ * <p>Listings are read as {@link Slice}s and completed to a {@link Page} here. When the
+ * slice already shows the total (a partial first or last page) it is exact and no count
+ * runs. Otherwise the count is cached per listing and filter: older than
+ * {@code app.approximate-counts.refresh-after}, it is reloaded in the background while
+ * the reader that noticed still gets the previous value. A count is only dropped after
+ * {@code app.approximate-counts.expire-after} without reads, so the first read after a
+ * quiet spell can return a total up to that old.
+ */
+@Component
+public class ApproximateCounts implements MeterBinder {
+
+    /** OpenAPI description of the {@code withTotal} parameter of every listing that uses these totals. */
+    public static final String WITH_TOTAL_DESCRIPTION =
+            "false returns a slice (content, number, size, first, last) without totalElements and totalPages, " +
+            "which skips the count; true (default) adds cached totals, reloaded in the background once older " +
+            "than app.approximate-counts.refresh-after (30s by default). A total that has not been read for a " +
+            "while can be up to app.approximate-counts.expire-after (10 minutes by default) old.";
+
+    /**
+     * The listings whose totals are cached. Each has its own count query, so two listings
+     * filtered by the same id (e.g. a user's following feed and the users they follow)
+     * never share a total.
+     */
+    public enum Listing {
+        POSTS,
+        SEARCH,
+        SUBJECT,
+        AUTHOR,
+        FOLLOWING_FEED,
+        COMMENTS,
+        ACTIVITY,
+        BOOKMARKS,
+        COLLECTION_BOOKMARKS,
+        UNCATEGORIZED_BOOKMARKS,
+        FOLLOWERS,
+        FOLLOWED_USERS
+    }
+
+    /** A listing and its filter; the count query travels along for background reloads. */
+    private static final class Key {
+
+        private final Listing listing;
+        private final Object filter;
+        private final LongSupplier query;
+
+        private Key(Listing listing, Object filter, LongSupplier query) {
+            this.listing = listing;
+            this.filter = filter;
+            this.query = query;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other && listing == other.listing && Objects.equals(filter, other.filter);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(listing, filter);
+        }
+    }
+
+    private final LoadingCache<Key, Long> counts;
+
+    public ApproximateCounts(ApproximateCountProperties properties) {
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .refreshAfterWrite(properties.getRefreshAfter())
+                .expireAfterAccess(properties.getExpireAfter())
+                .recordStats()
+                .build(key -> key.query.getAsLong());
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, counts, "approximate-counts");
+    }
+
+    /**
+     * Cached result of {@code query}, the count of {@code listing} restricted to {@code filter}
+     * ({@code null} for none). The query must not depend on anything but the two.
+     */
+    public long count(Listing listing, Object filter, LongSupplier query) {
+        return counts.get(new Key(listing, filter, query));
+    }
+
+    /**
+     * {@code slice} as a page whose total is exact where the slice shows it and
+     * {@link #count cached} otherwise.
+     */
+    public <T> Page<T> page(Slice<T> slice, Listing listing, Object filter, LongSupplier query) {
+        return PageableExecutionUtils.getPage(slice.getContent(), slice.getPageable(),
+                () -> count(listing, filter, query));
+    }
+}
@@ -0,0 +1,48 @@
+package at.fhtw.webenprjbackend.stats;
+
+import java.time.LocalDateTime;
+
+import at.fhtw.webenprjbackend.entity.Post;
+
+/**
+ * A change to the number of posts, comments or users, published as an application
+ * event by the services that make it and applied to {@link ContentStats} after their
+ * transaction commits.
+ *
+ * @param type      what changed
+ * @param comment   whether the post is a comment; {@code false} for user changes
+ * @param createdAt creation time of a new post, for the time series; otherwise {@code null}
+ */
+public record ContentChange(Type type, boolean comment, LocalDateTime createdAt) {
+
+    public enum Type {
+        POST_CREATED,
+        POST_DEACTIVATED,
+        POST_REACTIVATED,
+        USER_REGISTERED,
+        /**
+         * Rows were removed together with rows that publish no event of their own (a post's
+         * comments through JPA orphan removal, a user's posts through the posts.user_id
+         * ON DELETE CASCADE): counts are reloaded instead of adjusted.
+         */
+        RECOUNT
+    }
+
+    public static ContentChange created(Post post) {
+        return new ContentChange(Type.POST_CREATED, post.getParent() != null, post.getCreatedAt());
+    }
+
+    /** Soft delete ({@code active = false}) or restore of a post. */
+    public static ContentChange activeChanged(Post post, boolean active) {
+        return new ContentChange(active ? Type.POST_REACTIVATED : Type.POST_DEACTIVATED,
+                post.getParent() != null, null);
+    }
+
+    public static ContentChange userRegistered() {
+        return new ContentChange(Type.USER_REGISTERED, false, null);
+    }
+
+    public static ContentChange recount() {
+        return new ContentChange(Type.RECOUNT, false, null);
+    }
+}
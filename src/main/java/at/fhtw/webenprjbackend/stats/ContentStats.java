@@ -0,0 +1,224 @@
+package at.fhtw.webenprjbackend.stats;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import at.fhtw.webenprjbackend.dto.AdminPostStatsResponse;
+import at.fhtw.webenprjbackend.dto.StatsBucket;
+import at.fhtw.webenprjbackend.repository.PostRepository;
+import at.fhtw.webenprjbackend.service.PostService;
+import at.fhtw.webenprjbackend.service.UserService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Post, comment and user counts for the admin dashboard and the public user count,
+ * kept in memory so reads cost no query.
+ *
+ * <p>Counters are adjusted by {@link ContentChange} events after the publishing
+ * transaction commits, and reloaded from the primary database on startup, every
+ * {@code app.stats.reconcile-interval}, and after hard deletes (which also remove
+ * comments or a user's posts without an event per row). Writes that bypass the
+ * services, such as data loaders, are therefore picked up by the next reconcile; a
+ * write racing a reconcile can be off by one until the one after.
+ *
+ * <p>Per-hour counts of new top-level posts are kept for {@code app.stats.days} days
+ * and summed into per-day buckets on read. Buckets use the same local time as
+ * {@code createdAt}.
+ */
+@Component
+public class ContentStats implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentStats.class);
+
+    private static final int HOURS_PER_DAY = 24;
+
+    private final PostService postService;
+    private final UserService userService;
+    private final PostRepository postRepository;
+    private final ContentStatsProperties properties;
+    /**
+     * Read-write and in its own transaction, so the routing data source sends reconciles to
+     * the primary: a replica may not have the hard delete that triggered the recount yet.
+     */
+    private final TransactionTemplate onPrimary;
+
+    private final AtomicLong posts = new AtomicLong();
+    private final AtomicLong activePosts = new AtomicLong();
+    private final AtomicLong comments = new AtomicLong();
+    private final AtomicLong activeComments = new AtomicLong();
+    private final AtomicLong users = new AtomicLong();
+    private final HourlySeries postsPerHour;
+
+    private final ScheduledExecutorService reconciler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "content-stats-reconcile");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ContentStats(PostService postService, UserService userService, PostRepository postRepository,
+                        ContentStatsProperties properties, PlatformTransactionManager transactionManager) {
+        this.postService = postService;
+        this.userService = userService;
+        this.postRepository = postRepository;
+        this.properties = properties;
+        this.onPrimary = new TransactionTemplate(transactionManager);
+        this.onPrimary.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.postsPerHour = new HourlySeries(Math.max(properties.getDays() * HOURS_PER_DAY, properties.getHours()));
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        Gauge.builder("app.content.posts", activePosts, AtomicLong::get)
+                .description("Top-level posts")
+                .tag("state", "active")
+                .register(registry);
+        Gauge.builder("app.content.posts", this, stats -> stats.posts.get() - stats.activePosts.get())
+                .description("Top-level posts")
+                .tag("state", "deleted")
+                .register(registry);
+        Gauge.builder("app.content.comments", activeComments, AtomicLong::get)
+                .description("Comments")
+                .tag("state", "active")
+                .register(registry);
+        Gauge.builder("app.content.comments", this, stats -> stats.comments.get() - stats.activeComments.get())
+                .description("Comments")
+                .tag("state", "deleted")
+                .register(registry);
+        Gauge.builder("app.content.users", users, AtomicLong::get)
+                .description("Registered users")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        reconcile();
+        long intervalMs = properties.getReconcileInterval().toMillis();
+        reconciler.scheduleWithFixedDelay(this::reconcileQuietly, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        reconciler.shutdownNow();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChange(ContentChange change) {
+        switch (change.type()) {
+            case POST_CREATED -> {
+                (change.comment() ? comments : posts).incrementAndGet();
+                (change.comment() ? activeComments : activePosts).incrementAndGet();
+                if (!change.comment()) {
+                    LocalDateTime createdAt = change.createdAt() != null ? change.createdAt() : LocalDateTime.now();
+                    postsPerHour.add(hourOf(createdAt), 1);
+                }
+            }
+            case POST_DEACTIVATED -> (change.comment() ? activeComments : activePosts).decrementAndGet();
+            case POST_REACTIVATED -> (change.comment() ? activeComments : activePosts).incrementAndGet();
+            case USER_REGISTERED -> users.incrementAndGet();
+            case RECOUNT -> reconciler.execute(this::reconcileQuietly);
+        }
+    }
+
+    /** Counts and series for the admin dashboard. */
+    public AdminPostStatsResponse postStats() {
+        long totalPosts = posts.get();
+        long active = activePosts.get();
+        long totalComments = comments.get();
+        long activeC = activeComments.get();
+        return new AdminPostStatsResponse(totalPosts, active, totalPosts - active,
+                totalComments, activeC, totalComments - activeC,
+                hourlySeries(LocalDateTime.now()), dailySeries(LocalDateTime.now()));
+    }
+
+    public long userCount() {
+        return users.get();
+    }
+
+    /** Reloads all counters and the series from the primary database. */
+    public void reconcile() {
+        onPrimary.executeWithoutResult(status -> load());
+    }
+
+    private void load() {
+        AdminPostStatsResponse exact = postService.getAdminPostStats();
+        long userCount = userService.getUserCount();
+
+        LocalDateTime since = LocalDate.now().minusDays(properties.getDays() - 1L).atStartOfDay();
+        Map<Long, Long> byHour = new HashMap<>();
+        for (Object[] row : postRepository.countPostsPerHourSince(since)) {
+            LocalDateTime hour = LocalDateTime.of(((Number) row[0]).intValue(), ((Number) row[1]).intValue(),
+                    ((Number) row[2]).intValue(), ((Number) row[3]).intValue(), 0);
+            byHour.put(hourOf(hour), ((Number) row[4]).longValue());
+        }
+
+        posts.set(exact.totalPosts());
+        activePosts.set(exact.activePosts());
+        comments.set(exact.totalComments());
+        activeComments.set(exact.activeComments());
+        users.set(userCount);
+        postsPerHour.reset(byHour);
+    }
+
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            log.warn("Reconciling content statistics failed, keeping current counts", e);
+        }
+    }
+
+    List<StatsBucket> hourlySeries(LocalDateTime now) {
+        long current = hourOf(now);
+        List<StatsBucket> buckets = new ArrayList<>(properties.getHours());
+        for (long hour = current - properties.getHours() + 1; hour <= current; hour++) {
+            buckets.add(new StatsBucket(startOf(hour), postsPerHour.get(hour)));
+        }
+        return buckets;
+    }
+
+    List<StatsBucket> dailySeries(LocalDateTime now) {
+        long today = hourOf(now.toLocalDate().atStartOfDay());
+        List<StatsBucket> buckets = new ArrayList<>(properties.getDays());
+        for (int daysAgo = properties.getDays() - 1; daysAgo >= 0; daysAgo--) {
+            long dayStart = today - (long) daysAgo * HOURS_PER_DAY;
+            long count = 0;
+            for (int h = 0; h < HOURS_PER_DAY; h++) {
+                count += postsPerHour.get(dayStart + h);
+            }
+            buckets.add(new StatsBucket(startOf(dayStart), count));
+        }
+        return buckets;
+    }
+
+    /** Hours since the epoch, reading the local time as if it were UTC so days start at local midnight. */
+    private static long hourOf(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 3600);
+    }
+
+    private static LocalDateTime startOf(long hour) {
+        return LocalDateTime.ofEpochSecond(hour * 3600, 0, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,45 @@
+package at.fhtw.webenprjbackend.stats;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the in-memory post and user statistics.
+ */
+@ConfigurationProperties(prefix = "app.stats")
+public class ContentStatsProperties {
+
+    /** How often counters are reloaded from the database, correcting drift from writes that bypass the services. */
+    private Duration reconcileInterval = Duration.ofMinutes(10);
+
+    /** Hours covered by the posts-per-hour series. */
+    private int hours = 48;
+
+    /** Days covered by the posts-per-day series; also bounds the hourly series. */
+    private int days = 30;
+
+    public Duration getReconcileInterval() {
+        return reconcileInterval;
+    }
+
+    public void setReconcileInterval(Duration reconcileInterval) {
+        this.reconcileInterval = reconcileInterval;
+    }
+
+    public int getHours() {
+        return hours;
+    }
+
+    public void setHours(int hours) {
+        this.hours = hours;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    public void setDays(int days) {
+        this.days = days;
+    }
+}
@@ -0,0 +1,51 @@
+package at.fhtw.webenprjbackend.stats;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Ring buffer of counts per hour. Hours are numbered since the epoch; a slot is reused
+ * once its hour has fallen out of the window, so reads outside the window return 0.
+ * Updates and reads are a few array operations under the monitor.
+ */
+final class HourlySeries {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final long[] hours;
+    private final long[] counts;
+
+    HourlySeries(int size) {
+        this.hours = new long[size];
+        this.counts = new long[size];
+        Arrays.fill(hours, EMPTY);
+    }
+
+    synchronized void add(long hour, long delta) {
+        int slot = slot(hour);
+        if (hours[slot] != hour) {
+            if (hours[slot] > hour) {
+                return; // older than the window
+            }
+            hours[slot] = hour;
+            counts[slot] = 0;
+        }
+        counts[slot] += delta;
+    }
+
+    synchronized long get(long hour) {
+        int slot = slot(hour);
+        return hours[slot] == hour ? counts[slot] : 0;
+    }
+
+    /** Replaces all contents with the given counts per hour. */
+    synchronized void reset(Map<Long, Long> countsByHour) {
+        Arrays.fill(hours, EMPTY);
+        Arrays.fill(counts, 0);
+        countsByHour.forEach(this::add);
+    }
+
+    private int slot(long hour) {
+        return Math.floorMod(hour, hours.length);
+    }
+}
@@ -0,0 +1,120 @@
+package at.fhtw.webenprjbackend.stats;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-Min sketch over a sliding time window: a ring of time buckets, each holding
+ * {@code depth} rows of {@code width} counters. Memory is fixed whatever the number of
+ * keys; an estimate never undercounts within the window and overcounts by at most
+ * roughly {@code e / width} of the window's total with high probability.
+ *
+ * <p>Updates are lock-free. A bucket is recycled by the first update of a new period
+ * (compare-and-set on its period number, then clearing its counters); an update racing
+ * that clear may be lost, which only makes the estimate slightly low for that period.
+ */
+final class SlidingCountMinSketch {
+
+    private static final long UNUSED = Long.MIN_VALUE;
+
+    private final int buckets;
+    private final int depth;
+    private final int width;
+    private final long bucketMillis;
+    private final AtomicLongArray periods;
+    private final AtomicLongArray counters;
+
+    SlidingCountMinSketch(int buckets, long bucketMillis, int depth, int width) {
+        this.buckets = buckets;
+        this.depth = depth;
+        this.width = width;
+        this.bucketMillis = bucketMillis;
+        this.periods = new AtomicLongArray(buckets);
+        this.counters = new AtomicLongArray(buckets * depth * width);
+        for (int i = 0; i < buckets; i++) {
+            periods.set(i, UNUSED);
+        }
+    }
+
+    /** Adds {@code count} for {@code key} at {@code epochMillis}; ignored if older than the window. */
+    void add(String key, long epochMillis, long count) {
+        int bucket = claim(Math.floorDiv(epochMillis, bucketMillis));
+        if (bucket < 0) {
+            return;
+        }
+        int hash = key.hashCode();
+        for (int row = 0; row < depth; row++) {
+            counters.addAndGet(index(bucket, row, column(hash, row)), count);
+        }
+    }
+
+    /** Estimated count for {@code key} over the window ending at {@code epochMillis}. */
+    long estimate(String key, long epochMillis) {
+        long current = Math.floorDiv(epochMillis, bucketMillis);
+        int hash = key.hashCode();
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int column = column(hash, row);
+            long sum = 0;
+            for (int bucket = 0; bucket < buckets; bucket++) {
+                long period = periods.get(bucket);
+                if (period > current - buckets && period <= current) {
+                    sum += counters.get(index(bucket, row, column));
+                }
+            }
+            estimate = Math.min(estimate, sum);
+        }
+        return estimate;
+    }
+
+    /** Clears all buckets. */
+    void clear() {
+        for (int i = 0; i < buckets; i++) {
+            periods.set(i, UNUSED);
+        }
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+    }
+
+    /** Bucket for {@code period}, recycling it if it still holds an older one; -1 if the period is too old. */
+    private int claim(long period) {
+        int bucket = (int) Math.floorMod(period, buckets);
+        while (true) {
+            long held = periods.get(bucket);
+            if (held == period) {
+                return bucket;
+            }
+            if (held > period) {
+                return -1;
+            }
+            if (periods.compareAndSet(bucket, held, period)) {
+                int from = index(bucket, 0, 0);
+                for (int i = from; i < from + depth * width; i++) {
+                    counters.set(i, 0);
+                }
+                return bucket;
+            }
+        }
+    }
+
+    /** Row-specific column from one hash, by double hashing of two mixed halves. */
+    private int column(int hash, int row) {
+        int h1 = mix(hash);
+        int h2 = mix(h1 ^ 0x5bd1e995) | 1;
+        return Math.floorMod(h1 + row * h2, width);
+    }
+
+    private int index(int bucket, int row, int column) {
+        return (bucket * depth + row) * width + column;
+    }
+
+    /** Murmur3 finalizer. */
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -0,0 +1,25 @@
+package at.fhtw.webenprjbackend.stats;
+
+import java.time.LocalDateTime;
+
+import at.fhtw.webenprjbackend.entity.Post;
+
+/**
+ * Activity on a subject (a new post, comment or like), published as an application
+ * event and counted by {@link TrendingSubjects} after the transaction commits.
+ *
+ * @param subject subject of the post, without the leading '#'
+ * @param at      when the activity happened
+ */
+public record SubjectActivity(String subject, LocalDateTime at) {
+
+    /** A new post or comment, counted for its own subject. */
+    public static SubjectActivity posted(Post post) {
+        return new SubjectActivity(post.getSubject(), post.getCreatedAt());
+    }
+
+    /** A like on {@code post}, counted for the post's subject. */
+    public static SubjectActivity liked(Post post, LocalDateTime at) {
+        return new SubjectActivity(post.getSubject(), at);
+    }
+}
@@ -0,0 +1,208 @@
+package at.fhtw.webenprjbackend.stats;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import at.fhtw.webenprjbackend.dto.TrendingSubjectResponse;
+import at.fhtw.webenprjbackend.repository.PostLikeRepository;
+import at.fhtw.webenprjbackend.repository.PostRepository;
+
+/**
+ * Ranks subjects by activity (new posts, comments and likes) over the last hour or day.
+ *
+ * <p>Activity is counted in two {@link SlidingCountMinSketch}es, one per window, so memory
+ * does not grow with the number of subjects. Since a sketch cannot list its keys, up to
+ * {@code app.trending.candidates} subjects are kept as ranking candidates in a min-heap
+ * keyed by their daily count; once full, a new subject replaces the heap's head only when
+ * it is busier. Heap keys are refreshed lazily: before the head is compared, its count is
+ * re-estimated and, if it moved, the head is re-inserted, so an admission costs a few
+ * {@code O(log K)} heap operations instead of a scan of all candidates. A ranking is a
+ * top-K heap over the candidates' estimates.
+ *
+ * <p>The sketches live in memory and only see activity on this instance. On startup
+ * they are filled from the last day's posts and likes, read from the primary since a
+ * lagging replica would miss the most recent activity; soft deletes and unlikes are not
+ * subtracted. Times use the same local time as {@code createdAt}.
+ */
+@Component
+public class TrendingSubjects {
+
+    private static final Duration HOUR_BUCKET = Duration.ofMinutes(5);
+    private static final Duration DAY_BUCKET = Duration.ofHours(1);
+
+    public enum Window {
+        HOUR(Duration.ofHours(1)),
+        DAY(Duration.ofDays(1));
+
+        private final Duration length;
+
+        Window(Duration length) {
+            this.length = length;
+        }
+
+        /** Case-insensitive lookup, e.g. {@code hour}. */
+        public static Window of(String value) {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private final PostRepository postRepository;
+    private final PostLikeRepository postLikeRepository;
+    private final TrendingSubjectsProperties properties;
+
+    private final SlidingCountMinSketch lastHour;
+    private final SlidingCountMinSketch lastDay;
+    private final TransactionTemplate onPrimary;
+    /** Lower-cased subject to the spelling it was first seen with. */
+    private final Map<String, String> candidates = new ConcurrentHashMap<>();
+    /** The keys of {@link #candidates}, weakest first; guarded by {@code this}. */
+    private final PriorityQueue<Candidate> weakestFirst =
+            new PriorityQueue<>(Comparator.comparingLong(Candidate::dailyCount));
+
+    private record Candidate(String key, long dailyCount) {
+    }
+
+    public TrendingSubjects(PostRepository postRepository, PostLikeRepository postLikeRepository,
+                            TrendingSubjectsProperties properties, PlatformTransactionManager transactionManager) {
+        this.postRepository = postRepository;
+        this.postLikeRepository = postLikeRepository;
+        this.properties = properties;
+        this.onPrimary = new TransactionTemplate(transactionManager);
+        this.onPrimary.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.lastHour = sketch(Window.HOUR.length, HOUR_BUCKET);
+        this.lastDay = sketch(Window.DAY.length, DAY_BUCKET);
+    }
+
+    private SlidingCountMinSketch sketch(Duration window, Duration bucket) {
+        return new SlidingCountMinSketch((int) window.dividedBy(bucket), bucket.toMillis(),
+                properties.getDepth(), properties.getWidth());
+    }
+
+    /** Reloads the last day's activity from the primary database. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        synchronized (this) {
+            lastHour.clear();
+            lastDay.clear();
+            candidates.clear();
+            weakestFirst.clear();
+        }
+        LocalDateTime since = LocalDateTime.now().minus(Window.DAY.length);
+        onPrimary.executeWithoutResult(status -> {
+            postRepository.countPostsPerSubjectAndMinuteSince(since).forEach(this::countRow);
+            postLikeRepository.countLikesPerSubjectAndMinuteSince(since).forEach(this::countRow);
+        });
+    }
+
+    /** Row of subject, year, month, day, hour, minute and count. */
+    private void countRow(Object[] row) {
+        LocalDateTime minute = LocalDateTime.of(((Number) row[1]).intValue(), ((Number) row[2]).intValue(),
+                ((Number) row[3]).intValue(), ((Number) row[4]).intValue(), ((Number) row[5]).intValue());
+        count((String) row[0], minute, ((Number) row[6]).longValue());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onActivity(SubjectActivity activity) {
+        count(activity.subject(), activity.at() != null ? activity.at() : LocalDateTime.now(), 1);
+    }
+
+    void count(String subject, LocalDateTime at, long count) {
+        if (subject == null || subject.isBlank()) {
+            return;
+        }
+        String key = subject.toLowerCase(Locale.ROOT);
+        long millis = millis(at);
+        lastHour.add(key, millis, count);
+        lastDay.add(key, millis, count);
+        if (!candidates.containsKey(key)) {
+            admit(key, subject, millis);
+        }
+    }
+
+    private synchronized void admit(String key, String subject, long now) {
+        if (candidates.containsKey(key)) {
+            return;
+        }
+        long dailyCount = lastDay.estimate(key, now);
+        if (candidates.size() < properties.getCandidates()) {
+            candidates.put(key, subject);
+            weakestFirst.add(new Candidate(key, dailyCount));
+            return;
+        }
+        Candidate weakest = refreshedWeakest(now);
+        if (weakest != null && dailyCount > weakest.dailyCount()) {
+            weakestFirst.poll();
+            candidates.remove(weakest.key());
+            candidates.put(key, subject);
+            weakestFirst.add(new Candidate(key, dailyCount));
+        }
+    }
+
+    /**
+     * The head of {@link #weakestFirst} once its key matches its current estimate. A stale
+     * head is re-inserted with its fresh count; activity counted concurrently can make a
+     * refreshed key stale again, so after one pass per candidate the head is used as is.
+     */
+    private Candidate refreshedWeakest(long now) {
+        Candidate head = weakestFirst.peek();
+        for (int refreshes = weakestFirst.size(); head != null && refreshes > 0; refreshes--) {
+            long current = lastDay.estimate(head.key(), now);
+            if (current == head.dailyCount()) {
+                break;
+            }
+            weakestFirst.poll();
+            weakestFirst.add(new Candidate(head.key(), current));
+            head = weakestFirst.peek();
+        }
+        return head;
+    }
+
+    /** The {@code limit} busiest subjects over {@code window}, busiest first. */
+    public List<TrendingSubjectResponse> trending(Window window, int limit) {
+        return trending(window, limit, LocalDateTime.now());
+    }
+
+    List<TrendingSubjectResponse> trending(Window window, int limit, LocalDateTime now) {
+        SlidingCountMinSketch sketch = window == Window.HOUR ? lastHour : lastDay;
+        long nowMillis = millis(now);
+        Comparator<TrendingSubjectResponse> busiestFirst = Comparator
+                .comparingLong(TrendingSubjectResponse::count).reversed()
+                .thenComparing(TrendingSubjectResponse::subject);
+
+        PriorityQueue<TrendingSubjectResponse> top = new PriorityQueue<>(limit + 1, busiestFirst.reversed());
+        double hours = window.length.toMinutes() / 60.0;
+        candidates.forEach((key, subject) -> {
+            long count = sketch.estimate(key, nowMillis);
+            if (count > 0) {
+                top.add(new TrendingSubjectResponse("#" + subject, count, count / hours));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        });
+
+        List<TrendingSubjectResponse> ranked = new ArrayList<>(top);
+        ranked.sort(busiestFirst);
+        return ranked;
+    }
+
+    private static long millis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
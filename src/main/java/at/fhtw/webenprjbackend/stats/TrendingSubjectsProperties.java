@@ -0,0 +1,43 @@
+package at.fhtw.webenprjbackend.stats;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the trending subjects sketch.
+ */
+@ConfigurationProperties(prefix = "app.trending")
+public class TrendingSubjectsProperties {
+
+    /** Counters per sketch row; more columns mean fewer collisions between subjects. */
+    private int width = 1024;
+
+    /** Rows (hash functions) per sketch. */
+    private int depth = 4;
+
+    /** Most subjects tracked as ranking candidates; also the largest {@code limit} worth asking for. */
+    private int candidates = 200;
+
+    public int getWidth() {
+        return width;
+    }
+
+    public void setWidth(int width) {
+        this.width = width;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public void setDepth(int depth) {
+        this.depth = depth;
+    }
+
+    public int getCandidates() {
+        return candidates;
+    }
+
+    public void setCandidates(int candidates) {
+        this.candidates = candidates;
+    }
+}
@@ -0,0 +1,32 @@
+-- V16__Add_feed_covering_indexes.sql
+-- Replace single-column post indexes with composite indexes matching the PostRepository queries.
+-- Equality columns come first, the ORDER BY column last, so MySQL can read a page in index order
+-- without a filesort. New indexes are created before the old ones are dropped, so the foreign keys
+-- on user_id and parent_id always have a usable index.
+
+-- Feed, comments and admin status filters:
+--   parent_id IS NULL / parent_id = ? AND active = ? ORDER BY created_at
+-- Also covers the comment-count batch query (parent_id IN (...) AND active) and the post/comment counts.
+CREATE INDEX idx_posts_parent_active_created ON posts(parent_id, active, created_at DESC);
+
+-- Author profile (top-level posts), following feed and the daily-post check:
+--   user_id = ? / user_id IN (...) AND parent_id IS NULL AND active = true ORDER BY created_at
+CREATE INDEX idx_posts_user_parent_active_created ON posts(user_id, parent_id, active, created_at DESC);
+
+-- Author activity (posts and comments): user_id = ? AND active = true ORDER BY created_at
+CREATE INDEX idx_posts_user_active_created ON posts(user_id, active, created_at DESC);
+
+-- Subject search: IgnoreCase queries compare UPPER(subject), which a plain subject index cannot serve.
+CREATE INDEX idx_posts_parent_active_subject_upper ON posts(parent_id, active, (UPPER(subject)), created_at DESC);
+
+-- Distinct subject list: answered from the index alone, already in subject order.
+CREATE INDEX idx_posts_parent_active_subject ON posts(parent_id, active, subject);
+
+-- Redundant now: prefixes of the indexes above, or a boolean with too few distinct values to be useful alone.
+DROP INDEX idx_posts_parent_created ON posts;
+DROP INDEX idx_posts_parent_id ON posts;
+DROP INDEX idx_posts_active ON posts;
+DROP INDEX idx_posts_user_id ON posts;
+DROP INDEX idx_posts_subject ON posts;
+
+-- idx_posts_created_at stays for the unfiltered admin listing (ORDER BY created_at only).
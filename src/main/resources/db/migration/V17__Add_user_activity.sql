@@ -0,0 +1,14 @@
+-- V17__Add_user_activity.sql
+-- One row per user who has posted: a bitmap with one bit per calendar day since first_day
+-- (bit i of byte i / 8 is first_day + i days), plus the streak summary maintained alongside it.
+-- GET /users/me/activity reads this row by primary key instead of querying posts.
+-- Existing posts are loaded by the activity backfill on the first startup after this migration.
+CREATE TABLE user_activity (
+    user_id BINARY(16) NOT NULL PRIMARY KEY,
+    first_day DATE NOT NULL,
+    days VARBINARY(4096) NOT NULL,
+    last_active_day DATE NOT NULL,
+    current_streak INT NOT NULL,
+    longest_streak INT NOT NULL,
+    CONSTRAINT fk_user_activity_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
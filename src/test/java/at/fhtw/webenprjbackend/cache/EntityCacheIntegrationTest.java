@@ -0,0 +1,149 @@
+package at.fhtw.webenprjbackend.cache;
+
+import at.fhtw.webenprjbackend.entity.Post;
+import at.fhtw.webenprjbackend.entity.Role;
+import at.fhtw.webenprjbackend.entity.User;
+import at.fhtw.webenprjbackend.repository.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the Hibernate second-level and query cache on H2.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Entity cache Integration Tests")
+class EntityCacheIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostLikeRepository postLikeRepository;
+
+    @Autowired
+    private PostBookmarkRepository postBookmarkRepository;
+
+    @Autowired
+    private FollowRepository followRepository;
+
+    @Autowired
+    private UserActivityRepository userActivityRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        postBookmarkRepository.deleteAll();
+        postLikeRepository.deleteAll();
+        followRepository.deleteAll();
+        postRepository.deleteAll();
+        userActivityRepository.deleteAll();
+        userRepository.deleteAll();
+
+        user = userRepository.save(new User("cache@example.com", "cacheuser", "hash", "AT",
+                "/avatar-placeholder.svg", Role.USER));
+    }
+
+    private CacheRegionStatistics region(String name) {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics().getCacheRegionStatistics(name);
+    }
+
+    @Nested
+    @DisplayName("entity regions")
+    class EntityRegionTests {
+
+        @Test
+        @DisplayName("should serve a repeated lookup by id from the users region")
+        void findById_repeated_hitsCache() {
+            // Arrange
+            userRepository.findById(user.getId());
+            long hits = region(CacheRegions.USERS).getHitCount();
+
+            // Act
+            User found = userRepository.findById(user.getId()).orElseThrow();
+
+            // Assert
+            assertThat(found.getUsername()).isEqualTo("cacheuser");
+            assertThat(region(CacheRegions.USERS).getHitCount()).isEqualTo(hits + 1);
+        }
+
+        @Test
+        @DisplayName("should return the updated state after a write through JPA")
+        void save_updatesCachedEntry() {
+            // Arrange
+            User cached = userRepository.findById(user.getId()).orElseThrow();
+
+            // Act
+            cached.setUsername("renamed");
+            userRepository.save(cached);
+
+            // Assert
+            assertThat(userRepository.findById(user.getId()).orElseThrow().getUsername()).isEqualTo("renamed");
+        }
+    }
+
+    @Nested
+    @DisplayName("query cache")
+    class QueryCacheTests {
+
+        @Test
+        @DisplayName("should serve the subject list from the cache until posts change")
+        void findDistinctSubjects_cachedUntilPostsChange() {
+            // Arrange
+            postRepository.save(new Post("#java", "First", null, user));
+            assertThat(postRepository.findDistinctSubjects()).containsExactly("#java");
+            long hits = region(CacheRegions.SUBJECTS).getHitCount();
+
+            // Act & Assert: repeated read is a hit
+            assertThat(postRepository.findDistinctSubjects()).containsExactly("#java");
+            assertThat(region(CacheRegions.SUBJECTS).getHitCount()).isEqualTo(hits + 1);
+
+            // A new post invalidates the cached list
+            postRepository.save(new Post("#spring", "Second", null, user));
+            assertThat(postRepository.findDistinctSubjects()).containsExactly("#java", "#spring");
+        }
+    }
+
+    @Nested
+    @DisplayName("metrics")
+    class MetricsTests {
+
+        @Test
+        @DisplayName("should export a hit ratio per region")
+        void hitRatio_perRegion() {
+            // Arrange
+            userRepository.findById(user.getId());
+            userRepository.findById(user.getId());
+
+            // Act
+            double ratio = meterRegistry.get("app.entity.cache.hit.ratio").tag("region", CacheRegions.USERS)
+                    .gauge().value();
+
+            // Assert
+            assertThat(ratio).isBetween(0.0, 1.0);
+            assertThat(meterRegistry.get("app.entity.cache.hits").tag("region", CacheRegions.SUBJECTS)
+                    .functionCounter()).isNotNull();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package at.fhtw.webenprjbackend.config;
+
+import at.fhtw.webenprjbackend.entity.id.UuidV7Generator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the synthetic data generator at startup against its own H2 database.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:synthetic;DB_CLOSE_DELAY=-1",
+        "app.data.synthetic.enabled=true",
+        "app.data.synthetic.users=300",
+        "app.data.synthetic.posts=2000",
+        "app.data.synthetic.batch-size=250"
+})
+@ActiveProfiles("test")
+@DisplayName("SyntheticDataGenerator Integration Tests")
+class SyntheticDataGeneratorIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    @Test
+    @DisplayName("should generate users, posts, comments, likes, bookmarks and follows")
+    void generatesAllTables() {
+        assertThat(count("SELECT COUNT(*) FROM users")).isEqualTo(300);
+        assertThat(count("SELECT COUNT(*) FROM posts WHERE parent_id IS NULL")).isEqualTo(2000);
+        assertThat(count("SELECT COUNT(*) FROM posts WHERE parent_id IS NOT NULL")).isEqualTo(1000);
+        assertThat(count("SELECT COUNT(*) FROM post_likes")).isPositive();
+        assertThat(count("SELECT COUNT(*) FROM post_bookmarks")).isPositive();
+        assertThat(count("SELECT COUNT(*) FROM follows")).isPositive();
+        assertThat(count("SELECT COUNT(*) FROM follows WHERE follower_id = followed_id")).isZero();
+    }
+
+    @Test
+    @DisplayName("should concentrate posts on a few authors")
+    void postingIsHeavyTailed() {
+        long topAuthorPosts = count("SELECT MAX(c) FROM (SELECT COUNT(*) c FROM posts "
+                + "WHERE parent_id IS NULL GROUP BY user_id) t");
+
+        // Uniform authorship would give about 2000 / 300 ~ 7 posts per user
+        assertThat(topAuthorPosts).isGreaterThan(50);
+    }
+
+    @Test
+    @DisplayName("should derive post and comment ids from their creation time")
+    void idsCarryCreatedAt() {
+        List<long[]> idAndCreatedAt = jdbcTemplate.query("SELECT id, created_at FROM posts",
+                (rs, row) -> new long[]{UuidV7Generator.timestampMillis(rs.getObject("id", UUID.class)),
+                        rs.getTimestamp("created_at").getTime()});
+
+        assertThat(idAndCreatedAt).hasSize(3000).allSatisfy(pair -> assertThat(pair[0]).isEqualTo(pair[1]));
+    }
+
+    @Test
+    @DisplayName("should let synthetic users log in with the configured password")
+    void usersShareConfiguredPassword() {
+        String hash = jdbcTemplate.queryForObject(
+                "SELECT password FROM users WHERE email = 'synthetic-user-0@example.com'", String.class);
+
+        assertThat(passwordEncoder.matches("Password123!", hash)).isTrue();
+    }
+}
@@ -14,6 +14,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
@@ -176,6 +177,28 @@ class AuthControllerIntegrationTest {
         }
     }
 
+    @Nested
+    @DisplayName("Password Hash Upgrade")
+    class PasswordUpgradeTests {
+
+        @Test
+        @DisplayName("should re-hash a weaker stored password on successful login")
+        void loginWithWeakHash_upgradesStoredHash() throws Exception {
+            User user = userRepository.findByEmail(TEST_EMAIL).orElseThrow();
+            user.setPassword(new BCryptPasswordEncoder(4).encode(TEST_PASSWORD));
+            userRepository.save(user);
+
+            mockMvc.perform(post("/auth/login")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new LoginRequest(TEST_EMAIL, TEST_PASSWORD))))
+                    .andExpect(status().isOk());
+
+            String storedHash = userRepository.findByEmail(TEST_EMAIL).orElseThrow().getPassword();
+            assertThat(storedHash).startsWith("$2a$10$");
+            assertThat(passwordEncoder.matches(TEST_PASSWORD, storedHash)).isTrue();
+        }
+    }
+
     @Nested
     @DisplayName("Rate Limiting")
     class RateLimitingTests {
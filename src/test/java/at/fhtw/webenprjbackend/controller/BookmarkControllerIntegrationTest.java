@@ -1,9 +1,12 @@
 package at.fhtw.webenprjbackend.controller;
 
 import at.fhtw.webenprjbackend.dto.CollectionCreateRequest;
+import at.fhtw.webenprjbackend.entity.BookmarkCollection;
 import at.fhtw.webenprjbackend.entity.Post;
+import at.fhtw.webenprjbackend.entity.PostBookmark;
 import at.fhtw.webenprjbackend.entity.Role;
 import at.fhtw.webenprjbackend.entity.User;
+import at.fhtw.webenprjbackend.metrics.SqlStatementMatchers;
 import at.fhtw.webenprjbackend.repository.*;
 import at.fhtw.webenprjbackend.security.jwt.JwtIssuer;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -19,6 +22,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -190,6 +195,33 @@ class BookmarkControllerIntegrationTest {
                     .andExpect(jsonPath("$.content").isArray());
         }
 
+        @Test
+        @DisplayName("should load bookmarks of many authors and collections with a fixed number of statements")
+        void getBookmarks_manyBookmarks_noNPlusOne() throws Exception {
+            // Arrange
+            List<BookmarkCollection> collections = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                collections.add(bookmarkCollectionRepository.save(
+                        new BookmarkCollection(testUser, "Collection " + i, null, null, null)));
+            }
+            for (int i = 0; i < 12; i++) {
+                User author = userRepository.save(new User("author" + i + "@example.com", "author" + i,
+                        "hash", "AT", "/avatar-placeholder.svg", Role.USER));
+                Post post = postRepository.save(new Post("BookmarkTest", "Post " + i, null, author));
+                postBookmarkRepository.save(new PostBookmark(testUser, post,
+                        i % 4 == 3 ? null : collections.get(i % 4), null));
+            }
+
+            // Act & Assert
+            mockMvc.perform(get("/bookmarks")
+                            .header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content.length()").value(12))
+                    .andExpect(jsonPath("$.content[1].collection.bookmarkCount").value(3))
+                    .andExpect(SqlStatementMatchers.atMost(4)) // auth, page with posts and authors, collection counts
+                    .andExpect(SqlStatementMatchers.noRepeatedStatements(2));
+        }
+
         @Test
         @DisplayName("should return 403 without authentication")
         void getBookmarks_noAuth_returns403() throws Exception {
@@ -259,6 +291,30 @@ class BookmarkControllerIntegrationTest {
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$").isArray());
         }
+
+        @Test
+        @DisplayName("should count the bookmarks of all collections in one statement")
+        void getCollections_manyCollections_noNPlusOne() throws Exception {
+            // Arrange
+            for (int i = 0; i < 12; i++) {
+                BookmarkCollection collection = bookmarkCollectionRepository.save(
+                        new BookmarkCollection(testUser, "Collection " + i, null, null, null));
+                if (i < 3) {
+                    Post post = postRepository.save(new Post("BookmarkTest", "Collected " + i, null, testUser));
+                    postBookmarkRepository.save(new PostBookmark(testUser, post, collection, null));
+                }
+            }
+
+            // Act & Assert
+            mockMvc.perform(get("/bookmarks/collections")
+                            .header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(12))
+                    .andExpect(jsonPath("$[0].bookmarkCount").value(1))
+                    .andExpect(jsonPath("$[11].bookmarkCount").value(0))
+                    .andExpect(SqlStatementMatchers.atMost(4)) // auth, collections, their counts
+                    .andExpect(SqlStatementMatchers.noRepeatedStatements(2));
+        }
     }
 
     @Nested
@@ -1,7 +1,9 @@
 package at.fhtw.webenprjbackend.controller;
 
+import at.fhtw.webenprjbackend.entity.Follow;
 import at.fhtw.webenprjbackend.entity.Role;
 import at.fhtw.webenprjbackend.entity.User;
+import at.fhtw.webenprjbackend.metrics.SqlStatementMatchers;
 import at.fhtw.webenprjbackend.repository.*;
 import at.fhtw.webenprjbackend.security.jwt.JwtIssuer;
 import org.junit.jupiter.api.BeforeEach;
@@ -189,6 +191,58 @@ class FollowControllerIntegrationTest {
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.content").isArray());
         }
+
+        @Test
+        @DisplayName("should load follower counts for the whole page in one batch")
+        void getFollowers_manyFollowers_noNPlusOne() throws Exception {
+            // Arrange
+            for (int i = 0; i < 12; i++) {
+                User follower = userRepository.save(new User(
+                        "follower" + i + "@example.com", "follower" + i, "hash", "AT", "/avatar-placeholder.svg", Role.USER));
+                followRepository.save(new Follow(follower, targetUser));
+            }
+
+            // Act & Assert
+            mockMvc.perform(get("/users/" + targetUser.getId() + "/followers")
+                            .header("Authorization", "Bearer " + followerToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content.length()").value(12))
+                    .andExpect(SqlStatementMatchers.atMost(6))
+                    .andExpect(SqlStatementMatchers.noRepeatedStatements(3));
+        }
+
+        @Test
+        @DisplayName("should count a full page once and skip the count for slices")
+        void getFollowers_fullPages_countCachedOrSkipped() throws Exception {
+            // Arrange
+            for (int i = 0; i < 7; i++) {
+                User follower = userRepository.save(new User(
+                        "follower" + i + "@example.com", "follower" + i, "hash", "AT", "/avatar-placeholder.svg", Role.USER));
+                followRepository.save(new Follow(follower, targetUser));
+            }
+
+            // Act & Assert
+            mockMvc.perform(get("/users/" + targetUser.getId() + "/followers")
+                            .header("Authorization", "Bearer " + followerToken)
+                            .param("size", "5"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalElements").value(7))
+                    .andExpect(SqlStatementMatchers.atMost("FollowRepository.countByFollowedId", 1));
+            mockMvc.perform(get("/users/" + targetUser.getId() + "/followers")
+                            .header("Authorization", "Bearer " + followerToken)
+                            .param("size", "5"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalElements").value(7))
+                    .andExpect(SqlStatementMatchers.atMost("FollowRepository.countByFollowedId", 0));
+            mockMvc.perform(get("/users/" + targetUser.getId() + "/followers")
+                            .header("Authorization", "Bearer " + followerToken)
+                            .param("size", "5")
+                            .param("withTotal", "false"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content.length()").value(5))
+                    .andExpect(jsonPath("$.last").value(false))
+                    .andExpect(jsonPath("$.totalElements").doesNotExist());
+        }
     }
 
     @Nested
@@ -203,6 +257,25 @@ class FollowControllerIntegrationTest {
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.content").isArray());
         }
+
+        @Test
+        @DisplayName("should load followed users and their counts for the whole page in one batch")
+        void getFollowing_manyFollowed_noNPlusOne() throws Exception {
+            // Arrange
+            for (int i = 0; i < 12; i++) {
+                User followed = userRepository.save(new User(
+                        "followed" + i + "@example.com", "followed" + i, "hash", "AT", "/avatar-placeholder.svg", Role.USER));
+                followRepository.save(new Follow(followerUser, followed));
+            }
+
+            // Act & Assert
+            mockMvc.perform(get("/users/" + followerUser.getId() + "/following")
+                            .header("Authorization", "Bearer " + followerToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content.length()").value(12))
+                    .andExpect(SqlStatementMatchers.atMost(5))
+                    .andExpect(SqlStatementMatchers.noRepeatedStatements(2));
+        }
     }
 
     @Nested
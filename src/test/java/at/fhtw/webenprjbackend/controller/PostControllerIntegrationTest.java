@@ -2,12 +2,22 @@ package at.fhtw.webenprjbackend.controller;
 
 import at.fhtw.webenprjbackend.dto.PostCreateRequest;
 import at.fhtw.webenprjbackend.dto.PostUpdateRequest;
+import at.fhtw.webenprjbackend.entity.Follow;
 import at.fhtw.webenprjbackend.entity.Post;
 import at.fhtw.webenprjbackend.entity.Role;
+import at.fhtw.webenprjbackend.entity.PostLike;
 import at.fhtw.webenprjbackend.entity.User;
+import at.fhtw.webenprjbackend.feed.PostRanking;
+import at.fhtw.webenprjbackend.metrics.SqlStatementMatchers;
 import at.fhtw.webenprjbackend.repository.*;
 import at.fhtw.webenprjbackend.security.jwt.JwtIssuer;
+import at.fhtw.webenprjbackend.stats.ContentStats;
+import at.fhtw.webenprjbackend.stats.TrendingSubjects;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -16,13 +26,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockAsyncContext;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -63,6 +76,15 @@ class PostControllerIntegrationTest {
     @Autowired
     private JwtIssuer jwtIssuer;
 
+    @Autowired
+    private ContentStats contentStats;
+
+    @Autowired
+    private TrendingSubjects trendingSubjects;
+
+    @Autowired
+    private PostRanking postRanking;
+
     private static final String TEST_PASSWORD = "Password123!";
 
     private User testUser;
@@ -152,6 +174,250 @@ class PostControllerIntegrationTest {
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.content").isArray());
         }
+
+        @Test
+        @DisplayName("should order by engagement with sort=top, including likes made after the index was built")
+        void getAllPosts_sortTop_ordersByEngagement() throws Exception {
+            // Arrange
+            Post newer = postRepository.save(new Post("Ranked", "Newer post with more engagement", null, otherUser));
+            postLikeRepository.save(new PostLike(testUser, newer));
+            postRanking.reconcile();
+            mockMvc.perform(post("/bookmarks/posts/{postId}", newer.getId())
+                            .header("Authorization", "Bearer " + userToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{}"))
+                    .andExpect(status().is2xxSuccessful());
+
+            // Act & Assert
+            mockMvc.perform(get("/posts")
+                            .param("sort", "top")
+                            .header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content.length()").value(2))
+                    .andExpect(jsonPath("$.content[0].id").value(newer.getId().toString()))
+                    .andExpect(jsonPath("$.content[0].likeCount").value(1))
+                    .andExpect(jsonPath("$.content[0].bookmarkCount").value(1))
+                    .andExpect(jsonPath("$.content[1].id").value(testPost.getId().toString()))
+                    .andExpect(jsonPath("$.totalElements").value(2));
+        }
+
+        @Test
+        @DisplayName("should return 400 when sort=hot is combined with a filter")
+        void getAllPosts_sortHotWithFilter_returns400() throws Exception {
+            mockMvc.perform(get("/posts")
+                            .param("sort", "hot")
+                            .param("subject", "StudyTips")
+                            .header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("should load a page with a fixed number of statements regardless of post count")
+        void getAllPosts_manyPosts_noNPlusOne() throws Exception {
+            // Arrange
+            for (int i = 0; i < 12; i++) {
+                Post post = postRepository.save(new Post("Batch", "Post " + i, null, i % 2 == 0 ? testUser : otherUser));
+                postLikeRepository.save(new PostLike(otherUser, post));
+            }
+
+            // Act & Assert
+            mockMvc.perform(get("/posts")
+                            .header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content.length()").value(13))
+                    .andExpect(SqlStatementMatchers.atMost(11))
+                    .andExpect(SqlStatementMatchers.noRepeatedStatements(3));
+        }
+
+        @Test
+        @DisplayName("should load the following feed with a fixed number of statements regardless of authors")
+        void getAllPosts_followingManyAuthors_noNPlusOne() throws Exception {
+            // Arrange
+            for (int i = 0; i < 12; i++) {
+                User author = userRepository.save(new User("author" + i + "@example.com", "author" + i,
+                        "hash", "AT", "/avatar-placeholder.svg", Role.USER));
+                followRepository.save(new Follow(testUser, author));
+                postRepository.save(new Post("Batch", "Post by author " + i, null, author));
+            }
+
+            // Act & Assert
+            mockMvc.perform(get("/posts")
+                            .param("filter", "following")
+                            .header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content.length()").value(12))
+                    .andExpect(SqlStatementMatchers.atMost(11))
+                    .andExpect(SqlStatementMatchers.noRepeatedStatements(2));
+        }
+
+        @Test
+        @DisplayName("should return a slice without totals or a count statement when withTotal=false")
+        void getAllPosts_withoutTotal_returnsSlice() throws Exception {
+            // Arrange
+            postRepository.save(new Post("Batch", "Second post", null, otherUser));
+
+            // Act & Assert
+            mockMvc.perform(get("/posts")
+                            .header("Authorization", "Bearer " + userToken)
+                            .param("size", "1")
+                            .param("withTotal", "false"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content.length()").value(1))
+                    .andExpect(jsonPath("$.last").value(false))
+                    .andExpect(jsonPath("$.totalElements").doesNotExist())
+                    .andExpect(jsonPath("$.totalPages").doesNotExist())
+                    .andExpect(SqlStatementMatchers.atMost("PostRepository.countByParentIsNullAndActiveTrue", 0));
+        }
+
+        @Test
+        @DisplayName("should embed the earliest active comments of each post in one extra statement")
+        void getAllPosts_previewComments_embedsFirstComments() throws Exception {
+            // Arrange
+            Post second = postRepository.save(new Post("Batch", "Second post", null, otherUser));
+            for (Post parent : java.util.List.of(testPost, second)) {
+                for (int i = 0; i < 3; i++) {
+                    Post comment = new Post("Batch", parent.getContent() + " comment " + i, null, otherUser);
+                    comment.setParent(parent);
+                    postRepository.saveAndFlush(comment);
+                }
+            }
+            Post deleted = new Post("Batch", "Deleted comment", null, otherUser);
+            deleted.setParent(second);
+            deleted.setActive(false);
+            postRepository.save(deleted);
+
+            // Act & Assert
+            mockMvc.perform(get("/posts")
+                            .header("Authorization", "Bearer " + userToken)
+                            .param("previewComments", "2"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].content").value("Second post"))
+                    .andExpect(jsonPath("$.content[0].commentCount").value(3))
+                    .andExpect(jsonPath("$.content[0].previewComments.length()").value(2))
+                    .andExpect(jsonPath("$.content[0].previewComments[0].content").value("Second post comment 0"))
+                    .andExpect(jsonPath("$.content[0].previewComments[1].content").value("Second post comment 1"))
+                    .andExpect(jsonPath("$.content[0].previewComments[0].parentId").value(second.getId().toString()))
+                    .andExpect(jsonPath("$.content[1].previewComments.length()").value(2))
+                    .andExpect(jsonPath("$.content[1].previewComments[0].username").value("otheruser"))
+                    .andExpect(SqlStatementMatchers.atMost(12))
+                    .andExpect(SqlStatementMatchers.atMost("PostRepository.findFirstCommentsByParentIds", 1));
+        }
+
+        @Test
+        @DisplayName("should leave out previewComments unless requested")
+        void getAllPosts_withoutPreviewComments_omitsField() throws Exception {
+            mockMvc.perform(get("/posts")
+                            .header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].previewComments").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("should reject more than 10 preview comments")
+        void getAllPosts_tooManyPreviewComments_returns400() throws Exception {
+            mockMvc.perform(get("/posts")
+                            .header("Authorization", "Bearer " + userToken)
+                            .param("previewComments", "11"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("should return only the requested fields and skip their enrichment")
+        void getAllPosts_fields_returnsSparsePosts() throws Exception {
+            mockMvc.perform(get("/posts")
+                            .header("Authorization", "Bearer " + userToken)
+                            .param("fields", "content, username"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].id").value(testPost.getId().toString()))
+                    .andExpect(jsonPath("$.content[0].content").value("Learning Java Spring Boot is fun!"))
+                    .andExpect(jsonPath("$.content[0].username").value("postuser"))
+                    .andExpect(jsonPath("$.content[0].likeCount").doesNotExist())
+                    .andExpect(jsonPath("$.content[0].subject").doesNotExist())
+                    .andExpect(jsonPath("$.totalElements").value(1))
+                    .andExpect(SqlStatementMatchers.atMost(5)); // auth, page + count, version stamp
+        }
+
+        @Test
+        @DisplayName("should reject unknown fields")
+        void getAllPosts_unknownField_returns400() throws Exception {
+            mockMvc.perform(get("/posts")
+                            .header("Authorization", "Bearer " + userToken)
+                            .param("fields", "id,password"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("should return a compact page envelope when requested")
+        void getAllPosts_compactEnvelope_returnsPageMetadata() throws Exception {
+            mockMvc.perform(get("/posts")
+                            .header("Authorization", "Bearer " + userToken)
+                            .param("envelope", "compact"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].content").value("Learning Java Spring Boot is fun!"))
+                    .andExpect(jsonPath("$.page.totalElements").value(1))
+                    .andExpect(jsonPath("$.page.number").value(0))
+                    .andExpect(jsonPath("$.pageable").doesNotExist())
+                    .andExpect(jsonPath("$.sort").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("should return a compact slice envelope when withTotal=false")
+        void getAllPosts_compactEnvelopeWithoutTotal_returnsSliceMetadata() throws Exception {
+            // Arrange
+            postRepository.save(new Post("Batch", "Second post", null, otherUser));
+
+            // Act & Assert
+            mockMvc.perform(get("/posts")
+                            .header("Authorization", "Bearer " + userToken)
+                            .param("size", "1")
+                            .param("withTotal", "false")
+                            .param("envelope", "compact"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content.length()").value(1))
+                    .andExpect(jsonPath("$.page.size").value(1))
+                    .andExpect(jsonPath("$.page.number").value(0))
+                    .andExpect(jsonPath("$.page.hasNext").value(true))
+                    .andExpect(jsonPath("$.page.totalElements").doesNotExist())
+                    .andExpect(jsonPath("$.pageable").doesNotExist())
+                    .andExpect(jsonPath("$.sort").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("should keep the following feed total apart from the followed users total")
+        void getAllPosts_followingFeedAfterFollowingList_ownTotal() throws Exception {
+            // Arrange
+            for (int i = 0; i < 3; i++) {
+                User author = userRepository.save(new User("feedauthor" + i + "@example.com", "feedauthor" + i,
+                        "hash", "AT", "/avatar-placeholder.svg", Role.USER));
+                followRepository.save(new Follow(testUser, author));
+                for (int j = 0; j < 4; j++) {
+                    postRepository.save(new Post("Batch", "Post " + j + " by author " + i, null, author));
+                }
+            }
+
+            // Act & Assert
+            mockMvc.perform(get("/users/" + testUser.getId() + "/following")
+                            .header("Authorization", "Bearer " + userToken)
+                            .param("size", "2"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalElements").value(3));
+            mockMvc.perform(get("/posts")
+                            .param("filter", "following")
+                            .param("size", "2")
+                            .header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalElements").value(12))
+                    .andExpect(jsonPath("$.last").value(false));
+        }
+
+        @Test
+        @DisplayName("should reject unknown envelopes")
+        void getAllPosts_unknownEnvelope_returns400() throws Exception {
+            mockMvc.perform(get("/posts")
+                            .header("Authorization", "Bearer " + userToken)
+                            .param("envelope", "tiny"))
+                    .andExpect(status().isBadRequest());
+        }
     }
 
     @Nested
@@ -281,6 +547,26 @@ class PostControllerIntegrationTest {
                     .andExpect(jsonPath("$.content").value("Updated content for my study post"));
         }
 
+        @Test
+        @DisplayName("should reuse the cached owner on a repeated update")
+        void updatePost_repeated_skipsOwnerQuery() throws Exception {
+            PostUpdateRequest request = new PostUpdateRequest();
+            request.setContent("First edit of my study post");
+            mockMvc.perform(put("/posts/" + testPost.getId())
+                            .header("Authorization", "Bearer " + userToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk());
+
+            request.setContent("Second edit of my study post");
+            mockMvc.perform(put("/posts/" + testPost.getId())
+                            .header("Authorization", "Bearer " + userToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(SqlStatementMatchers.atMost("PostRepository.findOwnerById", 0));
+        }
+
         @Test
         @DisplayName("should return 200 when admin updates any post")
         void updatePost_asAdmin_returns200() throws Exception {
@@ -381,6 +667,50 @@ class PostControllerIntegrationTest {
                     .andExpect(jsonPath("$.content").isArray());
         }
 
+        @Test
+        @DisplayName("should load comments of many authors with a fixed number of statements")
+        void getComments_manyAuthors_noNPlusOne() throws Exception {
+            // Arrange
+            for (int i = 0; i < 12; i++) {
+                User author = userRepository.save(new User("commenter" + i + "@example.com", "commenter" + i,
+                        "hash", "AT", "/avatar-placeholder.svg", Role.USER));
+                Post comment = new Post("#Reply", "Comment " + i, null, author);
+                comment.setParent(testPost);
+                postRepository.save(comment);
+            }
+
+            // Act & Assert
+            mockMvc.perform(get("/posts/" + testPost.getId() + "/comments")
+                            .header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content.length()").value(12))
+                    .andExpect(SqlStatementMatchers.atMost(11))
+                    .andExpect(SqlStatementMatchers.noRepeatedStatements(2));
+        }
+
+        @Test
+        @DisplayName("should page through comments without counting when withTotal=false")
+        void getComments_withoutTotal_returnsSlice() throws Exception {
+            // Arrange
+            for (int i = 0; i < 3; i++) {
+                Post comment = new Post("#Reply", "Comment " + i, null, otherUser);
+                comment.setParent(testPost);
+                postRepository.save(comment);
+            }
+
+            // Act & Assert
+            mockMvc.perform(get("/posts/" + testPost.getId() + "/comments")
+                            .header("Authorization", "Bearer " + userToken)
+                            .param("size", "2")
+                            .param("page", "1")
+                            .param("withTotal", "false"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content.length()").value(1))
+                    .andExpect(jsonPath("$.last").value(true))
+                    .andExpect(jsonPath("$.totalElements").doesNotExist())
+                    .andExpect(SqlStatementMatchers.atMost("PostRepository.countByParentIdAndActiveTrue", 0));
+        }
+
         @Test
         @DisplayName("should return 404 for non-existent post comments")
         void getComments_postNotFound_returns404() throws Exception {
@@ -390,6 +720,414 @@ class PostControllerIntegrationTest {
         }
     }
 
+    @Nested
+    @DisplayName("GET /posts/stream")
+    class StreamTests {
+
+        @Test
+        @DisplayName("should push new posts and like deltas after they are committed")
+        void stream_pushesPostsAndLikes() throws Exception {
+            // Arrange
+            MvcResult stream = mockMvc.perform(get("/posts/stream")
+                            .header("Authorization", "Bearer " + otherUserToken))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            // Act
+            String body = mockMvc.perform(post("/posts")
+                            .header("Authorization", "Bearer " + userToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new PostCreateRequest("Live", "Streamed post"))))
+                    .andExpect(status().isCreated())
+                    .andReturn().getResponse().getContentAsString();
+            String postId = objectMapper.readTree(body).get("id").asText();
+            mockMvc.perform(post("/posts/" + postId + "/like")
+                            .header("Authorization", "Bearer " + otherUserToken))
+                    .andExpect(status().is2xxSuccessful());
+
+            // Assert
+            String events = awaitContent(stream, "event:likes");
+            assertThat(events)
+                    .contains("event:post\ndata:{\"type\":\"POST\",\"postId\":\"" + postId + "\"")
+                    .contains("\"delta\":1");
+            stream.getRequest().getAsyncContext().complete();
+        }
+
+        @Test
+        @DisplayName("should complete the stream in an async dispatch when its lifetime ends")
+        void stream_lifetimeEnds_completesAsyncDispatch() throws Exception {
+            // Arrange
+            MvcResult stream = mockMvc.perform(get("/posts/stream")
+                            .header("Authorization", "Bearer " + otherUserToken))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            // Act - what the container does once app.feed-stream.timeout has elapsed
+            MockAsyncContext context = (MockAsyncContext) stream.getRequest().getAsyncContext();
+            for (AsyncListener listener : context.getListeners()) {
+                listener.onTimeout(new AsyncEvent(context));
+            }
+
+            // Assert - the completing dispatch carries no token and must still pass security
+            mockMvc.perform(asyncDispatch(stream))
+                    .andExpect(status().isOk());
+        }
+
+        @Test
+        @DisplayName("should return 403 when not authenticated")
+        void stream_notAuthenticated_returns403() throws Exception {
+            mockMvc.perform(get("/posts/stream"))
+                    .andExpect(status().isForbidden());
+        }
+
+        private String awaitContent(MvcResult stream, String expected) throws Exception {
+            long deadline = System.currentTimeMillis() + 5000;
+            String content = stream.getResponse().getContentAsString();
+            while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+                content = stream.getResponse().getContentAsString();
+            }
+            return content;
+        }
+    }
+
+    @Nested
+    @DisplayName("Conditional GET")
+    class ConditionalGetTests {
+
+        private String etagOf(String url, String token) throws Exception {
+            return mockMvc.perform(get(url).header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Cache-Control", "no-cache, private"))
+                    .andReturn().getResponse().getHeader("ETag");
+        }
+
+        @Test
+        @DisplayName("should answer 304 without enrichment queries when the feed is unchanged")
+        void getAllPosts_matchingEtag_returns304() throws Exception {
+            // Arrange
+            String etag = etagOf("/posts", userToken);
+
+            // Act & Assert
+            assertThat(etag).startsWith("W/\"");
+            mockMvc.perform(get("/posts")
+                            .header("Authorization", "Bearer " + userToken)
+                            .header("If-None-Match", etag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string("ETag", etag))
+                    .andExpect(content().string(""))
+                    .andExpect(SqlStatementMatchers.atMost(5)); // auth, page + count, version stamp
+        }
+
+        @Test
+        @DisplayName("should give each negotiated representation its own ETag and vary by Accept")
+        void getAllPosts_cborWithJsonEtag_returns200() throws Exception {
+            // Arrange
+            String jsonEtag = etagOf("/posts", userToken);
+
+            // Act
+            String cborEtag = mockMvc.perform(get("/posts")
+                            .header("Authorization", "Bearer " + userToken)
+                            .header("If-None-Match", jsonEtag)
+                            .accept(MediaType.APPLICATION_CBOR))
+                    .andExpect(status().isOk())
+                    .andExpect(header().stringValues("Vary", hasItem("Accept")))
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                    .andReturn().getResponse().getHeader("ETag");
+
+            // Assert
+            assertThat(cborEtag).isNotEqualTo(jsonEtag);
+            mockMvc.perform(get("/posts")
+                            .header("Authorization", "Bearer " + userToken)
+                            .header("If-None-Match", cborEtag)
+                            .accept(MediaType.APPLICATION_CBOR))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().stringValues("Vary", hasItem("Accept")));
+        }
+
+        @Test
+        @DisplayName("should change the feed ETag when another user likes a post")
+        void getAllPosts_afterLike_returns200() throws Exception {
+            // Arrange
+            String etag = etagOf("/posts", userToken);
+            postLikeRepository.save(new PostLike(otherUser, testPost));
+
+            // Act & Assert
+            mockMvc.perform(get("/posts")
+                            .header("Authorization", "Bearer " + userToken)
+                            .header("If-None-Match", etag))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].likeCount").value(1));
+        }
+
+        @Test
+        @DisplayName("should not share feed ETags between users")
+        void getAllPosts_otherUser_differentEtag() throws Exception {
+            // Act
+            String etag = etagOf("/posts", userToken);
+            String otherEtag = etagOf("/posts", otherUserToken);
+
+            // Assert
+            assertThat(otherEtag).isNotEqualTo(etag);
+        }
+
+        @Test
+        @DisplayName("should revalidate a single post until it is edited")
+        void getPostById_revalidatesUntilEdited() throws Exception {
+            // Arrange
+            String url = "/posts/" + testPost.getId();
+            String etag = etagOf(url, userToken);
+
+            // Act & Assert
+            mockMvc.perform(get(url)
+                            .header("Authorization", "Bearer " + userToken)
+                            .header("If-None-Match", etag))
+                    .andExpect(status().isNotModified());
+
+            testPost.setContent("Edited content");
+            postRepository.save(testPost);
+
+            mockMvc.perform(get(url)
+                            .header("Authorization", "Bearer " + userToken)
+                            .header("If-None-Match", etag))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content").value("Edited content"));
+        }
+
+        @Test
+        @DisplayName("should change the comments ETag when a comment is added")
+        void getComments_afterNewComment_returns200() throws Exception {
+            // Arrange
+            String url = "/posts/" + testPost.getId() + "/comments";
+            String etag = etagOf(url, userToken);
+            Post comment = new Post("StudyTips", "Nice one", null, otherUser);
+            comment.setParent(testPost);
+            postRepository.save(comment);
+
+            // Act & Assert
+            mockMvc.perform(get(url)
+                            .header("Authorization", "Bearer " + userToken)
+                            .header("If-None-Match", etag))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content.length()").value(1));
+        }
+    }
+
+    @Nested
+    @DisplayName("Content negotiation")
+    class ContentNegotiationTests {
+
+        @Test
+        @DisplayName("should write one JSON document per post for NDJSON")
+        void getAllPosts_ndjson_writesOnePostPerLine() throws Exception {
+            // Arrange
+            postRepository.save(new Post("StudyTips", "Second post", null, otherUser));
+
+            // Act
+            MvcResult result = mockMvc.perform(get("/posts")
+                            .header("Authorization", "Bearer " + userToken)
+                            .accept("application/x-ndjson")
+                            .param("fields", "content"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                    .andReturn();
+
+            // Assert
+            String[] lines = result.getResponse().getContentAsString().split("\n");
+            assertThat(lines).hasSize(2);
+            assertThat(objectMapper.readTree(lines[0]).get("content").asText()).isEqualTo("Second post");
+            assertThat(objectMapper.readTree(lines[1]).get("id").asText()).isEqualTo(testPost.getId().toString());
+            assertThat(objectMapper.readTree(lines[1]).has("likeCount")).isFalse();
+        }
+
+        @Test
+        @DisplayName("should not offer NDJSON for single posts")
+        void getPostById_ndjson_returns406() throws Exception {
+            mockMvc.perform(get("/posts/" + testPost.getId())
+                            .header("Authorization", "Bearer " + userToken)
+                            .accept("application/x-ndjson"))
+                    .andExpect(status().isNotAcceptable());
+        }
+
+        @Test
+        @DisplayName("should encode the page as CBOR when asked for")
+        void getAllPosts_cbor_returnsCborPage() throws Exception {
+            // Act
+            MvcResult result = mockMvc.perform(get("/posts")
+                            .header("Authorization", "Bearer " + userToken)
+                            .accept(MediaType.APPLICATION_CBOR))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                    .andReturn();
+
+            // Assert
+            JsonNode page = new CBORMapper().readTree(result.getResponse().getContentAsByteArray());
+            assertThat(page.at("/content/0/content").asText()).isEqualTo("Learning Java Spring Boot is fun!");
+            assertThat(page.at("/content/0/createdAt").isTextual()).isTrue();
+            assertThat(page.get("totalElements").asLong()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should keep JSON as the default")
+        void getAllPosts_anyAccept_returnsJson() throws Exception {
+            mockMvc.perform(get("/posts")
+                            .header("Authorization", "Bearer " + userToken)
+                            .accept(MediaType.ALL))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /posts/admin/export")
+    class AdminExportTests {
+
+        @Test
+        @DisplayName("should stream every post and comment as CSV, including inactive ones")
+        void exportPosts_csv_streamsAllRows() throws Exception {
+            // Arrange
+            Post comment = new Post("StudyTips", "=HYPERLINK(\"x\"), \"quoted\"", null, otherUser);
+            comment.setParent(testPost);
+            comment.setActive(false);
+            postRepository.save(comment);
+            postLikeRepository.save(new PostLike(otherUser, testPost));
+
+            // Act
+            MvcResult started = mockMvc.perform(get("/posts/admin/export")
+                            .header("Authorization", "Bearer " + adminToken))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            // Assert
+            String csv = mockMvc.perform(asyncDispatch(started))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                    .andExpect(header().string("Content-Disposition", "attachment; filename=\"posts.csv\""))
+                    .andReturn().getResponse().getContentAsString();
+            String[] lines = csv.split("\r\n");
+            assertThat(lines).hasSize(3);
+            assertThat(lines[0]).startsWith("id,parentId,subject,content,authorId,authorUsername,authorEmail,likeCount");
+            assertThat(lines[1]).startsWith(comment.getId() + "," + testPost.getId() + ",StudyTips,")
+                    .contains(",\"'=HYPERLINK(\"\"x\"\"), \"\"quoted\"\"\",")
+                    .contains(",0,0,0,false,");
+            assertThat(lines[2]).startsWith(testPost.getId() + ",,StudyTips,")
+                    .contains(",postuser,poster@example.com,1,0,1,true,");
+        }
+
+        @Test
+        @DisplayName("should stream posts as NDJSON when asked for")
+        void exportPosts_ndjson_writesOnePostPerLine() throws Exception {
+            // Act
+            MvcResult started = mockMvc.perform(get("/posts/admin/export")
+                            .param("format", "NDJSON")
+                            .header("Authorization", "Bearer " + adminToken))
+                    .andReturn();
+
+            // Assert
+            String body = mockMvc.perform(asyncDispatch(started))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                    .andReturn().getResponse().getContentAsString();
+            assertThat(body.split("\n")).singleElement().satisfies(line -> {
+                JsonNode post = objectMapper.readTree(line);
+                assertThat(post.get("id").asText()).isEqualTo(testPost.getId().toString());
+                assertThat(post.get("authorUsername").asText()).isEqualTo("postuser");
+            });
+        }
+
+        @Test
+        @DisplayName("should return 403 for non-admin")
+        void exportPosts_asUser_returns403() throws Exception {
+            mockMvc.perform(get("/posts/admin/export")
+                            .header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isForbidden());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /posts/admin")
+    class AdminGetAllPostsTests {
+
+        @Test
+        @DisplayName("should load posts and comments of many authors with a fixed number of statements")
+        void adminGetAllPosts_manyAuthors_noNPlusOne() throws Exception {
+            // Arrange
+            for (int i = 0; i < 6; i++) {
+                User author = userRepository.save(new User("moderated" + i + "@example.com", "moderated" + i,
+                        "hash", "AT", "/avatar-placeholder.svg", Role.USER));
+                Post post = postRepository.save(new Post("Batch", "Post " + i, null, author));
+                postLikeRepository.save(new PostLike(otherUser, post));
+                Post comment = new Post("Batch", "Comment " + i, null, author);
+                comment.setParent(post);
+                postRepository.save(comment);
+            }
+
+            // Act & Assert
+            mockMvc.perform(get("/posts/admin")
+                            .header("Authorization", "Bearer " + adminToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content.length()").value(13))
+                    .andExpect(SqlStatementMatchers.atMost(6)) // auth, page with authors and parents, three counts
+                    .andExpect(SqlStatementMatchers.noRepeatedStatements(2));
+        }
+
+        @Test
+        @DisplayName("should return 403 for non-admin users")
+        void adminGetAllPosts_asUser_returns403() throws Exception {
+            mockMvc.perform(get("/posts/admin")
+                            .header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isForbidden());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /posts/admin/stats")
+    class AdminStatsTests {
+
+        @Test
+        @DisplayName("should reflect posts created through the API without querying")
+        void adminStats_afterCreate_servedFromCounters() throws Exception {
+            // Arrange
+            contentStats.reconcile();
+            PostCreateRequest request = new PostCreateRequest("#Counted", "A post the counters should see");
+            mockMvc.perform(post("/posts")
+                            .header("Authorization", "Bearer " + userToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated());
+
+            // Act & Assert
+            mockMvc.perform(get("/posts/admin/stats")
+                            .header("Authorization", "Bearer " + adminToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalPosts").value(2))
+                    .andExpect(jsonPath("$.activePosts").value(2))
+                    .andExpect(jsonPath("$.postsPerHour.length()").value(48))
+                    .andExpect(jsonPath("$.postsPerHour[47].count").value(2))
+                    .andExpect(jsonPath("$.postsPerDay.length()").value(30))
+                    .andExpect(jsonPath("$.postsPerDay[29].count").value(2))
+                    .andExpect(SqlStatementMatchers.atMost("PostRepository.countPostsAndComments", 0));
+        }
+
+        @Test
+        @DisplayName("should count soft-deleted posts as deleted")
+        void adminStats_afterDelete_countsDeleted() throws Exception {
+            // Arrange
+            contentStats.reconcile();
+            mockMvc.perform(delete("/posts/{id}", testPost.getId())
+                            .header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isNoContent());
+
+            // Act & Assert
+            mockMvc.perform(get("/posts/admin/stats")
+                            .header("Authorization", "Bearer " + adminToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalPosts").value(1))
+                    .andExpect(jsonPath("$.activePosts").value(0))
+                    .andExpect(jsonPath("$.deletedPosts").value(1));
+        }
+    }
+
     @Nested
     @DisplayName("GET /posts/subjects")
     class GetSubjectsTests {
@@ -403,4 +1141,47 @@ class PostControllerIntegrationTest {
                     .andExpect(jsonPath("$").isArray());
         }
     }
+
+    @Nested
+    @DisplayName("GET /posts/subjects/trending")
+    class GetTrendingSubjectsTests {
+
+        @Test
+        @DisplayName("should rank subjects by recent posts and likes without querying")
+        void getTrendingSubjects_countsPostsAndLikes() throws Exception {
+            // Arrange
+            trendingSubjects.load();
+            PostCreateRequest request = new PostCreateRequest("#Trendy", "A post on a brand new subject");
+            mockMvc.perform(post("/posts")
+                            .header("Authorization", "Bearer " + userToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated());
+            mockMvc.perform(post("/posts/{id}/like", testPost.getId())
+                            .header("Authorization", "Bearer " + otherUserToken))
+                    .andExpect(status().is2xxSuccessful());
+
+            // Act & Assert
+            mockMvc.perform(get("/posts/subjects/trending")
+                            .param("window", "day")
+                            .header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(2))
+                    .andExpect(jsonPath("$[0].subject").value("#StudyTips"))
+                    .andExpect(jsonPath("$[0].count").value(2))
+                    .andExpect(jsonPath("$[1].subject").value("#Trendy"))
+                    .andExpect(jsonPath("$[1].count").value(1))
+                    .andExpect(SqlStatementMatchers.atMost("PostRepository.countPostsPerSubjectAndMinuteSince", 0))
+                    .andExpect(SqlStatementMatchers.atMost("PostRepository.findDistinctSubjects", 0));
+        }
+
+        @Test
+        @DisplayName("should return 400 for an unknown window")
+        void getTrendingSubjects_invalidWindow_returns400() throws Exception {
+            mockMvc.perform(get("/posts/subjects/trending")
+                            .param("window", "week")
+                            .header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isBadRequest());
+        }
+    }
 }
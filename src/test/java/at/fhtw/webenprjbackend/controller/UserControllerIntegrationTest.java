@@ -3,10 +3,13 @@ package at.fhtw.webenprjbackend.controller;
 import at.fhtw.webenprjbackend.dto.CredentialChangeRequests;
 import at.fhtw.webenprjbackend.dto.UserProfileUpdateRequest;
 import at.fhtw.webenprjbackend.dto.UserRegistrationRequest;
+import at.fhtw.webenprjbackend.entity.Post;
 import at.fhtw.webenprjbackend.entity.Role;
 import at.fhtw.webenprjbackend.entity.User;
 import at.fhtw.webenprjbackend.repository.*;
+import at.fhtw.webenprjbackend.metrics.SqlStatementMatchers;
 import at.fhtw.webenprjbackend.security.jwt.JwtIssuer;
+import at.fhtw.webenprjbackend.stats.ContentStats;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -19,6 +22,7 @@ import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.UUID;
 
@@ -57,12 +61,18 @@ class UserControllerIntegrationTest {
     @Autowired
     private FollowRepository followRepository;
 
+    @Autowired
+    private UserActivityRepository userActivityRepository;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
     @Autowired
     private JwtIssuer jwtIssuer;
 
+    @Autowired
+    private ContentStats contentStats;
+
     private static final String TEST_EMAIL = "test.user@example.com";
     private static final String TEST_USERNAME = "testuser";
     private static final String TEST_PASSWORD = "Password123!";
@@ -79,6 +89,7 @@ class UserControllerIntegrationTest {
         postLikeRepository.deleteAll();
         followRepository.deleteAll();
         postRepository.deleteAll();
+        userActivityRepository.deleteAll();
         userRepository.deleteAll();
 
         testUser = new User(
@@ -310,10 +321,32 @@ class UserControllerIntegrationTest {
         @Test
         @DisplayName("should return user count without authentication")
         void getUserCount_noAuth_returns200() throws Exception {
+            // users were inserted through the repository, which the counters do not see
+            contentStats.reconcile();
+
             mockMvc.perform(get("/users/count"))
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.count").value(2)); // testUser and adminUser
         }
+
+        @Test
+        @DisplayName("should count registrations without recounting")
+        void getUserCount_afterRegistration_incremented() throws Exception {
+            // Arrange
+            contentStats.reconcile();
+            UserRegistrationRequest request = new UserRegistrationRequest(
+                    "counted@example.com", "counted", TEST_PASSWORD, "AT");
+            mockMvc.perform(post("/users")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated());
+
+            // Act & Assert
+            mockMvc.perform(get("/users/count"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.count").value(3))
+                    .andExpect(SqlStatementMatchers.atMost(0));
+        }
     }
 
     @Nested
@@ -434,6 +467,69 @@ class UserControllerIntegrationTest {
         }
     }
 
+    @Nested
+    @DisplayName("GET /users/admin/export")
+    class AdminExportTests {
+
+        @Test
+        @DisplayName("should stream all users as CSV for admin")
+        void exportUsers_csv_streamsAllUsers() throws Exception {
+            // Act
+            MvcResult started = mockMvc.perform(get("/users/admin/export")
+                            .header("Authorization", "Bearer " + adminToken))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            // Assert
+            String csv = mockMvc.perform(asyncDispatch(started))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                    .andExpect(header().string("Content-Disposition", "attachment; filename=\"users.csv\""))
+                    .andReturn().getResponse().getContentAsString();
+            String[] lines = csv.split("\r\n");
+            assertThat(lines[0]).isEqualTo("id,email,username,countryCode,role,active,createdAt,updatedAt");
+            assertThat(lines).hasSize(3);
+            assertThat(csv).contains(TEST_EMAIL + "," + TEST_USERNAME + ",AT,USER,true");
+        }
+
+        @Test
+        @DisplayName("should stream users as NDJSON when asked for")
+        void exportUsers_ndjson_writesOneUserPerLine() throws Exception {
+            // Act
+            MvcResult started = mockMvc.perform(get("/users/admin/export")
+                            .param("format", "ndjson")
+                            .header("Authorization", "Bearer " + adminToken))
+                    .andReturn();
+
+            // Assert
+            String body = mockMvc.perform(asyncDispatch(started))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                    .andReturn().getResponse().getContentAsString();
+            String[] lines = body.split("\n");
+            assertThat(lines).hasSize(2);
+            assertThat(objectMapper.readTree(lines[0]).get("username").asText()).isEqualTo("adminuser");
+            assertThat(objectMapper.readTree(lines[0]).has("password")).isFalse();
+        }
+
+        @Test
+        @DisplayName("should return 403 for non-admin")
+        void exportUsers_asUser_returns403() throws Exception {
+            mockMvc.perform(get("/users/admin/export")
+                            .header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isForbidden());
+        }
+
+        @Test
+        @DisplayName("should reject unknown formats")
+        void exportUsers_unknownFormat_returns400() throws Exception {
+            mockMvc.perform(get("/users/admin/export")
+                            .param("format", "xlsx")
+                            .header("Authorization", "Bearer " + adminToken))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
     @Nested
     @DisplayName("GET /users/me/activity (Activity Status)")
     class GetActivityStatusTests {
@@ -444,7 +540,60 @@ class UserControllerIntegrationTest {
             mockMvc.perform(get("/users/me/activity")
                             .header("Authorization", "Bearer " + userToken))
                     .andExpect(status().isOk())
-                    .andExpect(jsonPath("$.hasPostedToday").exists());
+                    .andExpect(jsonPath("$.hasPostedToday").value(false))
+                    .andExpect(jsonPath("$.currentStreak").value(0));
+        }
+
+        @Test
+        @DisplayName("should start a streak with the first post of the day")
+        void getActivityStatus_afterPost_postedToday() throws Exception {
+            // Arrange
+            mockMvc.perform(post("/posts")
+                            .header("Authorization", "Bearer " + userToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"subject\":\"java\",\"content\":\"First post today\"}"))
+                    .andExpect(status().isCreated());
+
+            // Act & Assert: a single primary-key read
+            mockMvc.perform(get("/users/me/activity")
+                            .header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.hasPostedToday").value(true))
+                    .andExpect(jsonPath("$.currentStreak").value(1))
+                    .andExpect(jsonPath("$.longestStreak").value(1))
+                    .andExpect(SqlStatementMatchers.atMost("UserActivityRepository.findById", 1));
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /users/admin/activity/backfill")
+    class BackfillActivityTests {
+
+        @Test
+        @DisplayName("should rebuild activity from existing posts")
+        void backfill_asAdmin_rebuildsFromPosts() throws Exception {
+            // Arrange
+            postRepository.save(new Post("java", "Written before tracking", null, testUser));
+
+            // Act
+            mockMvc.perform(post("/users/admin/activity/backfill")
+                            .header("Authorization", "Bearer " + adminToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.users").value(1));
+
+            // Assert
+            mockMvc.perform(get("/users/me/activity")
+                            .header("Authorization", "Bearer " + userToken))
+                    .andExpect(jsonPath("$.hasPostedToday").value(true))
+                    .andExpect(jsonPath("$.currentStreak").value(1));
+        }
+
+        @Test
+        @DisplayName("should return 403 for non-admin")
+        void backfill_asUser_returns403() throws Exception {
+            mockMvc.perform(post("/users/admin/activity/backfill")
+                            .header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isForbidden());
         }
     }
 
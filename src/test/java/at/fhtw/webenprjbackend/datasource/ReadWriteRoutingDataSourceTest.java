@@ -0,0 +1,205 @@
+package at.fhtw.webenprjbackend.datasource;
+
+import at.fhtw.webenprjbackend.security.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routing tests against separate in-memory H2 databases standing in for primary and replicas.
+ */
+@DisplayName("ReadWriteRoutingDataSource")
+class ReadWriteRoutingDataSourceTest {
+
+    private ReadWriteRoutingDataSource router;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readTx;
+    private TransactionTemplate writeTx;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        if (router != null) {
+            router.close();
+        }
+    }
+
+    private static DataSource h2(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    private void setUp(List<DataSource> replicas) {
+        router = new ReadWriteRoutingDataSource(
+                h2("rw_primary"), replicas, new ReadYourWritesTracker(Duration.ofSeconds(30)), Duration.ofHours(1));
+        DataSource dataSource = new LazyConnectionDataSourceProxy(router);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readTx = new TransactionTemplate(transactionManager);
+        readTx.setReadOnly(true);
+        writeTx = new TransactionTemplate(transactionManager);
+    }
+
+    private String databaseIn(TransactionTemplate tx) {
+        return tx.execute(status -> jdbcTemplate.queryForObject("CALL DATABASE()", String.class));
+    }
+
+    private void authenticate(UUID userId) {
+        UserPrincipal principal = new UserPrincipal(userId, "u@example.com", "user", "x", "ROLE_USER", true);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @Nested
+    @DisplayName("Routing")
+    class RoutingTests {
+
+        @Test
+        @DisplayName("should send read-only transactions to the replica and writes to the primary")
+        void readOnlyToReplica_writeToPrimary() {
+            // Arrange
+            setUp(List.of(h2("rw_replica_a")));
+
+            // Act & Assert
+            assertThat(databaseIn(readTx)).isEqualToIgnoringCase("rw_replica_a");
+            assertThat(databaseIn(writeTx)).isEqualToIgnoringCase("rw_primary");
+        }
+
+        @Test
+        @DisplayName("should use the primary outside of transactions")
+        void noTransaction_usesPrimary() {
+            // Arrange
+            setUp(List.of(h2("rw_replica_a")));
+
+            // Act
+            String database = jdbcTemplate.queryForObject("CALL DATABASE()", String.class);
+
+            // Assert
+            assertThat(database).isEqualToIgnoringCase("rw_primary");
+        }
+
+        @Test
+        @DisplayName("should alternate reads between replicas")
+        void multipleReplicas_roundRobin() {
+            // Arrange
+            setUp(List.of(h2("rw_replica_a"), h2("rw_replica_b")));
+
+            // Act
+            String first = databaseIn(readTx);
+            String second = databaseIn(readTx);
+            String third = databaseIn(readTx);
+
+            // Assert
+            assertThat(List.of(first, second)).containsExactlyInAnyOrder("RW_REPLICA_A", "RW_REPLICA_B");
+            assertThat(third).isEqualTo(first);
+        }
+    }
+
+    @Nested
+    @DisplayName("Read-your-writes")
+    class ReadYourWritesTests {
+
+        @Test
+        @DisplayName("should keep a user's reads on the primary after their write commits")
+        void afterWrite_readsStickToPrimary() {
+            // Arrange
+            setUp(List.of(h2("rw_replica_a")));
+            authenticate(UUID.randomUUID());
+
+            // Act
+            String before = databaseIn(readTx);
+            databaseIn(writeTx);
+            String after = databaseIn(readTx);
+
+            // Assert
+            assertThat(before).isEqualToIgnoringCase("rw_replica_a");
+            assertThat(after).isEqualToIgnoringCase("rw_primary");
+        }
+
+        @Test
+        @DisplayName("should not make other users sticky")
+        void otherUser_stillReadsFromReplica() {
+            // Arrange
+            setUp(List.of(h2("rw_replica_a")));
+            authenticate(UUID.randomUUID());
+            databaseIn(writeTx);
+
+            // Act
+            authenticate(UUID.randomUUID());
+            String database = databaseIn(readTx);
+
+            // Assert
+            assertThat(database).isEqualToIgnoringCase("rw_replica_a");
+        }
+
+        @Test
+        @DisplayName("should expire after the sticky window")
+        void tracker_expiresAfterWindow() throws InterruptedException {
+            // Arrange
+            ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofMillis(20));
+            UUID userId = UUID.randomUUID();
+
+            // Act
+            tracker.recordWrite(userId);
+            boolean stickyNow = tracker.isSticky(userId);
+            Thread.sleep(40);
+
+            // Assert
+            assertThat(stickyNow).isTrue();
+            assertThat(tracker.isSticky(userId)).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Health")
+    class HealthTests {
+
+        @Test
+        @DisplayName("should eject an unreachable replica and fall back to the primary")
+        void unreachableReplica_ejected() {
+            // Arrange
+            DataSource broken = new DriverManagerDataSource("jdbc:h2:mem:rw_broken;IFEXISTS=TRUE", "sa", "");
+            setUp(List.of(broken));
+
+            // Act
+            String database = databaseIn(readTx);
+
+            // Assert
+            assertThat(database).isEqualToIgnoringCase("rw_primary");
+            assertThat(router.isHealthy(0)).isFalse();
+        }
+
+        @Test
+        @DisplayName("should skip an ejected replica and re-admit it after a passing health check")
+        void ejectedReplica_readmittedByHealthCheck() {
+            // Arrange
+            setUp(List.of(h2("rw_replica_a"), new DriverManagerDataSource("jdbc:h2:mem:rw_late;IFEXISTS=TRUE", "sa", "")));
+            router.checkReplicas();
+
+            // Act
+            String first = databaseIn(readTx);
+            String second = databaseIn(readTx);
+            new JdbcTemplate(h2("rw_late")).execute("SELECT 1");
+            router.checkReplicas();
+
+            // Assert
+            assertThat(first).isEqualToIgnoringCase("rw_replica_a");
+            assertThat(second).isEqualToIgnoringCase("rw_replica_a");
+            assertThat(router.isHealthy(1)).isTrue();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package at.fhtw.webenprjbackend.datasource;
+
+import at.fhtw.webenprjbackend.entity.Role;
+import at.fhtw.webenprjbackend.entity.User;
+import at.fhtw.webenprjbackend.repository.UserRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the application with replica routing enabled. The replica URL points at the
+ * primary's H2 database so the schema created by Hibernate is visible on both routes.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:rw_app;DB_CLOSE_DELAY=-1",
+        "spring.datasource.hikari.maximum-pool-size=7",
+        "spring.datasource.hikari.data-source-properties.useCursorFetch=true",
+        "app.datasource.replicas.enabled=true",
+        "app.datasource.replicas.urls=jdbc:h2:mem:rw_app;DB_CLOSE_DELAY=-1"
+})
+@ActiveProfiles("test")
+@DisplayName("ReplicaDataSourceConfig Integration Tests")
+class ReplicaDataSourceConfigIntegrationTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("should expose the routing data source behind a lazy proxy and serve reads and writes")
+    void replicasEnabled_readsAndWritesWork() {
+        // Act
+        User saved = userRepository.save(new User(
+                "replica@example.com", "replicauser", "hash", "AT", "/avatar-placeholder.svg", Role.USER));
+
+        // Assert
+        assertThat(dataSource).isInstanceOf(LazyConnectionDataSourceProxy.class);
+        assertThat(((LazyConnectionDataSourceProxy) dataSource).getTargetDataSource()).isSameAs(routingDataSource);
+        assertThat(userRepository.findByEmail("replica@example.com")).get()
+                .extracting(User::getId).isEqualTo(saved.getId());
+        assertThat(routingDataSource.isHealthy(0)).isTrue();
+    }
+
+    @Test
+    @DisplayName("should bind spring.datasource.hikari.* onto the primary pool")
+    void replicasEnabled_bindsHikariSettingsToPrimary() {
+        // Assert
+        assertThat(primaryDataSource.getPoolName()).isEqualTo("primary");
+        assertThat(primaryDataSource.getMaximumPoolSize()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("should pass the primary's driver properties on to the replica pools")
+    void replicasEnabled_copiesDriverPropertiesToReplicas() {
+        // Act
+        DataSource replica = routingDataSource.getResolvedDataSources().get("replica-0");
+
+        // Assert
+        assertThat(primaryDataSource.getDataSourceProperties()).containsEntry("useCursorFetch", "true");
+        assertThat(((HikariDataSource) replica).getDataSourceProperties()).containsEntry("useCursorFetch", "true");
+    }
+
+    @Test
+    @DisplayName("should publish Hikari pool metrics for the pools behind the router")
+    void replicasEnabled_publishesPoolMetrics() {
+        // Act
+        userRepository.count();
+
+        // Assert
+        assertThat(meterRegistry.find("hikaricp.connections").tag("pool", "primary").gauge()).isNotNull();
+    }
+}
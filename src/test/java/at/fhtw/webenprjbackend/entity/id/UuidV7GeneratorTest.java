@@ -0,0 +1,90 @@
+package at.fhtw.webenprjbackend.entity.id;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link UuidV7Generator}.
+ */
+@DisplayName("UuidV7Generator")
+class UuidV7GeneratorTest {
+
+    @Test
+    @DisplayName("should produce version 7, IETF variant UUIDs carrying the current time")
+    void next_versionVariantAndTimestamp() {
+        // Arrange
+        long before = System.currentTimeMillis();
+
+        // Act
+        UUID uuid = UuidV7Generator.next();
+
+        // Assert
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat(UuidV7Generator.timestampMillis(uuid)).isBetween(before, System.currentTimeMillis() + 1);
+    }
+
+    @Test
+    @DisplayName("should carry the given time when generating for a past instant")
+    void at_carriesGivenTimestamp() {
+        // Arrange
+        long oneYearAgo = System.currentTimeMillis() - 365L * 24 * 60 * 60 * 1000;
+
+        // Act
+        UUID uuid = UuidV7Generator.at(oneYearAgo);
+
+        // Assert
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat(UuidV7Generator.timestampMillis(uuid)).isEqualTo(oneYearAgo);
+        assertThat(UuidV7Generator.at(oneYearAgo)).isNotEqualTo(uuid);
+    }
+
+    @Test
+    @DisplayName("should be strictly increasing in binary order, including within one millisecond")
+    void next_strictlyIncreasing() {
+        // Arrange
+        List<UUID> ids = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(UuidV7Generator.next());
+        }
+
+        // Assert - BINARY(16) columns compare the most significant bits as unsigned bytes
+        for (int i = 1; i < ids.size(); i++) {
+            assertThat(Long.compareUnsigned(
+                    ids.get(i).getMostSignificantBits(), ids.get(i - 1).getMostSignificantBits()))
+                    .isPositive();
+        }
+    }
+
+    @Test
+    @DisplayName("should not produce duplicates across threads")
+    void next_uniqueAcrossThreads() throws Exception {
+        // Arrange
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+
+        // Act
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            IntStream.range(0, 8).forEach(t -> executor.submit(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    ids.add(UuidV7Generator.next());
+                }
+            }));
+        }
+
+        // Assert
+        assertThat(ids).hasSize(40_000);
+    }
+}
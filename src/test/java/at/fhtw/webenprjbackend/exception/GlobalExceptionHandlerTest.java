@@ -1,5 +1,6 @@
 package at.fhtw.webenprjbackend.exception;
 
+import at.fhtw.webenprjbackend.security.password.PasswordHashingSaturatedException;
 import at.fhtw.webenprjbackend.security.ratelimit.RateLimitException;
 import io.jsonwebtoken.JwtException;
 import jakarta.validation.ConstraintViolation;
@@ -13,12 +14,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
@@ -270,6 +273,47 @@ class GlobalExceptionHandlerTest {
         }
     }
 
+    @Nested
+    @DisplayName("handlePasswordHashingSaturated()")
+    class PasswordHashingSaturatedTests {
+
+        @Test
+        @DisplayName("should return 503 with Retry-After header")
+        void saturated_returns503WithHeader() {
+            // Arrange
+            PasswordHashingSaturatedException ex = new PasswordHashingSaturatedException(2);
+
+            // Act
+            ResponseEntity<ErrorResponse> response = handler.handlePasswordHashingSaturated(ex, webRequest);
+
+            // Assert
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+            assertThat(response.getBody().getError()).isEqualTo("Service Unavailable");
+            assertThat(response.getBody().getMessage()).contains("2 seconds");
+            assertThat(response.getHeaders().get("Retry-After")).contains("2");
+        }
+    }
+
+    @Nested
+    @DisplayName("HttpMediaTypeNotAcceptableException handling")
+    class NotAcceptableTests {
+
+        @Test
+        @DisplayName("should return 406 without a body")
+        void notAcceptable_returns406() {
+            // Arrange
+            HttpMediaTypeNotAcceptableException ex =
+                    new HttpMediaTypeNotAcceptableException(List.of(MediaType.APPLICATION_JSON));
+
+            // Act
+            ResponseEntity<Void> response = handler.handleMediaTypeNotAcceptable(ex, webRequest);
+
+            // Assert
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_ACCEPTABLE);
+            assertThat(response.hasBody()).isFalse();
+        }
+    }
+
     @Nested
     @DisplayName("handleGenericException()")
     class GenericExceptionTests {
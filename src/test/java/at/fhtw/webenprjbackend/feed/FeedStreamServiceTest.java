@@ -0,0 +1,175 @@
+package at.fhtw.webenprjbackend.feed;
+
+import at.fhtw.webenprjbackend.repository.FollowRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link FeedStreamService} with emitters that record what would be written.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FeedStreamService")
+class FeedStreamServiceTest {
+
+    @Mock
+    private FollowRepository followRepository;
+
+    private FeedStreamProperties properties;
+    private FeedStreamService feedStreamService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new FeedStreamProperties();
+        properties.setBufferSize(4);
+        properties.setHeartbeat(Duration.ofSeconds(30));
+        feedStreamService = new FeedStreamService(properties, followRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        feedStreamService.shutdown();
+    }
+
+    /** Emitter that records sent events as text (data via toString); {@code gate} holds every send until opened. */
+    private static class RecordingEmitter extends SseEmitter {
+
+        final List<String> sent = new CopyOnWriteArrayList<>();
+        final CountDownLatch gate;
+        volatile boolean completed;
+
+        RecordingEmitter(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            StringBuilder text = new StringBuilder();
+            builder.build().forEach(part -> text.append(part.getData()));
+            sent.add(text.toString());
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+            super.complete();
+        }
+    }
+
+    private static RecordingEmitter openEmitter() {
+        return new RecordingEmitter(new CountDownLatch(0));
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition within 5s").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    @Nested
+    @DisplayName("delivery")
+    class DeliveryTests {
+
+        @Test
+        @DisplayName("should write updates as named events")
+        void onFeedUpdate_writesEvent() throws Exception {
+            // Arrange
+            RecordingEmitter emitter = openEmitter();
+            feedStreamService.register(emitter, null);
+            UUID postId = UUID.randomUUID();
+
+            // Act
+            feedStreamService.onFeedUpdate(FeedUpdate.likes(postId, 1));
+
+            // Assert
+            await(() -> !emitter.sent.isEmpty());
+            assertThat(emitter.sent.get(0))
+                    .startsWith("event:likes")
+                    .contains(postId.toString());
+        }
+
+        @Test
+        @DisplayName("should only deliver new posts of followed authors on the following stream")
+        void subscribe_following_filtersNewPosts() throws Exception {
+            // Arrange
+            UUID followed = UUID.randomUUID();
+            RecordingEmitter emitter = openEmitter();
+            feedStreamService.register(emitter, Set.of(followed));
+            UUID followedPost = UUID.randomUUID();
+
+            // Act
+            feedStreamService.onFeedUpdate(FeedUpdate.newPost(UUID.randomUUID(), UUID.randomUUID()));
+            feedStreamService.onFeedUpdate(FeedUpdate.newPost(followedPost, followed));
+            feedStreamService.onFeedUpdate(FeedUpdate.comments(UUID.randomUUID(), 1));
+
+            // Assert
+            await(() -> emitter.sent.size() == 2);
+            assertThat(emitter.sent.get(0)).contains("event:post").contains(followedPost.toString());
+            assertThat(emitter.sent.get(1)).contains("event:comments");
+        }
+
+        @Test
+        @DisplayName("should send a heartbeat comment when idle")
+        void idleStream_sendsHeartbeat() throws Exception {
+            // Arrange
+            properties.setHeartbeat(Duration.ofMillis(20));
+            RecordingEmitter emitter = openEmitter();
+
+            // Act
+            feedStreamService.register(emitter, null);
+
+            // Assert
+            await(() -> !emitter.sent.isEmpty());
+            assertThat(emitter.sent.get(0)).isEqualTo(":heartbeat\n\n");
+        }
+    }
+
+    @Nested
+    @DisplayName("slow consumers")
+    class SlowConsumerTests {
+
+        @Test
+        @DisplayName("should drop a stream whose buffer overflows and tell it to resync")
+        void overflow_dropsStreamWithResync() throws Exception {
+            // Arrange
+            CountDownLatch gate = new CountDownLatch(1);
+            RecordingEmitter slow = new RecordingEmitter(gate);
+            feedStreamService.register(slow, null);
+
+            // Act: the slow writer is stuck on its first send while the rest piles up
+            for (int i = 0; i < 10; i++) {
+                feedStreamService.onFeedUpdate(FeedUpdate.likes(UUID.randomUUID(), 1));
+            }
+            gate.countDown();
+
+            // Assert
+            await(() -> slow.completed);
+            assertThat(slow.sent).last().asString().startsWith("event:resync");
+            assertThat(slow.sent).hasSizeLessThan(10);
+            await(() -> feedStreamService.connections() == 0);
+        }
+    }
+}
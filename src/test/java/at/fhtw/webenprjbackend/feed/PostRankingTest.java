@@ -0,0 +1,227 @@
+package at.fhtw.webenprjbackend.feed;
+
+import at.fhtw.webenprjbackend.repository.PostRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link PostRanking}.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PostRanking")
+class PostRankingTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PostRanking postRanking;
+
+    private final UUID a = UUID.randomUUID();
+    private final UUID b = UUID.randomUUID();
+    private final UUID c = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        RankingProperties properties = new RankingProperties();
+        properties.setHalfLife(Duration.ofHours(12));
+        postRanking = new PostRanking(postRepository, properties, transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        postRanking.shutdown();
+    }
+
+    private void givenDatabase(Object[]... rows) {
+        when(postRepository.findEngagementSince(any())).thenReturn(List.of(rows));
+        postRanking.reconcile();
+    }
+
+    private static Object[] row(UUID id, LocalDateTime createdAt, long likes, long comments, long bookmarks) {
+        return new Object[]{id, createdAt, likes, comments, bookmarks};
+    }
+
+    @Nested
+    @DisplayName("page()")
+    class PageTests {
+
+        @Test
+        @DisplayName("should order top by weighted likes, comments and bookmarks")
+        void top_ordersByScore() {
+            // Arrange: scores 5, 2*2 + 3*1 = 7 and 0
+            givenDatabase(row(a, NOW, 5, 0, 0), row(b, NOW.minusDays(3), 0, 2, 1), row(c, NOW, 0, 0, 0));
+
+            // Act & Assert
+            assertThat(postRanking.page(FeedRanking.TOP, 0, 10)).containsExactly(b, a, c);
+            assertThat(postRanking.size()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("should rank hot by score discounted by age")
+        void hot_discountsAge() {
+            // Arrange: log2(1 + score) - age in half-lives is 1 for a, 3 - 1 = 2 for b and 3 - 3 = 0 for c
+            givenDatabase(row(a, NOW, 1, 0, 0), row(b, NOW.minusHours(12), 7, 0, 0),
+                    row(c, NOW.minusHours(36), 7, 0, 0));
+
+            // Act & Assert
+            assertThat(postRanking.page(FeedRanking.HOT, 0, 10)).containsExactly(b, a, c);
+            assertThat(postRanking.page(FeedRanking.TOP, 0, 10)).containsExactlyInAnyOrder(b, c, a).endsWith(a);
+        }
+
+        @Test
+        @DisplayName("should return the requested slice")
+        void page_offsetAndSize() {
+            // Arrange
+            givenDatabase(row(a, NOW, 3, 0, 0), row(b, NOW, 2, 0, 0), row(c, NOW, 1, 0, 0));
+
+            // Act & Assert
+            assertThat(postRanking.page(FeedRanking.TOP, 1, 1)).containsExactly(b);
+            assertThat(postRanking.page(FeedRanking.TOP, 3, 1)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("events")
+    class EventTests {
+
+        @Test
+        @DisplayName("should add new posts and move posts when engagement changes")
+        void events_updateOrder() {
+            // Arrange
+            givenDatabase(row(a, NOW, 2, 0, 0));
+
+            // Act
+            postRanking.onFeedUpdate(FeedUpdate.newPost(b, UUID.randomUUID()));
+            postRanking.onFeedUpdate(FeedUpdate.comments(b, 1));
+            postRanking.onBookmarkUpdate(new BookmarkUpdate(b, 1));
+
+            // Assert: b scores 2 + 3 = 5
+            assertThat(postRanking.page(FeedRanking.TOP, 0, 10)).containsExactly(b, a);
+
+            postRanking.onFeedUpdate(FeedUpdate.likes(a, 4));
+            assertThat(postRanking.page(FeedRanking.TOP, 0, 10)).containsExactly(a, b);
+            assertThat(postRanking.size()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("should ignore changes to posts that are not ranked")
+        void events_unknownPost_ignored() {
+            // Arrange
+            givenDatabase();
+
+            // Act
+            postRanking.onFeedUpdate(FeedUpdate.likes(a, 1));
+            postRanking.onBookmarkUpdate(new BookmarkUpdate(b, 1));
+
+            // Assert
+            assertThat(postRanking.size()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("removeUnlessActive() and reconcile()")
+    class RemovalTests {
+
+        @Test
+        @DisplayName("should drop posts the primary no longer has from both orders")
+        void removeUnlessActive_dropsMissingPost() {
+            // Arrange
+            givenDatabase(row(a, NOW, 2, 0, 0), row(b, NOW, 1, 0, 0));
+            when(postRepository.findActiveTopLevelIdsIn(List.of(a))).thenReturn(List.of());
+
+            // Act
+            postRanking.removeUnlessActive(List.of(a));
+
+            // Assert
+            assertThat(postRanking.page(FeedRanking.TOP, 0, 10)).containsExactly(b);
+            assertThat(postRanking.page(FeedRanking.HOT, 0, 10)).containsExactly(b);
+        }
+
+        @Test
+        @DisplayName("should keep posts the primary still has active")
+        void removeUnlessActive_keepsActivePost() {
+            // Arrange - e.g. a new post a replica has not received yet
+            givenDatabase(row(a, NOW, 2, 0, 0), row(b, NOW, 1, 0, 0));
+            when(postRepository.findActiveTopLevelIdsIn(List.of(a))).thenReturn(List.of(a));
+
+            // Act
+            postRanking.removeUnlessActive(List.of(a));
+
+            // Assert
+            assertThat(postRanking.page(FeedRanking.TOP, 0, 10)).containsExactly(a, b);
+        }
+
+        @Test
+        @DisplayName("should keep changes that arrive while the snapshot is read")
+        void reconcile_eventsDuringRebuild_replayed() {
+            // Arrange - b is created and a liked after the snapshot query started
+            givenDatabase(row(a, NOW, 1, 0, 0));
+            when(postRepository.findEngagementSince(any())).thenAnswer(invocation -> {
+                postRanking.onFeedUpdate(FeedUpdate.newPost(b, UUID.randomUUID()));
+                postRanking.onFeedUpdate(FeedUpdate.comments(b, 1));
+                postRanking.onFeedUpdate(FeedUpdate.likes(a, 1));
+                return List.<Object[]>of(row(a, NOW, 2, 0, 0));
+            });
+
+            // Act
+            postRanking.reconcile();
+
+            // Assert - b scores 2, a scores 2 + 1 from the replayed like
+            assertThat(postRanking.page(FeedRanking.TOP, 0, 10)).containsExactly(a, b);
+            assertThat(postRanking.size()).isEqualTo(2);
+            postRanking.onFeedUpdate(FeedUpdate.comments(b, 1));
+            assertThat(postRanking.page(FeedRanking.TOP, 0, 10)).containsExactly(b, a);
+        }
+
+        @Test
+        @DisplayName("should stop recording changes when the rebuild fails")
+        void reconcile_failure_keepsIndex() {
+            // Arrange
+            givenDatabase(row(a, NOW, 1, 0, 0));
+            when(postRepository.findEngagementSince(any())).thenThrow(new IllegalStateException("down"));
+
+            // Act
+            assertThatThrownBy(() -> postRanking.reconcile()).isInstanceOf(IllegalStateException.class);
+            postRanking.onFeedUpdate(FeedUpdate.newPost(b, UUID.randomUUID()));
+
+            // Assert
+            assertThat(postRanking.page(FeedRanking.TOP, 0, 10)).containsExactlyInAnyOrder(a, b);
+        }
+
+        @Test
+        @DisplayName("should replace the index with the database state")
+        void reconcile_replacesIndex() {
+            // Arrange
+            givenDatabase(row(a, NOW, 2, 0, 0));
+            postRanking.onFeedUpdate(FeedUpdate.newPost(b, UUID.randomUUID()));
+
+            // Act
+            givenDatabase(row(c, NOW, 0, 0, 0));
+
+            // Assert
+            assertThat(postRanking.page(FeedRanking.TOP, 0, 10)).containsExactly(c);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package at.fhtw.webenprjbackend.filestorage.minio;
+
+import io.minio.GetObjectArgs;
+import io.minio.GetObjectResponse;
+import io.minio.MinioClient;
+import io.minio.RemoveObjectArgs;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import okhttp3.Headers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link MinioStorage} covering the Flight Recorder events around each MinIO call.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MinioStorage")
+class MinioStorageTest {
+
+    @Mock
+    private MinioClient minioClient;
+
+    private MinioStorage storage;
+    private Recording recording;
+
+    @BeforeEach
+    void setUp() {
+        storage = new MinioStorage(minioClient, new MinioProperties());
+        recording = new Recording();
+        recording.enable("motivise.StorageOperation").withoutThreshold();
+        recording.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        recording.close();
+    }
+
+    private List<RecordedEvent> recordedEvents() throws Exception {
+        recording.stop();
+        Path file = Files.createTempFile("storage", ".jfr");
+        try {
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Nested
+    @DisplayName("Flight Recorder events")
+    class StorageEventTests {
+
+        @Test
+        @DisplayName("should record uploads with their size")
+        void upload_recordsEvent() throws Exception {
+            // Arrange
+            MockMultipartFile file = new MockMultipartFile("file", "a.png", "image/png", new byte[1234]);
+
+            // Act
+            String objectName = storage.upload(file);
+
+            // Assert
+            assertThat(recordedEvents()).singleElement().satisfies(event -> {
+                assertThat(event.getString("operation")).isEqualTo("upload");
+                assertThat(event.getString("objectName")).isEqualTo(objectName);
+                assertThat(event.getLong("bytes")).isEqualTo(1234);
+                assertThat(event.getBoolean("succeeded")).isTrue();
+            });
+        }
+
+        @Test
+        @DisplayName("should take the size of loads from the response headers")
+        void load_recordsContentLength() throws Exception {
+            // Arrange
+            InputStream body = new ByteArrayInputStream(new byte[42]);
+            when(minioClient.getObject(any(GetObjectArgs.class))).thenReturn(
+                    new GetObjectResponse(Headers.of("Content-Length", "42"), "uploads", null, "abc", body));
+
+            // Act
+            storage.load("abc");
+
+            // Assert
+            assertThat(recordedEvents()).singleElement().satisfies(event -> {
+                assertThat(event.getString("operation")).isEqualTo("load");
+                assertThat(event.getLong("bytes")).isEqualTo(42);
+            });
+        }
+
+        @Test
+        @DisplayName("should record failed calls as not succeeded")
+        void deleteFailure_recordsFailedEvent() throws Exception {
+            // Arrange
+            doThrow(new IllegalStateException("unreachable")).when(minioClient).removeObject(any(RemoveObjectArgs.class));
+
+            // Act
+            assertThatThrownBy(() -> storage.delete("abc")).isInstanceOf(RuntimeException.class);
+
+            // Assert
+            assertThat(recordedEvents()).singleElement().satisfies(event -> {
+                assertThat(event.getString("operation")).isEqualTo("delete");
+                assertThat(event.getBoolean("succeeded")).isFalse();
+            });
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package at.fhtw.webenprjbackend.metrics;
+
+import at.fhtw.webenprjbackend.dto.LoginRequest;
+import at.fhtw.webenprjbackend.entity.Post;
+import at.fhtw.webenprjbackend.entity.Role;
+import at.fhtw.webenprjbackend.entity.User;
+import at.fhtw.webenprjbackend.repository.*;
+import at.fhtw.webenprjbackend.security.jwt.JwtIssuer;
+import at.fhtw.webenprjbackend.security.ratelimit.RateLimitingFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Records real requests with JDK Flight Recorder and checks the custom events they emit.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Flight Recorder Events Integration Tests")
+class FlightRecorderEventsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostLikeRepository postLikeRepository;
+
+    @Autowired
+    private PostBookmarkRepository postBookmarkRepository;
+
+    @Autowired
+    private FollowRepository followRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtIssuer jwtIssuer;
+
+    @Autowired
+    private RateLimitingFilter rateLimitingFilter;
+
+    private Recording recording;
+    private String userToken;
+
+    @BeforeEach
+    void setUp() {
+        rateLimitingFilter.clearAttempts();
+        postBookmarkRepository.deleteAll();
+        postLikeRepository.deleteAll();
+        followRepository.deleteAll();
+        postRepository.deleteAll();
+        userRepository.deleteAll();
+
+        User user = userRepository.save(new User("jfr@example.com", "jfruser",
+                passwordEncoder.encode("Password123!"), "AT", "/avatar-placeholder.svg", Role.USER));
+        postRepository.save(new Post("StudyTips", "Recorded post", null, user));
+        userToken = jwtIssuer.issue(user.getId(), user.getUsername(), "ROLE_USER");
+
+        recording = new Recording();
+        for (String name : List.of("motivise.HttpRequest", "motivise.JwtAuthentication",
+                "motivise.FeedAssembly", "motivise.RateLimitDecision")) {
+            recording.enable(name).withoutThreshold();
+        }
+        recording.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        recording.close();
+    }
+
+    private List<RecordedEvent> stopAndRead() throws Exception {
+        recording.stop();
+        Path file = Files.createTempFile("motivise", ".jfr");
+        try {
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static List<RecordedEvent> named(List<RecordedEvent> events, String eventName) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(eventName))
+                .toList();
+    }
+
+    @Test
+    @DisplayName("should emit request, JWT and feed assembly events for GET /posts")
+    void getPosts_emitsEvents() throws Exception {
+        // Act
+        mockMvc.perform(get("/posts").header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk());
+
+        // Assert
+        List<RecordedEvent> events = stopAndRead();
+        assertThat(named(events, "motivise.HttpRequest")).singleElement().satisfies(request -> {
+            assertThat(request.getString("uri")).isEqualTo("/posts");
+            assertThat(request.getInt("status")).isEqualTo(200);
+            assertThat(request.getInt("sqlStatements")).isPositive();
+        });
+        assertThat(named(events, "motivise.JwtAuthentication")).singleElement().satisfies(jwt -> {
+            assertThat(jwt.getString("outcome")).isEqualTo("authenticated");
+            assertThat(jwt.getDuration("userLoadTime")).isPositive();
+        });
+        assertThat(named(events, "motivise.FeedAssembly")).singleElement().satisfies(feed -> {
+            assertThat(feed.getString("feed")).isEqualTo("all");
+            assertThat(feed.getInt("posts")).isEqualTo(1);
+            assertThat(feed.getDuration("queryTime")).isPositive();
+        });
+    }
+
+    @Test
+    @DisplayName("should emit a rate limit decision for each login attempt")
+    void login_emitsRateLimitDecisions() throws Exception {
+        // Act
+        for (int i = 0; i < 6; i++) {
+            mockMvc.perform(post("/auth/login")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new LoginRequest("jfr@example.com", "WrongPassword!"))));
+        }
+
+        // Assert
+        List<RecordedEvent> decisions = named(stopAndRead(), "motivise.RateLimitDecision");
+        assertThat(decisions).hasSize(6);
+        assertThat(decisions).filteredOn(event -> !event.getBoolean("allowed"))
+                .singleElement()
+                .satisfies(event -> assertThat(event.getInt("attempts")).isEqualTo(6));
+    }
+}
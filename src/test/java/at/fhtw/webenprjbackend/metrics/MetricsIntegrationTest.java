@@ -0,0 +1,157 @@
+package at.fhtw.webenprjbackend.metrics;
+
+import at.fhtw.webenprjbackend.entity.Role;
+import at.fhtw.webenprjbackend.entity.User;
+import at.fhtw.webenprjbackend.repository.*;
+import at.fhtw.webenprjbackend.security.jwt.JwtIssuer;
+import at.fhtw.webenprjbackend.service.PostService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the actuator metrics surface: per-request statement counts,
+ * service call counters and the secured Prometheus endpoint.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+@DisplayName("Metrics Integration Tests")
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostLikeRepository postLikeRepository;
+
+    @Autowired
+    private PostBookmarkRepository postBookmarkRepository;
+
+    @Autowired
+    private FollowRepository followRepository;
+
+    @Autowired
+    private JwtIssuer jwtIssuer;
+
+    private String userToken;
+    private String adminToken;
+
+    @BeforeEach
+    void setUp() {
+        postBookmarkRepository.deleteAll();
+        postLikeRepository.deleteAll();
+        followRepository.deleteAll();
+        postRepository.deleteAll();
+        userRepository.deleteAll();
+
+        User user = userRepository.save(new User(
+                "metrics.user@example.com", "metricsuser", "hash", "AT", "/avatar-placeholder.svg", Role.USER));
+        User admin = userRepository.save(new User(
+                "metrics.admin@example.com", "metricsadmin", "hash", "AT", "/avatar-placeholder.svg", Role.ADMIN));
+        userToken = jwtIssuer.issue(user.getId(), user.getUsername(), "ROLE_USER");
+        adminToken = jwtIssuer.issue(admin.getId(), admin.getUsername(), "ROLE_ADMIN");
+    }
+
+    @Nested
+    @DisplayName("Request instrumentation")
+    class RequestInstrumentationTests {
+
+        @Test
+        @DisplayName("should record SQL statements per request and per repository method under the matched uri pattern")
+        void getPosts_recordsStatementCount() throws Exception {
+            // Act
+            mockMvc.perform(get("/posts").header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isOk());
+
+            // Assert
+            DistributionSummary statements = meterRegistry.get(RequestStatementMetricsFilter.METRIC_NAME)
+                    .tag("method", "GET")
+                    .tag("uri", "/posts")
+                    .summary();
+            assertThat(statements.count()).isGreaterThanOrEqualTo(1);
+            assertThat(statements.totalAmount()).isGreaterThan(0);
+            assertThat(meterRegistry.get(RequestStatementMetricsFilter.REPOSITORY_METRIC_NAME)
+                    .tag("uri", "/posts")
+                    .tag("repository", "UserRepository.findByEmail")
+                    .counter().count()).isGreaterThanOrEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should count service calls by class and method")
+        void getPosts_countsServiceCall() throws Exception {
+            // Act
+            mockMvc.perform(get("/posts").header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isOk());
+
+            // Assert
+            double calls = meterRegistry.get("app.service.calls")
+                    .tag("class", PostService.class.getName())
+                    .tag("result", "success")
+                    .counters().stream()
+                    .mapToDouble(Counter::count)
+                    .sum();
+            assertThat(calls).isGreaterThanOrEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Actuator endpoints")
+    class ActuatorEndpointTests {
+
+        @Test
+        @DisplayName("should serve the Prometheus scrape to admins")
+        void prometheus_asAdmin_returns200() throws Exception {
+            // Arrange
+            mockMvc.perform(get("/posts").header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isOk());
+
+            // Act & Assert
+            mockMvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer " + adminToken))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                    .andExpect(content().string(containsString("http_server_requests_jdbc_statements")))
+                    .andExpect(content().string(containsString("hikaricp_connections_active")))
+                    .andExpect(content().string(containsString("ratelimit_login_buckets")));
+        }
+
+        @Test
+        @DisplayName("should return 403 for the Prometheus scrape as a regular user")
+        void prometheus_asUser_returns403() throws Exception {
+            mockMvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isForbidden());
+        }
+
+        @Test
+        @DisplayName("should serve health without authentication")
+        void health_anonymous_returns200() throws Exception {
+            mockMvc.perform(get("/actuator/health"))
+                    .andExpect(status().isOk());
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package at.fhtw.webenprjbackend.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link SqlStatementBudget} and {@link RequestStatements}.
+ */
+@DisplayName("SqlStatementBudget")
+class SqlStatementBudgetTest {
+
+    private SqlBudgetProperties properties;
+    private SimpleMeterRegistry registry;
+    private SqlStatementBudget budget;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SqlBudgetProperties();
+        properties.setMode(SqlBudgetProperties.Mode.FAIL);
+        properties.setDefaultBudget(5);
+        properties.setRepeatedStatementThreshold(3);
+        registry = new SimpleMeterRegistry();
+        budget = new SqlStatementBudget(properties, registry, testEnvironment());
+    }
+
+    private static MockEnvironment testEnvironment() {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setActiveProfiles("test");
+        return environment;
+    }
+
+    private static RequestStatements statements(String... sql) {
+        RequestStatements statements = new RequestStatements();
+        for (String statement : sql) {
+            statements.record(statement);
+        }
+        return statements;
+    }
+
+    @Nested
+    @DisplayName("check()")
+    class CheckTests {
+
+        @Test
+        @DisplayName("should accept a request within budget")
+        void withinBudget_passes() {
+            // Arrange
+            RequestStatements statements = statements("select a", "select b", "select c");
+
+            // Act & Assert
+            assertThatCode(() -> budget.check("GET", "/posts", statements)).doesNotThrowAnyException();
+        }
+
+        @Test
+        @DisplayName("should fail when the default budget is exceeded")
+        void overDefaultBudget_throws() {
+            // Arrange
+            RequestStatements statements = statements("s1", "s2", "s3", "s4", "s5", "s6");
+
+            // Act & Assert
+            assertThatThrownBy(() -> budget.check("GET", "/posts", statements))
+                    .isInstanceOf(SqlBudgetExceededException.class)
+                    .hasMessageContaining("GET /posts")
+                    .hasMessageContaining("6 statements exceed the budget of 5");
+            assertThat(registry.get("app.sql.budget.violations").tag("kind", "budget").counter().count())
+                    .isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("should use the endpoint's own budget when configured")
+        void endpointBudget_overridesDefault() {
+            // Arrange
+            properties.setEndpoints(Map.of("GET /posts/{id}", 2));
+            RequestStatements statements = statements("s1", "s2", "s3");
+
+            // Act & Assert
+            assertThatThrownBy(() -> budget.check("GET", "/posts/{id}", statements))
+                    .hasMessageContaining("budget of 2");
+            assertThatCode(() -> budget.check("GET", "/posts", statements)).doesNotThrowAnyException();
+        }
+
+        @Test
+        @DisplayName("should report the same statement repeated past the threshold as N+1")
+        void repeatedStatement_throws() {
+            // Arrange
+            RequestStatements statements = statements("select u where id=?", "select u where id=?", "select u where id=?");
+
+            // Act & Assert
+            assertThatThrownBy(() -> budget.check("GET", "/users/{id}/followers", statements))
+                    .hasMessageContaining("possible N+1, issued 3 times: select u where id=?");
+        }
+
+        @Test
+        @DisplayName("should only count violations in log mode")
+        void logMode_doesNotThrow() {
+            // Arrange
+            properties.setMode(SqlBudgetProperties.Mode.LOG);
+            RequestStatements statements = statements("s1", "s2", "s3", "s4", "s5", "s6");
+
+            // Act & Assert
+            assertThatCode(() -> budget.check("GET", "/posts", statements)).doesNotThrowAnyException();
+            assertThat(registry.get("app.sql.budget.violations").counter().count()).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("should skip all checks when off")
+        void offMode_skipsChecks() {
+            // Arrange
+            properties.setMode(SqlBudgetProperties.Mode.OFF);
+            RequestStatements statements = statements("s1", "s2", "s3", "s4", "s5", "s6");
+
+            // Act & Assert
+            assertThatCode(() -> budget.check("GET", "/posts", statements)).doesNotThrowAnyException();
+            assertThat(registry.find("app.sql.budget.violations").counter()).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("configuration")
+    class ConfigurationTests {
+
+        @Test
+        @DisplayName("should bind an endpoint budget whose key escapes the space")
+        void endpointKey_escapedSpace_binds() throws IOException {
+            // Arrange
+            Properties file = new Properties();
+            file.load(new StringReader("app.sql-budget.endpoints[GET\\ /posts/{id}]=2\n"));
+
+            // Act
+            SqlBudgetProperties bound = new Binder(new MapConfigurationPropertySource(file))
+                    .bind("app.sql-budget", SqlBudgetProperties.class)
+                    .get();
+            SqlStatementBudget configured = new SqlStatementBudget(bound, registry, testEnvironment());
+
+            // Assert
+            assertThat(bound.getEndpoints()).containsEntry("GET /posts/{id}", 2);
+            assertThat(configured.budgetFor("GET /posts/{id}")).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("should refuse fail mode without the test profile")
+        void failMode_withoutTestProfile_refused() {
+            // Act & Assert
+            assertThatThrownBy(() -> new SqlStatementBudget(properties, registry, new MockEnvironment()))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("test profile");
+        }
+
+        @Test
+        @DisplayName("should allow log mode without the test profile")
+        void logMode_withoutTestProfile_allowed() {
+            // Arrange
+            properties.setMode(SqlBudgetProperties.Mode.LOG);
+
+            // Act & Assert
+            assertThatCode(() -> new SqlStatementBudget(properties, registry, new MockEnvironment()))
+                    .doesNotThrowAnyException();
+        }
+    }
+
+    @Nested
+    @DisplayName("RequestStatements")
+    class RequestStatementsTests {
+
+        @Test
+        @DisplayName("should attribute statements to the outermost repository method")
+        void repositoryMethods_attributeOutermost() {
+            // Arrange
+            RequestStatements statements = new RequestStatements();
+
+            // Act
+            statements.record("lookup");
+            String outer = statements.enterRepositoryMethod("PostRepository.findAll");
+            statements.record("page");
+            String inner = statements.enterRepositoryMethod("PostRepository.count");
+            statements.record("count");
+            statements.exitRepositoryMethod(inner);
+            statements.exitRepositoryMethod(outer);
+            statements.record("lazy");
+
+            // Assert
+            assertThat(statements.total()).isEqualTo(4);
+            assertThat(statements.byRepositoryMethod()).containsExactly(
+                    Map.entry(RequestStatements.UNATTRIBUTED, 2),
+                    Map.entry("PostRepository.findAll", 2));
+        }
+    }
+}
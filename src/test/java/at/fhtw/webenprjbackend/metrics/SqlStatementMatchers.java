@@ -0,0 +1,64 @@
+package at.fhtw.webenprjbackend.metrics;
+
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.Map;
+
+/**
+ * MockMvc result matchers for the SQL statements a request issued, e.g.
+ * <pre>
+ * mockMvc.perform(get("/posts"))
+ *         .andExpect(status().isOk())
+ *         .andExpect(SqlStatementMatchers.atMost(6))
+ *         .andExpect(SqlStatementMatchers.noRepeatedStatements(3));
+ * </pre>
+ * Works in any {@code @SpringBootTest @AutoConfigureMockMvc} test, since the counting
+ * filter is part of the application context.
+ */
+public final class SqlStatementMatchers {
+
+    private SqlStatementMatchers() {
+    }
+
+    /** Fails when the request issued more than {@code max} statements. */
+    public static ResultMatcher atMost(int max) {
+        return result -> {
+            RequestStatements statements = statements(result);
+            if (statements.total() > max) {
+                throw new AssertionError("Expected at most " + max + " SQL statements but was "
+                        + statements.total() + ", by repository method: " + statements.byRepositoryMethod());
+            }
+        };
+    }
+
+    /** Fails when any single SQL string was issued {@code threshold} times or more (N+1). */
+    public static ResultMatcher noRepeatedStatements(int threshold) {
+        return result -> {
+            Map<String, Integer> repeated = statements(result).repeatedStatements(threshold);
+            if (!repeated.isEmpty()) {
+                throw new AssertionError("Expected no SQL issued " + threshold + " times or more but found: " + repeated);
+            }
+        };
+    }
+
+    /** Fails when statements attributed to {@code repositoryMethod} (e.g. {@code "PostRepository.findById"}) exceed {@code max}. */
+    public static ResultMatcher atMost(String repositoryMethod, int max) {
+        return result -> {
+            RequestStatements statements = statements(result);
+            int count = statements.byRepositoryMethod().getOrDefault(repositoryMethod, 0);
+            if (count > max) {
+                throw new AssertionError("Expected at most " + max + " SQL statements from " + repositoryMethod
+                        + " but was " + count + ", by repository method: " + statements.byRepositoryMethod());
+            }
+        };
+    }
+
+    public static RequestStatements statements(MvcResult result) {
+        Object statements = result.getRequest().getAttribute(RequestStatements.ATTRIBUTE);
+        if (statements == null) {
+            throw new AssertionError("No SQL statement counts recorded for this request");
+        }
+        return (RequestStatements) statements;
+    }
+}
@@ -0,0 +1,266 @@
+package at.fhtw.webenprjbackend.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query-plan regression tests for the hot {@link PostRepository} queries.
+ *
+ * <p>Runs the Flyway migrations against a real MySQL, seeds enough rows for the
+ * optimizer to prefer indexes, and checks EXPLAIN for each query: no full table
+ * scan, no filesort, and the expected index. The SQL mirrors what Hibernate
+ * generates for the repository methods named in each test.
+ *
+ * <p>Skipped when Docker is not available (e.g. quick mode).
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("PostRepository query plans (MySQL)")
+class PostQueryPlanTest {
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    private static final int USERS = 200;
+    private static final int POSTS = 20_000;
+    private static final String[] SUBJECTS = {"java", "spring", "webengineering", "math", "databases", "networks"};
+
+    private static final List<byte[]> userIds = new ArrayList<>();
+    private static final List<byte[]> topLevelPostIds = new ArrayList<>();
+
+    @BeforeAll
+    static void migrateAndSeed() throws SQLException {
+        Flyway.configure()
+                .dataSource(MYSQL.getJdbcUrl(), MYSQL.getUsername(), MYSQL.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        try (Connection connection = connect()) {
+            connection.setAutoCommit(false);
+            seedUsers(connection);
+            seedPosts(connection);
+            connection.commit();
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE TABLE users, posts");
+            }
+        }
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(
+                MYSQL.getJdbcUrl() + "?rewriteBatchedStatements=true", MYSQL.getUsername(), MYSQL.getPassword());
+    }
+
+    private static byte[] bytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    private static void seedUsers(Connection connection) throws SQLException {
+        String sql = "INSERT INTO users (id, email, username, password, country_code, profile_image_url, role) "
+                + "VALUES (?, ?, ?, 'x', 'AT', '/avatar-placeholder.svg', 'USER')";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < USERS; i++) {
+                byte[] id = bytes(UUID.randomUUID());
+                userIds.add(id);
+                statement.setBytes(1, id);
+                statement.setString(2, "plan" + i + "@example.com");
+                statement.setString(3, "plan_user_" + i);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    /**
+     * Half of the rows are comments, one in ten is soft-deleted, authors follow a skewed distribution.
+     */
+    private static void seedPosts(Connection connection) throws SQLException {
+        String sql = "INSERT INTO posts (id, subject, content, user_id, created_at, parent_id, active) "
+                + "VALUES (?, ?, 'content', ?, ?, ?, ?)";
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.now().minusDays(365);
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < POSTS; i++) {
+                byte[] id = bytes(UUID.randomUUID());
+                boolean comment = !topLevelPostIds.isEmpty() && random.nextBoolean();
+                statement.setBytes(1, id);
+                statement.setString(2, SUBJECTS[random.nextInt(SUBJECTS.length)]);
+                statement.setBytes(3, userIds.get((int) (USERS * Math.pow(random.nextDouble(), 2))));
+                statement.setTimestamp(4, Timestamp.valueOf(start.plusMinutes(i * 26L)));
+                statement.setBytes(5, comment ? topLevelPostIds.get(random.nextInt(topLevelPostIds.size())) : null);
+                statement.setBoolean(6, random.nextInt(10) != 0);
+                statement.addBatch();
+                if (!comment) {
+                    topLevelPostIds.add(id);
+                }
+            }
+            statement.executeBatch();
+        }
+    }
+
+    /**
+     * One EXPLAIN output row.
+     */
+    private record PlanRow(String table, String type, String key, String extra) {
+    }
+
+    private static List<PlanRow> explain(String sql, Object... params) throws SQLException {
+        try (Connection connection = connect();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 0; i < params.length; i++) {
+                statement.setObject(i + 1, params[i]);
+            }
+            List<PlanRow> rows = new ArrayList<>();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    rows.add(new PlanRow(
+                            resultSet.getString("table"),
+                            resultSet.getString("type"),
+                            resultSet.getString("key"),
+                            String.valueOf(resultSet.getString("Extra"))));
+                }
+            }
+            return rows;
+        }
+    }
+
+    private static void assertIndexedWithoutFilesort(List<PlanRow> plan, String expectedIndex) {
+        assertIndexed(plan, expectedIndex);
+        assertThat(plan).allSatisfy(row -> assertThat(row.extra()).doesNotContain("Using filesort"));
+    }
+
+    private static void assertIndexed(List<PlanRow> plan, String expectedIndex) {
+        assertThat(plan).hasSize(1);
+        PlanRow row = plan.get(0);
+        assertThat(row.type()).as("access type for %s", row).isNotEqualTo("ALL");
+        assertThat(row.key()).as("index for %s", row).isEqualTo(expectedIndex);
+    }
+
+    @Nested
+    @DisplayName("Feed queries")
+    class FeedQueries {
+
+        @Test
+        @DisplayName("findByParentIsNullAndActiveTrueOrderByCreatedAtDesc reads the feed in index order")
+        void mainFeed() throws SQLException {
+            List<PlanRow> plan = explain("SELECT * FROM posts p WHERE p.parent_id IS NULL AND p.active = 1 "
+                    + "ORDER BY p.created_at DESC LIMIT 20");
+
+            assertIndexedWithoutFilesort(plan, "idx_posts_parent_active_created");
+        }
+
+        @Test
+        @DisplayName("findByParentIsNullAndActiveTrueAndUserIdInOrderByCreatedAtDesc uses the author index")
+        void followingFeed() throws SQLException {
+            // An IN list is several index ranges; MySQL merges them with a filesort bounded by the
+            // followed users' posts, so only the index choice and the absence of a full scan are checked.
+            List<PlanRow> plan = explain("SELECT * FROM posts p WHERE p.parent_id IS NULL AND p.active = 1 "
+                            + "AND p.user_id IN (?, ?, ?) ORDER BY p.created_at DESC LIMIT 20",
+                    userIds.get(USERS - 1), userIds.get(USERS - 2), userIds.get(USERS - 3));
+
+            assertIndexed(plan, "idx_posts_user_parent_active_created");
+        }
+
+        @Test
+        @DisplayName("findByParentIsNullAndActiveTrueAndUserIdOrderByCreatedAtDesc reads in index order")
+        void authorPosts() throws SQLException {
+            List<PlanRow> plan = explain("SELECT * FROM posts p WHERE p.parent_id IS NULL AND p.active = 1 "
+                    + "AND p.user_id = ? ORDER BY p.created_at DESC LIMIT 20", userIds.get(0));
+
+            assertIndexedWithoutFilesort(plan, "idx_posts_user_parent_active_created");
+        }
+
+        @Test
+        @DisplayName("findByUserIdAndActiveTrueOrderByCreatedAtDesc reads in index order")
+        void userActivity() throws SQLException {
+            List<PlanRow> plan = explain("SELECT * FROM posts p WHERE p.user_id = ? AND p.active = 1 "
+                    + "ORDER BY p.created_at DESC LIMIT 20", userIds.get(0));
+
+            assertIndexedWithoutFilesort(plan, "idx_posts_user_active_created");
+        }
+
+        @Test
+        @DisplayName("findByParentIsNullAndActiveTrueAndSubjectIgnoreCase uses the functional subject index")
+        void subjectSearch() throws SQLException {
+            List<PlanRow> plan = explain("SELECT * FROM posts p WHERE p.parent_id IS NULL AND p.active = 1 "
+                    + "AND UPPER(p.subject) = UPPER(?) ORDER BY p.created_at DESC LIMIT 20", "Java");
+
+            assertIndexedWithoutFilesort(plan, "idx_posts_parent_active_subject_upper");
+        }
+    }
+
+    @Nested
+    @DisplayName("Comment queries")
+    class CommentQueries {
+
+        @Test
+        @DisplayName("findByParentIdAndActiveTrueOrderByCreatedAtAsc reads in index order")
+        void commentsOfPost() throws SQLException {
+            List<PlanRow> plan = explain("SELECT * FROM posts p WHERE p.parent_id = ? AND p.active = 1 "
+                    + "ORDER BY p.created_at ASC LIMIT 20", topLevelPostIds.get(0));
+
+            assertIndexedWithoutFilesort(plan, "idx_posts_parent_active_created");
+        }
+
+        @Test
+        @DisplayName("countCommentsByParentIds is index-only")
+        void commentCounts() throws SQLException {
+            List<PlanRow> plan = explain("SELECT p.parent_id, COUNT(p.id) FROM posts p "
+                            + "WHERE p.parent_id IN (?, ?, ?) AND p.active = 1 GROUP BY p.parent_id",
+                    topLevelPostIds.get(0), topLevelPostIds.get(1), topLevelPostIds.get(2));
+
+            assertIndexedWithoutFilesort(plan, "idx_posts_parent_active_created");
+            assertThat(plan.get(0).extra()).contains("Using index");
+        }
+    }
+
+    @Nested
+    @DisplayName("Subject and count queries")
+    class SubjectAndCountQueries {
+
+        @Test
+        @DisplayName("findDistinctSubjects is index-only without filesort or temporary table")
+        void distinctSubjects() throws SQLException {
+            List<PlanRow> plan = explain("SELECT DISTINCT p.subject FROM posts p "
+                    + "WHERE p.parent_id IS NULL AND p.active = 1 ORDER BY p.subject");
+
+            assertIndexedWithoutFilesort(plan, "idx_posts_parent_active_subject");
+            assertThat(plan.get(0).extra()).contains("Using index").doesNotContain("Using temporary");
+        }
+
+        @Test
+        @DisplayName("countByParentIsNullAndActiveTrue is index-only")
+        void activePostCount() throws SQLException {
+            List<PlanRow> plan = explain("SELECT COUNT(p.id) FROM posts p WHERE p.parent_id IS NULL AND p.active = 1");
+
+            assertThat(plan).hasSize(1);
+            assertThat(plan.get(0).type()).isNotEqualTo("ALL");
+            assertThat(plan.get(0).extra()).contains("Using index");
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package at.fhtw.webenprjbackend.security.password;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link BoundedPasswordEncoder} and {@link BCryptCalibrator}.
+ */
+@DisplayName("BoundedPasswordEncoder")
+class BoundedPasswordEncoderTest {
+
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        if (encoder != null) {
+            encoder.close();
+        }
+    }
+
+    private PasswordHashingProperties properties(int strength, int workers, int queueCapacity) {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setStrength(strength);
+        properties.setWorkers(workers);
+        properties.setQueueCapacity(queueCapacity);
+        return properties;
+    }
+
+    @Nested
+    @DisplayName("encode() and matches()")
+    class EncodeMatchesTests {
+
+        @Test
+        @DisplayName("should hash with the configured cost and verify on the pool")
+        void encode_thenMatches() {
+            // Arrange
+            encoder = new BoundedPasswordEncoder(properties(4, 1, 4));
+
+            // Act
+            String hash = encoder.encode("Password123!");
+
+            // Assert
+            assertThat(hash).startsWith("$2a$04$");
+            assertThat(encoder.matches("Password123!", hash)).isTrue();
+            assertThat(encoder.matches("wrong", hash)).isFalse();
+        }
+
+        @Test
+        @DisplayName("should reject work when workers and queue are full")
+        void saturated_throwsException() throws InterruptedException {
+            // Arrange - one worker, one queue slot, slow hashes
+            encoder = new BoundedPasswordEncoder(properties(12, 1, 1));
+            List<Throwable> failures = new CopyOnWriteArrayList<>();
+            Thread[] threads = new Thread[4];
+
+            // Act
+            for (int i = 0; i < threads.length; i++) {
+                threads[i] = Thread.ofVirtual().start(() -> {
+                    try {
+                        encoder.encode("Password123!");
+                    } catch (Throwable t) {
+                        failures.add(t);
+                    }
+                });
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            // Assert
+            assertThat(failures).isNotEmpty();
+            assertThat(failures).allMatch(PasswordHashingSaturatedException.class::isInstance);
+        }
+    }
+
+    @Nested
+    @DisplayName("upgradeEncoding()")
+    class UpgradeEncodingTests {
+
+        @Test
+        @DisplayName("should request upgrade for hashes below the configured cost")
+        void weakerHash_needsUpgrade() {
+            // Arrange
+            encoder = new BoundedPasswordEncoder(properties(5, 1, 1));
+            String weak = new BCryptPasswordEncoder(4).encode("Password123!");
+            String current = new BCryptPasswordEncoder(5).encode("Password123!");
+
+            // Act & Assert
+            assertThat(encoder.upgradeEncoding(weak)).isTrue();
+            assertThat(encoder.upgradeEncoding(current)).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("defaultWorkers()")
+    class DefaultWorkersTests {
+
+        @Test
+        @DisplayName("should leave CPUs free for requests on multi-core machines")
+        void defaultWorkers_belowCpuCount() {
+            assertThat(BoundedPasswordEncoder.defaultWorkers(8)).isEqualTo(4).isLessThan(8);
+            assertThat(BoundedPasswordEncoder.defaultWorkers(2)).isEqualTo(1).isLessThan(2);
+        }
+
+        @Test
+        @DisplayName("should keep at least one worker")
+        void defaultWorkers_atLeastOne() {
+            assertThat(BoundedPasswordEncoder.defaultWorkers(1)).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("BCryptCalibrator.chooseStrength()")
+    class CalibrationTests {
+
+        @Test
+        @DisplayName("should pick the highest cost within the target")
+        void chooseStrength_withinTarget() {
+            // 60 ms at cost 10 -> 120 ms at 11 -> 240 ms at 12 -> 480 ms at 13
+            assertThat(BCryptCalibrator.chooseStrength(60, 250, 10, 14)).isEqualTo(12);
+        }
+
+        @Test
+        @DisplayName("should stay within min and max bounds")
+        void chooseStrength_bounded() {
+            assertThat(BCryptCalibrator.chooseStrength(500, 250, 10, 14)).isEqualTo(10);
+            assertThat(BCryptCalibrator.chooseStrength(1, 250, 10, 14)).isEqualTo(14);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package at.fhtw.webenprjbackend.security.permission;
+
+import at.fhtw.webenprjbackend.dto.ResourceOwner;
+import at.fhtw.webenprjbackend.entity.Media;
+import at.fhtw.webenprjbackend.entity.Post;
+import at.fhtw.webenprjbackend.entity.User;
+import at.fhtw.webenprjbackend.repository.MediaRepository;
+import at.fhtw.webenprjbackend.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link ResourceOwnerResolver}.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ResourceOwnerResolver")
+class ResourceOwnerResolverTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private MediaRepository mediaRepository;
+
+    private ResourceOwnerResolver resolver;
+    private UUID ownerId;
+    private UUID postId;
+
+    @BeforeEach
+    void setUp() {
+        resolver = new ResourceOwnerResolver(postRepository, mediaRepository, 100);
+        ownerId = UUID.randomUUID();
+        postId = UUID.randomUUID();
+    }
+
+    @Nested
+    @DisplayName("ownerOf()")
+    class OwnerOfTests {
+
+        @Test
+        @DisplayName("should query the owner once and serve repeats from the cache")
+        void ownerOf_repeated_queriesOnce() {
+            // Arrange
+            when(postRepository.findOwnerById(postId)).thenReturn(Optional.of(new ResourceOwner(ownerId)));
+
+            // Act
+            resolver.ownerOf(Post.class, postId);
+            ResourceOwner owner = resolver.ownerOf(Post.class, postId);
+
+            // Assert
+            assertThat(owner.ownerId()).isEqualTo(ownerId);
+            verify(postRepository, times(1)).findOwnerById(postId);
+        }
+
+        @Test
+        @DisplayName("should keep post and media ids apart")
+        void ownerOf_separatesTypes() {
+            // Arrange
+            UUID uploader = UUID.randomUUID();
+            when(postRepository.findOwnerById(postId)).thenReturn(Optional.of(new ResourceOwner(ownerId)));
+            when(mediaRepository.findOwnerById(postId)).thenReturn(Optional.of(new ResourceOwner(uploader)));
+
+            // Act & Assert
+            assertThat(resolver.ownerOf(Post.class, postId).ownerId()).isEqualTo(ownerId);
+            assertThat(resolver.ownerOf(Media.class, postId).ownerId()).isEqualTo(uploader);
+        }
+
+        @Test
+        @DisplayName("should throw 404 without caching the miss")
+        void ownerOf_missing_throws404() {
+            // Arrange
+            when(postRepository.findOwnerById(postId)).thenReturn(Optional.empty());
+
+            // Act & Assert
+            assertThatThrownBy(() -> resolver.ownerOf(Post.class, postId))
+                    .isInstanceOf(ResponseStatusException.class)
+                    .satisfies(e -> assertThat(((ResponseStatusException) e).getStatusCode())
+                            .isEqualTo(HttpStatus.NOT_FOUND))
+                    .hasMessageContaining("Post not found");
+            assertThatThrownBy(() -> resolver.ownerOf(Post.class, postId))
+                    .isInstanceOf(ResponseStatusException.class);
+            verify(postRepository, times(2)).findOwnerById(postId);
+        }
+
+        @Test
+        @DisplayName("should reject types without an owner lookup")
+        void ownerOf_unknownType_throws() {
+            // Act & Assert
+            assertThatThrownBy(() -> resolver.ownerOf(User.class, ownerId))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("onResourceDeleted()")
+    class OnResourceDeletedTests {
+
+        @Test
+        @DisplayName("should drop the deleted resource")
+        void onResourceDeleted_resource_evicts() {
+            // Arrange
+            when(postRepository.findOwnerById(postId))
+                    .thenReturn(Optional.of(new ResourceOwner(ownerId)), Optional.empty());
+            resolver.ownerOf(Post.class, postId);
+
+            // Act
+            resolver.onResourceDeleted(new ResourceDeleted(Post.class, postId));
+
+            // Assert
+            assertThatThrownBy(() -> resolver.ownerOf(Post.class, postId))
+                    .isInstanceOf(ResponseStatusException.class);
+        }
+
+        @Test
+        @DisplayName("should drop everything owned by a deleted user")
+        void onResourceDeleted_user_evictsOwnedResources() {
+            // Arrange
+            UUID mediaId = UUID.randomUUID();
+            UUID otherPostId = UUID.randomUUID();
+            when(postRepository.findOwnerById(postId)).thenReturn(Optional.of(new ResourceOwner(ownerId)));
+            when(postRepository.findOwnerById(otherPostId))
+                    .thenReturn(Optional.of(new ResourceOwner(UUID.randomUUID())));
+            when(mediaRepository.findOwnerById(mediaId)).thenReturn(Optional.of(new ResourceOwner(ownerId)));
+            resolver.ownerOf(Post.class, postId);
+            resolver.ownerOf(Post.class, otherPostId);
+            resolver.ownerOf(Media.class, mediaId);
+
+            // Act
+            resolver.onResourceDeleted(new ResourceDeleted(User.class, ownerId));
+            resolver.ownerOf(Post.class, postId);
+            resolver.ownerOf(Post.class, otherPostId);
+            resolver.ownerOf(Media.class, mediaId);
+
+            // Assert
+            verify(postRepository, times(2)).findOwnerById(postId);
+            verify(postRepository, times(1)).findOwnerById(otherPostId);
+            verify(mediaRepository, times(2)).findOwnerById(mediaId);
+        }
+    }
+}
@@ -68,6 +68,21 @@ class RateLimitEntryTest {
             // Assert
             assertThat(entry.getAttempts()).isEqualTo(4);
         }
+
+        @Test
+        @DisplayName("should return the count produced by this increment")
+        void increment_returnsNewCount() {
+            // Arrange
+            RateLimitEntry entry = new RateLimitEntry();
+
+            // Act
+            int first = entry.increment();
+            int second = entry.increment();
+
+            // Assert
+            assertThat(first).isEqualTo(2);
+            assertThat(second).isEqualTo(3);
+        }
     }
 
     @Nested
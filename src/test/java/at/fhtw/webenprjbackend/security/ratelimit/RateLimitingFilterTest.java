@@ -1,5 +1,6 @@
 package at.fhtw.webenprjbackend.security.ratelimit;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -177,6 +178,36 @@ class RateLimitingFilterTest {
             assertThat(jsonResponse).contains("\"error\":\"Too Many Requests\"");
             assertThat(jsonResponse).contains("Too many login attempts");
         }
+
+        @Test
+        @DisplayName("should count concurrent attempts from the same IP exactly")
+        void concurrentAttempts_countedExactly() throws Exception {
+            // Arrange
+            when(request.getMethod()).thenReturn("POST");
+            when(request.getRequestURI()).thenReturn("/auth/login");
+            when(request.getRemoteAddr()).thenReturn("192.168.1.7");
+            when(response.getWriter()).thenReturn(new PrintWriter(new StringWriter()));
+
+            int threadCount = 50;
+            Thread[] threads = new Thread[threadCount];
+
+            // Act - virtual threads, matching the server's virtual-thread mode
+            for (int i = 0; i < threadCount; i++) {
+                threads[i] = Thread.ofVirtual().start(() -> {
+                    try {
+                        rateLimitingFilter.doFilterInternal(request, response, filterChain);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            // Assert - exactly the first 5 attempts pass
+            verify(filterChain, times(5)).doFilter(request, response);
+        }
     }
 
     @Nested
@@ -210,4 +241,31 @@ class RateLimitingFilterTest {
             verify(filterChain, times(6)).doFilter(request, response);
         }
     }
+
+    @Nested
+    @DisplayName("bindTo()")
+    class MetricsTests {
+
+        @Test
+        @DisplayName("should publish tracked buckets and rejected attempts")
+        void bindTo_publishesBucketsAndRejections() throws Exception {
+            // Arrange
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            rateLimitingFilter.bindTo(registry);
+            when(request.getMethod()).thenReturn("POST");
+            when(request.getRequestURI()).thenReturn("/auth/login");
+            when(request.getRemoteAddr()).thenReturn("192.168.1.8", "192.168.1.8", "192.168.1.8",
+                    "192.168.1.8", "192.168.1.8", "192.168.1.8", "192.168.1.8", "192.168.1.9");
+            when(response.getWriter()).thenReturn(new PrintWriter(new StringWriter()));
+
+            // Act - 7 attempts from one IP (2 over the limit), 1 from another
+            for (int i = 0; i < 8; i++) {
+                rateLimitingFilter.doFilterInternal(request, response, filterChain);
+            }
+
+            // Assert
+            assertThat(registry.get("ratelimit.login.buckets").gauge().value()).isEqualTo(2.0);
+            assertThat(registry.get("ratelimit.login.rejected").functionCounter().count()).isEqualTo(2.0);
+        }
+    }
 }
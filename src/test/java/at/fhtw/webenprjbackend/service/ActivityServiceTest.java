@@ -0,0 +1,295 @@
+package at.fhtw.webenprjbackend.service;
+
+import at.fhtw.webenprjbackend.dto.UserActivityResponse;
+import at.fhtw.webenprjbackend.entity.UserActivity;
+import at.fhtw.webenprjbackend.repository.PostRepository;
+import at.fhtw.webenprjbackend.repository.UserActivityRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link ActivityService}.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ActivityService")
+class ActivityServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 10);
+
+    @Mock
+    private UserActivityRepository userActivityRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private EntityManager entityManager;
+
+    @Mock
+    private Query insertIfAbsent;
+
+    private ActivityService activityService;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        activityService = new ActivityService(userActivityRepository, postRepository, entityManager);
+    }
+
+    private UserActivity activityOn(LocalDate... days) {
+        UserActivity activity = new UserActivity(userId);
+        for (LocalDate day : days) {
+            ActivityService.markDay(activity, day);
+        }
+        return activity;
+    }
+
+    @Nested
+    @DisplayName("markDay()")
+    class MarkDayTests {
+
+        @Test
+        @DisplayName("should extend the streak on consecutive days and restart it after a gap")
+        void markDay_consecutiveAndGap() {
+            // Arrange & Act
+            UserActivity activity = activityOn(TODAY.minusDays(5), TODAY.minusDays(4), TODAY.minusDays(3),
+                    TODAY.minusDays(1), TODAY);
+
+            // Assert
+            assertThat(activity.getCurrentStreak()).isEqualTo(2);
+            assertThat(activity.getLongestStreak()).isEqualTo(3);
+            assertThat(activity.getLastActiveDay()).isEqualTo(TODAY);
+        }
+
+        @Test
+        @DisplayName("should report no change for a day that is already marked")
+        void markDay_sameDay_unchanged() {
+            // Arrange
+            UserActivity activity = activityOn(TODAY);
+
+            // Act & Assert
+            assertThat(ActivityService.markDay(activity, TODAY)).isFalse();
+            assertThat(activity.getCurrentStreak()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should fill a past gap and join the streaks around it")
+        void markDay_pastDay_recomputesStreaks() {
+            // Arrange
+            UserActivity activity = activityOn(TODAY.minusDays(2), TODAY);
+
+            // Act
+            ActivityService.markDay(activity, TODAY.minusDays(1));
+
+            // Assert
+            assertThat(activity.getCurrentStreak()).isEqualTo(3);
+            assertThat(activity.getLongestStreak()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("should keep existing days when a day before the first one is added")
+        void markDay_beforeFirstDay_prependsBytes() {
+            // Arrange
+            UserActivity activity = activityOn(TODAY, TODAY.plusDays(20));
+
+            // Act
+            ActivityService.markDay(activity, TODAY.minusDays(10));
+
+            // Assert
+            assertThat(activity.getFirstDay()).isBeforeOrEqualTo(TODAY.minusDays(10));
+            assertThat(ActivityService.activeDays(activity, TODAY.minusDays(30), TODAY.plusDays(30)))
+                    .containsExactly(TODAY.minusDays(10), TODAY, TODAY.plusDays(20));
+            assertThat(activity.getLastActiveDay()).isEqualTo(TODAY.plusDays(20));
+        }
+
+        @Test
+        @DisplayName("should drop the oldest days once the bitmap is full")
+        void markDay_full_dropsOldestDays() {
+            // Arrange
+            UserActivity activity = activityOn(TODAY);
+            LocalDate farFuture = TODAY.plusDays(UserActivity.MAX_BYTES * 8L + 5);
+
+            // Act
+            ActivityService.markDay(activity, farFuture);
+
+            // Assert
+            assertThat(activity.getDays()).hasSize(UserActivity.MAX_BYTES);
+            assertThat(ActivityService.activeDays(activity, TODAY, farFuture)).containsExactly(farFuture);
+            assertThat(activity.getLongestStreak()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("recordPost()")
+    class RecordPostTests {
+
+        @BeforeEach
+        void stubInsert() {
+            SessionFactoryImplementor sessionFactory = mock(SessionFactoryImplementor.class, RETURNS_DEEP_STUBS);
+            when(sessionFactory.getJdbcServices().getDialect()).thenReturn(new H2Dialect());
+            when(entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class))
+                    .thenReturn(sessionFactory);
+            when(entityManager.createNativeQuery(anyString())).thenReturn(insertIfAbsent);
+        }
+
+        @Test
+        @DisplayName("should create the row on the first post with an insert-if-absent")
+        void recordPost_firstPost_insertsRow() {
+            // Arrange - the insert created the row, so the locked read finds the day already set
+            when(userActivityRepository.findForUpdate(userId)).thenReturn(Optional.of(activityOn(TODAY)));
+
+            // Act
+            activityService.recordPost(userId, TODAY);
+
+            // Assert
+            verify(entityManager).createNativeQuery(contains("MERGE INTO user_activity"));
+            verify(insertIfAbsent).setParameter("userId", userId);
+            verify(insertIfAbsent).setParameter("currentStreak", 1);
+            verify(insertIfAbsent).executeUpdate();
+            verify(userActivityRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("should update the existing row when the insert was a no-op")
+        void recordPost_existingRow_savesUpdate() {
+            // Arrange
+            when(userActivityRepository.findForUpdate(userId))
+                    .thenReturn(Optional.of(activityOn(TODAY.minusDays(1))));
+
+            // Act
+            activityService.recordPost(userId, TODAY);
+
+            // Assert
+            ArgumentCaptor<UserActivity> saved = ArgumentCaptor.forClass(UserActivity.class);
+            verify(userActivityRepository).save(saved.capture());
+            assertThat(saved.getValue().getCurrentStreak()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("should not write when the day is already recorded")
+        void recordPost_sameDay_noWrite() {
+            // Arrange
+            when(userActivityRepository.findForUpdate(userId)).thenReturn(Optional.of(activityOn(TODAY)));
+
+            // Act
+            activityService.recordPost(userId, TODAY);
+
+            // Assert
+            verify(userActivityRepository, never()).save(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("getActivity()")
+    class GetActivityTests {
+
+        @Test
+        @DisplayName("should report today's post and the running streak")
+        void getActivity_postedToday() {
+            // Arrange
+            when(userActivityRepository.findById(userId))
+                    .thenReturn(Optional.of(activityOn(TODAY.minusDays(1), TODAY)));
+
+            // Act
+            UserActivityResponse result = activityService.getActivity(userId, TODAY);
+
+            // Assert
+            assertThat(result).isEqualTo(new UserActivityResponse(true, 2, 2, TODAY));
+        }
+
+        @Test
+        @DisplayName("should keep yesterday's streak alive but not count older ones")
+        void getActivity_streakExpiry() {
+            // Arrange
+            when(userActivityRepository.findById(userId))
+                    .thenReturn(Optional.of(activityOn(TODAY.minusDays(2), TODAY.minusDays(1))));
+
+            // Act
+            UserActivityResponse today = activityService.getActivity(userId, TODAY);
+            UserActivityResponse tomorrow = activityService.getActivity(userId, TODAY.plusDays(1));
+
+            // Assert
+            assertThat(today.hasPostedToday()).isFalse();
+            assertThat(today.currentStreak()).isEqualTo(2);
+            assertThat(tomorrow.currentStreak()).isZero();
+            assertThat(tomorrow.longestStreak()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("should return an empty status for users who never posted")
+        void getActivity_noRow_returnsEmpty() {
+            // Arrange
+            when(userActivityRepository.findById(userId)).thenReturn(Optional.empty());
+
+            // Act & Assert
+            assertThat(activityService.getActivity(userId, TODAY))
+                    .isEqualTo(new UserActivityResponse(false, 0, 0, null));
+        }
+    }
+
+    @Nested
+    @DisplayName("backfill()")
+    class BackfillTests {
+
+        @Test
+        @DisplayName("should rebuild one row per user from the posting days")
+        void backfill_groupsRowsByUser() {
+            // Arrange
+            UUID otherId = UUID.randomUUID();
+            when(postRepository.streamPostingDays()).thenReturn(Stream.of(
+                    row(userId, TODAY.minusDays(1)), row(userId, TODAY), row(otherId, TODAY.minusDays(3))));
+
+            // Act
+            int users = activityService.backfill();
+
+            // Assert
+            assertThat(users).isEqualTo(2);
+            verify(userActivityRepository).deleteAllInBatch();
+            ArgumentCaptor<UserActivity> persisted = ArgumentCaptor.forClass(UserActivity.class);
+            verify(entityManager, times(2)).persist(persisted.capture());
+            List<UserActivity> rows = persisted.getAllValues();
+            assertThat(rows.get(0).getUserId()).isEqualTo(userId);
+            assertThat(rows.get(0).getCurrentStreak()).isEqualTo(2);
+            assertThat(rows.get(1).getUserId()).isEqualTo(otherId);
+            assertThat(rows.get(1).getLastActiveDay()).isEqualTo(TODAY.minusDays(3));
+        }
+
+        @Test
+        @DisplayName("should only run on startup while no activity is stored")
+        void backfillIfEmpty_existingRows_skips() {
+            // Arrange
+            when(userActivityRepository.count()).thenReturn(3L);
+
+            // Act
+            activityService.backfillIfEmpty();
+
+            // Assert
+            verifyNoInteractions(postRepository);
+        }
+
+        private Object[] row(UUID user, LocalDate day) {
+            return new Object[]{user, day.getYear(), day.getMonthValue(), day.getDayOfMonth()};
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package at.fhtw.webenprjbackend.service;
+
+import at.fhtw.webenprjbackend.dto.AdminUserExportRow;
+import at.fhtw.webenprjbackend.entity.Role;
+import at.fhtw.webenprjbackend.repository.PostRepository;
+import at.fhtw.webenprjbackend.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link AdminExportService}.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AdminExportService")
+class AdminExportServiceTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private AdminExportService adminExportService;
+
+    @BeforeEach
+    void setUp() {
+        adminExportService = new AdminExportService(postRepository, userRepository,
+                new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    @Nested
+    @DisplayName("csvField()")
+    class CsvFieldTests {
+
+        @Test
+        @DisplayName("should leave plain values unquoted and null empty")
+        void plainValues_unquoted() {
+            assertThat(AdminExportService.csvField("hello")).isEqualTo("hello");
+            assertThat(AdminExportService.csvField(-3L)).isEqualTo("-3");
+            assertThat(AdminExportService.csvField(null)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should quote separators, quotes and line breaks")
+        void specialCharacters_quoted() {
+            assertThat(AdminExportService.csvField("a,b")).isEqualTo("\"a,b\"");
+            assertThat(AdminExportService.csvField("say \"hi\"")).isEqualTo("\"say \"\"hi\"\"\"");
+            assertThat(AdminExportService.csvField("line\nbreak")).isEqualTo("\"line\nbreak\"");
+        }
+
+        @Test
+        @DisplayName("should defuse text that spreadsheets evaluate as formulas")
+        void formulaText_prefixed() {
+            assertThat(AdminExportService.csvField("=SUM(A1)")).isEqualTo("'=SUM(A1)");
+            assertThat(AdminExportService.csvField("@cmd")).isEqualTo("'@cmd");
+        }
+    }
+
+    @Nested
+    @DisplayName("exportUsers()")
+    class ExportUsersTests {
+
+        @Test
+        @DisplayName("should write a header and one line per row, and close the stream")
+        void exportUsers_csv_writesRows() throws Exception {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            LocalDateTime created = LocalDateTime.of(2024, 1, 2, 3, 4, 5);
+            boolean[] closed = {false};
+            Stream<AdminUserExportRow> rows = Stream.of(
+                    new AdminUserExportRow(id, "a@example.com", "anna", "AT", Role.USER, true, created, null))
+                    .onClose(() -> closed[0] = true);
+            when(userRepository.streamForExport()).thenReturn(rows);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            // Act
+            long count = adminExportService.exportUsers(ExportFormat.CSV, out);
+
+            // Assert
+            assertThat(count).isEqualTo(1);
+            assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                    "id,email,username,countryCode,role,active,createdAt,updatedAt\r\n"
+                    + id + ",a@example.com,anna,AT,USER,true,2024-01-02T03:04:05,\r\n");
+            assertThat(closed[0]).isTrue();
+        }
+    }
+}
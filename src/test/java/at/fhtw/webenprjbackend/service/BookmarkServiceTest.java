@@ -2,7 +2,10 @@ package at.fhtw.webenprjbackend.service;
 
 import at.fhtw.webenprjbackend.dto.*;
 import at.fhtw.webenprjbackend.entity.*;
+import at.fhtw.webenprjbackend.feed.BookmarkUpdate;
 import at.fhtw.webenprjbackend.repository.*;
+import at.fhtw.webenprjbackend.stats.ApproximateCountProperties;
+import at.fhtw.webenprjbackend.stats.ApproximateCounts;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -10,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -42,6 +46,9 @@ class BookmarkServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private BookmarkService bookmarkService;
 
     private User testUser;
@@ -51,7 +58,8 @@ class BookmarkServiceTest {
 
     @BeforeEach
     void setUp() {
-        bookmarkService = new BookmarkService(bookmarkRepository, collectionRepository, postRepository, userRepository);
+        bookmarkService = new BookmarkService(bookmarkRepository, collectionRepository, postRepository, userRepository,
+                eventPublisher, new ApproximateCounts(new ApproximateCountProperties()));
 
         userId = UUID.randomUUID();
         postId = UUID.randomUUID();
@@ -110,6 +118,7 @@ class BookmarkServiceTest {
             assertThat(result.created()).isTrue();
             assertThat(result.bookmark()).isNotNull();
             verify(bookmarkRepository).save(any(PostBookmark.class));
+            verify(eventPublisher).publishEvent(new BookmarkUpdate(postId, 1));
         }
 
         @Test
@@ -200,10 +209,23 @@ class BookmarkServiceTest {
         void deleteBookmark_success() {
             when(postRepository.findById(postId)).thenReturn(Optional.of(testPost));
             when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+            when(bookmarkRepository.deleteByUserAndPost(testUser, testPost)).thenReturn(1L);
 
             bookmarkService.deleteBookmark(postId, userId);
 
             verify(bookmarkRepository).deleteByUserAndPost(testUser, testPost);
+            verify(eventPublisher).publishEvent(new BookmarkUpdate(postId, -1));
+        }
+
+        @Test
+        @DisplayName("should publish no change when nothing was bookmarked")
+        void deleteBookmark_notBookmarked_publishesNothing() {
+            when(postRepository.findById(postId)).thenReturn(Optional.of(testPost));
+            when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+
+            bookmarkService.deleteBookmark(postId, userId);
+
+            verifyNoInteractions(eventPublisher);
         }
 
         @Test
@@ -505,7 +527,8 @@ class BookmarkServiceTest {
 
             when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
             when(collectionRepository.findByUserOrderByCreatedAtAsc(testUser)).thenReturn(List.of(collection));
-            when(bookmarkRepository.countByCollection(collection)).thenReturn(5L);
+            when(bookmarkRepository.countBookmarksByCollectionIds(List.of(collection.getId())))
+                    .thenReturn(List.<Object[]>of(new Object[]{collection.getId(), 5L}));
 
             List<BookmarkCollectionResponse> result = bookmarkService.getUserCollections(userId);
 
@@ -187,4 +187,24 @@ class CustomUserDetailsServiceTest {
                     .containsExactly("ROLE_USER");
         }
     }
+
+    @Nested
+    @DisplayName("updatePassword()")
+    class UpdatePasswordTests {
+
+        @Test
+        @DisplayName("should store the upgraded hash and return fresh details")
+        void updatePassword_storesNewHash() {
+            // Arrange
+            when(userRepository.findById(userId)).thenReturn(Optional.of(activeUser));
+            when(userRepository.save(activeUser)).thenReturn(activeUser);
+
+            // Act
+            UserDetails result = userDetailsService.updatePassword(UserPrincipal.fromUser(activeUser), "upgradedHash");
+
+            // Assert
+            assertThat(activeUser.getPassword()).isEqualTo("upgradedHash");
+            assertThat(result.getPassword()).isEqualTo("upgradedHash");
+        }
+    }
 }
@@ -6,6 +6,8 @@ import at.fhtw.webenprjbackend.entity.Role;
 import at.fhtw.webenprjbackend.entity.User;
 import at.fhtw.webenprjbackend.repository.FollowRepository;
 import at.fhtw.webenprjbackend.repository.UserRepository;
+import at.fhtw.webenprjbackend.stats.ApproximateCountProperties;
+import at.fhtw.webenprjbackend.stats.ApproximateCounts;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -21,6 +23,7 @@ import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -48,7 +51,8 @@ class FollowServiceTest {
 
     @BeforeEach
     void setUp() {
-        followService = new FollowService(followRepository, userRepository);
+        followService = new FollowService(followRepository, userRepository,
+                new ApproximateCounts(new ApproximateCountProperties()));
 
         followerId = UUID.randomUUID();
         followedId = UUID.randomUUID();
@@ -181,14 +185,37 @@ class FollowServiceTest {
 
             when(userRepository.findById(followedId)).thenReturn(Optional.of(followed));
             when(followRepository.findByFollowed(followed, pageable)).thenReturn(followPage);
-            when(followRepository.countByFollowed(follower)).thenReturn(0L);
-            when(followRepository.countByFollower(follower)).thenReturn(0L);
+            when(followRepository.getFollowerCountsMap(List.of(followerId))).thenReturn(Map.of());
+            when(followRepository.getFollowingCountsMap(List.of(followerId))).thenReturn(Map.of(followerId, 1L));
 
             Page<UserResponse> result = followService.getFollowers(followedId, pageable);
 
             assertThat(result).isNotNull();
             assertThat(result.getContent()).hasSize(1);
             assertThat(result.getContent().get(0).username()).isEqualTo("follower");
+            assertThat(result.getContent().get(0).followerCount()).isZero();
+            assertThat(result.getContent().get(0).followingCount()).isEqualTo(1L);
+        }
+
+        @Test
+        @DisplayName("should batch follow counts instead of counting per user")
+        void getFollowers_batchesCounts() {
+            Pageable pageable = PageRequest.of(0, 10);
+            User other = createTestUser(UUID.randomUUID(), "other", "other@example.com");
+            Page<Follow> followPage = new PageImpl<>(
+                    List.of(new Follow(follower, followed), new Follow(other, followed)), pageable, 2);
+
+            when(userRepository.findById(followedId)).thenReturn(Optional.of(followed));
+            when(followRepository.findByFollowed(followed, pageable)).thenReturn(followPage);
+            when(followRepository.getFollowerCountsMap(any())).thenReturn(Map.of());
+            when(followRepository.getFollowingCountsMap(any())).thenReturn(Map.of());
+
+            followService.getFollowers(followedId, pageable);
+
+            verify(followRepository, times(1)).getFollowerCountsMap(List.of(followerId, other.getId()));
+            verify(followRepository, times(1)).getFollowingCountsMap(List.of(followerId, other.getId()));
+            verify(followRepository, never()).countByFollowed(any());
+            verify(followRepository, never()).countByFollower(any());
         }
 
         @Test
@@ -216,8 +243,8 @@ class FollowServiceTest {
 
             when(userRepository.findById(followerId)).thenReturn(Optional.of(follower));
             when(followRepository.findByFollower(follower, pageable)).thenReturn(followPage);
-            when(followRepository.countByFollowed(followed)).thenReturn(0L);
-            when(followRepository.countByFollower(followed)).thenReturn(0L);
+            when(followRepository.getFollowerCountsMap(List.of(followedId))).thenReturn(Map.of(followedId, 1L));
+            when(followRepository.getFollowingCountsMap(List.of(followedId))).thenReturn(Map.of());
 
             Page<UserResponse> result = followService.getFollowing(followerId, pageable);
 
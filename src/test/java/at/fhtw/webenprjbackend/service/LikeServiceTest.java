@@ -4,9 +4,11 @@ import at.fhtw.webenprjbackend.entity.Post;
 import at.fhtw.webenprjbackend.entity.PostLike;
 import at.fhtw.webenprjbackend.entity.Role;
 import at.fhtw.webenprjbackend.entity.User;
+import at.fhtw.webenprjbackend.feed.FeedUpdate;
 import at.fhtw.webenprjbackend.repository.PostLikeRepository;
 import at.fhtw.webenprjbackend.repository.PostRepository;
 import at.fhtw.webenprjbackend.repository.UserRepository;
+import at.fhtw.webenprjbackend.stats.SubjectActivity;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -14,6 +16,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
@@ -37,6 +40,9 @@ class LikeServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private LikeService likeService;
 
     private User testUser;
@@ -46,7 +52,7 @@ class LikeServiceTest {
 
     @BeforeEach
     void setUp() {
-        likeService = new LikeService(postLikeRepository, postRepository, userRepository);
+        likeService = new LikeService(postLikeRepository, postRepository, userRepository, eventPublisher);
 
         userId = UUID.randomUUID();
         postId = UUID.randomUUID();
@@ -90,10 +96,18 @@ class LikeServiceTest {
             when(postRepository.findById(postId)).thenReturn(Optional.of(testPost));
             when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
             when(postLikeRepository.existsByUserAndPost(testUser, testPost)).thenReturn(false);
+            LocalDateTime likedAt = LocalDateTime.now();
+            when(postLikeRepository.save(any(PostLike.class))).thenAnswer(invocation -> {
+                PostLike like = invocation.getArgument(0);
+                like.setCreatedAt(likedAt);
+                return like;
+            });
 
             likeService.like(postId, userId);
 
             verify(postLikeRepository).save(any(PostLike.class));
+            verify(eventPublisher).publishEvent(FeedUpdate.likes(postId, 1));
+            verify(eventPublisher).publishEvent(new SubjectActivity("webdev", likedAt));
         }
 
         @Test
@@ -106,6 +120,7 @@ class LikeServiceTest {
             likeService.like(postId, userId);
 
             verify(postLikeRepository, never()).save(any());
+            verifyNoInteractions(eventPublisher);
         }
 
         @Test
@@ -139,10 +154,23 @@ class LikeServiceTest {
         void unlike_success() {
             when(postRepository.findById(postId)).thenReturn(Optional.of(testPost));
             when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+            when(postLikeRepository.deleteByUserAndPost(testUser, testPost)).thenReturn(1L);
 
             likeService.unlike(postId, userId);
 
             verify(postLikeRepository).deleteByUserAndPost(testUser, testPost);
+            verify(eventPublisher).publishEvent(FeedUpdate.likes(postId, -1));
+        }
+
+        @Test
+        @DisplayName("should not publish a feed update when the post was not liked")
+        void unlike_notLiked_noFeedUpdate() {
+            when(postRepository.findById(postId)).thenReturn(Optional.of(testPost));
+            when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+
+            likeService.unlike(postId, userId);
+
+            verifyNoInteractions(eventPublisher);
         }
 
         @Test
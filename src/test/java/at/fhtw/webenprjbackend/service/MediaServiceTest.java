@@ -3,6 +3,7 @@ package at.fhtw.webenprjbackend.service;
 import at.fhtw.webenprjbackend.entity.Media;
 import at.fhtw.webenprjbackend.filestorage.FileStorage;
 import at.fhtw.webenprjbackend.repository.MediaRepository;
+import at.fhtw.webenprjbackend.security.permission.ResourceDeleted;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -12,6 +13,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.Resource;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
@@ -39,6 +41,9 @@ class MediaServiceTest {
     @Mock
     private FileStorage fileStorage;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private MediaService mediaService;
 
@@ -181,6 +186,7 @@ class MediaServiceTest {
             // Assert
             verify(fileStorage).delete("external-123");
             verify(mediaRepository).delete(testMedia);
+            verify(eventPublisher).publishEvent(new ResourceDeleted(Media.class, mediaId));
         }
 
         @Test
@@ -7,10 +7,18 @@ import at.fhtw.webenprjbackend.dto.PostResponse;
 import at.fhtw.webenprjbackend.entity.Post;
 import at.fhtw.webenprjbackend.entity.Role;
 import at.fhtw.webenprjbackend.entity.User;
+import at.fhtw.webenprjbackend.feed.FeedRanking;
+import at.fhtw.webenprjbackend.feed.FeedUpdate;
+import at.fhtw.webenprjbackend.feed.PostRanking;
+import at.fhtw.webenprjbackend.stats.ContentChange;
+import at.fhtw.webenprjbackend.stats.SubjectActivity;
 import at.fhtw.webenprjbackend.repository.FollowRepository;
 import at.fhtw.webenprjbackend.repository.PostLikeRepository;
 import at.fhtw.webenprjbackend.repository.PostRepository;
 import at.fhtw.webenprjbackend.repository.UserRepository;
+import at.fhtw.webenprjbackend.security.permission.ResourceDeleted;
+import at.fhtw.webenprjbackend.stats.ApproximateCountProperties;
+import at.fhtw.webenprjbackend.stats.ApproximateCounts;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -18,10 +26,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
@@ -55,6 +66,15 @@ class PostServiceTest {
     @Mock
     private BookmarkService bookmarkService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PostRanking postRanking;
+
+    @Mock
+    private ActivityService activityService;
+
     private PostService postService;
 
     private User testUser;
@@ -69,7 +89,11 @@ class PostServiceTest {
                 userRepository,
                 postLikeRepository,
                 followRepository,
-                bookmarkService
+                bookmarkService,
+                eventPublisher,
+                postRanking,
+                activityService,
+                new ApproximateCounts(new ApproximateCountProperties())
         );
 
         testUserId = UUID.randomUUID();
@@ -161,6 +185,149 @@ class PostServiceTest {
             assertThat(result.getContent()).isEmpty();
             assertThat(result.getTotalElements()).isZero();
         }
+
+        @Test
+        @DisplayName("should return a slice without counting when no total is requested")
+        void getAllPosts_withoutTotal_skipsCount() {
+            // Arrange
+            Pageable pageable = PageRequest.of(0, 1);
+            when(postRepository.findByParentIsNullAndActiveTrueOrderByCreatedAtDesc(pageable))
+                    .thenReturn(new SliceImpl<>(List.of(testPost), pageable, true));
+            setupMocksForMapping(List.of(testPost));
+
+            // Act
+            Slice<PostResponse> result = postService.getAllPosts(pageable, testUserId,
+                    FeedOptions.DEFAULT.withTotal(false));
+
+            // Assert
+            assertThat(result).isNotInstanceOf(Page.class);
+            assertThat(result.hasNext()).isTrue();
+            verify(postRepository, never()).countByParentIsNullAndActiveTrue();
+        }
+
+        @Test
+        @DisplayName("should count a full page once and serve the total from the cache after")
+        void getAllPosts_fullPage_countsOnce() {
+            // Arrange
+            Pageable pageable = PageRequest.of(0, 1);
+            when(postRepository.findByParentIsNullAndActiveTrueOrderByCreatedAtDesc(pageable))
+                    .thenReturn(new SliceImpl<>(List.of(testPost), pageable, true));
+            when(postRepository.countByParentIsNullAndActiveTrue()).thenReturn(7L);
+            setupMocksForMapping(List.of(testPost));
+
+            // Act
+            postService.getAllPosts(pageable, testUserId);
+            Page<PostResponse> result = postService.getAllPosts(pageable, testUserId);
+
+            // Assert
+            assertThat(result.getTotalElements()).isEqualTo(7);
+            verify(postRepository, times(1)).countByParentIsNullAndActiveTrue();
+        }
+
+        @Test
+        @DisplayName("should embed preview comments enriched in the same batch as the page")
+        void getAllPosts_previewComments_enrichesTogether() {
+            // Arrange
+            Pageable pageable = PageRequest.of(0, 10);
+            Post comment = createTestPost(UUID.randomUUID(), "webdev", "First!", testUser);
+            comment.setParent(testPost);
+            List<Post> all = List.of(testPost, comment);
+            List<UUID> allIds = List.of(testPostId, comment.getId());
+
+            when(postRepository.findByParentIsNullAndActiveTrueOrderByCreatedAtDesc(pageable))
+                    .thenReturn(new PageImpl<>(List.of(testPost), pageable, 1));
+            when(postRepository.findFirstCommentsByParentIds(List.of(testPostId), 3)).thenReturn(List.of(comment));
+            when(postLikeRepository.countLikesByPostIds(allIds))
+                    .thenReturn(List.<Object[]>of(new Object[]{comment.getId(), 4L}));
+            when(postLikeRepository.findLikedPostIds(testUserId, allIds)).thenReturn(List.of(comment.getId()));
+            when(bookmarkService.fetchBookmarkCounts(all)).thenReturn(Collections.emptyMap());
+            when(bookmarkService.fetchBookmarkedPostIds(all, testUserId)).thenReturn(Collections.emptySet());
+            when(postRepository.countCommentsByParentIds(List.of(testPostId)))
+                    .thenReturn(List.<Object[]>of(new Object[]{testPostId, 1L}));
+
+            // Act
+            Slice<PostResponse> result = postService.getAllPosts(pageable, testUserId,
+                    FeedOptions.DEFAULT.withPreviewComments(3));
+
+            // Assert
+            PostResponse post = result.getContent().get(0);
+            assertThat(post.commentCount()).isEqualTo(1);
+            assertThat(post.previewComments()).singleElement().satisfies(preview -> {
+                assertThat(preview.content()).isEqualTo("First!");
+                assertThat(preview.parentId()).isEqualTo(testPostId);
+                assertThat(preview.likeCount()).isEqualTo(4);
+                assertThat(preview.likedByCurrentUser()).isTrue();
+                assertThat(preview.previewComments()).isNull();
+            });
+        }
+
+        @Test
+        @DisplayName("should skip enrichment for fields the client did not ask for")
+        void getAllPosts_fields_skipsUnselectedEnrichment() {
+            // Arrange
+            Pageable pageable = PageRequest.of(0, 10);
+            when(postRepository.findByParentIsNullAndActiveTrueOrderByCreatedAtDesc(pageable))
+                    .thenReturn(new PageImpl<>(List.of(testPost), pageable, 1));
+            when(postLikeRepository.countLikesByPostIds(List.of(testPostId)))
+                    .thenReturn(List.<Object[]>of(new Object[]{testPostId, 2L}));
+
+            // Act
+            Slice<PostResponse> result = postService.getAllPosts(pageable, testUserId,
+                    FeedOptions.DEFAULT.withFields(Set.of("id", "content", "likeCount")));
+
+            // Assert
+            assertThat(result.getContent().get(0).likeCount()).isEqualTo(2);
+            verify(postLikeRepository, never()).findLikedPostIds(any(), any());
+            verifyNoInteractions(bookmarkService);
+            verify(postRepository, never()).countCommentsByParentIds(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("getRankedPosts()")
+    class GetRankedPostsTests {
+
+        @Test
+        @DisplayName("should load the ranked page in ranking order")
+        void getRankedPosts_keepsRankingOrder() {
+            // Arrange
+            Pageable pageable = PageRequest.of(1, 2);
+            Post second = createTestPost(UUID.randomUUID(), "java", "Second ranked post", testUser);
+            when(postRanking.page(FeedRanking.TOP, 2, 2)).thenReturn(List.of(second.getId(), testPostId));
+            when(postRanking.size()).thenReturn(5L);
+            when(postRepository.findActiveTopLevelByIdIn(List.of(second.getId(), testPostId)))
+                    .thenReturn(List.of(testPost, second));
+            setupMocksForMapping(List.of(second, testPost));
+
+            // Act
+            Page<PostResponse> result = postService.getRankedPosts(FeedRanking.TOP, pageable, testUserId,
+                    FeedOptions.DEFAULT);
+
+            // Assert
+            assertThat(result.getContent()).extracting(PostResponse::id).containsExactly(second.getId(), testPostId);
+            assertThat(result.getTotalElements()).isEqualTo(5);
+            verify(postRepository, never()).findByParentIsNullAndActiveTrueOrderByCreatedAtDesc(any());
+        }
+
+        @Test
+        @DisplayName("should skip missing posts and let the ranking confirm them on the primary")
+        void getRankedPosts_missingPost_confirmedByRanking() {
+            // Arrange
+            Pageable pageable = PageRequest.of(0, 10);
+            UUID deletedId = UUID.randomUUID();
+            when(postRanking.page(FeedRanking.HOT, 0, 10)).thenReturn(List.of(deletedId, testPostId));
+            when(postRanking.size()).thenReturn(2L);
+            when(postRepository.findActiveTopLevelByIdIn(List.of(deletedId, testPostId))).thenReturn(List.of(testPost));
+            setupMocksForMapping(List.of(testPost));
+
+            // Act
+            Page<PostResponse> result = postService.getRankedPosts(FeedRanking.HOT, pageable, testUserId,
+                    FeedOptions.DEFAULT);
+
+            // Assert
+            assertThat(result.getContent()).extracting(PostResponse::id).containsExactly(testPostId);
+            verify(postRanking).removeUnlessActive(List.of(deletedId));
+        }
     }
 
     @Nested
@@ -239,6 +406,10 @@ class PostServiceTest {
 
             verify(userRepository).findById(testUserId);
             verify(postRepository).save(any(Post.class));
+            verify(eventPublisher).publishEvent(FeedUpdate.newPost(result.id(), testUserId));
+            verify(eventPublisher).publishEvent(any(ContentChange.class));
+            verify(eventPublisher).publishEvent(new SubjectActivity("java", result.createdAt()));
+            verify(activityService).recordPost(testUserId, result.createdAt().toLocalDate());
         }
 
         @Test
@@ -324,6 +495,8 @@ class PostServiceTest {
             // Assert
             assertThat(result).isNotNull();
             verify(postRepository).findById(parentId);
+            verify(eventPublisher).publishEvent(FeedUpdate.comments(parentId, 1));
+            verifyNoInteractions(activityService);
         }
     }
 
@@ -344,6 +517,21 @@ class PostServiceTest {
             // Assert
             verify(postRepository).findById(testPostId);
             verify(postRepository).save(argThat(post -> !post.isActive()));
+            verify(eventPublisher).publishEvent(new ContentChange(ContentChange.Type.POST_DEACTIVATED, false, null));
+        }
+
+        @Test
+        @DisplayName("should not count a post that is already deleted again")
+        void deletePost_alreadyInactive_publishesNoChange() {
+            // Arrange
+            testPost.setActive(false);
+            when(postRepository.findById(testPostId)).thenReturn(Optional.of(testPost));
+
+            // Act
+            postService.deletePost(testPostId);
+
+            // Assert
+            verify(eventPublisher, never()).publishEvent(any(ContentChange.class));
         }
 
         @Test
@@ -436,9 +624,8 @@ class PostServiceTest {
         void getFollowingPosts_noFollowing_returnsEmpty() {
             // Arrange
             Pageable pageable = PageRequest.of(0, 10);
-            when(userRepository.findById(testUserId)).thenReturn(Optional.of(testUser));
-            when(followRepository.findByFollower(eq(testUser), any(Pageable.class)))
-                    .thenReturn(Page.empty());
+            when(userRepository.existsById(testUserId)).thenReturn(true);
+            when(followRepository.findFollowedIds(testUserId)).thenReturn(List.of());
 
             // Act
             Page<PostResponse> result = postService.getFollowingPosts(pageable, testUserId);
@@ -465,7 +652,7 @@ class PostServiceTest {
         void getFollowingPosts_userNotFound_throwsNotFound() {
             // Arrange
             Pageable pageable = PageRequest.of(0, 10);
-            when(userRepository.findById(testUserId)).thenReturn(Optional.empty());
+            when(userRepository.existsById(testUserId)).thenReturn(false);
 
             // Act & Assert
             assertThatThrownBy(() -> postService.getFollowingPosts(pageable, testUserId))
@@ -699,39 +886,6 @@ class PostServiceTest {
         }
     }
 
-    @Nested
-    @DisplayName("hasUserPostedToday()")
-    class HasUserPostedTodayTests {
-
-        @Test
-        @DisplayName("should return true when user posted today")
-        void hasUserPostedToday_posted_returnsTrue() {
-            // Arrange
-            when(postRepository.existsByUserIdAndParentIsNullAndActiveTrueAndCreatedAtGreaterThanEqual(
-                    eq(testUserId), any())).thenReturn(true);
-
-            // Act
-            boolean result = postService.hasUserPostedToday(testUserId);
-
-            // Assert
-            assertThat(result).isTrue();
-        }
-
-        @Test
-        @DisplayName("should return false when user has not posted today")
-        void hasUserPostedToday_notPosted_returnsFalse() {
-            // Arrange
-            when(postRepository.existsByUserIdAndParentIsNullAndActiveTrueAndCreatedAtGreaterThanEqual(
-                    eq(testUserId), any())).thenReturn(false);
-
-            // Act
-            boolean result = postService.hasUserPostedToday(testUserId);
-
-            // Assert
-            assertThat(result).isFalse();
-        }
-    }
-
     @Nested
     @DisplayName("getUserActivity()")
     class GetUserActivityTests {
@@ -784,10 +938,8 @@ class PostServiceTest {
         @DisplayName("should return post and comment statistics")
         void getAdminPostStats_returnsStats() {
             // Arrange
-            when(postRepository.countByParentIsNull()).thenReturn(100L);
-            when(postRepository.countByParentIsNullAndActiveTrue()).thenReturn(80L);
-            when(postRepository.countByParentIsNotNull()).thenReturn(50L);
-            when(postRepository.countByParentIsNotNullAndActiveTrue()).thenReturn(45L);
+            when(postRepository.countPostsAndComments())
+                    .thenReturn(List.<Object[]>of(new Object[]{100L, 80L, 50L, 45L}));
 
             // Act
             AdminPostStatsResponse result = postService.getAdminPostStats();
@@ -806,10 +958,8 @@ class PostServiceTest {
         @DisplayName("should handle zero counts")
         void getAdminPostStats_zeroCounts_returnsZeros() {
             // Arrange
-            when(postRepository.countByParentIsNull()).thenReturn(0L);
-            when(postRepository.countByParentIsNullAndActiveTrue()).thenReturn(0L);
-            when(postRepository.countByParentIsNotNull()).thenReturn(0L);
-            when(postRepository.countByParentIsNotNullAndActiveTrue()).thenReturn(0L);
+            when(postRepository.countPostsAndComments())
+                    .thenReturn(List.<Object[]>of(new Object[]{0L, 0L, 0L, 0L}));
 
             // Act
             AdminPostStatsResponse result = postService.getAdminPostStats();
@@ -1113,6 +1263,25 @@ class PostServiceTest {
 
             // Assert
             verify(postRepository).delete(testPost);
+            verify(eventPublisher).publishEvent(ContentChange.recount());
+            verify(eventPublisher).publishEvent(new ResourceDeleted(Post.class, testPostId));
+        }
+
+        @Test
+        @DisplayName("should publish a deletion for each comment removed with the post")
+        void adminHardDeletePost_withComments_publishesCommentDeletions() {
+            // Arrange
+            UUID commentId = UUID.randomUUID();
+            Post comment = createTestPost(commentId, "webdev", "A comment", testUser);
+            testPost.setComments(new ArrayList<>(List.of(comment)));
+            when(postRepository.findById(testPostId)).thenReturn(Optional.of(testPost));
+
+            // Act
+            postService.adminHardDeletePost(testPostId);
+
+            // Assert
+            verify(eventPublisher).publishEvent(new ResourceDeleted(Post.class, testPostId));
+            verify(eventPublisher).publishEvent(new ResourceDeleted(Post.class, commentId));
         }
 
         @Test
@@ -6,6 +6,8 @@ import at.fhtw.webenprjbackend.entity.User;
 import at.fhtw.webenprjbackend.repository.FollowRepository;
 import at.fhtw.webenprjbackend.repository.UserRepository;
 import at.fhtw.webenprjbackend.security.jwt.TokenIssuer;
+import at.fhtw.webenprjbackend.security.permission.ResourceDeleted;
+import at.fhtw.webenprjbackend.stats.ContentChange;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -13,6 +15,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -51,6 +54,9 @@ class UserServiceTest {
     @Mock
     private TokenIssuer tokenIssuer;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private UserService userService;
 
     private static final String DEFAULT_PROFILE_IMAGE = "https://example.com/default-profile.png";
@@ -65,7 +71,8 @@ class UserServiceTest {
                 passwordEncoder,
                 followRepository,
                 tokenIssuer,
-                DEFAULT_PROFILE_IMAGE
+                DEFAULT_PROFILE_IMAGE,
+                eventPublisher
         );
 
         testUserId = UUID.randomUUID();
@@ -125,6 +132,7 @@ class UserServiceTest {
 
             verify(passwordEncoder).encode("Password123!");
             verify(userRepository).save(any(User.class));
+            verify(eventPublisher).publishEvent(ContentChange.userRegistered());
         }
 
         @Test
@@ -205,8 +213,8 @@ class UserServiceTest {
         void getUserById_found_returnsUser() {
             // Arrange
             when(userRepository.findById(testUserId)).thenReturn(Optional.of(testUser));
-            when(followRepository.countByFollowed(testUser)).thenReturn(10L);
-            when(followRepository.countByFollower(testUser)).thenReturn(5L);
+            when(followRepository.getFollowerCountsMap(List.of(testUserId))).thenReturn(Map.of(testUserId, 10L));
+            when(followRepository.getFollowingCountsMap(List.of(testUserId))).thenReturn(Map.of(testUserId, 5L));
 
             // Act
             UserResponse result = userService.getUserById(testUserId);
@@ -217,6 +225,8 @@ class UserServiceTest {
             assertThat(result.email()).isEqualTo("test@example.com");
             assertThat(result.followerCount()).isEqualTo(10L);
             assertThat(result.followingCount()).isEqualTo(5L);
+            verify(followRepository, never()).countByFollowed(any());
+            verify(followRepository, never()).countByFollower(any());
         }
 
         @Test
@@ -308,6 +318,8 @@ class UserServiceTest {
 
             // Assert
             verify(userRepository).deleteById(testUserId);
+            verify(eventPublisher).publishEvent(ContentChange.recount());
+            verify(eventPublisher).publishEvent(new ResourceDeleted(User.class, testUserId));
         }
 
         @Test
@@ -335,8 +347,8 @@ class UserServiceTest {
         void getCurrentUser_returnsUser() {
             // Arrange
             when(userRepository.findById(testUserId)).thenReturn(Optional.of(testUser));
-            when(followRepository.countByFollowed(testUser)).thenReturn(5L);
-            when(followRepository.countByFollower(testUser)).thenReturn(3L);
+            when(followRepository.getFollowerCountsMap(List.of(testUserId))).thenReturn(Map.of(testUserId, 5L));
+            when(followRepository.getFollowingCountsMap(List.of(testUserId))).thenReturn(Map.of());
 
             // Act
             UserResponse result = userService.getCurrentUser(testUserId);
@@ -344,6 +356,8 @@ class UserServiceTest {
             // Assert
             assertThat(result).isNotNull();
             assertThat(result.username()).isEqualTo("testuser");
+            assertThat(result.followerCount()).isEqualTo(5L);
+            assertThat(result.followingCount()).isZero();
         }
 
         @Test
@@ -0,0 +1,89 @@
+package at.fhtw.webenprjbackend.stats;
+
+import at.fhtw.webenprjbackend.stats.ApproximateCounts.Listing;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link ApproximateCounts}.
+ */
+@DisplayName("ApproximateCounts")
+class ApproximateCountsTest {
+
+    private ApproximateCounts approximateCounts;
+    private AtomicInteger queries;
+
+    @BeforeEach
+    void setUp() {
+        approximateCounts = new ApproximateCounts(new ApproximateCountProperties());
+        queries = new AtomicInteger();
+    }
+
+    private long countQuery(long total) {
+        queries.incrementAndGet();
+        return total;
+    }
+
+    @Nested
+    @DisplayName("page()")
+    class PageTests {
+
+        @Test
+        @DisplayName("should take the total from a short first page without counting")
+        void page_shortFirstPage_exactWithoutCount() {
+            // Arrange
+            var slice = new SliceImpl<>(List.of("a", "b"), PageRequest.of(0, 5), false);
+
+            // Act
+            Page<String> page = approximateCounts.page(slice, Listing.POSTS, null, () -> countQuery(99));
+
+            // Assert
+            assertThat(page.getTotalElements()).isEqualTo(2);
+            assertThat(queries).hasValue(0);
+        }
+
+        @Test
+        @DisplayName("should count a full page once per listing and filter")
+        void page_fullPage_countedOncePerFilter() {
+            // Arrange
+            var slice = new SliceImpl<>(List.of("a", "b"), PageRequest.of(0, 2), true);
+
+            // Act
+            Page<String> first = approximateCounts.page(slice, Listing.SUBJECT, "#java", () -> countQuery(10));
+            Page<String> again = approximateCounts.page(slice, Listing.SUBJECT, "#java", () -> countQuery(11));
+            Page<String> other = approximateCounts.page(slice, Listing.SUBJECT, "#spring", () -> countQuery(4));
+
+            // Assert
+            assertThat(first.getTotalElements()).isEqualTo(10);
+            assertThat(again.getTotalElements()).isEqualTo(10);
+            assertThat(other.getTotalElements()).isEqualTo(4);
+            assertThat(queries).hasValue(2);
+        }
+
+        @Test
+        @DisplayName("should keep separate totals for listings filtered by the same id")
+        void page_sameFilterDifferentListings_separateTotals() {
+            // Arrange
+            var slice = new SliceImpl<>(List.of("a", "b"), PageRequest.of(0, 2), true);
+            String userId = "user";
+
+            // Act
+            Page<String> followed = approximateCounts.page(slice, Listing.FOLLOWED_USERS, userId, () -> countQuery(3));
+            Page<String> feed = approximateCounts.page(slice, Listing.FOLLOWING_FEED, userId, () -> countQuery(200));
+
+            // Assert
+            assertThat(followed.getTotalElements()).isEqualTo(3);
+            assertThat(feed.getTotalElements()).isEqualTo(200);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package at.fhtw.webenprjbackend.stats;
+
+import at.fhtw.webenprjbackend.entity.Post;
+import at.fhtw.webenprjbackend.entity.Role;
+import at.fhtw.webenprjbackend.entity.User;
+import at.fhtw.webenprjbackend.repository.PostRepository;
+import at.fhtw.webenprjbackend.repository.UserRepository;
+import at.fhtw.webenprjbackend.service.PostService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the application with a replica that never catches up: the replica URL points at
+ * a separate, empty H2 database, so any count read from it fails instead of returning the
+ * primary's rows.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:recount_primary;DB_CLOSE_DELAY=-1",
+        "app.datasource.replicas.enabled=true",
+        "app.datasource.replicas.urls=jdbc:h2:mem:recount_replica;DB_CLOSE_DELAY=-1"
+})
+@ActiveProfiles("test")
+@DisplayName("ContentStats Replica Integration Tests")
+class ContentStatsReplicaIntegrationTest {
+
+    @Autowired
+    private ContentStats contentStats;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    @DisplayName("should recount from the primary after a hard delete")
+    void hardDelete_recountsFromPrimary() throws InterruptedException {
+        // Arrange
+        User author = userRepository.save(new User(
+                "recount@example.com", "recountuser", "hash", "AT", "/avatar-placeholder.svg", Role.USER));
+        postRepository.save(new Post("Java", "kept", null, author));
+        Post deleted = postRepository.save(new Post("Java", "deleted", null, author));
+        contentStats.reconcile();
+        long before = contentStats.postStats().totalPosts();
+
+        // Act
+        postService.adminHardDeletePost(deleted.getId());
+        await(() -> contentStats.postStats().totalPosts() == before - 1);
+
+        // Assert
+        assertThat(contentStats.postStats().totalPosts()).isEqualTo(before - 1);
+    }
+}
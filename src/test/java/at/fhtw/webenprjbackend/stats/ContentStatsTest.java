@@ -0,0 +1,208 @@
+package at.fhtw.webenprjbackend.stats;
+
+import at.fhtw.webenprjbackend.dto.AdminPostStatsResponse;
+import at.fhtw.webenprjbackend.dto.StatsBucket;
+import at.fhtw.webenprjbackend.repository.PostRepository;
+import at.fhtw.webenprjbackend.service.PostService;
+import at.fhtw.webenprjbackend.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link ContentStats}.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ContentStats")
+class ContentStatsTest {
+
+    @Mock
+    private PostService postService;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ContentStatsProperties properties;
+    private ContentStats contentStats;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ContentStatsProperties();
+        properties.setHours(6);
+        properties.setDays(3);
+        contentStats = new ContentStats(postService, userService, postRepository, properties, transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        contentStats.shutdown();
+    }
+
+    private void givenDatabase(long posts, long activePosts, long comments, long activeComments, long users,
+                               List<Object[]> postsPerHour) {
+        when(postService.getAdminPostStats()).thenReturn(new AdminPostStatsResponse(
+                posts, activePosts, posts - activePosts, comments, activeComments, comments - activeComments,
+                List.of(), List.of()));
+        when(userService.getUserCount()).thenReturn(users);
+        when(postRepository.countPostsPerHourSince(any())).thenReturn(postsPerHour);
+    }
+
+    private static Object[] hourRow(LocalDateTime hour, long count) {
+        return new Object[]{hour.getYear(), hour.getMonthValue(), hour.getDayOfMonth(), hour.getHour(), count};
+    }
+
+    @Nested
+    @DisplayName("reconcile()")
+    class ReconcileTests {
+
+        @Test
+        @DisplayName("should load counts from the database")
+        void reconcile_loadsCounts() {
+            // Arrange
+            givenDatabase(100, 80, 50, 45, 12, List.of());
+
+            // Act
+            contentStats.reconcile();
+
+            // Assert
+            AdminPostStatsResponse stats = contentStats.postStats();
+            assertThat(stats.totalPosts()).isEqualTo(100);
+            assertThat(stats.activePosts()).isEqualTo(80);
+            assertThat(stats.deletedPosts()).isEqualTo(20);
+            assertThat(stats.totalComments()).isEqualTo(50);
+            assertThat(stats.deletedComments()).isEqualTo(5);
+            assertThat(contentStats.userCount()).isEqualTo(12);
+        }
+
+        @Test
+        @DisplayName("should overwrite drifted counters")
+        void reconcile_correctsDrift() {
+            // Arrange
+            givenDatabase(1, 1, 0, 0, 1, List.of());
+            contentStats.onContentChange(ContentChange.userRegistered());
+            contentStats.onContentChange(ContentChange.userRegistered());
+
+            // Act
+            contentStats.reconcile();
+
+            // Assert
+            assertThat(contentStats.userCount()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("onContentChange()")
+    class OnContentChangeTests {
+
+        @BeforeEach
+        void loadEmpty() {
+            givenDatabase(0, 0, 0, 0, 0, List.of());
+            contentStats.reconcile();
+        }
+
+        @Test
+        @DisplayName("should count new posts and comments as active")
+        void created_countsActive() {
+            // Act
+            contentStats.onContentChange(new ContentChange(ContentChange.Type.POST_CREATED, false, LocalDateTime.now()));
+            contentStats.onContentChange(new ContentChange(ContentChange.Type.POST_CREATED, true, LocalDateTime.now()));
+
+            // Assert
+            AdminPostStatsResponse stats = contentStats.postStats();
+            assertThat(stats.totalPosts()).isEqualTo(1);
+            assertThat(stats.activePosts()).isEqualTo(1);
+            assertThat(stats.totalComments()).isEqualTo(1);
+            assertThat(stats.activeComments()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should move soft-deleted posts to deleted and back on restore")
+        void activeChanged_movesBetweenActiveAndDeleted() {
+            // Arrange
+            contentStats.onContentChange(new ContentChange(ContentChange.Type.POST_CREATED, false, LocalDateTime.now()));
+
+            // Act & Assert
+            contentStats.onContentChange(new ContentChange(ContentChange.Type.POST_DEACTIVATED, false, null));
+            assertThat(contentStats.postStats().deletedPosts()).isEqualTo(1);
+
+            contentStats.onContentChange(new ContentChange(ContentChange.Type.POST_REACTIVATED, false, null));
+            assertThat(contentStats.postStats().deletedPosts()).isZero();
+            assertThat(contentStats.postStats().activePosts()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should reload from the database after removals")
+        void recount_reconciles() {
+            // Act
+            contentStats.onContentChange(ContentChange.recount());
+
+            // Assert
+            verify(postService, timeout(5000).times(2)).getAdminPostStats();
+        }
+    }
+
+    @Nested
+    @DisplayName("series")
+    class SeriesTests {
+
+        @Test
+        @DisplayName("should bucket new posts by hour and day, ending now")
+        void series_bucketsPostsByHourAndDay() {
+            // Arrange
+            LocalDateTime now = LocalDateTime.of(2025, 3, 10, 14, 30);
+            LocalDateTime yesterday = now.minusDays(1).withHour(9).withMinute(0);
+            givenDatabase(3, 3, 0, 0, 0, List.<Object[]>of(hourRow(yesterday, 2)));
+            contentStats.reconcile();
+
+            // Act
+            contentStats.onContentChange(new ContentChange(ContentChange.Type.POST_CREATED, false, now.minusHours(1)));
+            contentStats.onContentChange(new ContentChange(ContentChange.Type.POST_CREATED, true, now));
+            List<StatsBucket> hourly = contentStats.hourlySeries(now);
+            List<StatsBucket> daily = contentStats.dailySeries(now);
+
+            // Assert
+            assertThat(hourly).hasSize(6);
+            assertThat(hourly.get(5)).isEqualTo(new StatsBucket(LocalDateTime.of(2025, 3, 10, 14, 0), 0));
+            assertThat(hourly.get(4)).isEqualTo(new StatsBucket(LocalDateTime.of(2025, 3, 10, 13, 0), 1));
+            assertThat(daily).containsExactly(
+                    new StatsBucket(LocalDateTime.of(2025, 3, 8, 0, 0), 0),
+                    new StatsBucket(LocalDateTime.of(2025, 3, 9, 0, 0), 2),
+                    new StatsBucket(LocalDateTime.of(2025, 3, 10, 0, 0), 1));
+        }
+
+        @Test
+        @DisplayName("should forget hours that fell out of the window")
+        void series_dropsExpiredHours() {
+            // Arrange
+            givenDatabase(0, 0, 0, 0, 0, List.of());
+            contentStats.reconcile();
+            LocalDateTime now = LocalDateTime.of(2025, 3, 10, 14, 30);
+            contentStats.onContentChange(new ContentChange(ContentChange.Type.POST_CREATED, false, now.minusDays(5)));
+
+            // Act
+            List<StatsBucket> daily = contentStats.dailySeries(now);
+
+            // Assert
+            assertThat(daily).extracting(StatsBucket::count).containsOnly(0L);
+        }
+    }
+}
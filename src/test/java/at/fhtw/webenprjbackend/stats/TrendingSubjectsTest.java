@@ -0,0 +1,234 @@
+package at.fhtw.webenprjbackend.stats;
+
+import at.fhtw.webenprjbackend.dto.TrendingSubjectResponse;
+import at.fhtw.webenprjbackend.repository.PostLikeRepository;
+import at.fhtw.webenprjbackend.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link TrendingSubjects}.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TrendingSubjects")
+class TrendingSubjectsTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 10, 14, 30);
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private PostLikeRepository postLikeRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TrendingSubjectsProperties properties;
+    private TrendingSubjects trendingSubjects;
+
+    @BeforeEach
+    void setUp() {
+        properties = new TrendingSubjectsProperties();
+        properties.setWidth(64);
+        properties.setCandidates(3);
+        trendingSubjects = new TrendingSubjects(postRepository, postLikeRepository, properties, transactionManager);
+    }
+
+    private void activity(String subject, LocalDateTime at, long count) {
+        trendingSubjects.count(subject, at, count);
+    }
+
+    @Nested
+    @DisplayName("trending()")
+    class TrendingTests {
+
+        @Test
+        @DisplayName("should rank subjects by activity in the window, busiest first")
+        void trending_ranksByCount() {
+            // Arrange
+            activity("Java", NOW.minusMinutes(10), 5);
+            activity("Spring", NOW.minusMinutes(20), 8);
+            activity("Math", NOW.minusMinutes(30), 1);
+
+            // Act
+            List<TrendingSubjectResponse> result = trendingSubjects.trending(TrendingSubjects.Window.HOUR, 2, NOW);
+
+            // Assert
+            assertThat(result).extracting(TrendingSubjectResponse::subject).containsExactly("#Spring", "#Java");
+            assertThat(result.get(0).count()).isEqualTo(8);
+            assertThat(result.get(0).perHour()).isEqualTo(8.0);
+        }
+
+        @Test
+        @DisplayName("should only count the last hour for the hour window but the whole day for the day window")
+        void trending_respectsWindow() {
+            // Arrange
+            activity("Java", NOW.minusHours(5), 10);
+            activity("Spring", NOW.minusMinutes(5), 2);
+
+            // Act
+            List<TrendingSubjectResponse> hour = trendingSubjects.trending(TrendingSubjects.Window.HOUR, 10, NOW);
+            List<TrendingSubjectResponse> day = trendingSubjects.trending(TrendingSubjects.Window.DAY, 10, NOW);
+
+            // Assert
+            assertThat(hour).extracting(TrendingSubjectResponse::subject).containsExactly("#Spring");
+            assertThat(day).extracting(TrendingSubjectResponse::subject).containsExactly("#Java", "#Spring");
+            assertThat(day.get(0).perHour()).isEqualTo(10 / 24.0);
+        }
+
+        @Test
+        @DisplayName("should drop activity older than a day")
+        void trending_expiresOldActivity() {
+            // Arrange
+            activity("Java", NOW.minusDays(2), 10);
+
+            // Act & Assert
+            assertThat(trendingSubjects.trending(TrendingSubjects.Window.DAY, 10, NOW)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should treat subjects case-insensitively, keeping the first spelling")
+        void trending_ignoresCase() {
+            // Arrange
+            activity("Java", NOW, 1);
+            activity("JAVA", NOW, 2);
+
+            // Act
+            List<TrendingSubjectResponse> result = trendingSubjects.trending(TrendingSubjects.Window.HOUR, 10, NOW);
+
+            // Assert
+            assertThat(result).containsExactly(new TrendingSubjectResponse("#Java", 3, 3.0));
+        }
+    }
+
+    @Nested
+    @DisplayName("candidates")
+    class CandidateTests {
+
+        @Test
+        @DisplayName("should let a busier subject replace the quietest candidate when full")
+        void count_full_busierSubjectReplacesQuietest() {
+            // Arrange
+            activity("A", NOW, 5);
+            activity("B", NOW, 4);
+            activity("C", NOW, 1);
+
+            // Act
+            activity("D", NOW, 1); // not busier than C
+            activity("E", NOW, 3);
+
+            // Assert
+            assertThat(trendingSubjects.trending(TrendingSubjects.Window.DAY, 10, NOW))
+                    .extracting(TrendingSubjectResponse::subject)
+                    .containsExactly("#A", "#B", "#E");
+        }
+
+        @Test
+        @DisplayName("should compare against the quietest candidate's current count, not the one it was admitted with")
+        void count_full_refreshesStaleCandidate() {
+            // Arrange
+            activity("A", NOW, 5);
+            activity("B", NOW, 4);
+            activity("C", NOW, 1);
+            activity("C", NOW, 9); // C was admitted with 1
+
+            // Act
+            activity("D", NOW, 6); // busier than B, the quietest once C is refreshed
+
+            // Assert
+            assertThat(trendingSubjects.trending(TrendingSubjects.Window.DAY, 10, NOW))
+                    .extracting(TrendingSubjectResponse::subject)
+                    .containsExactly("#C", "#D", "#A");
+        }
+
+        @Test
+        @DisplayName("should keep exactly the busiest subjects when many threads admit at once")
+        void count_contended_keepsBusiest() throws Exception {
+            // Arrange
+            properties.setWidth(4096);
+            TrendingSubjects contended = new TrendingSubjects(postRepository, postLikeRepository, properties,
+                    transactionManager);
+            int threads = 8;
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> done = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                done.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 200; i++) {
+                        contended.count("quiet-" + thread + "-" + i, NOW, 1);
+                        if (i == 100 && thread < 3) {
+                            contended.count("Busy" + thread, NOW, 100);
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            // Act
+            start.countDown();
+            for (Future<?> future : done) {
+                future.get();
+            }
+            pool.shutdown();
+
+            // Assert
+            assertThat(contended.trending(TrendingSubjects.Window.DAY, 10, NOW))
+                    .extracting(TrendingSubjectResponse::subject)
+                    .containsExactlyInAnyOrder("#Busy0", "#Busy1", "#Busy2");
+        }
+    }
+
+    @Nested
+    @DisplayName("load()")
+    class LoadTests {
+
+        @Test
+        @DisplayName("should fill the windows from recent posts and likes")
+        void load_countsRecentActivity() {
+            // Arrange
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime recent = now.minusMinutes(1);
+            LocalDateTime earlier = now.minusHours(3);
+            when(postRepository.countPostsPerSubjectAndMinuteSince(any())).thenReturn(List.<Object[]>of(
+                    row("Java", recent, 2), row("Spring", earlier, 4)));
+            when(postLikeRepository.countLikesPerSubjectAndMinuteSince(any())).thenReturn(List.<Object[]>of(
+                    row("Java", recent, 3)));
+
+            // Act
+            trendingSubjects.load();
+
+            // Assert
+            assertThat(trendingSubjects.trending(TrendingSubjects.Window.HOUR, 10, now))
+                    .containsExactly(new TrendingSubjectResponse("#Java", 5, 5.0));
+            assertThat(trendingSubjects.trending(TrendingSubjects.Window.DAY, 10, now))
+                    .extracting(TrendingSubjectResponse::subject)
+                    .containsExactly("#Java", "#Spring");
+        }
+
+        private Object[] row(String subject, LocalDateTime at, long count) {
+            return new Object[]{subject, at.getYear(), at.getMonthValue(), at.getDayOfMonth(),
+                    at.getHour(), at.getMinute(), count};
+        }
+    }
+}